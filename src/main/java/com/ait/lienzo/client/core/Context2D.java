@@ -47,7 +47,18 @@ public class Context2D
 
     public Context2D(final CanvasElement element)
     {
-        this(NativeContext2D.make(element, LienzoCore.get().isHidpiEnabled()));
+        this(make(element));
+    }
+
+    private static final INativeContext2D make(final CanvasElement element)
+    {
+        final INativeContext2D context = NativeContext2D.make(element, LienzoCore.get().isHidpiEnabled());
+
+        if (LienzoCore.get().isCanvasStateTracking())
+        {
+            return new StateTrackingContext2D(context);
+        }
+        return context;
     }
 
     public Context2D(final INativeContext2D jso)
@@ -60,6 +71,17 @@ public class Context2D
         return m_jso;
     }
 
+    /**
+     * Used internally. Called when the canvas was resized, which resets its state.
+     */
+    public void onCanvasResized()
+    {
+        if (m_jso instanceof StateTrackingContext2D)
+        {
+            ((StateTrackingContext2D) m_jso).reset();
+        }
+    }
+
     /**
      * Save and push a new container context to the stack
      */
@@ -366,6 +388,14 @@ public class Context2D
         return new ImageDataPixelColor(getImageData(x, y, 1, 1));
     }
 
+    /**
+     * Returns the color of the pixel at (x,y) packed as an int 0xRRGGBB, or -1 if it is not fully opaque.
+     */
+    public int getImageDataPixelOpaqueRGB(final int x, final int y)
+    {
+        return getImageData(x, y, 1, 1).getOpaqueRGBAt(0, 0);
+    }
+
     public ImageData getImageData(final int x, final int y, final int width, final int height)
     {
         return m_jso.getImageData(x, y, width, height);
@@ -0,0 +1,454 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core;
+
+import com.ait.lienzo.client.core.Path2D.NativePath2D;
+import com.ait.lienzo.client.core.types.ImageData;
+import com.ait.lienzo.client.core.types.LinearGradient.LinearGradientJSO;
+import com.ait.lienzo.client.core.types.PatternGradient.PatternGradientJSO;
+import com.ait.lienzo.client.core.types.RadialGradient.RadialGradientJSO;
+import com.ait.lienzo.client.core.types.Shadow.ShadowJSO;
+import com.ait.tooling.nativetools.client.collection.NFastDoubleArrayJSO;
+import com.google.gwt.dom.client.Element;
+
+/**
+ * A sequence of drawing commands captured by a {@link RecordingContext2D}, that can be replayed into any {@link INativeContext2D}.
+ * <p>
+ * Commands are stored as an int opcode array, with their numeric operands in a double array and their strings and native objects
+ * in an object array, so replaying is a single pass over primitive arrays.
+ */
+public final class DisplayList
+{
+    static final int SAVE_CONTAINER          = 1;
+
+    static final int RESTORE_CONTAINER       = 2;
+
+    static final int SAVE_ID                 = 3;
+
+    static final int SAVE                    = 4;
+
+    static final int RESTORE                 = 5;
+
+    static final int BEGIN_PATH              = 6;
+
+    static final int CLOSE_PATH              = 7;
+
+    static final int MOVE_TO                 = 8;
+
+    static final int LINE_TO                 = 9;
+
+    static final int COMPOSITE_OPERATION     = 10;
+
+    static final int LINE_CAP                = 11;
+
+    static final int LINE_JOIN               = 12;
+
+    static final int QUADRATIC_CURVE_TO      = 13;
+
+    static final int ARC                     = 14;
+
+    static final int ELLIPSE                 = 15;
+
+    static final int ARC_TO                  = 16;
+
+    static final int BEZIER_CURVE_TO         = 17;
+
+    static final int CLEAR_RECT              = 18;
+
+    static final int CLIP                    = 19;
+
+    static final int FILL                    = 20;
+
+    static final int STROKE                  = 21;
+
+    static final int FILL_RECT               = 22;
+
+    static final int FILL_TEXT               = 23;
+
+    static final int FILL_TEXT_MAX_WIDTH     = 24;
+
+    static final int FILL_TEXT_WITH_GRADIENT = 25;
+
+    static final int FILL_COLOR              = 26;
+
+    static final int RECT                    = 27;
+
+    static final int ROTATE                  = 28;
+
+    static final int SCALE                   = 29;
+
+    static final int STROKE_COLOR            = 30;
+
+    static final int STROKE_WIDTH            = 31;
+
+    static final int IMAGE_SMOOTHING         = 32;
+
+    static final int LINEAR_GRADIENT         = 33;
+
+    static final int PATTERN_GRADIENT        = 34;
+
+    static final int RADIAL_GRADIENT         = 35;
+
+    static final int TRANSFORM               = 36;
+
+    static final int SET_TRANSFORM           = 37;
+
+    static final int TEXT_FONT               = 38;
+
+    static final int TEXT_BASELINE           = 39;
+
+    static final int TEXT_ALIGN              = 40;
+
+    static final int STROKE_TEXT             = 41;
+
+    static final int GLOBAL_ALPHA            = 42;
+
+    static final int TRANSLATE               = 43;
+
+    static final int SHADOW                  = 44;
+
+    static final int PUT_IMAGE_DATA          = 45;
+
+    static final int PUT_IMAGE_DATA_DIRTY    = 46;
+
+    static final int DRAW_IMAGE              = 47;
+
+    static final int DRAW_IMAGE_SIZED        = 48;
+
+    static final int DRAW_IMAGE_CLIPPED      = 49;
+
+    static final int RESET_CLIP              = 50;
+
+    static final int MITER_LIMIT             = 51;
+
+    static final int LINE_DASH               = 52;
+
+    static final int LINE_DASH_OFFSET        = 53;
+
+    static final int FILL_PATH2D             = 54;
+
+    static final int STROKE_PATH2D           = 55;
+
+    static final int CLIP_PATH2D             = 56;
+
+    static final int CURRENT_PATH2D          = 57;
+
+    private int[]    m_ops                   = new int[64];
+
+    private double[] m_nums                  = new double[256];
+
+    private Object[] m_refs                  = new Object[16];
+
+    private int      m_ops_size;
+
+    private int      m_nums_size;
+
+    private int      m_refs_size;
+
+    /**
+     * Returns the number of recorded commands.
+     */
+    public final int size()
+    {
+        return m_ops_size;
+    }
+
+    public final boolean isEmpty()
+    {
+        return (0 == m_ops_size);
+    }
+
+    /**
+     * Returns the number of numeric operands of all the recorded commands.
+     */
+    public final int getOperandCount()
+    {
+        return m_nums_size;
+    }
+
+    public final DisplayList clear()
+    {
+        for (int i = 0; i < m_refs_size; i++)
+        {
+            m_refs[i] = null;
+        }
+        m_ops_size = 0;
+
+        m_nums_size = 0;
+
+        m_refs_size = 0;
+
+        return this;
+    }
+
+    /**
+     * Issues every recorded command, in order, to the given context.
+     */
+    public final void replay(final INativeContext2D context)
+    {
+        final int[] ops = m_ops;
+
+        final double[] n = m_nums;
+
+        final Object[] r = m_refs;
+
+        int p = 0;
+
+        int o = 0;
+
+        for (int i = 0; i < m_ops_size; i++)
+        {
+            switch (ops[i])
+            {
+                case SAVE_CONTAINER:
+                    context.saveContainer((String) r[o++]);
+                    break;
+                case RESTORE_CONTAINER:
+                    context.restoreContainer();
+                    break;
+                case SAVE_ID:
+                    context.save((String) r[o++]);
+                    break;
+                case SAVE:
+                    context.save();
+                    break;
+                case RESTORE:
+                    context.restore();
+                    break;
+                case BEGIN_PATH:
+                    context.beginPath();
+                    break;
+                case CLOSE_PATH:
+                    context.closePath();
+                    break;
+                case MOVE_TO:
+                    context.moveTo(n[p], n[p + 1]);
+                    p += 2;
+                    break;
+                case LINE_TO:
+                    context.lineTo(n[p], n[p + 1]);
+                    p += 2;
+                    break;
+                case COMPOSITE_OPERATION:
+                    context.setGlobalCompositeOperation((String) r[o++]);
+                    break;
+                case LINE_CAP:
+                    context.setLineCap((String) r[o++]);
+                    break;
+                case LINE_JOIN:
+                    context.setLineJoin((String) r[o++]);
+                    break;
+                case QUADRATIC_CURVE_TO:
+                    context.quadraticCurveTo(n[p], n[p + 1], n[p + 2], n[p + 3]);
+                    p += 4;
+                    break;
+                case ARC:
+                    context.arc(n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4], (n[p + 5] != 0));
+                    p += 6;
+                    break;
+                case ELLIPSE:
+                    context.ellipse(n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4], n[p + 5], n[p + 6], (n[p + 7] != 0));
+                    p += 8;
+                    break;
+                case ARC_TO:
+                    context.arcTo(n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4]);
+                    p += 5;
+                    break;
+                case BEZIER_CURVE_TO:
+                    context.bezierCurveTo(n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4], n[p + 5]);
+                    p += 6;
+                    break;
+                case CLEAR_RECT:
+                    context.clearRect(n[p], n[p + 1], n[p + 2], n[p + 3]);
+                    p += 4;
+                    break;
+                case CLIP:
+                    context.clip();
+                    break;
+                case FILL:
+                    context.fill();
+                    break;
+                case STROKE:
+                    context.stroke();
+                    break;
+                case FILL_RECT:
+                    context.fillRect(n[p], n[p + 1], n[p + 2], n[p + 3]);
+                    p += 4;
+                    break;
+                case FILL_TEXT:
+                    context.fillText((String) r[o++], n[p], n[p + 1]);
+                    p += 2;
+                    break;
+                case FILL_TEXT_MAX_WIDTH:
+                    context.fillText((String) r[o++], n[p], n[p + 1], n[p + 2]);
+                    p += 3;
+                    break;
+                case FILL_TEXT_WITH_GRADIENT:
+                    context.fillTextWithGradient((String) r[o], n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4], n[p + 5], (String) r[o + 1]);
+                    o += 2;
+                    p += 6;
+                    break;
+                case FILL_COLOR:
+                    context.setFillColor((String) r[o++]);
+                    break;
+                case RECT:
+                    context.rect(n[p], n[p + 1], n[p + 2], n[p + 3]);
+                    p += 4;
+                    break;
+                case ROTATE:
+                    context.rotate(n[p++]);
+                    break;
+                case SCALE:
+                    context.scale(n[p], n[p + 1]);
+                    p += 2;
+                    break;
+                case STROKE_COLOR:
+                    context.setStrokeColor((String) r[o++]);
+                    break;
+                case STROKE_WIDTH:
+                    context.setStrokeWidth(n[p++]);
+                    break;
+                case IMAGE_SMOOTHING:
+                    context.setImageSmoothingEnabled(n[p++] != 0);
+                    break;
+                case LINEAR_GRADIENT:
+                    context.setFillGradient((LinearGradientJSO) r[o++]);
+                    break;
+                case PATTERN_GRADIENT:
+                    context.setFillGradient((PatternGradientJSO) r[o++]);
+                    break;
+                case RADIAL_GRADIENT:
+                    context.setFillGradient((RadialGradientJSO) r[o++]);
+                    break;
+                case TRANSFORM:
+                    context.transform(n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4], n[p + 5]);
+                    p += 6;
+                    break;
+                case SET_TRANSFORM:
+                    context.setTransform(n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4], n[p + 5]);
+                    p += 6;
+                    break;
+                case TEXT_FONT:
+                    context.setTextFont((String) r[o++]);
+                    break;
+                case TEXT_BASELINE:
+                    context.setTextBaseline((String) r[o++]);
+                    break;
+                case TEXT_ALIGN:
+                    context.setTextAlign((String) r[o++]);
+                    break;
+                case STROKE_TEXT:
+                    context.strokeText((String) r[o++], n[p], n[p + 1]);
+                    p += 2;
+                    break;
+                case GLOBAL_ALPHA:
+                    context.setGlobalAlpha(n[p++]);
+                    break;
+                case TRANSLATE:
+                    context.translate(n[p], n[p + 1]);
+                    p += 2;
+                    break;
+                case SHADOW:
+                    context.setShadow((ShadowJSO) r[o++]);
+                    break;
+                case PUT_IMAGE_DATA:
+                    context.putImageData((ImageData) r[o++], n[p], n[p + 1]);
+                    p += 2;
+                    break;
+                case PUT_IMAGE_DATA_DIRTY:
+                    context.putImageData((ImageData) r[o++], n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4], n[p + 5]);
+                    p += 6;
+                    break;
+                case DRAW_IMAGE:
+                    context.drawImage((Element) r[o++], n[p], n[p + 1]);
+                    p += 2;
+                    break;
+                case DRAW_IMAGE_SIZED:
+                    context.drawImage((Element) r[o++], n[p], n[p + 1], n[p + 2], n[p + 3]);
+                    p += 4;
+                    break;
+                case DRAW_IMAGE_CLIPPED:
+                    context.drawImage((Element) r[o++], n[p], n[p + 1], n[p + 2], n[p + 3], n[p + 4], n[p + 5], n[p + 6], n[p + 7]);
+                    p += 8;
+                    break;
+                case RESET_CLIP:
+                    context.resetClip();
+                    break;
+                case MITER_LIMIT:
+                    context.setMiterLimit(n[p++]);
+                    break;
+                case LINE_DASH:
+                    context.setLineDash((NFastDoubleArrayJSO) r[o++]);
+                    break;
+                case LINE_DASH_OFFSET:
+                    context.setLineDashOffset(n[p++]);
+                    break;
+                case FILL_PATH2D:
+                    context.fill((NativePath2D) r[o++]);
+                    break;
+                case STROKE_PATH2D:
+                    context.stroke((NativePath2D) r[o++]);
+                    break;
+                case CLIP_PATH2D:
+                    context.clip((NativePath2D) r[o++]);
+                    break;
+                case CURRENT_PATH2D:
+                    context.setCurrentPath((NativePath2D) r[o++]);
+                    break;
+            }
+        }
+    }
+
+    final void op(final int code)
+    {
+        if (m_ops_size == m_ops.length)
+        {
+            final int[] ops = new int[m_ops_size * 2];
+
+            System.arraycopy(m_ops, 0, ops, 0, m_ops_size);
+
+            m_ops = ops;
+        }
+        m_ops[m_ops_size++] = code;
+    }
+
+    final void num(final double value)
+    {
+        if (m_nums_size == m_nums.length)
+        {
+            final double[] nums = new double[m_nums_size * 2];
+
+            System.arraycopy(m_nums, 0, nums, 0, m_nums_size);
+
+            m_nums = nums;
+        }
+        m_nums[m_nums_size++] = value;
+    }
+
+    final void ref(final Object value)
+    {
+        if (m_refs_size == m_refs.length)
+        {
+            final Object[] refs = new Object[m_refs_size * 2];
+
+            System.arraycopy(m_refs, 0, refs, 0, m_refs_size);
+
+            m_refs = refs;
+        }
+        m_refs[m_refs_size++] = value;
+    }
+}
@@ -0,0 +1,1057 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core;
+
+import com.ait.lienzo.client.core.Path2D.NativePath2D;
+import com.ait.lienzo.client.core.types.ImageData;
+import com.ait.lienzo.client.core.types.LinearGradient.LinearGradientJSO;
+import com.ait.lienzo.client.core.types.PathPartEntryJSO;
+import com.ait.lienzo.client.core.types.PathPartList.PathPartListJSO;
+import com.ait.lienzo.client.core.types.PatternGradient.PatternGradientJSO;
+import com.ait.lienzo.client.core.types.RadialGradient.RadialGradientJSO;
+import com.ait.lienzo.client.core.types.Shadow.ShadowJSO;
+import com.ait.lienzo.client.core.types.TextMetrics;
+import com.ait.lienzo.client.core.types.Transform.TransformJSO;
+import com.ait.tooling.nativetools.client.collection.NFastDoubleArrayJSO;
+import com.google.gwt.dom.client.Element;
+
+/**
+ * An {@link INativeContext2D} that records the drawing commands it receives into a {@link DisplayList},
+ * and forwards them to a target context, if any, so a subtree is drawn and recorded in the same pass.
+ * <p>
+ * Path part lists are flattened into their individual path commands, and transforms are copied, so the recording does not
+ * depend on the objects it was given. Queries are answered by the target. Reading back pixels or paths, or setting an absolute
+ * transform, makes the recording depend on more than the commands themselves, and marks it as not replayable.
+ */
+public final class RecordingContext2D implements INativeContext2D
+{
+    private final INativeContext2D m_target;
+
+    private final DisplayList      m_list;
+
+    private boolean                m_replayable = true;
+
+    public RecordingContext2D()
+    {
+        this(null);
+    }
+
+    public RecordingContext2D(final INativeContext2D target)
+    {
+        this(target, new DisplayList());
+    }
+
+    public RecordingContext2D(final INativeContext2D target, final DisplayList list)
+    {
+        m_target = target;
+
+        m_list = list;
+    }
+
+    public final INativeContext2D getTarget()
+    {
+        return m_target;
+    }
+
+    public final DisplayList getDisplayList()
+    {
+        return m_list;
+    }
+
+    /**
+     * Returns false if the recorded commands alone do not reproduce what was drawn.
+     */
+    public final boolean isReplayable()
+    {
+        return m_replayable;
+    }
+
+    /**
+     * Marks this recording, and any recording it is nested in, as not replayable.
+     */
+    public final void setNotReplayable()
+    {
+        m_replayable = false;
+
+        if (m_target instanceof RecordingContext2D)
+        {
+            ((RecordingContext2D) m_target).setNotReplayable();
+        }
+    }
+
+    private final void op(final int code)
+    {
+        m_list.op(code);
+    }
+
+    private final void op(final int code, final String value)
+    {
+        m_list.op(code);
+
+        m_list.ref(value);
+    }
+
+    private final void op(final int code, final double a)
+    {
+        m_list.op(code);
+
+        m_list.num(a);
+    }
+
+    private final void op(final int code, final double a, final double b)
+    {
+        m_list.op(code);
+
+        m_list.num(a);
+
+        m_list.num(b);
+    }
+
+    private final void op(final int code, final double a, final double b, final double c, final double d)
+    {
+        m_list.op(code);
+
+        m_list.num(a);
+
+        m_list.num(b);
+
+        m_list.num(c);
+
+        m_list.num(d);
+    }
+
+    private final void op(final int code, final double a, final double b, final double c, final double d, final double e, final double f)
+    {
+        op(code, a, b, c, d);
+
+        m_list.num(e);
+
+        m_list.num(f);
+    }
+
+    private final void flatten(final PathPartListJSO list, final boolean clip)
+    {
+        final int leng = list.length();
+
+        for (int i = 0; i < leng; i++)
+        {
+            final PathPartEntryJSO e = list.get(i);
+
+            final NFastDoubleArrayJSO p = e.getPoints();
+
+            switch (e.getCommand())
+            {
+                case PathPartEntryJSO.LINETO_ABSOLUTE:
+                    op(DisplayList.LINE_TO, p.get(0), p.get(1));
+                    break;
+                case PathPartEntryJSO.MOVETO_ABSOLUTE:
+                    op(DisplayList.MOVE_TO, p.get(0), p.get(1));
+                    break;
+                case PathPartEntryJSO.BEZIER_CURVETO_ABSOLUTE:
+                    op(DisplayList.BEZIER_CURVE_TO, p.get(0), p.get(1), p.get(2), p.get(3), p.get(4), p.get(5));
+                    break;
+                case PathPartEntryJSO.QUADRATIC_CURVETO_ABSOLUTE:
+                    op(DisplayList.QUADRATIC_CURVE_TO, p.get(0), p.get(1), p.get(2), p.get(3));
+                    break;
+                case PathPartEntryJSO.ARCTO_ABSOLUTE:
+                    op(DisplayList.ELLIPSE, p.get(0), p.get(1), p.get(2), p.get(3), p.get(6), p.get(4));
+                    m_list.num(p.get(4) + p.get(5));
+                    m_list.num(((1 - p.get(7)) > 0) ? 1 : 0);
+                    break;
+                case PathPartEntryJSO.CLOSE_PATH_PART:
+                    if (clip)
+                    {
+                        return;
+                    }
+                    op(DisplayList.CLOSE_PATH);
+                    break;
+                case PathPartEntryJSO.CANVAS_ARCTO_ABSOLUTE:
+                    op(DisplayList.ARC_TO, p.get(0), p.get(1), p.get(2), p.get(3));
+                    m_list.num(p.get(4));
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public void initDeviceRatio()
+    {
+        if (null != m_target)
+        {
+            m_target.initDeviceRatio();
+        }
+    }
+
+    @Override
+    public void saveContainer(final String id)
+    {
+        op(DisplayList.SAVE_CONTAINER, id);
+
+        if (null != m_target)
+        {
+            m_target.saveContainer(id);
+        }
+    }
+
+    @Override
+    public void restoreContainer()
+    {
+        op(DisplayList.RESTORE_CONTAINER);
+
+        if (null != m_target)
+        {
+            m_target.restoreContainer();
+        }
+    }
+
+    @Override
+    public void save(final String id)
+    {
+        op(DisplayList.SAVE_ID, id);
+
+        if (null != m_target)
+        {
+            m_target.save(id);
+        }
+    }
+
+    @Override
+    public void save()
+    {
+        op(DisplayList.SAVE);
+
+        if (null != m_target)
+        {
+            m_target.save();
+        }
+    }
+
+    @Override
+    public void restore()
+    {
+        op(DisplayList.RESTORE);
+
+        if (null != m_target)
+        {
+            m_target.restore();
+        }
+    }
+
+    @Override
+    public void beginPath()
+    {
+        op(DisplayList.BEGIN_PATH);
+
+        if (null != m_target)
+        {
+            m_target.beginPath();
+        }
+    }
+
+    @Override
+    public void closePath()
+    {
+        op(DisplayList.CLOSE_PATH);
+
+        if (null != m_target)
+        {
+            m_target.closePath();
+        }
+    }
+
+    @Override
+    public void moveTo(final double x, final double y)
+    {
+        op(DisplayList.MOVE_TO, x, y);
+
+        if (null != m_target)
+        {
+            m_target.moveTo(x, y);
+        }
+    }
+
+    @Override
+    public void lineTo(final double x, final double y)
+    {
+        op(DisplayList.LINE_TO, x, y);
+
+        if (null != m_target)
+        {
+            m_target.lineTo(x, y);
+        }
+    }
+
+    @Override
+    public void setGlobalCompositeOperation(final String operation)
+    {
+        op(DisplayList.COMPOSITE_OPERATION, operation);
+
+        if (null != m_target)
+        {
+            m_target.setGlobalCompositeOperation(operation);
+        }
+    }
+
+    @Override
+    public void setLineCap(final String lineCap)
+    {
+        op(DisplayList.LINE_CAP, lineCap);
+
+        if (null != m_target)
+        {
+            m_target.setLineCap(lineCap);
+        }
+    }
+
+    @Override
+    public void setLineJoin(final String lineJoin)
+    {
+        op(DisplayList.LINE_JOIN, lineJoin);
+
+        if (null != m_target)
+        {
+            m_target.setLineJoin(lineJoin);
+        }
+    }
+
+    @Override
+    public void quadraticCurveTo(final double cpx, final double cpy, final double x, final double y)
+    {
+        op(DisplayList.QUADRATIC_CURVE_TO, cpx, cpy, x, y);
+
+        if (null != m_target)
+        {
+            m_target.quadraticCurveTo(cpx, cpy, x, y);
+        }
+    }
+
+    @Override
+    public void arc(final double x, final double y, final double radius, final double startAngle, final double endAngle)
+    {
+        arc(x, y, radius, startAngle, endAngle, false);
+    }
+
+    @Override
+    public void arc(final double x, final double y, final double radius, final double startAngle, final double endAngle, final boolean antiClockwise)
+    {
+        op(DisplayList.ARC, x, y, radius, startAngle, endAngle, antiClockwise ? 1 : 0);
+
+        if (null != m_target)
+        {
+            m_target.arc(x, y, radius, startAngle, endAngle, antiClockwise);
+        }
+    }
+
+    @Override
+    public void ellipse(final double x, final double y, final double rx, final double ry, final double ro, final double sa, final double ea, final boolean ac)
+    {
+        op(DisplayList.ELLIPSE, x, y, rx, ry, ro, sa);
+
+        m_list.num(ea);
+
+        m_list.num(ac ? 1 : 0);
+
+        if (null != m_target)
+        {
+            m_target.ellipse(x, y, rx, ry, ro, sa, ea, ac);
+        }
+    }
+
+    @Override
+    public void ellipse(final double x, final double y, final double rx, final double ry, final double ro, final double sa, final double ea)
+    {
+        ellipse(x, y, rx, ry, ro, sa, ea, false);
+    }
+
+    @Override
+    public void arcTo(final double x1, final double y1, final double x2, final double y2, final double radius)
+    {
+        op(DisplayList.ARC_TO, x1, y1, x2, y2);
+
+        m_list.num(radius);
+
+        if (null != m_target)
+        {
+            m_target.arcTo(x1, y1, x2, y2, radius);
+        }
+    }
+
+    @Override
+    public void bezierCurveTo(final double cp1x, final double cp1y, final double cp2x, final double cp2y, final double x, final double y)
+    {
+        op(DisplayList.BEZIER_CURVE_TO, cp1x, cp1y, cp2x, cp2y, x, y);
+
+        if (null != m_target)
+        {
+            m_target.bezierCurveTo(cp1x, cp1y, cp2x, cp2y, x, y);
+        }
+    }
+
+    @Override
+    public void clearRect(final double x, final double y, final double w, final double h)
+    {
+        op(DisplayList.CLEAR_RECT, x, y, w, h);
+
+        if (null != m_target)
+        {
+            m_target.clearRect(x, y, w, h);
+        }
+    }
+
+    @Override
+    public void clip()
+    {
+        op(DisplayList.CLIP);
+
+        if (null != m_target)
+        {
+            m_target.clip();
+        }
+    }
+
+    @Override
+    public void fill()
+    {
+        op(DisplayList.FILL);
+
+        if (null != m_target)
+        {
+            m_target.fill();
+        }
+    }
+
+    @Override
+    public void stroke()
+    {
+        op(DisplayList.STROKE);
+
+        if (null != m_target)
+        {
+            m_target.stroke();
+        }
+    }
+
+    @Override
+    public void fillRect(final double x, final double y, final double w, final double h)
+    {
+        op(DisplayList.FILL_RECT, x, y, w, h);
+
+        if (null != m_target)
+        {
+            m_target.fillRect(x, y, w, h);
+        }
+    }
+
+    @Override
+    public void fillText(final String text, final double x, final double y)
+    {
+        op(DisplayList.FILL_TEXT, text);
+
+        m_list.num(x);
+
+        m_list.num(y);
+
+        if (null != m_target)
+        {
+            m_target.fillText(text, x, y);
+        }
+    }
+
+    @Override
+    public void fillTextWithGradient(final String text, final double x, final double y, final double sx, final double sy, final double ex, final double ey, final String color)
+    {
+        op(DisplayList.FILL_TEXT_WITH_GRADIENT, x, y, sx, sy, ex, ey);
+
+        m_list.ref(text);
+
+        m_list.ref(color);
+
+        if (null != m_target)
+        {
+            m_target.fillTextWithGradient(text, x, y, sx, sy, ex, ey, color);
+        }
+    }
+
+    @Override
+    public void fillText(final String text, final double x, final double y, final double maxWidth)
+    {
+        op(DisplayList.FILL_TEXT_MAX_WIDTH, text);
+
+        m_list.num(x);
+
+        m_list.num(y);
+
+        m_list.num(maxWidth);
+
+        if (null != m_target)
+        {
+            m_target.fillText(text, x, y, maxWidth);
+        }
+    }
+
+    @Override
+    public void setFillColor(final String fill)
+    {
+        op(DisplayList.FILL_COLOR, fill);
+
+        if (null != m_target)
+        {
+            m_target.setFillColor(fill);
+        }
+    }
+
+    @Override
+    public void rect(final double x, final double y, final double w, final double h)
+    {
+        op(DisplayList.RECT, x, y, w, h);
+
+        if (null != m_target)
+        {
+            m_target.rect(x, y, w, h);
+        }
+    }
+
+    @Override
+    public void rotate(final double angle)
+    {
+        op(DisplayList.ROTATE, angle);
+
+        if (null != m_target)
+        {
+            m_target.rotate(angle);
+        }
+    }
+
+    @Override
+    public void scale(final double sx, final double sy)
+    {
+        op(DisplayList.SCALE, sx, sy);
+
+        if (null != m_target)
+        {
+            m_target.scale(sx, sy);
+        }
+    }
+
+    @Override
+    public void setStrokeColor(final String color)
+    {
+        op(DisplayList.STROKE_COLOR, color);
+
+        if (null != m_target)
+        {
+            m_target.setStrokeColor(color);
+        }
+    }
+
+    @Override
+    public void setStrokeWidth(final double width)
+    {
+        op(DisplayList.STROKE_WIDTH, width);
+
+        if (null != m_target)
+        {
+            m_target.setStrokeWidth(width);
+        }
+    }
+
+    @Override
+    public void setImageSmoothingEnabled(final boolean enabled)
+    {
+        op(DisplayList.IMAGE_SMOOTHING, enabled ? 1 : 0);
+
+        if (null != m_target)
+        {
+            m_target.setImageSmoothingEnabled(enabled);
+        }
+    }
+
+    @Override
+    public void setFillGradient(final LinearGradientJSO grad)
+    {
+        m_list.op(DisplayList.LINEAR_GRADIENT);
+
+        m_list.ref(grad);
+
+        if (null != m_target)
+        {
+            m_target.setFillGradient(grad);
+        }
+    }
+
+    @Override
+    public void setFillGradient(final PatternGradientJSO grad)
+    {
+        m_list.op(DisplayList.PATTERN_GRADIENT);
+
+        m_list.ref(grad);
+
+        if (null != m_target)
+        {
+            m_target.setFillGradient(grad);
+        }
+    }
+
+    @Override
+    public void setFillGradient(final RadialGradientJSO grad)
+    {
+        m_list.op(DisplayList.RADIAL_GRADIENT);
+
+        m_list.ref(grad);
+
+        if (null != m_target)
+        {
+            m_target.setFillGradient(grad);
+        }
+    }
+
+    @Override
+    public void transform(final TransformJSO jso)
+    {
+        if (null != jso)
+        {
+            transform(jso.get(0), jso.get(1), jso.get(2), jso.get(3), jso.get(4), jso.get(5));
+        }
+    }
+
+    @Override
+    public void transform(final double d0, final double d1, final double d2, final double d3, final double d4, final double d5)
+    {
+        op(DisplayList.TRANSFORM, d0, d1, d2, d3, d4, d5);
+
+        if (null != m_target)
+        {
+            m_target.transform(d0, d1, d2, d3, d4, d5);
+        }
+    }
+
+    @Override
+    public void setTransform(final TransformJSO jso)
+    {
+        if (null != jso)
+        {
+            setTransform(jso.get(0), jso.get(1), jso.get(2), jso.get(3), jso.get(4), jso.get(5));
+        }
+    }
+
+    @Override
+    public void setTransform(final double d0, final double d1, final double d2, final double d3, final double d4, final double d5)
+    {
+        op(DisplayList.SET_TRANSFORM, d0, d1, d2, d3, d4, d5);
+
+        setNotReplayable();
+
+        if (null != m_target)
+        {
+            m_target.setTransform(d0, d1, d2, d3, d4, d5);
+        }
+    }
+
+    @Override
+    public void setToIdentityTransform()
+    {
+        setTransform(1, 0, 0, 1, 0, 0);
+    }
+
+    @Override
+    public void setTextFont(final String font)
+    {
+        op(DisplayList.TEXT_FONT, font);
+
+        if (null != m_target)
+        {
+            m_target.setTextFont(font);
+        }
+    }
+
+    @Override
+    public void setTextBaseline(final String baseline)
+    {
+        op(DisplayList.TEXT_BASELINE, baseline);
+
+        if (null != m_target)
+        {
+            m_target.setTextBaseline(baseline);
+        }
+    }
+
+    @Override
+    public void setTextAlign(final String align)
+    {
+        op(DisplayList.TEXT_ALIGN, align);
+
+        if (null != m_target)
+        {
+            m_target.setTextAlign(align);
+        }
+    }
+
+    @Override
+    public void strokeText(final String text, final double x, final double y)
+    {
+        op(DisplayList.STROKE_TEXT, text);
+
+        m_list.num(x);
+
+        m_list.num(y);
+
+        if (null != m_target)
+        {
+            m_target.strokeText(text, x, y);
+        }
+    }
+
+    @Override
+    public void setGlobalAlpha(final double alpha)
+    {
+        op(DisplayList.GLOBAL_ALPHA, alpha);
+
+        if (null != m_target)
+        {
+            m_target.setGlobalAlpha(alpha);
+        }
+    }
+
+    @Override
+    public void translate(final double x, final double y)
+    {
+        op(DisplayList.TRANSLATE, x, y);
+
+        if (null != m_target)
+        {
+            m_target.translate(x, y);
+        }
+    }
+
+    @Override
+    public void setShadow(final ShadowJSO shadow)
+    {
+        m_list.op(DisplayList.SHADOW);
+
+        m_list.ref(shadow);
+
+        if (null != m_target)
+        {
+            m_target.setShadow(shadow);
+        }
+    }
+
+    @Override
+    public boolean isSupported(final String feature)
+    {
+        if (null != m_target)
+        {
+            return m_target.isSupported(feature);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isPointInPath(final double x, final double y)
+    {
+        setNotReplayable();
+
+        if (null != m_target)
+        {
+            return m_target.isPointInPath(x, y);
+        }
+        return false;
+    }
+
+    @Override
+    public ImageData getImageData(final double x, final double y, final double width, final double height)
+    {
+        setNotReplayable();
+
+        if (null != m_target)
+        {
+            return m_target.getImageData(x, y, width, height);
+        }
+        return null;
+    }
+
+    @Override
+    public ImageData createImageData(final double width, final double height)
+    {
+        if (null != m_target)
+        {
+            return m_target.createImageData(width, height);
+        }
+        return null;
+    }
+
+    @Override
+    public ImageData createImageData(final ImageData data)
+    {
+        if (null != m_target)
+        {
+            return m_target.createImageData(data);
+        }
+        return null;
+    }
+
+    @Override
+    public void putImageData(final ImageData imageData, final double x, final double y)
+    {
+        m_list.op(DisplayList.PUT_IMAGE_DATA);
+
+        m_list.ref(imageData);
+
+        m_list.num(x);
+
+        m_list.num(y);
+
+        if (null != m_target)
+        {
+            m_target.putImageData(imageData, x, y);
+        }
+    }
+
+    @Override
+    public void putImageData(final ImageData imageData, final double x, final double y, final double dx, final double dy, final double dw, final double dh)
+    {
+        op(DisplayList.PUT_IMAGE_DATA_DIRTY, x, y, dx, dy, dw, dh);
+
+        m_list.ref(imageData);
+
+        if (null != m_target)
+        {
+            m_target.putImageData(imageData, x, y, dx, dy, dw, dh);
+        }
+    }
+
+    @Override
+    public TextMetrics measureText(final String text)
+    {
+        if (null != m_target)
+        {
+            return m_target.measureText(text);
+        }
+        return null;
+    }
+
+    @Override
+    public void drawImage(final Element image, final double x, final double y)
+    {
+        op(DisplayList.DRAW_IMAGE, x, y);
+
+        m_list.ref(image);
+
+        if (null != m_target)
+        {
+            m_target.drawImage(image, x, y);
+        }
+    }
+
+    @Override
+    public void drawImage(final Element image, final double x, final double y, final double w, final double h)
+    {
+        op(DisplayList.DRAW_IMAGE_SIZED, x, y, w, h);
+
+        m_list.ref(image);
+
+        if (null != m_target)
+        {
+            m_target.drawImage(image, x, y, w, h);
+        }
+    }
+
+    @Override
+    public void drawImage(final Element image, final double sx, final double sy, final double sw, final double sh, final double x, final double y, final double w, final double h)
+    {
+        op(DisplayList.DRAW_IMAGE_CLIPPED, sx, sy, sw, sh, x, y);
+
+        m_list.num(w);
+
+        m_list.num(h);
+
+        m_list.ref(image);
+
+        if (null != m_target)
+        {
+            m_target.drawImage(image, sx, sy, sw, sh, x, y, w, h);
+        }
+    }
+
+    @Override
+    public void resetClip()
+    {
+        op(DisplayList.RESET_CLIP);
+
+        if (null != m_target)
+        {
+            m_target.resetClip();
+        }
+    }
+
+    @Override
+    public void setMiterLimit(final double limit)
+    {
+        op(DisplayList.MITER_LIMIT, limit);
+
+        if (null != m_target)
+        {
+            m_target.setMiterLimit(limit);
+        }
+    }
+
+    @Override
+    public void setLineDash(final NFastDoubleArrayJSO dashes)
+    {
+        m_list.op(DisplayList.LINE_DASH);
+
+        m_list.ref(dashes);
+
+        if (null != m_target)
+        {
+            m_target.setLineDash(dashes);
+        }
+    }
+
+    @Override
+    public void setLineDashOffset(final double offset)
+    {
+        op(DisplayList.LINE_DASH_OFFSET, offset);
+
+        if (null != m_target)
+        {
+            m_target.setLineDashOffset(offset);
+        }
+    }
+
+    @Override
+    public double getBackingStorePixelRatio()
+    {
+        if (null != m_target)
+        {
+            return m_target.getBackingStorePixelRatio();
+        }
+        return 1;
+    }
+
+    @Override
+    public boolean path(final PathPartListJSO list)
+    {
+        if ((null == list) || (list.length() < 1))
+        {
+            return false;
+        }
+        op(DisplayList.BEGIN_PATH);
+
+        flatten(list, false);
+
+        if (null != m_target)
+        {
+            return m_target.path(list);
+        }
+        return hasClosePath(list);
+    }
+
+    @Override
+    public boolean clip(final PathPartListJSO list)
+    {
+        if ((null == list) || (list.length() < 1))
+        {
+            return false;
+        }
+        flatten(list, true);
+
+        if (null != m_target)
+        {
+            return m_target.clip(list);
+        }
+        return hasClosePath(list);
+    }
+
+    private static final boolean hasClosePath(final PathPartListJSO list)
+    {
+        final int leng = list.length();
+
+        for (int i = 0; i < leng; i++)
+        {
+            if (PathPartEntryJSO.CLOSE_PATH_PART == list.get(i).getCommand())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void fill(final NativePath2D path)
+    {
+        m_list.op(DisplayList.FILL_PATH2D);
+
+        m_list.ref(path);
+
+        if (null != m_target)
+        {
+            m_target.fill(path);
+        }
+    }
+
+    @Override
+    public void stroke(final NativePath2D path)
+    {
+        m_list.op(DisplayList.STROKE_PATH2D);
+
+        m_list.ref(path);
+
+        if (null != m_target)
+        {
+            m_target.stroke(path);
+        }
+    }
+
+    @Override
+    public void clip(final NativePath2D path)
+    {
+        m_list.op(DisplayList.CLIP_PATH2D);
+
+        m_list.ref(path);
+
+        if (null != m_target)
+        {
+            m_target.clip(path);
+        }
+    }
+
+    @Override
+    public NativePath2D getCurrentPath()
+    {
+        setNotReplayable();
+
+        if (null != m_target)
+        {
+            return m_target.getCurrentPath();
+        }
+        return null;
+    }
+
+    @Override
+    public void setCurrentPath(final NativePath2D path)
+    {
+        m_list.op(DisplayList.CURRENT_PATH2D);
+
+        m_list.ref(path);
+
+        if (null != m_target)
+        {
+            m_target.setCurrentPath(path);
+        }
+    }
+}
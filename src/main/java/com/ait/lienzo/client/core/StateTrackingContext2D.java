@@ -0,0 +1,981 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core;
+
+import java.util.ArrayList;
+
+import com.ait.lienzo.client.core.Path2D.NativePath2D;
+import com.ait.lienzo.client.core.types.ImageData;
+import com.ait.lienzo.client.core.types.LinearGradient.LinearGradientJSO;
+import com.ait.lienzo.client.core.types.PathPartList.PathPartListJSO;
+import com.ait.lienzo.client.core.types.Point2D.Point2DJSO;
+import com.ait.lienzo.client.core.types.PatternGradient.PatternGradientJSO;
+import com.ait.lienzo.client.core.types.RadialGradient.RadialGradientJSO;
+import com.ait.lienzo.client.core.types.Shadow.ShadowJSO;
+import com.ait.lienzo.client.core.types.TextMetrics;
+import com.ait.lienzo.client.core.types.Transform.TransformJSO;
+import com.ait.tooling.nativetools.client.collection.NFastDoubleArrayJSO;
+import com.google.gwt.dom.client.Element;
+
+/**
+ * An {@link INativeContext2D} that shadows the state of the canvas it draws to, including the save/restore stack,
+ * and drops the calls that would not change it.
+ * <p>
+ * Setting a style, width, alpha, font, dash or shadow to the value already in effect is not forwarded. Dashes and shadows are
+ * compared by their values, as the same native object may be changed between calls. A save is only
+ * forwarded once something inside it changes the canvas state, so a save/restore pair around drawing calls only is dropped.
+ * State is unknown until first set, and after {@link #reset()}, which must be called when the canvas is resized.
+ *
+ * @see com.ait.lienzo.client.core.config.LienzoCore#setCanvasStateTracking(boolean)
+ */
+public final class StateTrackingContext2D implements INativeContext2D
+{
+    private static final Object    UNKNOWN = new Object();
+
+    private final INativeContext2D m_target;
+
+    private final ArrayList<State> m_stack = new ArrayList<State>();
+
+    private State                  m_state = new State();
+
+    private int                    m_pending;
+
+    private long                   m_states;
+
+    private long                   m_saves;
+
+    public StateTrackingContext2D(final INativeContext2D target)
+    {
+        m_target = target;
+    }
+
+    public final INativeContext2D getTarget()
+    {
+        return m_target;
+    }
+
+    /**
+     * Forgets the shadowed state. Saves not forwarded yet are kept.
+     */
+    public final void reset()
+    {
+        m_state = new State();
+
+        for (State state : m_stack)
+        {
+            state.unknown();
+        }
+    }
+
+    /**
+     * Returns the number of state setting calls that were dropped because they did not change anything.
+     */
+    public final long getEliminatedStateCount()
+    {
+        return m_states;
+    }
+
+    /**
+     * Returns the number of save/restore pairs that were dropped because nothing inside them changed the canvas state.
+     */
+    public final long getEliminatedSaveRestoreCount()
+    {
+        return m_saves;
+    }
+
+    /**
+     * Returns the total number of calls dropped, counting two per save/restore pair.
+     */
+    public final long getEliminatedCount()
+    {
+        return m_states + (m_saves * 2);
+    }
+
+    public final void resetCounts()
+    {
+        m_states = 0;
+
+        m_saves = 0;
+    }
+
+    private final void push(final int kind, final String id)
+    {
+        final State saved = new State(m_state);
+
+        saved.m_kind = kind;
+
+        saved.m_id = id;
+
+        m_stack.add(saved);
+
+        m_pending++;
+    }
+
+    private final boolean pop()
+    {
+        final int size = m_stack.size();
+
+        if (size < 1)
+        {
+            m_state = new State();
+
+            return true;
+        }
+        final State saved = m_stack.remove(size - 1);
+
+        m_state = saved;
+
+        if (saved.m_forwarded)
+        {
+            return true;
+        }
+        m_pending--;
+
+        m_saves++;
+
+        return false;
+    }
+
+    /**
+     * Forwards the saves still pending, before the canvas state is changed.
+     */
+    private final void flush()
+    {
+        if (m_pending > 0)
+        {
+            final int size = m_stack.size();
+
+            for (int i = size - m_pending; i < size; i++)
+            {
+                final State saved = m_stack.get(i);
+
+                if (State.SAVE_CONTAINER == saved.m_kind)
+                {
+                    m_target.saveContainer(saved.m_id);
+                }
+                else if (State.SAVE_ID == saved.m_kind)
+                {
+                    m_target.save(saved.m_id);
+                }
+                else
+                {
+                    m_target.save();
+                }
+                saved.m_forwarded = true;
+            }
+            m_pending = 0;
+        }
+    }
+
+    private final boolean unchanged(final Object a, final Object b)
+    {
+        if ((a == b) || (((a instanceof String) || (a instanceof ShadowValues)) && (a.equals(b))))
+        {
+            m_states++;
+
+            return true;
+        }
+        flush();
+
+        return false;
+    }
+
+    private final boolean unchanged(final Object a, final NFastDoubleArrayJSO b)
+    {
+        if ((a == b) || ((a instanceof double[]) && (null != b) && (same((double[]) a, b))))
+        {
+            m_states++;
+
+            return true;
+        }
+        flush();
+
+        return false;
+    }
+
+    private static final boolean same(final double[] a, final NFastDoubleArrayJSO b)
+    {
+        final int size = b.size();
+
+        if (a.length != size)
+        {
+            return false;
+        }
+        for (int i = 0; i < size; i++)
+        {
+            if (a[i] != b.get(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final double[] copy(final NFastDoubleArrayJSO dashes)
+    {
+        final double[] copy = new double[dashes.size()];
+
+        for (int i = 0; i < copy.length; i++)
+        {
+            copy[i] = dashes.get(i);
+        }
+        return copy;
+    }
+
+    private final boolean unchanged(final double a, final double b)
+    {
+        if (a == b)
+        {
+            m_states++;
+
+            return true;
+        }
+        flush();
+
+        return false;
+    }
+
+    @Override
+    public void initDeviceRatio()
+    {
+        flush();
+
+        reset();
+
+        m_target.initDeviceRatio();
+    }
+
+    @Override
+    public void saveContainer(final String id)
+    {
+        push(State.SAVE_CONTAINER, id);
+    }
+
+    @Override
+    public void restoreContainer()
+    {
+        if (pop())
+        {
+            m_target.restoreContainer();
+        }
+    }
+
+    @Override
+    public void save(final String id)
+    {
+        push(State.SAVE_ID, id);
+    }
+
+    @Override
+    public void save()
+    {
+        push(State.SAVE, null);
+    }
+
+    @Override
+    public void restore()
+    {
+        if (pop())
+        {
+            m_target.restore();
+        }
+    }
+
+    @Override
+    public void beginPath()
+    {
+        m_target.beginPath();
+    }
+
+    @Override
+    public void closePath()
+    {
+        m_target.closePath();
+    }
+
+    @Override
+    public void moveTo(final double x, final double y)
+    {
+        m_target.moveTo(x, y);
+    }
+
+    @Override
+    public void lineTo(final double x, final double y)
+    {
+        m_target.lineTo(x, y);
+    }
+
+    @Override
+    public void setGlobalCompositeOperation(final String operation)
+    {
+        if (false == unchanged(m_state.m_composite, operation))
+        {
+            m_state.m_composite = operation;
+
+            m_target.setGlobalCompositeOperation(operation);
+        }
+    }
+
+    @Override
+    public void setLineCap(final String lineCap)
+    {
+        if (false == unchanged(m_state.m_cap, lineCap))
+        {
+            m_state.m_cap = lineCap;
+
+            m_target.setLineCap(lineCap);
+        }
+    }
+
+    @Override
+    public void setLineJoin(final String lineJoin)
+    {
+        if (false == unchanged(m_state.m_join, lineJoin))
+        {
+            m_state.m_join = lineJoin;
+
+            m_target.setLineJoin(lineJoin);
+        }
+    }
+
+    @Override
+    public void quadraticCurveTo(final double cpx, final double cpy, final double x, final double y)
+    {
+        m_target.quadraticCurveTo(cpx, cpy, x, y);
+    }
+
+    @Override
+    public void arc(final double x, final double y, final double radius, final double startAngle, final double endAngle)
+    {
+        m_target.arc(x, y, radius, startAngle, endAngle);
+    }
+
+    @Override
+    public void arc(final double x, final double y, final double radius, final double startAngle, final double endAngle, final boolean antiClockwise)
+    {
+        m_target.arc(x, y, radius, startAngle, endAngle, antiClockwise);
+    }
+
+    @Override
+    public void ellipse(final double x, final double y, final double rx, final double ry, final double ro, final double sa, final double ea, final boolean ac)
+    {
+        m_target.ellipse(x, y, rx, ry, ro, sa, ea, ac);
+    }
+
+    @Override
+    public void ellipse(final double x, final double y, final double rx, final double ry, final double ro, final double sa, final double ea)
+    {
+        m_target.ellipse(x, y, rx, ry, ro, sa, ea);
+    }
+
+    @Override
+    public void arcTo(final double x1, final double y1, final double x2, final double y2, final double radius)
+    {
+        m_target.arcTo(x1, y1, x2, y2, radius);
+    }
+
+    @Override
+    public void bezierCurveTo(final double cp1x, final double cp1y, final double cp2x, final double cp2y, final double x, final double y)
+    {
+        m_target.bezierCurveTo(cp1x, cp1y, cp2x, cp2y, x, y);
+    }
+
+    @Override
+    public void clearRect(final double x, final double y, final double w, final double h)
+    {
+        m_target.clearRect(x, y, w, h);
+    }
+
+    @Override
+    public void clip()
+    {
+        flush();
+
+        m_target.clip();
+    }
+
+    @Override
+    public void fill()
+    {
+        m_target.fill();
+    }
+
+    @Override
+    public void stroke()
+    {
+        m_target.stroke();
+    }
+
+    @Override
+    public void fillRect(final double x, final double y, final double w, final double h)
+    {
+        m_target.fillRect(x, y, w, h);
+    }
+
+    @Override
+    public void fillText(final String text, final double x, final double y)
+    {
+        m_target.fillText(text, x, y);
+    }
+
+    @Override
+    public void fillTextWithGradient(final String text, final double x, final double y, final double sx, final double sy, final double ex, final double ey, final String color)
+    {
+        flush();
+
+        m_state.m_fill = UNKNOWN;
+
+        m_target.fillTextWithGradient(text, x, y, sx, sy, ex, ey, color);
+    }
+
+    @Override
+    public void fillText(final String text, final double x, final double y, final double maxWidth)
+    {
+        m_target.fillText(text, x, y, maxWidth);
+    }
+
+    @Override
+    public void setFillColor(final String fill)
+    {
+        if (false == unchanged(m_state.m_fill, fill))
+        {
+            m_state.m_fill = fill;
+
+            m_target.setFillColor(fill);
+        }
+    }
+
+    @Override
+    public void rect(final double x, final double y, final double w, final double h)
+    {
+        m_target.rect(x, y, w, h);
+    }
+
+    @Override
+    public void rotate(final double angle)
+    {
+        flush();
+
+        m_target.rotate(angle);
+    }
+
+    @Override
+    public void scale(final double sx, final double sy)
+    {
+        flush();
+
+        m_target.scale(sx, sy);
+    }
+
+    @Override
+    public void setStrokeColor(final String color)
+    {
+        if (false == unchanged(m_state.m_stroke, color))
+        {
+            m_state.m_stroke = color;
+
+            m_target.setStrokeColor(color);
+        }
+    }
+
+    @Override
+    public void setStrokeWidth(final double width)
+    {
+        if (false == unchanged(m_state.m_width, width))
+        {
+            m_state.m_width = width;
+
+            m_target.setStrokeWidth(width);
+        }
+    }
+
+    @Override
+    public void setImageSmoothingEnabled(final boolean enabled)
+    {
+        final Object value = enabled ? Boolean.TRUE : Boolean.FALSE;
+
+        if (false == unchanged(m_state.m_smoothing, value))
+        {
+            m_state.m_smoothing = value;
+
+            m_target.setImageSmoothingEnabled(enabled);
+        }
+    }
+
+    @Override
+    public void setFillGradient(final LinearGradientJSO grad)
+    {
+        if (false == unchanged(m_state.m_fill, grad))
+        {
+            m_state.m_fill = grad;
+
+            m_target.setFillGradient(grad);
+        }
+    }
+
+    @Override
+    public void setFillGradient(final PatternGradientJSO grad)
+    {
+        if (false == unchanged(m_state.m_fill, grad))
+        {
+            m_state.m_fill = grad;
+
+            m_target.setFillGradient(grad);
+        }
+    }
+
+    @Override
+    public void setFillGradient(final RadialGradientJSO grad)
+    {
+        if (false == unchanged(m_state.m_fill, grad))
+        {
+            m_state.m_fill = grad;
+
+            m_target.setFillGradient(grad);
+        }
+    }
+
+    @Override
+    public void transform(final TransformJSO jso)
+    {
+        flush();
+
+        m_target.transform(jso);
+    }
+
+    @Override
+    public void transform(final double d0, final double d1, final double d2, final double d3, final double d4, final double d5)
+    {
+        flush();
+
+        m_target.transform(d0, d1, d2, d3, d4, d5);
+    }
+
+    @Override
+    public void setTransform(final TransformJSO jso)
+    {
+        flush();
+
+        m_target.setTransform(jso);
+    }
+
+    @Override
+    public void setTransform(final double d0, final double d1, final double d2, final double d3, final double d4, final double d5)
+    {
+        flush();
+
+        m_target.setTransform(d0, d1, d2, d3, d4, d5);
+    }
+
+    @Override
+    public void setToIdentityTransform()
+    {
+        flush();
+
+        m_target.setToIdentityTransform();
+    }
+
+    @Override
+    public void setTextFont(final String font)
+    {
+        if (false == unchanged(m_state.m_font, font))
+        {
+            m_state.m_font = font;
+
+            m_target.setTextFont(font);
+        }
+    }
+
+    @Override
+    public void setTextBaseline(final String baseline)
+    {
+        if (false == unchanged(m_state.m_baseline, baseline))
+        {
+            m_state.m_baseline = baseline;
+
+            m_target.setTextBaseline(baseline);
+        }
+    }
+
+    @Override
+    public void setTextAlign(final String align)
+    {
+        if (false == unchanged(m_state.m_align, align))
+        {
+            m_state.m_align = align;
+
+            m_target.setTextAlign(align);
+        }
+    }
+
+    @Override
+    public void strokeText(final String text, final double x, final double y)
+    {
+        m_target.strokeText(text, x, y);
+    }
+
+    @Override
+    public void setGlobalAlpha(final double alpha)
+    {
+        if (false == unchanged(m_state.m_alpha, alpha))
+        {
+            m_state.m_alpha = alpha;
+
+            m_target.setGlobalAlpha(alpha);
+        }
+    }
+
+    @Override
+    public void translate(final double x, final double y)
+    {
+        flush();
+
+        m_target.translate(x, y);
+    }
+
+    @Override
+    public void setShadow(final ShadowJSO shadow)
+    {
+        final ShadowValues values = (null == shadow) ? null : new ShadowValues(shadow);
+
+        if (false == unchanged(m_state.m_shadow, values))
+        {
+            m_state.m_shadow = values;
+
+            m_target.setShadow(shadow);
+        }
+    }
+
+    @Override
+    public boolean isSupported(final String feature)
+    {
+        return m_target.isSupported(feature);
+    }
+
+    @Override
+    public boolean isPointInPath(final double x, final double y)
+    {
+        return m_target.isPointInPath(x, y);
+    }
+
+    @Override
+    public ImageData getImageData(final double x, final double y, final double width, final double height)
+    {
+        return m_target.getImageData(x, y, width, height);
+    }
+
+    @Override
+    public ImageData createImageData(final double width, final double height)
+    {
+        return m_target.createImageData(width, height);
+    }
+
+    @Override
+    public ImageData createImageData(final ImageData data)
+    {
+        return m_target.createImageData(data);
+    }
+
+    @Override
+    public void putImageData(final ImageData imageData, final double x, final double y)
+    {
+        m_target.putImageData(imageData, x, y);
+    }
+
+    @Override
+    public void putImageData(final ImageData imageData, final double x, final double y, final double dx, final double dy, final double dw, final double dh)
+    {
+        m_target.putImageData(imageData, x, y, dx, dy, dw, dh);
+    }
+
+    @Override
+    public TextMetrics measureText(final String text)
+    {
+        return m_target.measureText(text);
+    }
+
+    @Override
+    public void drawImage(final Element image, final double x, final double y)
+    {
+        m_target.drawImage(image, x, y);
+    }
+
+    @Override
+    public void drawImage(final Element image, final double x, final double y, final double w, final double h)
+    {
+        m_target.drawImage(image, x, y, w, h);
+    }
+
+    @Override
+    public void drawImage(final Element image, final double sx, final double sy, final double sw, final double sh, final double x, final double y, final double w, final double h)
+    {
+        m_target.drawImage(image, sx, sy, sw, sh, x, y, w, h);
+    }
+
+    @Override
+    public void resetClip()
+    {
+        flush();
+
+        m_target.resetClip();
+    }
+
+    @Override
+    public void setMiterLimit(final double limit)
+    {
+        if (false == unchanged(m_state.m_miter, limit))
+        {
+            m_state.m_miter = limit;
+
+            m_target.setMiterLimit(limit);
+        }
+    }
+
+    @Override
+    public void setLineDash(final NFastDoubleArrayJSO dashes)
+    {
+        if (false == unchanged(m_state.m_dash, dashes))
+        {
+            m_state.m_dash = (null == dashes) ? null : copy(dashes);
+
+            m_target.setLineDash(dashes);
+        }
+    }
+
+    @Override
+    public void setLineDashOffset(final double offset)
+    {
+        if (false == unchanged(m_state.m_offset, offset))
+        {
+            m_state.m_offset = offset;
+
+            m_target.setLineDashOffset(offset);
+        }
+    }
+
+    @Override
+    public double getBackingStorePixelRatio()
+    {
+        return m_target.getBackingStorePixelRatio();
+    }
+
+    @Override
+    public boolean path(final PathPartListJSO list)
+    {
+        return m_target.path(list);
+    }
+
+    @Override
+    public boolean clip(final PathPartListJSO list)
+    {
+        return m_target.clip(list);
+    }
+
+    @Override
+    public void fill(final NativePath2D path)
+    {
+        m_target.fill(path);
+    }
+
+    @Override
+    public void stroke(final NativePath2D path)
+    {
+        m_target.stroke(path);
+    }
+
+    @Override
+    public void clip(final NativePath2D path)
+    {
+        flush();
+
+        m_target.clip(path);
+    }
+
+    @Override
+    public NativePath2D getCurrentPath()
+    {
+        return m_target.getCurrentPath();
+    }
+
+    @Override
+    public void setCurrentPath(final NativePath2D path)
+    {
+        m_target.setCurrentPath(path);
+    }
+
+    private static final class State
+    {
+        static final int SAVE           = 0;
+
+        static final int SAVE_ID        = 1;
+
+        static final int SAVE_CONTAINER = 2;
+
+        private int      m_kind;
+
+        private String   m_id;
+
+        private boolean  m_forwarded;
+
+        private Object   m_fill;
+
+        private Object   m_stroke;
+
+        private Object   m_cap;
+
+        private Object   m_join;
+
+        private Object   m_composite;
+
+        private Object   m_font;
+
+        private Object   m_baseline;
+
+        private Object   m_align;
+
+        private Object   m_shadow;
+
+        private Object   m_dash;
+
+        private Object   m_smoothing;
+
+        private double   m_width;
+
+        private double   m_alpha;
+
+        private double   m_miter;
+
+        private double   m_offset;
+
+        State()
+        {
+            unknown();
+        }
+
+        State(final State state)
+        {
+            m_fill = state.m_fill;
+
+            m_stroke = state.m_stroke;
+
+            m_cap = state.m_cap;
+
+            m_join = state.m_join;
+
+            m_composite = state.m_composite;
+
+            m_font = state.m_font;
+
+            m_baseline = state.m_baseline;
+
+            m_align = state.m_align;
+
+            m_shadow = state.m_shadow;
+
+            m_dash = state.m_dash;
+
+            m_smoothing = state.m_smoothing;
+
+            m_width = state.m_width;
+
+            m_alpha = state.m_alpha;
+
+            m_miter = state.m_miter;
+
+            m_offset = state.m_offset;
+        }
+
+        final void unknown()
+        {
+            m_fill = UNKNOWN;
+
+            m_stroke = UNKNOWN;
+
+            m_cap = UNKNOWN;
+
+            m_join = UNKNOWN;
+
+            m_composite = UNKNOWN;
+
+            m_font = UNKNOWN;
+
+            m_baseline = UNKNOWN;
+
+            m_align = UNKNOWN;
+
+            m_shadow = UNKNOWN;
+
+            m_dash = UNKNOWN;
+
+            m_smoothing = UNKNOWN;
+
+            m_width = Double.NaN;
+
+            m_alpha = Double.NaN;
+
+            m_miter = Double.NaN;
+
+            m_offset = Double.NaN;
+        }
+    }
+
+    private static final class ShadowValues
+    {
+        private final String  m_color;
+
+        private final int     m_blur;
+
+        private final boolean m_onfill;
+
+        private final double  m_x;
+
+        private final double  m_y;
+
+        ShadowValues(final ShadowJSO shadow)
+        {
+            m_color = shadow.getColor();
+
+            m_blur = shadow.getBlur();
+
+            m_onfill = shadow.getOnFill();
+
+            final Point2DJSO offset = shadow.getOffset();
+
+            m_x = (null == offset) ? 0 : offset.getX();
+
+            m_y = (null == offset) ? 0 : offset.getY();
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            if (false == (other instanceof ShadowValues))
+            {
+                return false;
+            }
+            final ShadowValues that = (ShadowValues) other;
+
+            return (m_blur == that.m_blur) && (m_onfill == that.m_onfill) && (m_x == that.m_x) && (m_y == that.m_y) && ((null == m_color) ? (null == that.m_color) : m_color.equals(that.m_color));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (null == m_color) ? m_blur : m_color.hashCode() + m_blur;
+        }
+    }
+}
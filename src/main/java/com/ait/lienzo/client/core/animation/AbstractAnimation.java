@@ -17,8 +17,6 @@
 package com.ait.lienzo.client.core.animation;
 
 import com.ait.lienzo.client.core.shape.Node;
-import com.google.gwt.animation.client.AnimationScheduler;
-import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
 
 public abstract class AbstractAnimation implements IAnimation, IAnimationHandle
 {
@@ -32,7 +30,7 @@ public abstract class AbstractAnimation implements IAnimation, IAnimationHandle
 
     private boolean                  m_running = false;
 
-    private AnimationCallback        m_animate = null;
+    private boolean                  m_clocked = false;
 
     protected AbstractAnimation(final double duration, final IAnimationCallback callback)
     {
@@ -46,29 +44,32 @@ public abstract class AbstractAnimation implements IAnimation, IAnimationHandle
         return m_begtime;
     }
 
-    private final AnimationCallback getAnimationCallback()
+    /**
+     * Called by the {@link AnimationClock} once per frame, returns false once the animation has stopped and been closed.
+     */
+    final boolean tick()
     {
-        if (null == m_animate)
+        doFrame();
+
+        if (isRunning())
         {
-            m_animate = new AnimationCallback()
-            {
-                @Override
-                public void execute(double time)
-                {
-                    doFrame();
-
-                    if (isRunning())
-                    {
-                        AnimationScheduler.get().requestAnimationFrame(m_animate);
-                    }
-                    else
-                    {
-                        doClose();
-                    }
-                }
-            };
+            return true;
         }
-        return m_animate;
+        m_clocked = false;
+
+        doClose();
+
+        return false;
+    }
+
+    /**
+     * Called by the {@link AnimationClock} when {@link #tick()} threw, stops the animation so it is no longer ticked.
+     */
+    final void abort()
+    {
+        m_running = false;
+
+        m_clocked = false;
     }
 
     @Override
@@ -84,8 +85,12 @@ public abstract class AbstractAnimation implements IAnimation, IAnimationHandle
 
         doStart();
 
-        AnimationScheduler.get().requestAnimationFrame(getAnimationCallback());
+        if (false == m_clocked)
+        {
+            m_clocked = true;
 
+            AnimationClock.get().add(this);
+        }
         return this;
     }
 
@@ -94,8 +99,6 @@ public abstract class AbstractAnimation implements IAnimation, IAnimationHandle
     {
         m_running = false;
 
-        m_animate = null;
-
         return this;
     }
 
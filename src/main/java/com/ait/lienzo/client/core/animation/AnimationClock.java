@@ -0,0 +1,150 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.animation;
+
+import java.util.ArrayList;
+
+import com.ait.lienzo.client.core.config.LienzoCore;
+
+/**
+ * Shared clock that advances every running {@link AbstractAnimation} from the {@link LayerRedrawManager} frame callback.
+ * <p>
+ * Animations are ticked in the order they were started, so later animations of the same node win, then the layers they
+ * batched are drawn in the same frame. Only one animation frame is requested however many animations are running.
+ */
+public final class AnimationClock
+{
+    private static final AnimationClock    INSTANCE  = new AnimationClock();
+
+    private ArrayList<AbstractAnimation>   m_running = new ArrayList<AbstractAnimation>();
+
+    private ArrayList<AbstractAnimation>   m_spare   = new ArrayList<AbstractAnimation>();
+
+    private long                           m_ticked  = 0L;
+
+    private long                           m_frames  = 0L;
+
+    public static final AnimationClock get()
+    {
+        return INSTANCE;
+    }
+
+    private AnimationClock()
+    {
+    }
+
+    final void add(final AbstractAnimation animation)
+    {
+        m_running.add(animation);
+
+        LayerRedrawManager.get().frame();
+    }
+
+    final void tick()
+    {
+        if (m_running.isEmpty())
+        {
+            return;
+        }
+        final long beg = System.currentTimeMillis();
+
+        final ArrayList<AbstractAnimation> list = m_running;
+
+        m_running = m_spare;
+
+        final int size = list.size();
+
+        int i = 0;
+
+        try
+        {
+            while (i < size)
+            {
+                final AbstractAnimation animation = list.get(i++);
+
+                try
+                {
+                    if (animation.tick())
+                    {
+                        m_running.add(animation);
+                    }
+                }
+                catch (Exception e)
+                {
+                    // stopped, so a broken animation or callback doesn't throw every frame, and can be run again
+
+                    animation.abort();
+
+                    LienzoCore.get().error("ERROR: In animation tick " + e.getMessage(), e);
+                }
+            }
+        }
+        finally
+        {
+            // anything not ticked is still clocked, and run() would not add it back, so keep it running
+
+            while (i < size)
+            {
+                m_running.add(list.get(i++));
+            }
+            // Animations started by callbacks during the tick are in m_running too, and get their first frame next tick.
+
+            list.clear();
+
+            m_spare = list;
+
+            m_frames++;
+
+            m_ticked = System.currentTimeMillis() - beg;
+
+            if (false == m_running.isEmpty())
+            {
+                LayerRedrawManager.get().frame();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of running animations.
+     *
+     * @return int
+     */
+    public final int getActiveCount()
+    {
+        return m_running.size();
+    }
+
+    /**
+     * Returns the time taken to tick every running animation in the last frame, in milliseconds.
+     *
+     * @return long
+     */
+    public final long getLastTickTime()
+    {
+        return m_ticked;
+    }
+
+    /**
+     * Returns the number of frames ticked since startup.
+     *
+     * @return long
+     */
+    public final long getFrameCount()
+    {
+        return m_frames;
+    }
+}
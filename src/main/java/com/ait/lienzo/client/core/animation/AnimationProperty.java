@@ -21,7 +21,6 @@ import com.ait.lienzo.client.core.shape.Node;
 import com.ait.lienzo.client.core.types.Point2D;
 import com.ait.lienzo.client.core.util.ColorExtractor;
 import com.ait.lienzo.shared.core.types.Color;
-import com.ait.lienzo.shared.core.types.Color.HSL;
 import com.ait.lienzo.shared.core.types.IColor;
 
 /**
@@ -322,11 +321,36 @@ public interface AnimationProperty
             return new StringStrokeColorAnimationProperty(color.getColorString(), Attribute.FILL);
         }
 
+        public static final AnimationProperty FILL_COLOR(final String color, final ColorTweenMode mode)
+        {
+            return new StringFillColorAnimationProperty(color, Attribute.FILL, mode);
+        }
+
+        public static final AnimationProperty FILL_COLOR(final IColor color, final ColorTweenMode mode)
+        {
+            return new StringFillColorAnimationProperty(color.getColorString(), Attribute.FILL, mode);
+        }
+
+        public static final AnimationProperty STROKE_COLOR(final String color, final ColorTweenMode mode)
+        {
+            return new StringStrokeColorAnimationProperty(color, Attribute.FILL, mode);
+        }
+
+        public static final AnimationProperty STROKE_COLOR(final IColor color, final ColorTweenMode mode)
+        {
+            return new StringStrokeColorAnimationProperty(color.getColorString(), Attribute.FILL, mode);
+        }
+
         private static final class StringFillColorAnimationProperty extends AbstractStringColorAnimationProperty
         {
             public StringFillColorAnimationProperty(final String target, final Attribute attribute)
             {
-                super(target, attribute);
+                super(target, attribute, ColorTweenMode.HSL);
+            }
+
+            public StringFillColorAnimationProperty(final String target, final Attribute attribute, final ColorTweenMode mode)
+            {
+                super(target, attribute, mode);
             }
 
             @Override
@@ -344,7 +368,7 @@ public interface AnimationProperty
             @Override
             public StringFillColorAnimationProperty copy()
             {
-                return new StringFillColorAnimationProperty(getTarget(), getAttribute());
+                return new StringFillColorAnimationProperty(getTarget(), getAttribute(), getMode());
             }
         }
 
@@ -352,7 +376,12 @@ public interface AnimationProperty
         {
             public StringStrokeColorAnimationProperty(final String target, final Attribute attribute)
             {
-                super(target, attribute);
+                super(target, attribute, ColorTweenMode.HSL);
+            }
+
+            public StringStrokeColorAnimationProperty(final String target, final Attribute attribute, final ColorTweenMode mode)
+            {
+                super(target, attribute, mode);
             }
 
             @Override
@@ -370,37 +399,27 @@ public interface AnimationProperty
             @Override
             public StringStrokeColorAnimationProperty copy()
             {
-                return new StringStrokeColorAnimationProperty(getTarget(), getAttribute());
+                return new StringStrokeColorAnimationProperty(getTarget(), getAttribute(), getMode());
             }
         }
 
         private static abstract class AbstractStringColorAnimationProperty implements AnimationProperty
         {
-            private final String    m_target;
-
-            private final Attribute m_attribute;
-
-            private double          m_origin_h;
+            private final String         m_target;
 
-            private double          m_origin_s;
+            private final Attribute      m_attribute;
 
-            private double          m_origin_l;
+            private final ColorTweenMode m_mode;
 
-            private double          m_origin_a;
+            private ColorTween           m_tween;
 
-            private double          m_target_h;
-
-            private double          m_target_s;
-
-            private double          m_target_l;
-
-            private double          m_target_a;
-
-            public AbstractStringColorAnimationProperty(final String target, final Attribute attribute)
+            public AbstractStringColorAnimationProperty(final String target, final Attribute attribute, final ColorTweenMode mode)
             {
                 m_target = target;
 
                 m_attribute = attribute;
+
+                m_mode = (null != mode) ? mode : ColorTweenMode.HSL;
             }
 
             protected final String getTarget()
@@ -408,6 +427,11 @@ public interface AnimationProperty
                 return m_target;
             }
 
+            protected final ColorTweenMode getMode()
+            {
+                return m_mode;
+            }
+
             @Override
             public boolean isRefreshing()
             {
@@ -446,25 +470,7 @@ public interface AnimationProperty
                     {
                         cbeg = ColorExtractor.extract(color);
                     }
-                    HSL hbeg = cbeg.getHSL();
-
-                    HSL hend = cend.getHSL();
-
-                    m_origin_h = hbeg.getH();
-
-                    m_origin_s = hbeg.getS();
-
-                    m_origin_l = hbeg.getL();
-
-                    m_origin_a = cbeg.getA();
-
-                    m_target_h = hend.getH();
-
-                    m_target_s = hend.getS();
-
-                    m_target_l = hend.getL();
-
-                    m_target_a = cend.getA();
+                    m_tween = new ColorTween(cbeg, cend, m_mode);
 
                     return true;
                 }
@@ -474,15 +480,7 @@ public interface AnimationProperty
             @Override
             public boolean apply(final Node<?> node, final double percent)
             {
-                final double h = (m_origin_h + ((m_target_h - m_origin_h) * percent));
-
-                final double s = (m_origin_s + ((m_target_s - m_origin_s) * percent));
-
-                final double l = (m_origin_l + ((m_target_l - m_origin_l) * percent));
-
-                final double a = (m_origin_a + ((m_target_a - m_origin_a) * percent));
-
-                setColorString(node, Color.fromNormalizedHSL(h, s, l).setA(a).getColorString());
+                setColorString(node, m_tween.getColorString(percent));
 
                 return true;
             }
@@ -0,0 +1,237 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.animation;
+
+import com.ait.lienzo.shared.core.types.Color;
+import com.ait.lienzo.shared.core.types.Color.HSL;
+
+/**
+ * Interpolates between two colors in packed 0xRRGGBBAA space, formatting CSS color strings through a small shared cache,
+ * so a frame of color animation does not allocate a {@link Color} and rarely allocates a String.
+ * <p>
+ * In {@link ColorTweenMode#HSL} mode the RGB values are the same as the HSL interpolation through {@link Color#fromNormalizedHSL(double, double, double)}.
+ * Alpha is kept to 8 bits, and formatted with at most 3 decimals.
+ */
+public final class ColorTween
+{
+    public static final int        LOOKUP_STEPS = 256;
+
+    private static final int       CACHE_BITS   = 10;
+
+    private static final int[]     CACHE_KEYS   = new int[1 << CACHE_BITS];
+
+    private static final String[]  CACHE_VALS   = new String[1 << CACHE_BITS];
+
+    private static final String[]  ALPHA_VALS   = new String[256];
+
+    static
+    {
+        for (int i = 0; i < 256; i++)
+        {
+            ALPHA_VALS[i] = String.valueOf(Math.round(i * 1000.0 / 255.0) / 1000.0);
+        }
+    }
+
+    private final ColorTweenMode   m_mode;
+
+    private final double           m_origin_h;
+
+    private final double           m_origin_s;
+
+    private final double           m_origin_l;
+
+    private final double           m_origin_a;
+
+    private final double           m_target_h;
+
+    private final double           m_target_s;
+
+    private final double           m_target_l;
+
+    private final double           m_target_a;
+
+    private final int              m_origin;
+
+    private final int              m_target;
+
+    private final int[]            m_lookup;
+
+    public ColorTween(final Color origin, final Color target, final ColorTweenMode mode)
+    {
+        m_mode = (null != mode) ? mode : ColorTweenMode.HSL;
+
+        final HSL hbeg = origin.getHSL();
+
+        final HSL hend = target.getHSL();
+
+        m_origin_h = hbeg.getH();
+
+        m_origin_s = hbeg.getS();
+
+        m_origin_l = hbeg.getL();
+
+        m_origin_a = origin.getA();
+
+        m_target_h = hend.getH();
+
+        m_target_s = hend.getS();
+
+        m_target_l = hend.getL();
+
+        m_target_a = target.getA();
+
+        m_origin = pack(origin.getR(), origin.getG(), origin.getB(), m_origin_a);
+
+        m_target = pack(target.getR(), target.getG(), target.getB(), m_target_a);
+
+        if (m_mode.isLookup())
+        {
+            m_lookup = new int[LOOKUP_STEPS + 1];
+
+            for (int i = 0; i <= LOOKUP_STEPS; i++)
+            {
+                m_lookup[i] = blend(((double) i) / LOOKUP_STEPS);
+            }
+        }
+        else
+        {
+            m_lookup = null;
+        }
+    }
+
+    public final ColorTweenMode getMode()
+    {
+        return m_mode;
+    }
+
+    /**
+     * Returns the color at the given (already tweened) percent, packed as 0xRRGGBBAA.
+     *
+     * @param percent
+     * @return int
+     */
+    public final int getPackedColor(final double percent)
+    {
+        if ((null != m_lookup) && (percent >= 0) && (percent <= 1))
+        {
+            return m_lookup[(int) Math.round(percent * LOOKUP_STEPS)];
+        }
+        return blend(percent);
+    }
+
+    public final String getColorString(final double percent)
+    {
+        return toColorString(getPackedColor(percent));
+    }
+
+    private final int blend(final double percent)
+    {
+        final double a = (m_origin_a + ((m_target_a - m_origin_a) * percent));
+
+        if (m_mode.isHSL())
+        {
+            final double h = (m_origin_h + ((m_target_h - m_origin_h) * percent));
+
+            final double s = (m_origin_s + ((m_target_s - m_origin_s) * percent));
+
+            final double l = (m_origin_l + ((m_target_l - m_origin_l) * percent));
+
+            return (Color.toPackedRGB(h, s, l) << 8) | toAlphaByte(a);
+        }
+        final int r = channel(m_origin >>> 24, m_target >>> 24, percent);
+
+        final int g = channel((m_origin >>> 16) & 0xFF, (m_target >>> 16) & 0xFF, percent);
+
+        final int b = channel((m_origin >>> 8) & 0xFF, (m_target >>> 8) & 0xFF, percent);
+
+        return (r << 24) | (g << 16) | (b << 8) | toAlphaByte(a);
+    }
+
+    private static final int channel(final int beg, final int end, final double percent)
+    {
+        return clamp((int) Math.round(beg + ((end - beg) * percent)));
+    }
+
+    private static final int clamp(final int c)
+    {
+        if (c < 0)
+        {
+            return 0;
+        }
+        if (c > 255)
+        {
+            return 255;
+        }
+        return c;
+    }
+
+    private static final int toAlphaByte(final double a)
+    {
+        if (a <= 0)
+        {
+            return 0;
+        }
+        if (a >= 1)
+        {
+            return 255;
+        }
+        return (int) Math.round(a * 255);
+    }
+
+    /**
+     * Packs RGBA values as 0xRRGGBBAA, alpha is in [0,1].
+     */
+    public static final int pack(final int r, final int g, final int b, final double a)
+    {
+        return (clamp(r) << 24) | (clamp(g) << 16) | (clamp(b) << 8) | toAlphaByte(a);
+    }
+
+    /**
+     * Formats a packed 0xRRGGBBAA color as "rgb(r,g,b)" when opaque, or "rgba(r,g,b,a)", reusing recently formatted strings.
+     *
+     * @param rgba
+     * @return String
+     */
+    public static final String toColorString(final int rgba)
+    {
+        final int indx = (rgba * 0x9E3779B1) >>> (32 - CACHE_BITS);
+
+        final String cached = CACHE_VALS[indx];
+
+        if ((null != cached) && (CACHE_KEYS[indx] == rgba))
+        {
+            return cached;
+        }
+        final int a = rgba & 0xFF;
+
+        final String color;
+
+        if (a == 255)
+        {
+            color = "rgb(" + (rgba >>> 24) + "," + ((rgba >>> 16) & 0xFF) + "," + ((rgba >>> 8) & 0xFF) + ")";
+        }
+        else
+        {
+            color = "rgba(" + (rgba >>> 24) + "," + ((rgba >>> 16) & 0xFF) + "," + ((rgba >>> 8) & 0xFF) + "," + ALPHA_VALS[a] + ")";
+        }
+        CACHE_KEYS[indx] = rgba;
+
+        CACHE_VALS[indx] = color;
+
+        return color;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.animation;
+
+/**
+ * How {@link AnimationProperty.Properties#FILL_COLOR(String, ColorTweenMode)} and
+ * {@link AnimationProperty.Properties#STROKE_COLOR(String, ColorTweenMode)} blend between two colors.
+ * <p>
+ * The LOOKUP variants precompute the color ramp when the animation starts, and snap each frame to the nearest of
+ * {@link ColorTween#LOOKUP_STEPS} steps.
+ */
+public enum ColorTweenMode
+{
+    HSL(true, false), RGB(false, false), HSL_LOOKUP(true, true), RGB_LOOKUP(false, true);
+
+    private final boolean m_hsl;
+
+    private final boolean m_lookup;
+
+    private ColorTweenMode(final boolean hsl, final boolean lookup)
+    {
+        m_hsl = hsl;
+
+        m_lookup = lookup;
+    }
+
+    public final boolean isHSL()
+    {
+        return m_hsl;
+    }
+
+    public final boolean isLookup()
+    {
+        return m_lookup;
+    }
+}
@@ -15,19 +15,77 @@
  */
 package com.ait.lienzo.client.core.animation;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.ait.lienzo.client.core.config.LienzoCore;
+import com.ait.lienzo.client.core.event.AttributesChangedJournal;
 import com.ait.lienzo.client.core.shape.Layer;
-import com.ait.tooling.nativetools.client.collection.NFastArrayList;
 import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
 import com.google.gwt.dom.client.Element;
 
+/**
+ * Draws the layers scheduled with {@link Layer#batch()} on the next animation frame.
+ * <p>
+ * Scheduling a layer already waiting is a no-op. Layers are drawn by descending {@link Layer#getRedrawPriority()},
+ * then in the order they were scheduled. Once a frame has used its budget, the remaining layers are carried over
+ * to the next frame, ahead of layers of the same priority scheduled meanwhile. At least one layer is drawn every frame,
+ * and the layer carried over the longest is always drawn first, so busy high priority layers can't starve the others.
+ * A layer that throws while drawing is logged, and the frame goes on with the next layer.
+ * <p>
+ * The {@link AnimationClock} is ticked and the {@link AttributesChangedJournal} is flushed first, so layers batched by animations
+ * and attribute changed handlers are drawn in the same frame.
+ */
 public final class LayerRedrawManager
 {
-    private static final LayerRedrawManager INSTANCE = new LayerRedrawManager();
+    /**
+     * Default redraw priority of a {@link Layer}.
+     */
+    public static final int                       PRIORITY_NORMAL      = 0;
+
+    /**
+     * Redraw priority of layers that follow the pointer, such as the Viewport drag layer.
+     */
+    public static final int                       PRIORITY_INTERACTIVE = 100;
+
+    /**
+     * Default drawing time budget per animation frame, in milliseconds, leaving room for event handling in a 60fps frame.
+     */
+    public static final double                    DEFAULT_FRAME_BUDGET = 12;
+
+    private static final LayerRedrawManager       INSTANCE             = new LayerRedrawManager();
+
+    private static final Comparator<Layer>        PRIORITY             = new Comparator<Layer>()
+                                                                       {
+                                                                           @Override
+                                                                           public int compare(final Layer a, final Layer b)
+                                                                           {
+                                                                               final int pa = a.getRedrawPriority();
+
+                                                                               final int pb = b.getRedrawPriority();
+
+                                                                               return (pa > pb) ? -1 : ((pa < pb) ? 1 : 0);
+                                                                           }
+                                                                       };
+
+    private final AnimationCallback               m_redraw;
 
-    private final AnimationCallback         m_redraw;
+    private final ArrayList<ILayerRedrawListener> m_listeners          = new ArrayList<ILayerRedrawListener>();
 
-    private NFastArrayList<Layer>           m_layers = new NFastArrayList<Layer>();
+    private ArrayList<Layer>                      m_layers             = new ArrayList<Layer>();
+
+    // layers carried over from previous frames, the longest waiting first
+
+    private ArrayList<Layer>                      m_carried            = new ArrayList<Layer>();
+
+    private double                                m_budget             = DEFAULT_FRAME_BUDGET;
+
+    private boolean                               m_kicked             = false;
+
+    private long                                  m_missed             = 0L;
 
     public static final LayerRedrawManager get()
     {
@@ -41,17 +99,106 @@ public final class LayerRedrawManager
             @Override
             public final void execute(final double time)
             {
-                final int size = m_layers.size();
+                m_kicked = false;
+
+                AnimationClock.get().tick();
+
+                AttributesChangedJournal.get().flush();
+
+                final ArrayList<Layer> aged = m_carried;
+
+                final ArrayList<Layer> list = new ArrayList<Layer>(aged.size() + m_layers.size());
+
+                list.addAll(aged);
+
+                list.addAll(m_layers);
+
+                final int size = list.size();
 
                 if (size > 0)
                 {
-                    final NFastArrayList<Layer> list = m_layers;
+                    m_layers = new ArrayList<Layer>();
+
+                    m_carried = new ArrayList<Layer>();
+
+                    // the longest waiting layer stays first, carried layers stay ahead of new ones of the same priority
+
+                    final int from = (aged.isEmpty()) ? 0 : 1;
+
+                    if ((size - from) > 1)
+                    {
+                        Collections.sort(list.subList(from, size), PRIORITY);
+                    }
+                    final LayerRedrawMetrics metrics = (m_listeners.isEmpty()) ? null : new LayerRedrawMetrics(m_budget);
+
+                    final long beg = System.currentTimeMillis();
+
+                    long end = beg;
+
+                    int i = 0;
+
+                    while (i < size)
+                    {
+                        final Layer layer = list.get(i++);
+
+                        final long now = end;
+
+                        try
+                        {
+                            layer.unBatchScheduled().draw();
+                        }
+                        catch (Exception e)
+                        {
+                            LienzoCore.get().error("ERROR: In layer redraw " + e.getMessage(), e);
+                        }
+                        end = System.currentTimeMillis();
+
+                        if (null != metrics)
+                        {
+                            metrics.add(layer, end - now);
+                        }
+                        if ((m_budget > 0) && ((end - beg) >= m_budget))
+                        {
+                            break;
+                        }
+                    }
+                    if (i < size)
+                    {
+                        // still waiting layers keep their age, the ones scheduled for this frame queue up behind them
 
-                    m_layers = new NFastArrayList<Layer>();
+                        final List<Layer> rest = list.subList(i, size);
 
-                    for (int i = 0; i < size; i++)
+                        for (Layer layer : aged)
+                        {
+                            if (rest.contains(layer))
+                            {
+                                m_carried.add(layer);
+                            }
+                        }
+                        for (Layer layer : rest)
+                        {
+                            if (false == aged.contains(layer))
+                            {
+                                m_carried.add(layer);
+                            }
+                        }
+                    }
+                    if (((m_budget > 0) && ((end - beg) > m_budget)) || (i < size))
                     {
-                        list.get(i).unBatchScheduled().draw();
+                        m_missed++;
+                    }
+                    if (getQueueDepth() > 0)
+                    {
+                        kick((m_carried.isEmpty() ? m_layers : m_carried).get(0).getElement());
+                    }
+                    if (null != metrics)
+                    {
+                        metrics.done(end - beg, getQueueDepth(), m_missed);
+
+                        for (ILayerRedrawListener listener : new ArrayList<ILayerRedrawListener>(m_listeners))
+                        {
+                            listener.onLayerRedrawFrame(metrics);
+                        }
                     }
                 }
             }
@@ -71,10 +218,79 @@ public final class LayerRedrawManager
         return layer;
     }
 
+    /**
+     * Sets the drawing time budget per animation frame, in milliseconds. 0 or less draws every scheduled layer in the same frame.
+     *
+     * @param budget
+     * @return LayerRedrawManager
+     */
+    public final LayerRedrawManager setFrameBudget(final double budget)
+    {
+        m_budget = Math.max(0, budget);
+
+        return this;
+    }
+
+    public final double getFrameBudget()
+    {
+        return m_budget;
+    }
+
+    /**
+     * Returns the number of layers waiting to be drawn.
+     *
+     * @return int
+     */
+    public final int getQueueDepth()
+    {
+        return m_layers.size() + m_carried.size();
+    }
+
+    /**
+     * Returns the number of frames that went over budget, or had to carry layers over to the next frame.
+     *
+     * @return long
+     */
+    public final long getMissedFrameCount()
+    {
+        return m_missed;
+    }
+
+    public final LayerRedrawManager addLayerRedrawListener(final ILayerRedrawListener listener)
+    {
+        if ((null != listener) && (false == m_listeners.contains(listener)))
+        {
+            m_listeners.add(listener);
+        }
+        return this;
+    }
+
+    public final LayerRedrawManager removeLayerRedrawListener(final ILayerRedrawListener listener)
+    {
+        m_listeners.remove(listener);
+
+        return this;
+    }
+
+    /**
+     * Requests a frame even if no layer is scheduled, used by the {@link AnimationClock} while animations are running.
+     */
+    final void frame()
+    {
+        if (false == m_kicked)
+        {
+            m_kicked = true;
+
+            AnimationScheduler.get().requestAnimationFrame(m_redraw);
+        }
+    }
+
     private void kick(Element layerElement)
     {
-        if (!m_layers.isEmpty())
+        if ((false == m_kicked) && (getQueueDepth() > 0))
         {
+            m_kicked = true;
+
             AnimationScheduler.get().requestAnimationFrame(m_redraw, layerElement);
         }
     }
@@ -0,0 +1,125 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.animation;
+
+import java.util.ArrayList;
+
+import com.ait.lienzo.client.core.shape.Layer;
+
+/**
+ * What the {@link LayerRedrawManager} did in one animation frame: the layers drawn and how long each took,
+ * the layers carried over to the next frame, and the running count of frames that went over budget.
+ */
+public final class LayerRedrawMetrics
+{
+    private final ArrayList<Layer>  m_layers = new ArrayList<Layer>();
+
+    private final ArrayList<Double> m_timing = new ArrayList<Double>();
+
+    private final double            m_budget;
+
+    private double                  m_frame;
+
+    private int                     m_queued;
+
+    private long                    m_missed;
+
+    LayerRedrawMetrics(final double budget)
+    {
+        m_budget = budget;
+    }
+
+    final void add(final Layer layer, final double duration)
+    {
+        m_layers.add(layer);
+
+        m_timing.add(duration);
+    }
+
+    final void done(final double frame, final int queued, final long missed)
+    {
+        m_frame = frame;
+
+        m_queued = queued;
+
+        m_missed = missed;
+    }
+
+    /**
+     * Returns the number of layers drawn in this frame.
+     */
+    public final int getDrawnCount()
+    {
+        return m_layers.size();
+    }
+
+    /**
+     * Returns the i'th layer drawn in this frame, in drawing order.
+     */
+    public final Layer getLayer(final int i)
+    {
+        return m_layers.get(i);
+    }
+
+    /**
+     * Returns the time, in milliseconds, taken to draw the i'th layer of this frame.
+     */
+    public final double getLayerDuration(final int i)
+    {
+        return m_timing.get(i);
+    }
+
+    /**
+     * Returns the time, in milliseconds, taken to draw all the layers of this frame.
+     */
+    public final double getFrameDuration()
+    {
+        return m_frame;
+    }
+
+    /**
+     * Returns the frame budget in effect for this frame, in milliseconds, 0 if unlimited.
+     */
+    public final double getFrameBudget()
+    {
+        return m_budget;
+    }
+
+    /**
+     * Returns true if this frame went over its budget, or had to carry layers over to the next frame.
+     */
+    public final boolean isOverBudget()
+    {
+        return ((m_budget > 0) && (m_frame > m_budget)) || (m_queued > 0);
+    }
+
+    /**
+     * Returns the number of layers waiting to be drawn after this frame, including those carried over.
+     */
+    public final int getQueueDepth()
+    {
+        return m_queued;
+    }
+
+    /**
+     * Returns the number of frames, including this one, that went over budget since the manager was created.
+     */
+    public final long getMissedFrameCount()
+    {
+        return m_missed;
+    }
+}
@@ -87,6 +87,8 @@ public final class LienzoCore
 
     private boolean                        m_hidpiEnabled                   = false;
 
+    private boolean                        m_canvasStateTracking            = false;
+
     private Cursor                         m_normal_cursor                  = Cursor.DEFAULT;
 
     private Cursor                         m_select_cursor                  = Cursor.CROSSHAIR;
@@ -527,6 +529,25 @@ public final class LienzoCore
         return m_hidpiEnabled = hidpiEnabled;
     }
 
+    public final boolean isCanvasStateTracking()
+    {
+        return m_canvasStateTracking;
+    }
+
+    /**
+     * Sets whether the canvases created from now on drop the state setting calls that would not change anything,
+     * and the save/restore pairs with no state change inside them. See {@link com.ait.lienzo.client.core.StateTrackingContext2D}.
+     *
+     * @param tracking
+     * @return LienzoCore
+     */
+    public final LienzoCore setCanvasStateTracking(final boolean tracking)
+    {
+        m_canvasStateTracking = tracking;
+
+        return this;
+    }
+
     private final boolean examineNativeLineDashSupported()
     {
         if (IS_CANVAS_SUPPORTED)
@@ -77,6 +77,7 @@ import com.ait.lienzo.client.core.shape.Triangle;
 import com.ait.lienzo.client.core.shape.Viewport;
 import com.ait.lienzo.client.core.shape.json.IFactory;
 import com.ait.lienzo.client.core.shape.storage.PrimitiveFastArrayStorageEngine;
+import com.ait.lienzo.client.core.shape.storage.PrimitiveRTreeStorageEngine;
 import com.ait.lienzo.client.core.shape.storage.SceneFastArrayStorageEngine;
 import com.ait.lienzo.client.core.shape.storage.StorageEngineType;
 import com.ait.lienzo.client.core.shape.storage.ViewportFastArrayStorageEngine;
@@ -387,6 +388,14 @@ final class LienzoCorePlugin extends AbstractLienzoCorePlugin
                 return new PrimitiveFastArrayStorageEngine.PrimitiveFastArrayStorageEngineFactory();
             }
         });
+        addFactorySupplier(StorageEngineType.PRIMITIVE_RTREE_STORAGE_ENGINE, new Supplier<IFactory<?>>()
+        {
+            @Override
+            public IFactory<?> get()
+            {
+                return new PrimitiveRTreeStorageEngine.PrimitiveRTreeStorageEngineFactory();
+            }
+        });
         addFactorySupplier(StorageEngineType.SCENE_FAST_ARRAY_STORAGE_ENGINE, new Supplier<IFactory<?>>()
         {
             @Override
@@ -0,0 +1,152 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.event;
+
+import java.util.ArrayList;
+
+import com.ait.lienzo.client.core.config.LienzoCore;
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
+
+/**
+ * Global journal of attribute changes, shared by every node using a {@link JournalAttributesChangedBatcher}.
+ * <p>
+ * Changes are recorded per {@link AttributesChangedManager}, so a node changing many attributes, or the same attribute many times,
+ * within a frame receives a single {@link AttributesChangedEvent} with the consolidated attribute set. The journal is flushed on the next
+ * animation frame, and by {@link com.ait.lienzo.client.core.animation.LayerRedrawManager} before it draws, so handlers run before layers are redrawn.
+ */
+public final class AttributesChangedJournal
+{
+    private static final AttributesChangedJournal INSTANCE  = new AttributesChangedJournal();
+
+    private final AnimationCallback               m_flush;
+
+    private ArrayList<AttributesChangedManager>   m_queued  = new ArrayList<AttributesChangedManager>();
+
+    private boolean                               m_kicked  = false;
+
+    private long                                  m_records = 0L;
+
+    private long                                  m_events  = 0L;
+
+    public static final AttributesChangedJournal get()
+    {
+        return INSTANCE;
+    }
+
+    private AttributesChangedJournal()
+    {
+        m_flush = new AnimationCallback()
+        {
+            @Override
+            public final void execute(final double time)
+            {
+                m_kicked = false;
+
+                flush();
+            }
+        };
+    }
+
+    public final void record(final String name, final AttributesChangedManager manager)
+    {
+        if ((null == name) || (null == manager))
+        {
+            return;
+        }
+        m_records++;
+
+        if (manager.journal(name, System.currentTimeMillis()))
+        {
+            m_queued.add(manager);
+        }
+        if (false == m_kicked)
+        {
+            m_kicked = true;
+
+            AnimationScheduler.get().requestAnimationFrame(m_flush);
+        }
+    }
+
+    public final void cancel(final AttributesChangedManager manager)
+    {
+        if ((null != manager) && (manager.unjournal()))
+        {
+            m_queued.remove(manager);
+        }
+    }
+
+    /**
+     * Dispatches one {@link AttributesChangedEvent} per node changed since the last flush. Changes made by the handlers are journaled for the next flush.
+     */
+    public final void flush()
+    {
+        if (m_queued.isEmpty())
+        {
+            return;
+        }
+        final ArrayList<AttributesChangedManager> queued = m_queued;
+
+        m_queued = new ArrayList<AttributesChangedManager>();
+
+        m_events += queued.size();
+
+        for (AttributesChangedManager manager : queued)
+        {
+            // a throwing handler must not leave the following nodes journaled, they would never be queued again
+
+            try
+            {
+                manager.fireJournaled();
+            }
+            catch (Exception e)
+            {
+                LienzoCore.get().error("ERROR: In attributes changed handler " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of nodes with changes waiting to be dispatched.
+     *
+     * @return int
+     */
+    public final int getQueueDepth()
+    {
+        return m_queued.size();
+    }
+
+    /**
+     * Returns the number of attribute changes recorded.
+     *
+     * @return long
+     */
+    public final long getRecordedCount()
+    {
+        return m_records;
+    }
+
+    /**
+     * Returns the number of events the recorded changes were consolidated into.
+     *
+     * @return long
+     */
+    public final long getDispatchedCount()
+    {
+        return m_events;
+    }
+}
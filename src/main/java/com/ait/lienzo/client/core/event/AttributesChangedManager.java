@@ -32,6 +32,12 @@ public final class AttributesChangedManager
 
     private final IJSONSerializable<?>     m_ser;
 
+    private NFastStringSet                 m_journal;
+
+    private long                           m_begtime;
+
+    private long                           m_endtime;
+
     public AttributesChangedManager(final IJSONSerializable<?> ser)
     {
         m_ser = ser;
@@ -94,6 +100,50 @@ public final class AttributesChangedManager
         }
     }
 
+    final boolean journal(final String name, final long time)
+    {
+        if (null == m_journal)
+        {
+            m_journal = new NFastStringSet(name);
+
+            m_begtime = time;
+
+            m_endtime = time;
+
+            return true;
+        }
+        m_journal.add(name);
+
+        if (time > m_endtime)
+        {
+            m_endtime = time;
+        }
+        return false;
+    }
+
+    final boolean unjournal()
+    {
+        if (null != m_journal)
+        {
+            m_journal = null;
+
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fires the journaled changes, the journal is cleared first so the node is queued again by its next change, even if a handler throws.
+     */
+    final void fireJournaled()
+    {
+        final NFastStringSet changed = m_journal;
+
+        m_journal = null;
+
+        fireChanged(changed, m_begtime, m_endtime);
+    }
+
     private final class HandlerRegistrationProxy implements HandlerRegistration
     {
         private final String              m_name;
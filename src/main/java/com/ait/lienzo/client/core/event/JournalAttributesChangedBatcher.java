@@ -0,0 +1,60 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.event;
+
+/**
+ * Batches attribute changes into the global {@link AttributesChangedJournal}, one consolidated event per node per animation frame.
+ */
+public final class JournalAttributesChangedBatcher implements IAttributesChangedBatcher
+{
+    private AttributesChangedManager m_manager = null;
+
+    public JournalAttributesChangedBatcher()
+    {
+    }
+
+    @Override
+    public final void bufferAttributeWithManager(final String name, final AttributesChangedManager manager)
+    {
+        m_manager = manager;
+
+        AttributesChangedJournal.get().record(name, manager);
+    }
+
+    @Override
+    public final void cancelAttributesChangedBatcher()
+    {
+        if (null != m_manager)
+        {
+            AttributesChangedJournal.get().cancel(m_manager);
+
+            m_manager = null;
+        }
+    }
+
+    @Override
+    public final IAttributesChangedBatcher copy()
+    {
+        return new JournalAttributesChangedBatcher();
+    }
+
+    @Override
+    public final String getName()
+    {
+        return "JournalAttributesChangedBatcher()";
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.ait.lienzo.client.core.event;
 
+import com.ait.lienzo.client.core.types.Point2DArray;
 import com.google.gwt.event.dom.client.MouseEvent;
 import com.google.gwt.event.dom.client.MouseMoveEvent;
 
@@ -23,6 +24,8 @@ public class NodeMouseMoveEvent extends AbstractNodeMouseEvent<MouseEvent<?>, No
 {
     private static final Type<NodeMouseMoveHandler> TYPE = new Type<NodeMouseMoveHandler>();
 
+    private Point2DArray                            m_points;
+
     public static final Type<NodeMouseMoveHandler> getType()
     {
         return TYPE;
@@ -33,6 +36,24 @@ public class NodeMouseMoveEvent extends AbstractNodeMouseEvent<MouseEvent<?>, No
         super(event);
     }
 
+    /**
+     * Returns the positions of the moves coalesced into this event since the previous one was dispatched, in order and ending with
+     * this event's position, or null if moves are not coalesced.
+     *
+     * @see com.ait.lienzo.client.widget.LienzoPanel#setPointerMoveCoalescing(boolean)
+     */
+    public final Point2DArray getCoalescedPoints()
+    {
+        return m_points;
+    }
+
+    public final NodeMouseMoveEvent setCoalescedPoints(final Point2DArray points)
+    {
+        m_points = points;
+
+        return this;
+    }
+
     @Override
     public final Type<NodeMouseMoveHandler> getAssociatedType()
     {
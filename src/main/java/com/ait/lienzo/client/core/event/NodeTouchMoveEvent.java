@@ -18,12 +18,15 @@ package com.ait.lienzo.client.core.event;
 
 import java.util.List;
 
+import com.ait.lienzo.client.core.types.Point2DArray;
 import com.google.gwt.event.dom.client.TouchEvent;
 
 public class NodeTouchMoveEvent extends AbstractNodeTouchEvent<TouchEvent<?>, NodeTouchMoveHandler>
 {
     private static final Type<NodeTouchMoveHandler> TYPE = new Type<NodeTouchMoveHandler>();
 
+    private Point2DArray                            m_points;
+
     public static final Type<NodeTouchMoveHandler> getType()
     {
         return TYPE;
@@ -34,6 +37,24 @@ public class NodeTouchMoveEvent extends AbstractNodeTouchEvent<TouchEvent<?>, No
         super(event, touches);
     }
 
+    /**
+     * Returns the positions of the moves coalesced into this event since the previous one was dispatched, in order and ending with
+     * this event's position, or null if moves are not coalesced.
+     *
+     * @see com.ait.lienzo.client.widget.LienzoPanel#setPointerMoveCoalescing(boolean)
+     */
+    public final Point2DArray getCoalescedPoints()
+    {
+        return m_points;
+    }
+
+    public final NodeTouchMoveEvent setCoalescedPoints(final Point2DArray points)
+    {
+        m_points = points;
+
+        return this;
+    }
+
     @Override
     public final Type<NodeTouchMoveHandler> getAssociatedType()
     {
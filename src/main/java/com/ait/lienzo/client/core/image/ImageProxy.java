@@ -198,6 +198,8 @@ public class ImageProxy<T extends AbstractImageShape<T>> implements ImageDataFil
         {
             m_dest_high = m_clip_high;
         }
+        m_image.invalidateBoundingBox();
+
         if ((false == (m_filters.isActive())) && (ImageSelectionMode.SELECT_BOUNDS == m_image.getImageSelectionMode()))
         {
             m_fastout = true;
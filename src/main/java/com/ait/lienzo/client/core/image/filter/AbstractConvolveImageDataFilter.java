@@ -24,7 +24,7 @@ import com.ait.lienzo.shared.core.types.ImageFilterType;
 import com.google.gwt.canvas.dom.client.CanvasPixelArray;
 import com.google.gwt.json.client.JSONObject;
 
-public abstract class AbstractConvolveImageDataFilter<T extends AbstractConvolveImageDataFilter<T>> extends AbstractImageDataFilter<T>
+public abstract class AbstractConvolveImageDataFilter<T extends AbstractConvolveImageDataFilter<T>> extends AbstractImageDataFilter<T> implements TileableImageDataFilter, DestinationImageDataFilter
 {
     protected AbstractConvolveImageDataFilter(final ImageFilterType type, final double... matrix)
     {
@@ -81,6 +81,24 @@ public abstract class AbstractConvolveImageDataFilter<T extends AbstractConvolve
         {
             source = source.copy();
         }
+        if ((false == isActive()) || (null == source.getData()) || (getMatrix().size() < 1))
+        {
+            return source;
+        }
+        return filter(source, source.create());
+    }
+
+    @Override
+    public ImageData filter(final ImageData source, final ImageData destination)
+    {
+        if ((null == source) || (null == destination) || (source == destination))
+        {
+            return filter(source, false);
+        }
+        if ((source.getWidth() != destination.getWidth()) || (source.getHeight() != destination.getHeight()))
+        {
+            return filter(source, false);
+        }
         if (false == isActive())
         {
             return source;
@@ -97,11 +115,15 @@ public abstract class AbstractConvolveImageDataFilter<T extends AbstractConvolve
         {
             return source;
         }
-        final ImageData result = source.create();
+        FilterCommonOps.doFilterConvolve(data, destination.getData(), matrix, source.getWidth(), source.getHeight());
 
-        FilterCommonOps.doFilterConvolve(data, result.getData(), matrix, source.getWidth(), source.getHeight());
+        return destination;
+    }
 
-        return result;
+    @Override
+    public int getTileHalo()
+    {
+        return ((int) Math.sqrt(getMatrix().size())) / 2;
     }
 
     protected static abstract class ConvolveImageDataFilterFactory<T extends AbstractConvolveImageDataFilter<T>> extends ImageDataFilterFactory<T>
@@ -25,7 +25,7 @@ import com.ait.tooling.common.api.java.util.StringOps;
 import com.ait.lienzo.shared.core.types.IColor;
 import com.google.gwt.json.client.JSONObject;
 
-public abstract class AbstractRGBImageDataFilter<T extends AbstractRGBImageDataFilter<T>> extends AbstractImageDataFilter<T>
+public abstract class AbstractRGBImageDataFilter<T extends AbstractRGBImageDataFilter<T>> extends AbstractImageDataFilter<T> implements TileableImageDataFilter
 {
     private int m_r;
 
@@ -160,6 +160,12 @@ public abstract class AbstractRGBImageDataFilter<T extends AbstractRGBImageDataF
         return color;
     }
 
+    @Override
+    public int getTileHalo()
+    {
+        return 0;
+    }
+
     protected abstract static class RGBImageDataFilterFactory<T extends AbstractRGBImageDataFilter<T>> extends ImageDataFilterFactory<T>
     {
         protected RGBImageDataFilterFactory(final ImageFilterType type)
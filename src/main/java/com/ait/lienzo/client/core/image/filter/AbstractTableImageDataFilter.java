@@ -23,7 +23,7 @@ import com.ait.lienzo.shared.core.types.ImageFilterType;
 import com.google.gwt.canvas.dom.client.CanvasPixelArray;
 import com.google.gwt.json.client.JSONObject;
 
-public abstract class AbstractTableImageDataFilter<T extends AbstractTableImageDataFilter<T>> extends AbstractImageDataFilter<T>
+public abstract class AbstractTableImageDataFilter<T extends AbstractTableImageDataFilter<T>> extends AbstractImageDataFilter<T> implements TileableImageDataFilter, ChannelTableImageDataFilter
 {
     protected AbstractTableImageDataFilter(final ImageFilterType type)
     {
@@ -67,8 +67,20 @@ public abstract class AbstractTableImageDataFilter<T extends AbstractTableImageD
         return true;
     }
 
+    @Override
+    public FilterTableArray getChannelTable()
+    {
+        return getTable();
+    }
+
     protected abstract FilterTableArray getTable();
 
+    @Override
+    public int getTileHalo()
+    {
+        return 0;
+    }
+
     protected static abstract class TableImageDataFilterFactory<T extends AbstractTableImageDataFilter<T>> extends ImageDataFilterFactory<T>
     {
         protected TableImageDataFilterFactory(final ImageFilterType type)
@@ -24,7 +24,7 @@ import com.ait.lienzo.shared.core.types.ImageFilterType;
 import com.google.gwt.canvas.dom.client.CanvasPixelArray;
 import com.google.gwt.json.client.JSONObject;
 
-public abstract class AbstractValueTableImageDataFilter<T extends AbstractValueTableImageDataFilter<T>> extends AbstractValueImageDataFilter<T>
+public abstract class AbstractValueTableImageDataFilter<T extends AbstractValueTableImageDataFilter<T>> extends AbstractValueImageDataFilter<T> implements TileableImageDataFilter, ChannelTableImageDataFilter
 {
     protected AbstractValueTableImageDataFilter(final ImageFilterType type, final double value)
     {
@@ -68,8 +68,20 @@ public abstract class AbstractValueTableImageDataFilter<T extends AbstractValueT
         return true;
     }
 
+    @Override
+    public FilterTableArray getChannelTable()
+    {
+        return getTable(getValue());
+    }
+
     protected abstract FilterTableArray getTable(double value);
 
+    @Override
+    public int getTileHalo()
+    {
+        return 0;
+    }
+
     protected static abstract class ValueTableImageDataFilterFactory<T extends AbstractValueTableImageDataFilter<T>> extends ImageDataFilterFactory<T>
     {
         protected ValueTableImageDataFilterFactory(final ImageFilterType type)
@@ -28,7 +28,7 @@ import com.google.gwt.json.client.JSONObject;
 /**
  * A class that allows for easy creation of Gray Scale Filters.
  */
-public class AverageGrayScaleImageDataFilter extends AbstractImageDataFilter<AverageGrayScaleImageDataFilter>
+public class AverageGrayScaleImageDataFilter extends AbstractImageDataFilter<AverageGrayScaleImageDataFilter> implements TileableImageDataFilter
 {
     public AverageGrayScaleImageDataFilter()
     {
@@ -73,6 +73,12 @@ public class AverageGrayScaleImageDataFilter extends AbstractImageDataFilter<Ave
 		}
     }-*/;
 
+    @Override
+    public int getTileHalo()
+    {
+        return 0;
+    }
+
     @Override
     public IFactory<AverageGrayScaleImageDataFilter> getFactory()
     {
@@ -28,8 +28,12 @@ import com.google.gwt.json.client.JSONObject;
 /**
  * A class that allows for easy creation of Brightness Filters.
  */
-public class BrightnessImageDataFilter extends AbstractValueImageDataFilter<BrightnessImageDataFilter>
+public class BrightnessImageDataFilter extends AbstractValueImageDataFilter<BrightnessImageDataFilter> implements TileableImageDataFilter, ChannelTableImageDataFilter
 {
+    private double           m_value = Double.NaN;
+
+    private FilterTableArray m_table = null;
+
     public BrightnessImageDataFilter()
     {
         super(ImageFilterType.BrightnessImageDataFilterType, 0);
@@ -99,6 +103,34 @@ public class BrightnessImageDataFilter extends AbstractValueImageDataFilter<Brig
     	}
     }-*/;
 
+    @Override
+    public int getTileHalo()
+    {
+        return 0;
+    }
+
+    @Override
+    public FilterTableArray getChannelTable()
+    {
+        final double value = getValue();
+
+        if (value != m_value)
+        {
+            m_table = table_(m_value = value);
+        }
+        return m_table;
+    }
+
+    private final native FilterTableArray table_(double value)
+    /*-{
+        var v = (value * 255) + 0.5;
+        var table = [];
+        for (var i = 0; i < 256; i++) {
+            table[i] = Math.max(Math.min(i + v, 255), 0) | 0;
+        }
+        return table;
+    }-*/;
+
     @Override
     public IFactory<BrightnessImageDataFilter> getFactory()
     {
@@ -0,0 +1,37 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.image.filter;
+
+import com.ait.lienzo.client.core.types.ImageData;
+
+/**
+ * Implemented by filters that write to a separate image, so that {@link TiledImageDataFilterRunner} can hand them a reused destination
+ * instead of letting them allocate one per band.
+ */
+public interface DestinationImageDataFilter
+{
+    /**
+     * Filters the source into the destination, which must have the same size and not be the source.
+     * Filters that can't use the destination, or have nothing to do, return the source or a new ImageData instead.
+     * An {@link ImageDataFilterChain} may also use the source as a scratch buffer, and return it.
+     *
+     * @param source
+     * @param destination
+     * @return ImageData the image holding the result
+     */
+    public ImageData filter(ImageData source, ImageData destination);
+}
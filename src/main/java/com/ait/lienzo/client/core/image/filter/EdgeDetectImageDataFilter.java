@@ -28,7 +28,7 @@ import com.google.gwt.json.client.JSONObject;
 /**
  * A class that allows for easy creation of a Light Gray Scale Image Filter.
  */
-public class EdgeDetectImageDataFilter extends AbstractImageDataFilter<EdgeDetectImageDataFilter>
+public class EdgeDetectImageDataFilter extends AbstractImageDataFilter<EdgeDetectImageDataFilter> implements TileableImageDataFilter, DestinationImageDataFilter
 {
     public EdgeDetectImageDataFilter()
     {
@@ -51,6 +51,24 @@ public class EdgeDetectImageDataFilter extends AbstractImageDataFilter<EdgeDetec
         {
             source = source.copy();
         }
+        if ((false == isActive()) || (null == source.getData()))
+        {
+            return source;
+        }
+        return filter(source, source.create());
+    }
+
+    @Override
+    public ImageData filter(final ImageData source, final ImageData destination)
+    {
+        if ((null == source) || (null == destination) || (source == destination))
+        {
+            return filter(source, false);
+        }
+        if ((source.getWidth() != destination.getWidth()) || (source.getHeight() != destination.getHeight()))
+        {
+            return filter(source, false);
+        }
         if (false == isActive())
         {
             return source;
@@ -61,11 +79,9 @@ public class EdgeDetectImageDataFilter extends AbstractImageDataFilter<EdgeDetec
         {
             return source;
         }
-        ImageData result = source.create();
-
-        filter_(data, result.getData(), source.getWidth(), source.getHeight());
+        filter_(data, destination.getData(), source.getWidth(), source.getHeight());
 
-        return result;
+        return destination;
     }
 
     private final native void filter_(JavaScriptObject data, JavaScriptObject buff, int w, int h)
@@ -119,6 +135,12 @@ public class EdgeDetectImageDataFilter extends AbstractImageDataFilter<EdgeDetec
 		}
     }-*/;
 
+    @Override
+    public int getTileHalo()
+    {
+        return 1;
+    }
+
     @Override
     public IFactory<EdgeDetectImageDataFilter> getFactory()
     {
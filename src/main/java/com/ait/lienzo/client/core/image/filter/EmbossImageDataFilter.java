@@ -25,7 +25,7 @@ import com.google.gwt.canvas.dom.client.CanvasPixelArray;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.json.client.JSONObject;
 
-public class EmbossImageDataFilter extends AbstractImageDataFilter<EmbossImageDataFilter>
+public class EmbossImageDataFilter extends AbstractImageDataFilter<EmbossImageDataFilter> implements TileableImageDataFilter
 {
     public EmbossImageDataFilter()
     {
@@ -92,6 +92,12 @@ public class EmbossImageDataFilter extends AbstractImageDataFilter<EmbossImageDa
         fops.filterLuminosity(data, length);
     }-*/;
 
+    @Override
+    public int getTileHalo()
+    {
+        return 1;
+    }
+
     @Override
     public IFactory<EmbossImageDataFilter> getFactory()
     {
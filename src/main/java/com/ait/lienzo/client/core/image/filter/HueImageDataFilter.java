@@ -28,7 +28,7 @@ import com.google.gwt.json.client.JSONObject;
 /**
  * A class that allows for easy creation of Brightness Filters.
  */
-public class HueImageDataFilter extends AbstractValueImageDataFilter<HueImageDataFilter>
+public class HueImageDataFilter extends AbstractValueImageDataFilter<HueImageDataFilter> implements TileableImageDataFilter
 {
     public HueImageDataFilter()
     {
@@ -107,6 +107,12 @@ public class HueImageDataFilter extends AbstractValueImageDataFilter<HueImageDat
         }
     }-*/;
 
+    @Override
+    public int getTileHalo()
+    {
+        return 0;
+    }
+
     @Override
     public IFactory<HueImageDataFilter> getFactory()
     {
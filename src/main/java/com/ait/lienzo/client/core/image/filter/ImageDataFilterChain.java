@@ -25,10 +25,13 @@ import com.ait.lienzo.client.core.shape.json.validators.ValidationException;
 import com.ait.lienzo.client.core.types.ImageData;
 import com.ait.lienzo.shared.core.types.ImageFilterType;
 import com.ait.tooling.nativetools.client.collection.NFastArrayList;
+import com.google.gwt.canvas.dom.client.CanvasPixelArray;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
 import com.google.gwt.json.client.JSONArray;
 import com.google.gwt.json.client.JSONObject;
 
-public class ImageDataFilterChain extends AbstractImageDataFilter<ImageDataFilterChain> implements ImageDataFilterable<ImageDataFilterChain>
+public class ImageDataFilterChain extends AbstractImageDataFilter<ImageDataFilterChain> implements ImageDataFilterable<ImageDataFilterChain>, TileableImageDataFilter, DestinationImageDataFilter
 {
     private NFastArrayList<ImageDataFilter<?>> m_filters = new NFastArrayList<ImageDataFilter<?>>();
 
@@ -106,6 +109,38 @@ public class ImageDataFilterChain extends AbstractImageDataFilter<ImageDataFilte
         return false;
     }
 
+    /**
+     * Returns the sum of the halos of the active filters, since each filter reads the output of the previous one.
+     */
+    @Override
+    public int getTileHalo()
+    {
+        int halo = 0;
+
+        final int size = size();
+
+        for (int i = 0; i < size; i++)
+        {
+            final ImageDataFilter<?> filter = m_filters.get(i);
+
+            if ((null != filter) && (filter.isActive()))
+            {
+                if (false == (filter instanceof TileableImageDataFilter))
+                {
+                    return NOT_TILEABLE;
+                }
+                final int need = ((TileableImageDataFilter) filter).getTileHalo();
+
+                if (need < 0)
+                {
+                    return NOT_TILEABLE;
+                }
+                halo += need;
+            }
+        }
+        return halo;
+    }
+
     @Override
     public ImageData filter(ImageData source, boolean copy)
     {
@@ -129,6 +164,19 @@ public class ImageDataFilterChain extends AbstractImageDataFilter<ImageDataFilte
 
             if ((null != filter) && (filter.isActive()))
             {
+                if (filter instanceof ChannelTableImageDataFilter)
+                {
+                    final int last = getLastOfTableRun(i);
+
+                    if (last > i)
+                    {
+                        doFilterTableRun(source, i, last);
+
+                        i = last;
+
+                        continue;
+                    }
+                }
                 ImageData imdata = filter.filter(source, false);
 
                 if (null != imdata)
@@ -140,6 +188,106 @@ public class ImageDataFilterChain extends AbstractImageDataFilter<ImageDataFilte
         return source;
     }
 
+    /**
+     * Same as {@link #filter(ImageData, boolean)} without a copy, the filters implementing {@link DestinationImageDataFilter} alternate between
+     * the destination and the source, so the source's pixels are overwritten and the result is in either of them.
+     */
+    @Override
+    public ImageData filter(ImageData source, final ImageData destination)
+    {
+        if ((null == source) || (null == destination) || (source == destination))
+        {
+            return filter(source, false);
+        }
+        if (false == isActive())
+        {
+            return source;
+        }
+        ImageData spare = destination;
+
+        final int size = size();
+
+        for (int i = 0; i < size; i++)
+        {
+            final ImageDataFilter<?> filter = m_filters.get(i);
+
+            if ((null != filter) && (filter.isActive()))
+            {
+                if (filter instanceof ChannelTableImageDataFilter)
+                {
+                    final int last = getLastOfTableRun(i);
+
+                    if (last > i)
+                    {
+                        doFilterTableRun(source, i, last);
+
+                        i = last;
+
+                        continue;
+                    }
+                }
+                final ImageData imdata = (filter instanceof DestinationImageDataFilter) ? ((DestinationImageDataFilter) filter).filter(source, spare) : filter.filter(source, false);
+
+                if (spare == imdata)
+                {
+                    spare = source;
+                }
+                if (null != imdata)
+                {
+                    source = imdata;
+                }
+            }
+        }
+        return source;
+    }
+
+    /**
+     * Returns the index of the last active filter of the run of active {@link ChannelTableImageDataFilter} starting at index, inactive filters don't break a run.
+     */
+    private final int getLastOfTableRun(final int index)
+    {
+        int last = index;
+
+        final int size = size();
+
+        for (int i = index + 1; i < size; i++)
+        {
+            final ImageDataFilter<?> filter = m_filters.get(i);
+
+            if ((null != filter) && (filter.isActive()))
+            {
+                if (false == (filter instanceof ChannelTableImageDataFilter))
+                {
+                    break;
+                }
+                last = i;
+            }
+        }
+        return last;
+    }
+
+    private final void doFilterTableRun(final ImageData source, final int head, final int tail)
+    {
+        final CanvasPixelArray data = source.getData();
+
+        if (null == data)
+        {
+            return;
+        }
+        final JsArray<FilterTableArray> tables = JavaScriptObject.createArray().cast();
+
+        for (int i = head; i <= tail; i++)
+        {
+            final ImageDataFilter<?> filter = m_filters.get(i);
+
+            if ((null != filter) && (filter.isActive()))
+            {
+                tables.push(((ChannelTableImageDataFilter) filter).getChannelTable());
+            }
+        }
+        FilterCommonOps.doFilterTable(data, FilterCommonOps.doComposeTables(tables), source.getWidth(), source.getHeight());
+    }
+
     private final void add(ImageDataFilter<?> filter)
     {
         if (null != filter)
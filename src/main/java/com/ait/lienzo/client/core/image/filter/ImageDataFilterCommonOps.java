@@ -22,6 +22,7 @@ import com.ait.lienzo.client.core.image.filter.ImageDataFilter.FilterTransformFu
 import com.ait.lienzo.client.core.types.ImageData;
 import com.google.gwt.canvas.dom.client.CanvasPixelArray;
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
 
 public class ImageDataFilterCommonOps extends JavaScriptObject
 {
@@ -244,6 +245,36 @@ public class ImageDataFilterCommonOps extends JavaScriptObject
                 data[j] = data[j + 1] = data[j + 2] = (((data[j] * 0.21) + (data[j + 1] * 0.72) + (data[j + 2] * 0.07)) + 0.5) | 0;
             }
         };
+        this.composeTables = function(tables) {
+            var clamp = (typeof Uint8ClampedArray !== 'undefined') ? new Uint8ClampedArray(1) : null;
+            var table = [];
+            for (var i = 0; i < 256; i++) {
+                var v = i;
+                for (var t = 0; t < tables.length; t++) {
+                    var x = tables[t][v];
+                    if (clamp) {
+                        clamp[0] = x;
+                        v = clamp[0];
+                    } else {
+                        v = (x > 0) ? ((x < 255) ? Math.round(x) : 255) : 0;
+                    }
+                }
+                table[i] = v;
+            }
+            return table;
+        };
+        this.copyRows = function(data, from, buff, to, rows, w) {
+            var size = w * 4;
+            var head = from * size;
+            var tail = head + rows * size;
+            if (data.subarray && buff.set) {
+                buff.set(data.subarray(head, tail), to * size);
+            } else {
+                for (var i = head, j = to * size; i < tail; i++, j++) {
+                    buff[j] = data[i];
+                }
+            }
+        };
         this.hasAlphaChannel = function(data, length) {
             for (var j = 0; j < length; j += 4) {
                 if (data[j+3] < 255) {
@@ -269,6 +300,20 @@ public class ImageDataFilterCommonOps extends JavaScriptObject
         this.filterLuminosity(data, length);
     }-*/;
 
+    /**
+     * Composes tables applied one after the other into a single table. Each intermediate value is stored the way a pixel array stores it
+     * (clamped to [0,255] and rounded), so applying the result once gives the same pixels as applying the tables in sequence.
+     */
+    public final native FilterTableArray doComposeTables(JsArray<FilterTableArray> tables)
+    /*-{
+        return this.composeTables(tables);
+    }-*/;
+
+    public final native void doCopyRows(CanvasPixelArray data, int from, CanvasPixelArray buff, int to, int rows, int w)
+    /*-{
+        this.copyRows(data, from, buff, to, rows, w);
+    }-*/;
+
     public final native void doFilterTable(CanvasPixelArray data, FilterTableArray table, int w, int h)
     /*-{
         this.filterTable(data, table, w, h);
@@ -28,7 +28,7 @@ import com.google.gwt.json.client.JSONObject;
 /**
  * A class that allows for easy creation of a Light Gray Scale Image Filter.
  */
-public class LightnessGrayScaleImageDataFilter extends AbstractImageDataFilter<LightnessGrayScaleImageDataFilter>
+public class LightnessGrayScaleImageDataFilter extends AbstractImageDataFilter<LightnessGrayScaleImageDataFilter> implements TileableImageDataFilter
 {
     public LightnessGrayScaleImageDataFilter()
     {
@@ -76,6 +76,12 @@ public class LightnessGrayScaleImageDataFilter extends AbstractImageDataFilter<L
     	}
     }-*/;
 
+    @Override
+    public int getTileHalo()
+    {
+        return 0;
+    }
+
     @Override
     public IFactory<LightnessGrayScaleImageDataFilter> getFactory()
     {
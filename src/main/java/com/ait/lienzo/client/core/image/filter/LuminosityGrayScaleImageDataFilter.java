@@ -27,7 +27,7 @@ import com.google.gwt.json.client.JSONObject;
 /**
  * A class that allows for easy creation of a Luminosity Gray Scale based Image Filter.
  */
-public class LuminosityGrayScaleImageDataFilter extends AbstractImageDataFilter<LuminosityGrayScaleImageDataFilter>
+public class LuminosityGrayScaleImageDataFilter extends AbstractImageDataFilter<LuminosityGrayScaleImageDataFilter> implements TileableImageDataFilter
 {
     public LuminosityGrayScaleImageDataFilter()
     {
@@ -65,6 +65,12 @@ public class LuminosityGrayScaleImageDataFilter extends AbstractImageDataFilter<
         return source;
     }
 
+    @Override
+    public int getTileHalo()
+    {
+        return 0;
+    }
+
     @Override
     public IFactory<LuminosityGrayScaleImageDataFilter> getFactory()
     {
@@ -25,7 +25,7 @@ import com.google.gwt.canvas.dom.client.CanvasPixelArray;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.json.client.JSONObject;
 
-public class StackBlurImageDataFilter extends AbstractValueImageDataFilter<StackBlurImageDataFilter>
+public class StackBlurImageDataFilter extends AbstractValueImageDataFilter<StackBlurImageDataFilter> implements TileableImageDataFilter
 {
     public StackBlurImageDataFilter(int value)
     {
@@ -270,6 +270,12 @@ public class StackBlurImageDataFilter extends AbstractValueImageDataFilter<Stack
         }
     }-*/;
 
+    @Override
+    public int getTileHalo()
+    {
+        return Math.max(0, (int) getValue()) + 1;
+    }
+
     @Override
     public IFactory<StackBlurImageDataFilter> getFactory()
     {
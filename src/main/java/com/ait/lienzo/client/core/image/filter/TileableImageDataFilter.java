@@ -0,0 +1,33 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.image.filter;
+
+/**
+ * Implemented by filters that can be run on horizontal bands of an image by {@link TiledImageDataFilterRunner}.
+ */
+public interface TileableImageDataFilter
+{
+    public static final int NOT_TILEABLE = -1;
+
+    /**
+     * Returns how many rows of neighbouring pixels above and below an output pixel the filter reads,
+     * 0 for per-pixel filters, or {@link #NOT_TILEABLE} if the filter needs the whole image.
+     *
+     * @return int
+     */
+    public int getTileHalo();
+}
@@ -0,0 +1,400 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.image.filter;
+
+import com.ait.lienzo.client.core.types.ImageData;
+import com.ait.lienzo.client.core.util.ScratchPad;
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
+
+/**
+ * Runs an {@link ImageDataFilter} (usually an {@link ImageDataFilterChain}) over horizontal bands of an image instead of the whole image at once.
+ * <p>
+ * Each band is copied into a reused scratch buffer together with the {@link TileableImageDataFilter#getTileHalo() halo} rows the filter reads
+ * around it, filtered, and only its own rows are copied to the result, so the output is the same as filtering the whole image.
+ * Per-pixel filters are applied in place, filters with a halo write to a new ImageData, or to a reused band buffer when they are
+ * {@link DestinationImageDataFilter}s. Filters that are not tileable run in one step.
+ * <p>
+ * {@link #filter(ImageData)} runs synchronously with bounded scratch memory, {@link #run(ImageData, ITiledImageDataFilterCallback)}
+ * spreads the bands across animation frames within a time budget, reporting progress.
+ */
+public final class TiledImageDataFilterRunner
+{
+    public static final int               DEFAULT_TILE_ROWS    = 64;
+
+    public static final double            DEFAULT_FRAME_BUDGET = 8;
+
+    private static final ScratchPad       SCRATCH              = new ScratchPad(1, 1);
+
+    private final ImageDataFilter<?>      m_filter;
+
+    private final AnimationCallback       m_frame;
+
+    // band and destination buffers, the first, middle and last bands differ in height
+
+    private final ImageData[]             m_buffers            = new ImageData[6];
+
+    private int                           m_evict              = 0;
+
+    private int                           m_rows               = DEFAULT_TILE_ROWS;
+
+    private double                        m_budget             = DEFAULT_FRAME_BUDGET;
+
+    private ImageData                     m_source;
+
+    private ImageData                     m_target;
+
+    private ITiledImageDataFilterCallback m_callback;
+
+    private int                           m_halo;
+
+    private int                           m_tiles              = 0;
+
+    private int                           m_next               = 0;
+
+    private int                           m_frames             = 0;
+
+    private long                          m_elapsed            = 0L;
+
+    private boolean                       m_running            = false;
+
+    public TiledImageDataFilterRunner(final ImageDataFilter<?> filter)
+    {
+        m_filter = filter;
+
+        m_frame = new AnimationCallback()
+        {
+            @Override
+            public void execute(final double time)
+            {
+                doFrame();
+            }
+        };
+    }
+
+    public final ImageDataFilter<?> getFilter()
+    {
+        return m_filter;
+    }
+
+    public final TiledImageDataFilterRunner setTileRows(final int rows)
+    {
+        m_rows = Math.max(1, rows);
+
+        return this;
+    }
+
+    public final int getTileRows()
+    {
+        return m_rows;
+    }
+
+    /**
+     * Sets the filtering time budget per animation frame, in milliseconds. At least one band is filtered every frame.
+     *
+     * @param budget
+     * @return TiledImageDataFilterRunner
+     */
+    public final TiledImageDataFilterRunner setFrameBudget(final double budget)
+    {
+        m_budget = Math.max(0, budget);
+
+        return this;
+    }
+
+    public final double getFrameBudget()
+    {
+        return m_budget;
+    }
+
+    /**
+     * Filters the image synchronously, one band at a time.
+     *
+     * @param source
+     * @return ImageData the filtered image, which is the source itself for per-pixel filters
+     */
+    public final ImageData filter(final ImageData source)
+    {
+        cancel();
+
+        if (false == doBegin(source))
+        {
+            return source;
+        }
+        final long beg = System.currentTimeMillis();
+
+        while (m_next < m_tiles)
+        {
+            doTile();
+        }
+        m_elapsed = System.currentTimeMillis() - beg;
+
+        return doEnd();
+    }
+
+    /**
+     * Filters the image across animation frames, the callback receives the progress after each frame and the result when done.
+     *
+     * @param source
+     * @param callback
+     * @return TiledImageDataFilterRunner
+     */
+    public final TiledImageDataFilterRunner run(final ImageData source, final ITiledImageDataFilterCallback callback)
+    {
+        cancel();
+
+        m_callback = callback;
+
+        if (false == doBegin(source))
+        {
+            if (null != m_callback)
+            {
+                m_callback.onComplete(this, source);
+            }
+            m_callback = null;
+
+            return this;
+        }
+        m_running = true;
+
+        AnimationScheduler.get().requestAnimationFrame(m_frame);
+
+        return this;
+    }
+
+    public final TiledImageDataFilterRunner cancel()
+    {
+        m_running = false;
+
+        m_callback = null;
+
+        m_source = null;
+
+        m_target = null;
+
+        return this;
+    }
+
+    public final boolean isRunning()
+    {
+        return m_running;
+    }
+
+    /**
+     * Returns the fraction of bands filtered by the current or last run, between 0 and 1.
+     *
+     * @return double
+     */
+    public final double getProgress()
+    {
+        if (m_tiles < 1)
+        {
+            return 1;
+        }
+        return ((double) m_next) / m_tiles;
+    }
+
+    /**
+     * Returns the time spent filtering in the current or last run, in milliseconds, not counting the time between frames.
+     *
+     * @return long
+     */
+    public final long getElapsedTime()
+    {
+        return m_elapsed;
+    }
+
+    public final int getTileCount()
+    {
+        return m_tiles;
+    }
+
+    public final int getFrameCount()
+    {
+        return m_frames;
+    }
+
+    private final boolean doBegin(final ImageData source)
+    {
+        m_tiles = 0;
+
+        m_next = 0;
+
+        m_frames = 0;
+
+        m_elapsed = 0L;
+
+        if ((null == source) || (null == m_filter) || (false == m_filter.isActive()) || (null == source.getData()))
+        {
+            return false;
+        }
+        m_source = source;
+
+        m_halo = (m_filter instanceof TileableImageDataFilter) ? ((TileableImageDataFilter) m_filter).getTileHalo() : TileableImageDataFilter.NOT_TILEABLE;
+
+        if (m_halo < 0)
+        {
+            m_tiles = 1;
+
+            m_target = null;
+        }
+        else
+        {
+            m_tiles = (source.getHeight() + m_rows - 1) / m_rows;
+
+            m_target = (0 == m_halo) ? source : source.create();
+        }
+        return true;
+    }
+
+    private final ImageData doEnd()
+    {
+        final ImageData result = m_target;
+
+        m_source = null;
+
+        m_target = null;
+
+        return result;
+    }
+
+    private final void doFrame()
+    {
+        if (false == m_running)
+        {
+            return;
+        }
+        final long beg = System.currentTimeMillis();
+
+        long end = beg;
+
+        while (m_next < m_tiles)
+        {
+            doTile();
+
+            end = System.currentTimeMillis();
+
+            if ((m_budget > 0) && ((end - beg) >= m_budget))
+            {
+                break;
+            }
+        }
+        m_elapsed += (end - beg);
+
+        m_frames++;
+
+        final ITiledImageDataFilterCallback callback = m_callback;
+
+        if (null != callback)
+        {
+            callback.onProgress(this, getProgress());
+        }
+        if (false == m_running)
+        {
+            return;// cancelled by the callback
+        }
+        if (m_next < m_tiles)
+        {
+            AnimationScheduler.get().requestAnimationFrame(m_frame);
+        }
+        else
+        {
+            m_running = false;
+
+            m_callback = null;
+
+            final ImageData result = doEnd();
+
+            if (null != callback)
+            {
+                callback.onComplete(this, result);
+            }
+        }
+    }
+
+    private final void doTile()
+    {
+        if (m_halo < 0)
+        {
+            final ImageData result = m_filter.filter(m_source, false);
+
+            m_target = (null != result) ? result : m_source;
+
+            m_next = 1;
+
+            return;
+        }
+        final int wide = m_source.getWidth();
+
+        final int high = m_source.getHeight();
+
+        final int from = m_next * m_rows;
+
+        final int rows = Math.min(m_rows, high - from);
+
+        final int head = Math.max(0, from - m_halo);
+
+        final int tail = Math.min(high, from + rows + m_halo);
+
+        final ImageData tile = getBuffer(wide, tail - head, null);
+
+        ImageDataFilter.FilterCommonOps.doCopyRows(m_source.getData(), head, tile.getData(), 0, tail - head, wide);
+
+        ImageData result;
+
+        if ((m_halo > 0) && (m_filter instanceof DestinationImageDataFilter))
+        {
+            result = ((DestinationImageDataFilter) m_filter).filter(tile, getBuffer(wide, tail - head, tile));
+        }
+        else
+        {
+            result = m_filter.filter(tile, false);
+        }
+
+        if (null == result)
+        {
+            result = tile;
+        }
+        ImageDataFilter.FilterCommonOps.doCopyRows(result.getData(), from - head, m_target.getData(), from, rows, wide);
+
+        m_next++;
+    }
+
+    private final ImageData getBuffer(final int wide, final int high, final ImageData other)
+    {
+        for (int i = 0; i < m_buffers.length; i++)
+        {
+            final ImageData buffer = m_buffers[i];
+
+            if ((null != buffer) && (buffer != other) && (buffer.getWidth() == wide) && (buffer.getHeight() == high))
+            {
+                return buffer;
+            }
+        }
+        if (m_buffers[m_evict] == other)
+        {
+            m_evict = (m_evict + 1) % m_buffers.length;
+        }
+        final ImageData buffer = SCRATCH.getContext().createImageData(wide, high);
+
+        m_buffers[m_evict] = buffer;
+
+        m_evict = (m_evict + 1) % m_buffers.length;
+
+        return buffer;
+    }
+}
@@ -126,6 +126,8 @@ public abstract class AbstractMultiPathPartShape<T extends AbstractMultiPathPart
     public void resetBoundingBox()
     {
         m_box = null;
+
+        invalidateBoundingBox();
     }
 
     @Override
@@ -17,6 +17,7 @@
 
 package com.ait.lienzo.client.core.shape;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -52,12 +53,18 @@ import com.ait.lienzo.client.core.types.Point2D;
 import com.ait.lienzo.shared.core.types.ColorName;
 import com.ait.lienzo.shared.core.types.DragMode;
 import com.ait.lienzo.shared.core.types.ShapeType;
+import com.ait.tooling.common.api.java.util.function.Consumer;
 import com.ait.tooling.nativetools.client.event.HandlerRegistrationManager;
+import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.json.client.JSONObject;
 
 public abstract class AbstractMultiPointShape<T extends AbstractMultiPointShape<T> & IMultiPointShape<T>> extends Shape<T> implements IMultiPointShape<T>
 {
-    private final PathPartList m_list = new PathPartList();
+    private final PathPartList                       m_list      = new PathPartList();
+
+    // copied on write, so handlers may be added or removed while the handlers are called
+
+    private ArrayList<Consumer<IMultiPointShape<?>>> m_refreshed = null;
 
     protected AbstractMultiPointShape(final ShapeType type)
     {
@@ -111,11 +118,49 @@ public abstract class AbstractMultiPointShape<T extends AbstractMultiPointShape<
         return new DefaultMultiPointShapeHandleFactory(this);
     }
 
+    @Override
+    public HandlerRegistration addRefreshHandler(final Consumer<IMultiPointShape<?>> handler)
+    {
+        final ArrayList<Consumer<IMultiPointShape<?>>> handlers = (null == m_refreshed) ? new ArrayList<Consumer<IMultiPointShape<?>>>(1) : new ArrayList<Consumer<IMultiPointShape<?>>>(m_refreshed);
+
+        handlers.add(handler);
+
+        m_refreshed = handlers;
+
+        return new HandlerRegistration()
+        {
+            @Override
+            public void removeHandler()
+            {
+                if ((null != m_refreshed) && (m_refreshed.contains(handler)))
+                {
+                    final ArrayList<Consumer<IMultiPointShape<?>>> handlers = new ArrayList<Consumer<IMultiPointShape<?>>>(m_refreshed);
+
+                    handlers.remove(handler);
+
+                    m_refreshed = (handlers.isEmpty()) ? null : handlers;
+                }
+            }
+        };
+    }
+
     @Override
     public T refresh()
     {
         getPathPartList().clear();
-        return super.refresh();
+
+        final T shape = super.refresh();
+
+        final ArrayList<Consumer<IMultiPointShape<?>>> handlers = m_refreshed;
+
+        if (null != handlers)
+        {
+            for (int i = 0; i < handlers.size(); i++)
+            {
+                handlers.get(i).accept(this);
+            }
+        }
+        return shape;
     }
 
     public static final class DefaultMultiPointShapeHandleFactory implements IControlHandleFactory
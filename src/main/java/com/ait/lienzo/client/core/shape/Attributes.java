@@ -21,7 +21,7 @@ import com.ait.lienzo.client.core.config.LienzoCore;
 import com.ait.lienzo.client.core.event.AttributesChangedHandler;
 import com.ait.lienzo.client.core.event.AttributesChangedManager;
 import com.ait.lienzo.client.core.event.IAttributesChangedBatcher;
-import com.ait.lienzo.client.core.event.ImmediateAttributesChangedBatcher;
+import com.ait.lienzo.client.core.event.JournalAttributesChangedBatcher;
 import com.ait.lienzo.client.core.image.filter.ImageDataFilter.FilterConvolveMatrix;
 import com.ait.lienzo.client.core.shape.json.IJSONSerializable;
 import com.ait.lienzo.client.core.types.DashArray;
@@ -71,16 +71,86 @@ public class Attributes
 {
     private final IJSONSerializable<?> m_ser;
 
+    private final Node<?>              m_node;
+
     private final NObjectJSO           m_jso;
 
     private AttributesChangedManager   m_man;
 
     private IAttributesChangedBatcher  m_bat;
 
+    private static final int           SLOT_X            = 0;
+
+    private static final int           SLOT_Y            = 1;
+
+    private static final int           SLOT_ROTATION     = 2;
+
+    private static final int           SLOT_SCALE        = 3;
+
+    private static final int           SLOT_SHEAR        = 4;
+
+    private static final int           SLOT_OFFSET       = 5;
+
+    private static final int           SLOT_ALPHA        = 6;
+
+    private static final int           SLOT_FILL_ALPHA   = 7;
+
+    private static final int           SLOT_STROKE_WIDTH = 8;
+
+    private static final int           SLOT_VISIBLE      = 9;
+
+    private static final int           SLOT_LISTENING    = 10;
+
+    private static final int           ANY_TRANSFORM     = (1 << SLOT_X) | (1 << SLOT_Y) | (1 << SLOT_ROTATION) | (1 << SLOT_SCALE) | (1 << SLOT_SHEAR);
+
+    private static final int           COMPLEX_TRANSFORM = (1 << SLOT_ROTATION) | (1 << SLOT_SCALE) | (1 << SLOT_SHEAR);
+
+    private static final int           NODE_TRANSFORM    = ANY_TRANSFORM | (1 << SLOT_OFFSET);
+
+    private static final int           NO_SLOT           = -1;
+
+    private static final int           NOT_DRAWN         = -2;
+
+    private static final String[]      SLOT_NAMES        = { Attribute.X.getProperty(), Attribute.Y.getProperty(), Attribute.ROTATION.getProperty(), Attribute.SCALE.getProperty(), Attribute.SHEAR.getProperty(), Attribute.OFFSET.getProperty(), Attribute.ALPHA.getProperty(), Attribute.FILL_ALPHA.getProperty(), Attribute.STROKE_WIDTH.getProperty(), Attribute.VISIBLE.getProperty(), Attribute.LISTENING.getProperty() };
+
+    // Typed copies of the hot draw path attributes, written through on every put() and remove(), the JSO stays authoritative for serialization.
+
+    private int                        m_defined         = 0;
+
+    private double                     m_x               = 0;
+
+    private double                     m_y               = 0;
+
+    private double                     m_rotation        = 0;
+
+    private double                     m_alpha           = 1;
+
+    private double                     m_fill_alpha      = 1;
+
+    private double                     m_stroke_width    = 0;
+
+    private boolean                    m_visible         = true;
+
+    private boolean                    m_listening       = true;
+
+    private double                     m_scale_x         = 1;
+
+    private double                     m_scale_y         = 1;
+
+    private double                     m_shear_x         = 0;
+
+    private double                     m_shear_y         = 0;
+
+    private double                     m_offset_x        = 0;
+
+    private double                     m_offset_y        = 0;
+
     public Attributes(final IJSONSerializable<?> ser)
     {
         m_ser = ser;
 
+        m_node = asNode(ser);
+
         m_jso = NObjectJSO.make();
     }
 
@@ -88,6 +158,8 @@ public class Attributes
     {
         m_ser = ser;
 
+        m_node = asNode(ser);
+
         if ((null != jso) && (JSONType.OBJECT == Native.getNativeTypeOfJSO(jso)))
         {
             m_jso = jso.cast();
@@ -96,6 +168,150 @@ public class Attributes
         {
             m_jso = NObjectJSO.make();
         }
+        for (int slot = 0; slot < SLOT_NAMES.length; slot++)
+        {
+            sync(SLOT_NAMES[slot], slot);
+        }
+    }
+
+    /**
+     * Returns the typed slot of an attribute, {@link #NOT_DRAWN} for the attributes that never change what is drawn,
+     * or {@link #NO_SLOT}. The cases are the property names of the {@link Attribute} constants.
+     */
+    private static final int slotOf(final String name)
+    {
+        switch (name)
+        {
+            case "x":
+                return SLOT_X;
+            case "y":
+                return SLOT_Y;
+            case "rotation":
+                return SLOT_ROTATION;
+            case "scale":
+                return SLOT_SCALE;
+            case "shear":
+                return SLOT_SHEAR;
+            case "offset":
+                return SLOT_OFFSET;
+            case "alpha":
+                return SLOT_ALPHA;
+            case "fillAlpha":
+                return SLOT_FILL_ALPHA;
+            case "strokeWidth":
+                return SLOT_STROKE_WIDTH;
+            case "visible":
+                return SLOT_VISIBLE;
+            case "listening":
+                return SLOT_LISTENING;
+            case "id":
+            case "name":
+            case "draggable":
+            case "editable":
+            case "dragConstraint":
+            case "dragBounds":
+            case "dragMode":
+            case "eventPropagationMode":
+            case "serializationMode":
+                return NOT_DRAWN;
+            default:
+                return NO_SLOT;
+        }
+    }
+
+    private final void sync(final String name, final int slot)
+    {
+        if (slot < 0)
+        {
+            return;
+        }
+        if (m_jso.isDefined(name))
+        {
+            m_defined |= (1 << slot);
+        }
+        else
+        {
+            m_defined &= ~(1 << slot);
+        }
+        switch (slot)
+        {
+            case SLOT_X:
+                m_x = getDouble(name);
+                break;
+            case SLOT_Y:
+                m_y = getDouble(name);
+                break;
+            case SLOT_ROTATION:
+                m_rotation = getDouble(name);
+                break;
+            case SLOT_SCALE:
+            {
+                final Point2DJSO scale = asPoint2DJSO(getObject(name));
+                m_scale_x = (null != scale) ? scale.getX() : 1;
+                m_scale_y = (null != scale) ? scale.getY() : 1;
+                break;
+            }
+            case SLOT_SHEAR:
+            {
+                final Point2DJSO shear = asPoint2DJSO(getObject(name));
+                m_shear_x = (null != shear) ? shear.getX() : 0;
+                m_shear_y = (null != shear) ? shear.getY() : 0;
+                break;
+            }
+            case SLOT_OFFSET:
+            {
+                final Point2DJSO offset = asPoint2DJSO(getObject(name));
+                m_offset_x = (null != offset) ? offset.getX() : 0;
+                m_offset_y = (null != offset) ? offset.getY() : 0;
+                break;
+            }
+            case SLOT_ALPHA:
+                m_alpha = isNumber(name) ? clampAlpha(m_jso.getAsDouble(name)) : 1;
+                break;
+            case SLOT_FILL_ALPHA:
+                m_fill_alpha = isNumber(name) ? clampAlpha(m_jso.getAsDouble(name)) : 1;
+                break;
+            case SLOT_STROKE_WIDTH:
+                m_stroke_width = getDouble(name);
+                break;
+            case SLOT_VISIBLE:
+                m_visible = m_jso.isDefined(name) ? getBoolean(name) : true;
+                break;
+            case SLOT_LISTENING:
+                m_listening = m_jso.isDefined(name) ? getBoolean(name) : true;
+                break;
+        }
+    }
+
+    private static final Point2DJSO asPoint2DJSO(final JavaScriptObject jso)
+    {
+        if (null != jso)
+        {
+            return jso.cast();
+        }
+        return null;
+    }
+
+    private static final double clampAlpha(final double alpha)
+    {
+        if (alpha < 0)
+        {
+            return 0;
+        }
+        else if (alpha > 1)
+        {
+            return 1;
+        }
+        return alpha;
+    }
+
+    private static final Node<?> asNode(final IJSONSerializable<?> ser)
+    {
+        if (ser instanceof Node)
+        {
+            return (Node<?>) ser;
+        }
+        return null;
     }
 
     public final NObjectJSO getJSO()
@@ -117,7 +333,7 @@ public class Attributes
             }
             if (null == m_bat)
             {
-                m_bat = new ImmediateAttributesChangedBatcher();
+                m_bat = new JournalAttributesChangedBatcher();
             }
             return m_man.addAttributesChangedHandler(attribute, handler);
         }
@@ -132,8 +348,28 @@ public class Attributes
         }
     }
 
-    private final void checkDispatchAttributesChanged(final String name)
+    /**
+     * Returns true for the slots of the {@link LienzoCore#STANDARD_TRANSFORMING_ATTRIBUTES}, which make up the node transform.
+     */
+    private static final boolean isTransforming(final int slot)
     {
+        return (slot >= 0) && ((NODE_TRANSFORM & (1 << slot)) != 0);
+    }
+
+    private final void checkDispatchAttributesChanging(final String name, final int slot)
+    {
+        if ((null != m_node) && (NOT_DRAWN != slot))
+        {
+            m_node.onAttributeChanging(name, isTransforming(slot));
+        }
+    }
+
+    private final void checkDispatchAttributesChanged(final String name, final int slot)
+    {
+        if ((null != m_node) && (NOT_DRAWN != slot))
+        {
+            m_node.onAttributeChanged(name, isTransforming(slot));
+        }
         if ((null != m_man) && (null != m_ser) && (null != m_bat))
         {
             if (m_man.canDispatchAttributesChanged(name))
@@ -151,7 +387,7 @@ public class Attributes
         }
         else
         {
-            m_bat = new ImmediateAttributesChangedBatcher();
+            m_bat = new JournalAttributesChangedBatcher();
         }
     }
 
@@ -210,26 +446,12 @@ public class Attributes
         {
             alpha = 1;
         }
-        put(Attribute.FILL_ALPHA.getProperty(), alpha);
+        put(Attribute.FILL_ALPHA.getProperty(), SLOT_FILL_ALPHA, alpha);
     }
 
     public final double getFillAlpha()
     {
-        if (isNumber(Attribute.FILL_ALPHA.getProperty()))
-        {
-            double alpha = m_jso.getAsDouble(Attribute.FILL_ALPHA.getProperty());
-
-            if (alpha < 0)
-            {
-                alpha = 0;
-            }
-            else if (alpha > 1)
-            {
-                alpha = 1;
-            }
-            return alpha;
-        }
-        return 1;
+        return m_fill_alpha;
     }
 
     public final void setStrokeAlpha(double alpha)
@@ -407,36 +629,32 @@ public class Attributes
 
     public final void setStrokeWidth(final double width)
     {
-        put(Attribute.STROKE_WIDTH.getProperty(), width);
+        put(Attribute.STROKE_WIDTH.getProperty(), SLOT_STROKE_WIDTH, width);
     }
 
     public final double getStrokeWidth()
     {
-        return getDouble(Attribute.STROKE_WIDTH.getProperty());
+        return m_stroke_width;
     }
 
     public final void setX(final double x)
     {
-        put(Attribute.X.getProperty(), x);
+        put(Attribute.X.getProperty(), SLOT_X, x);
     }
 
     public final void setY(final double y)
     {
-        put(Attribute.Y.getProperty(), y);
+        put(Attribute.Y.getProperty(), SLOT_Y, y);
     }
 
     public final void setVisible(final boolean visible)
     {
-        put(Attribute.VISIBLE.getProperty(), visible);
+        put(Attribute.VISIBLE.getProperty(), SLOT_VISIBLE, visible);
     }
 
     public final boolean isVisible()
     {
-        if (isDefined(Attribute.VISIBLE))
-        {
-            return getBoolean(Attribute.VISIBLE.getProperty());
-        }
-        return true;
+        return m_visible;
     }
 
     public final void setDraggable(final boolean draggable)
@@ -517,16 +735,12 @@ public class Attributes
 
     public final void setListening(final boolean listening)
     {
-        put(Attribute.LISTENING.getProperty(), listening);
+        put(Attribute.LISTENING.getProperty(), SLOT_LISTENING, listening);
     }
 
     public final boolean isListening()
     {
-        if (isDefined(Attribute.LISTENING))
-        {
-            return getBoolean(Attribute.LISTENING.getProperty());
-        }
-        return true;
+        return m_listening;
     }
 
     public final void setName(final String name)
@@ -607,22 +821,22 @@ public class Attributes
 
     public final void setRotation(final double radians)
     {
-        put(Attribute.ROTATION.getProperty(), radians);
+        put(Attribute.ROTATION.getProperty(), SLOT_ROTATION, radians);
     }
 
     public final double getRotation()
     {
-        return getDouble(Attribute.ROTATION.getProperty());
+        return m_rotation;
     }
 
     public final void setRotationDegrees(final double degrees)
     {
-        put(Attribute.ROTATION.getProperty(), Geometry.toRadians(degrees));
+        put(Attribute.ROTATION.getProperty(), SLOT_ROTATION, Geometry.toRadians(degrees));
     }
 
     public final double getRotationDegrees()
     {
-        return Geometry.toDegrees(getDouble(Attribute.ROTATION.getProperty()));
+        return Geometry.toDegrees(m_rotation);
     }
 
     public final void setRadius(final double radius)
@@ -655,18 +869,18 @@ public class Attributes
         {
             alpha = 1;
         }
-        put(Attribute.ALPHA.getProperty(), alpha);
+        put(Attribute.ALPHA.getProperty(), SLOT_ALPHA, alpha);
     }
 
     public final void setScale(final Point2D scale)
     {
         if (null != scale)
         {
-            put(Attribute.SCALE.getProperty(), scale.getJSO());
+            put(Attribute.SCALE.getProperty(), SLOT_SCALE, scale.getJSO());
         }
         else
         {
-            remove(Attribute.SCALE.getProperty());
+            remove(Attribute.SCALE.getProperty(), SLOT_SCALE);
         }
     }
 
@@ -682,13 +896,9 @@ public class Attributes
 
     public final Point2D getScale()
     {
-        final JavaScriptObject scale = getObject(Attribute.SCALE.getProperty());
-
-        if (null != scale)
+        if (0 != (m_defined & (1 << SLOT_SCALE)))
         {
-            final Point2DJSO pjso = scale.cast();
-
-            return new Point2D(pjso);
+            return new Point2D(m_scale_x, m_scale_y);
         }
         return null;
     }
@@ -702,23 +912,19 @@ public class Attributes
     {
         if (null != shear)
         {
-            put(Attribute.SHEAR.getProperty(), shear.getJSO());
+            put(Attribute.SHEAR.getProperty(), SLOT_SHEAR, shear.getJSO());
         }
         else
         {
-            remove(Attribute.SHEAR.getProperty());
+            remove(Attribute.SHEAR.getProperty(), SLOT_SHEAR);
         }
     }
 
     public final Point2D getShear()
     {
-        final JavaScriptObject shear = getObject(Attribute.SHEAR.getProperty());
-
-        if (null != shear)
+        if (0 != (m_defined & (1 << SLOT_SHEAR)))
         {
-            final Point2DJSO pjso = shear.cast();
-
-            return new Point2D(pjso);
+            return new Point2D(m_shear_x, m_shear_y);
         }
         return null;
     }
@@ -727,11 +933,11 @@ public class Attributes
     {
         if (null != offset)
         {
-            put(Attribute.OFFSET.getProperty(), offset.getJSO());
+            put(Attribute.OFFSET.getProperty(), SLOT_OFFSET, offset.getJSO());
         }
         else
         {
-            remove(Attribute.OFFSET.getProperty());
+            remove(Attribute.OFFSET.getProperty(), SLOT_OFFSET);
         }
     }
 
@@ -742,13 +948,9 @@ public class Attributes
 
     public final Point2D getOffset()
     {
-        final JavaScriptObject offset = getObject(Attribute.OFFSET.getProperty());
-
-        if (null != offset)
+        if (0 != (m_defined & (1 << SLOT_OFFSET)))
         {
-            final Point2DJSO pjso = offset.cast();
-
-            return new Point2D(pjso);
+            return new Point2D(m_offset_x, m_offset_y);
         }
         return null;
     }
@@ -1075,12 +1277,12 @@ public class Attributes
 
     public final double getX()
     {
-        return getDouble(Attribute.X.getProperty());
+        return m_x;
     }
 
     public final double getY()
     {
-        return getDouble(Attribute.Y.getProperty());
+        return m_y;
     }
 
     public final double getRadius()
@@ -1206,21 +1408,7 @@ public class Attributes
 
     public final double getAlpha()
     {
-        if (isNumber(Attribute.ALPHA.getProperty()))
-        {
-            double alpha = m_jso.getAsDouble(Attribute.ALPHA.getProperty());
-
-            if (alpha < 0)
-            {
-                alpha = 0;
-            }
-            else if (alpha > 1)
-            {
-                alpha = 1;
-            }
-            return alpha;
-        }
-        return 1;
+        return m_alpha;
     }
 
     public final void setOffset(final double xy)
@@ -1721,14 +1909,62 @@ public class Attributes
         return LienzoCore.get().getDefaultConnectorOffset();
     }
 
+    /**
+     * Returns the x scale, 1 if there is no scale.
+     */
+    public final double getScaleX()
+    {
+        return m_scale_x;
+    }
+
+    /**
+     * Returns the y scale, 1 if there is no scale.
+     */
+    public final double getScaleY()
+    {
+        return m_scale_y;
+    }
+
+    /**
+     * Returns the x shear, 0 if there is no shear.
+     */
+    public final double getShearX()
+    {
+        return m_shear_x;
+    }
+
+    /**
+     * Returns the y shear, 0 if there is no shear.
+     */
+    public final double getShearY()
+    {
+        return m_shear_y;
+    }
+
+    /**
+     * Returns the x offset, 0 if there is no offset.
+     */
+    public final double getOffsetX()
+    {
+        return m_offset_x;
+    }
+
+    /**
+     * Returns the y offset, 0 if there is no offset.
+     */
+    public final double getOffsetY()
+    {
+        return m_offset_y;
+    }
+
     public final boolean hasAnyTransformAttributes()
     {
-        return hasAnyTransformAttributes(m_jso);
+        return (0 != (m_defined & ANY_TRANSFORM));
     }
 
     public final boolean hasComplexTransformAttributes()
     {
-        return hasComplexTransformAttributes(m_jso);
+        return (0 != (m_defined & COMPLEX_TRANSFORM));
     }
 
     public final boolean hasExtraStrokeAttributes()
@@ -1746,17 +1982,6 @@ public class Attributes
         return hasFill(m_jso);
     }
 
-    private static final native boolean hasAnyTransformAttributes(NObjectJSO jso)
-    /*-{
-        return ((jso.x !== undefined) || (jso.y !== undefined)
-        || (jso.rotation !== undefined) || (jso.scale !== undefined) || (jso.shear !== undefined));
-    }-*/;
-
-    private static final native boolean hasComplexTransformAttributes(NObjectJSO jso)
-    /*-{
-        return ((jso.rotation !== undefined) || (jso.scale !== undefined) || (jso.shear !== undefined));
-    }-*/;
-
     private static final native boolean hasExtraStrokeAttributes(NObjectJSO jso)
     /*-{
         return ((jso.dashArray !== undefined) || (jso.lineJoin !== undefined)
@@ -1775,37 +2000,102 @@ public class Attributes
 
     public final void put(final String name, final String value)
     {
+        final int slot = slotOf(name);
+
+        checkDispatchAttributesChanging(name, slot);
+
         m_jso.put(name, value);
 
-        checkDispatchAttributesChanged(name);
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
     }
 
     public final void put(final String name, final int value)
     {
+        final int slot = slotOf(name);
+
+        checkDispatchAttributesChanging(name, slot);
+
         m_jso.put(name, value);
 
-        checkDispatchAttributesChanged(name);
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
     }
 
     public final void put(final String name, final double value)
     {
+        final int slot = slotOf(name);
+
+        checkDispatchAttributesChanging(name, slot);
+
         m_jso.put(name, value);
 
-        checkDispatchAttributesChanged(name);
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
     }
 
     public final void put(final String name, final boolean value)
     {
+        final int slot = slotOf(name);
+
+        checkDispatchAttributesChanging(name, slot);
+
         m_jso.put(name, value);
 
-        checkDispatchAttributesChanged(name);
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
     }
 
     public final void put(final String name, final JavaScriptObject value)
     {
+        final int slot = slotOf(name);
+
+        checkDispatchAttributesChanging(name, slot);
+
+        m_jso.put(name, value);
+
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
+    }
+
+    // the typed setters know their slot, and skip the lookup
+
+    private final void put(final String name, final int slot, final double value)
+    {
+        checkDispatchAttributesChanging(name, slot);
+
         m_jso.put(name, value);
 
-        checkDispatchAttributesChanged(name);
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
+    }
+
+    private final void put(final String name, final int slot, final boolean value)
+    {
+        checkDispatchAttributesChanging(name, slot);
+
+        m_jso.put(name, value);
+
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
+    }
+
+    private final void put(final String name, final int slot, final JavaScriptObject value)
+    {
+        checkDispatchAttributesChanging(name, slot);
+
+        m_jso.put(name, value);
+
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
     }
 
     public final boolean isEmpty()
@@ -2110,8 +2400,17 @@ public class Attributes
 
     public final void remove(final String name)
     {
+        remove(name, slotOf(name));
+    }
+
+    private final void remove(final String name, final int slot)
+    {
+        checkDispatchAttributesChanging(name, slot);
+
         m_jso.remove(name);
 
-        checkDispatchAttributesChanged(name);
+        sync(name, slot);
+
+        checkDispatchAttributesChanged(name, slot);
     }
 }
\ No newline at end of file
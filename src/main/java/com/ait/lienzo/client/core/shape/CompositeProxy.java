@@ -748,6 +748,8 @@ public abstract class CompositeProxy<C extends CompositeProxy<C, P>, P extends I
     {
         getProxy().refresh();
 
+        invalidateBoundingBox();
+
         return cast();
     }
 
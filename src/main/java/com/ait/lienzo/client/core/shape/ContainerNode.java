@@ -22,6 +22,7 @@ import java.util.List;
 
 import com.ait.lienzo.client.core.Attribute;
 import com.ait.lienzo.client.core.Context2D;
+import com.ait.lienzo.client.core.RecordingContext2D;
 import com.ait.lienzo.client.core.shape.json.IContainerFactory;
 import com.ait.lienzo.client.core.shape.json.IJSONSerializable;
 import com.ait.lienzo.client.core.shape.json.JSONDeserializer;
@@ -30,6 +31,9 @@ import com.ait.lienzo.client.core.shape.json.validators.ValidationException;
 import com.ait.lienzo.client.core.shape.storage.IStorageEngine;
 import com.ait.lienzo.client.core.types.BoundingBox;
 import com.ait.lienzo.client.core.types.BoundingPoints;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.types.Transform;
+import com.ait.lienzo.client.core.util.GeometryException;
 import com.ait.lienzo.shared.core.types.NodeType;
 import com.ait.tooling.common.api.java.util.function.Predicate;
 import com.ait.tooling.nativetools.client.collection.NFastArrayList;
@@ -47,12 +51,24 @@ import com.google.gwt.json.client.JSONObject;
  */
 public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerNode<M, T>>extends Node<T>implements IContainer<T, M>
 {
+    protected static final List<Attribute> NO_BOUNDING_BOX_ATTRIBUTES = asAttributes();
+
     private BoundingBox       m_bbox;
 
     private IPathClipper      m_clip;
 
     private IStorageEngine<M> m_stor;
 
+    private boolean           m_cull;
+
+    private BoundingBox       m_bounds;
+
+    /**
+     * Extra canvas pixels around the visible area that are still considered visible when culling,
+     * so strokes and shadows, which are not part of the bounding box, are not clipped at the edges.
+     */
+    public static final double VIEWPORT_CULLING_MARGIN = 16;
+
     protected ContainerNode(final NodeType type, final IStorageEngine<M> storage)
     {
         super(type);
@@ -121,6 +137,8 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
         }
         m_stor = storage;
 
+        invalidateAncestorCaches();
+
         return cast();
     }
 
@@ -154,6 +172,16 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
 
         getStorageEngine().add(child);
 
+        invalidateBoundingBoxes();
+
+        node.damageLayer();
+
+        if (hasSpatiallyIndexedAncestor())
+        {
+            refreshStorageBounds();
+        }
+        onChildrenChanged();
+
         return cast();
     }
 
@@ -169,10 +197,20 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
     {
         final Node<?> node = child.asNode();
 
+        node.damageLayer();
+
         node.setParent(null);
 
         getStorageEngine().remove(child);
 
+        invalidateBoundingBoxes();
+
+        if (hasSpatiallyIndexedAncestor())
+        {
+            refreshStorageBounds();
+        }
+        onChildrenChanged();
+
         return cast();
     }
 
@@ -186,11 +224,50 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
     @Override
     public T removeAll()
     {
+        damageLayer();
+
         getStorageEngine().clear();
 
+        invalidateBoundingBoxes();
+
+        if (hasSpatiallyIndexedAncestor())
+        {
+            refreshStorageBounds();
+        }
+        onChildrenChanged();
+
         return cast();
     }
 
+    /**
+     * Used internally. Tells the viewport that children were added, removed or reordered, as it changes which shape is found at a point.
+     */
+    final void onChildrenChanged()
+    {
+        final Viewport viewport = getViewport();
+
+        if (null != viewport)
+        {
+            viewport.onLayerRedraw();
+        }
+    }
+
+    /**
+     * Used internally. Updates the bounds kept for the given child when this container's storage engine is spatially indexed.
+     * 
+     * @param child
+     */
+    @SuppressWarnings("unchecked")
+    final void refreshStorage(final Node<?> child)
+    {
+        final IStorageEngine<M> storage = getStorageEngine();
+
+        if (storage.isSpatiallyIndexed())
+        {
+            storage.refresh((M) child);
+        }
+    }
+
     /**
      * Used internally. Draws the node in the current Context2D
      * without applying the transformation-related attributes 
@@ -217,8 +294,30 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
         {
             bbox = bounds;
         }
-        final NFastArrayList<M> list = getChildNodes(bbox);
+        // While a display list is recorded, everything is drawn, so the list can be replayed whatever the viewport.
+
+        final BoundingBox view = (context.getNativeContext() instanceof RecordingContext2D) ? null : getViewportCullingBounds();
+
+        NFastArrayList<M> list;
+
+        if ((null != view) && (null == bbox) && (getStorageEngine().isSpatiallyIndexed()))
+        {
+            list = getChildNodes(view);
 
+            if (false == context.isSelection())
+            {
+                addViewportCullingCounts(list.size(), length() - list.size());
+            }
+        }
+        else
+        {
+            list = getChildNodes(bbox);
+
+            if (null != view)
+            {
+                list = cull(list, view, context);
+            }
+        }
         final int size = list.size();
 
         final IPathClipper clip = getPathClipper();
@@ -244,33 +343,206 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
         }
     }
 
-    @Override
-    public BoundingBox getBoundingBox()
+    private final NFastArrayList<M> cull(final NFastArrayList<M> list, final BoundingBox view, final Context2D context)
     {
-        final BoundingBox bbox = new BoundingBox();
-
-        final NFastArrayList<M> list = getChildNodes();
-
         final int size = list.size();
 
+        final NFastArrayList<M> draw = new NFastArrayList<M>();
+
         for (int i = 0; i < size; i++)
         {
-            final BoundingPoints bpts = list.get(i).getBoundingPoints();
+            final M item = list.get(i);
+
+            if (isInView(item, view))
+            {
+                draw.add(item);
+            }
+        }
+        if (false == context.isSelection())
+        {
+            addViewportCullingCounts(draw.size(), size - draw.size());
+        }
+        return draw;
+    }
+
+    private static final boolean isInView(final IDrawable<?> item, final BoundingBox view)
+    {
+        final Node<?> node = item.asNode();
+
+        final BoundingPoints bpts = (null != node) ? node.getCachedBoundingPoints() : item.getBoundingPoints();
+
+        if (null == bpts)
+        {
+            return true;
+        }
+        final BoundingBox bbox = bpts.getBoundingBox();
+
+        if ((null == bbox) || (false == bbox.isValid()))
+        {
+            return true;
+        }
+        return bbox.intersects(view);
+    }
+
+    private final void addViewportCullingCounts(final int drawn, final int culled)
+    {
+        final Layer layer = getLayer();
+
+        if (null != layer)
+        {
+            layer.addViewportCullingCounts(drawn, culled);
+        }
+    }
+
+    /**
+     * Returns whether children outside of the visible area of the viewport are skipped when drawing.
+     * 
+     * @return boolean
+     */
+    public boolean isViewportCulling()
+    {
+        return m_cull;
+    }
+
+    protected final void doViewportCulling(final boolean cull)
+    {
+        m_cull = cull;
+    }
+
+    /**
+     * Used internally. Returns the visible area of the canvas in this container's coordinate space,
+     * or null if culling is off, or the container is not being drawn as part of {@link Layer#draw()}.
+     * When the layer only redraws part of its canvas, that part is used and culling always applies.
+     * 
+     * @return BoundingBox
+     */
+    protected BoundingBox getViewportCullingBounds()
+    {
+        final Layer layer = getLayer();
+
+        if (null == layer)
+        {
+            return null;
+        }
+        final BoundingBox area = layer.getViewportCullingArea();
+
+        if ((false == m_cull) && (null == area))
+        {
+            return null;
+        }
+        final Transform xfrm = layer.getViewportCullingTransform();
+
+        if (null == xfrm)
+        {
+            return null;
+        }
+        final double m = VIEWPORT_CULLING_MARGIN;
+
+        double minx = -m;
+
+        double miny = -m;
+
+        double maxx = layer.getWidth() + m;
+
+        double maxy = layer.getHeight() + m;
+
+        if (null != area)
+        {
+            minx = area.getMinX() - m;
+
+            miny = area.getMinY() - m;
 
-            if (null != bpts)
+            maxx = area.getMaxX() + m;
+
+            maxy = area.getMaxY() + m;
+        }
+        else if ((layer.getWidth() <= 0) || (layer.getHeight() <= 0))
+        {
+            return null;
+        }
+        concatenateTransformsFromLayer(this, xfrm);
+
+        final Transform inverse;
+
+        try
+        {
+            inverse = xfrm.getInverse();
+        }
+        catch (GeometryException e)
+        {
+            return null;
+        }
+        final Point2D[] points = { new Point2D(minx, miny), new Point2D(maxx, miny), new Point2D(maxx, maxy), new Point2D(minx, maxy) };
+
+        for (Point2D p : points)
+        {
+            inverse.transform(p, p);
+        }
+        return new BoundingBox(points[0], points[1], points[2], points[3]);
+    }
+
+    static final void concatenateTransformsFromLayer(final Node<?> node, final Transform xfrm)
+    {
+        if (null == node)
+        {
+            return;
+        }
+        if (null == node.asLayer())
+        {
+            concatenateTransformsFromLayer(node.getParent(), xfrm);
+        }
+        final Transform temp = node.getPossibleNodeTransform();
+
+        if (null != temp)
+        {
+            xfrm.multiply(temp);
+        }
+    }
+
+    @Override
+    public BoundingBox getBoundingBox()
+    {
+        if (null == m_bounds)
+        {
+            final BoundingBox bbox = new BoundingBox();
+
+            final NFastArrayList<M> list = getChildNodes();
+
+            final int size = list.size();
+
+            for (int i = 0; i < size; i++)
             {
-                bbox.add(bpts.getArray());
+                final Node<?> node = list.get(i).asNode();
+
+                final BoundingPoints bpts = (null != node) ? node.getCachedBoundingPoints() : list.get(i).getBoundingPoints();
+
+                if (null != bpts)
+                {
+                    bbox.add(bpts.getArray());
+                }
             }
+            m_bounds = bbox;
         }
-        return bbox;
+        return new BoundingBox(m_bounds);
+    }
+
+    @Override
+    void dropBoundingBox()
+    {
+        super.dropBoundingBox();
+
+        m_bounds = null;
     }
 
     // TODO - do this for containers
 
+    /**
+     * Returns an empty, unmodifiable list: a container's bounds come from its children, not its attributes.
+     */
     @Override
     public List<Attribute> getBoundingBoxAttributes()
     {
-        return new ArrayList<Attribute>(0);
+        return NO_BOUNDING_BOX_ATTRIBUTES;
     }
 
     /**
@@ -281,6 +553,10 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
     {
         getStorageEngine().moveUp(node);
 
+        node.asNode().damageLayer();
+
+        onChildrenChanged();
+
         return cast();
     }
 
@@ -292,6 +568,10 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
     {
         getStorageEngine().moveDown(node);
 
+        node.asNode().damageLayer();
+
+        onChildrenChanged();
+
         return cast();
     }
 
@@ -303,6 +583,10 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
     {
         getStorageEngine().moveToTop(node);
 
+        node.asNode().damageLayer();
+
+        onChildrenChanged();
+
         return cast();
     }
 
@@ -314,6 +598,10 @@ public abstract class ContainerNode<M extends IDrawable<?>, T extends ContainerN
     {
         getStorageEngine().moveToBottom(node);
 
+        node.asNode().damageLayer();
+
+        onChildrenChanged();
+
         return cast();
     }
 
@@ -0,0 +1,362 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape;
+
+import com.ait.lienzo.client.core.config.LienzoCore;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.PathPartList;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.types.Transform;
+import com.ait.lienzo.client.core.util.GeometryException;
+import com.ait.lienzo.client.core.util.PathGeometry;
+import com.ait.tooling.nativetools.client.collection.NFastArrayList;
+
+/**
+ * An {@link IHitTestEngine} that answers hit tests from shape geometry, without drawing or reading back a {@link Layer.SelectionLayer}.
+ * <p>
+ * The point is mapped into the space of each node through the inverse of its transform, and children are tested top most first.
+ * Containers with a spatially indexed storage engine only test the children near the point.
+ * Shapes are matched the way they would be painted into the selection layer: fill bounds for selection, fill shape for selection,
+ * the selection stroke offset, alpha and the default stroke all apply, and only shapes with a color key can be found.
+ * <p>
+ * Fills and strokes are tested against the {@link PathPartList}s of multi point and multi path shapes, and analytically for
+ * {@link Circle} and {@link Ellipse}. Other shapes are tested against their bounding box.
+ * Path clippers, line caps, line joins and dashes are not taken into account.
+ * Override {@link #isShapeHit(Shape, double, double, double)} to refine the test for specific shapes.
+ */
+public class GeometricHitTestEngine implements IHitTestEngine
+{
+    /**
+     * Default half size, in the container's coordinates, of the area searched for candidates in spatially indexed containers.
+     * It has to cover the widest stroke plus selection offsets of the shapes in those containers.
+     */
+    public static final double DEFAULT_SPATIAL_TOLERANCE = 32;
+
+    private double             m_tolerance               = DEFAULT_SPATIAL_TOLERANCE;
+
+    public GeometricHitTestEngine()
+    {
+    }
+
+    public GeometricHitTestEngine(final double tolerance)
+    {
+        setSpatialTolerance(tolerance);
+    }
+
+    public GeometricHitTestEngine setSpatialTolerance(final double tolerance)
+    {
+        m_tolerance = Math.max(0, tolerance);
+
+        return this;
+    }
+
+    public double getSpatialTolerance()
+    {
+        return m_tolerance;
+    }
+
+    @Override
+    public Shape<?> findShapeAtPoint(final Layer layer, final int x, final int y)
+    {
+        if ((null == layer) || (false == layer.isVisible()) || (false == layer.isListening()))
+        {
+            return null;
+        }
+        final Point2D point = new Point2D(x, y);
+
+        final Viewport viewport = layer.getViewport();
+
+        if ((layer.isTransformable()) && (null != viewport))
+        {
+            if (false == inverse(viewport.getTransform(), point))
+            {
+                return null;
+            }
+        }
+        return find(layer, 1, point.getX(), point.getY());
+    }
+
+    private final Shape<?> find(final IDrawable<?> prim, double alpha, final double x, final double y)
+    {
+        if ((false == prim.isListening()) || (false == prim.isVisible()))
+        {
+            return null;
+        }
+        final Node<?> node = prim.asNode();
+
+        if (null == node)
+        {
+            return null;
+        }
+        final Point2D point = new Point2D(x, y);
+
+        if (false == inverse(node.getPossibleNodeTransform(), point))
+        {
+            return null;
+        }
+        final Shape<?> shape = prim.asShape();
+
+        if (null != shape)
+        {
+            if (isShapeHit(shape, alpha, point.getX(), point.getY()))
+            {
+                return shape;
+            }
+            return null;
+        }
+        final ContainerNode<?, ?> cont = prim.asContainerNode();
+
+        if (null == cont)
+        {
+            return null;
+        }
+        alpha = alpha * cont.getAttributes().getAlpha();
+
+        if (alpha <= 0)
+        {
+            return null;
+        }
+        final NFastArrayList<?> list = getCandidates(cont, point.getX(), point.getY());
+
+        for (int i = list.size() - 1; i >= 0; i--)
+        {
+            final Shape<?> found = find((IDrawable<?>) list.get(i), alpha, point.getX(), point.getY());
+
+            if (null != found)
+            {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private final NFastArrayList<?> getCandidates(final ContainerNode<?, ?> cont, final double x, final double y)
+    {
+        if (cont.getStorageEngine().isSpatiallyIndexed())
+        {
+            final double t = m_tolerance;
+
+            return cont.getChildNodes(new BoundingBox(x - t, y - t, x + t, y + t));
+        }
+        return cont.getChildNodes();
+    }
+
+    private static final boolean inverse(final Transform transform, final Point2D point)
+    {
+        if (null == transform)
+        {
+            return true;
+        }
+        try
+        {
+            transform.getInverse().transform(point, point);
+
+            return true;
+        }
+        catch (GeometryException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if the shape would have been painted with its color key at the point, in the shape's own coordinates.
+     *
+     * @param shape
+     * @param alpha the accumulated alpha of the shape's containers
+     * @param x
+     * @param y
+     * @return boolean
+     */
+    protected boolean isShapeHit(final Shape<?> shape, double alpha, final double x, final double y)
+    {
+        final Attributes attr = shape.getAttributes();
+
+        alpha = alpha * attr.getAlpha();
+
+        if ((alpha <= 0) || (null == shape.getColorKey()))
+        {
+            return false;
+        }
+        final BoundingBox bbox = shape.getBoundingBox();
+
+        if (attr.isFillBoundsForSelection())
+        {
+            if (((alpha * attr.getFillAlpha()) > 0) && (null != bbox))
+            {
+                final double wide = bbox.getWidth();
+
+                final double high = bbox.getHeight();
+
+                if ((wide > 0) && (high > 0))
+                {
+                    final double offset = shape.getSelectionBoundsOffset();
+
+                    return (x >= (bbox.getX() - offset)) && (x < (bbox.getX() + wide)) && (y >= (bbox.getY() - offset)) && (y < (bbox.getY() + high));
+                }
+            }
+            return false;
+        }
+        final boolean fill = ((attr.hasFill()) || (attr.isFillShapeForSelection())) && ((alpha * attr.getFillAlpha()) > 0);
+
+        final double reach = Math.max(0, getStrokeHalfWidth(shape, attr, alpha, false));
+
+        if ((null != bbox) && (bbox.isValid()))
+        {
+            if ((x < (bbox.getMinX() - reach)) || (x > (bbox.getMaxX() + reach)) || (y < (bbox.getMinY() - reach)) || (y > (bbox.getMaxY() + reach)))
+            {
+                return false;
+            }
+        }
+        if (shape instanceof AbstractMultiPathPartShape)
+        {
+            final NFastArrayList<PathPartList> lists = ((AbstractMultiPathPartShape<?>) shape).getActualPathPartListArray();
+
+            if (null != lists)
+            {
+                final int size = lists.size();
+
+                for (int i = 0; i < size; i++)
+                {
+                    final PathPartList list = lists.get(i);
+
+                    if (list.size() > 1)
+                    {
+                        final boolean filled = (fill) && (PathGeometry.isClosedPath(list));
+
+                        if ((filled) && (PathGeometry.isPointInPath(list, x, y)))
+                        {
+                            return true;
+                        }
+                        final double half = getStrokeHalfWidth(shape, attr, alpha, filled);
+
+                        if ((half >= 0) && (PathGeometry.getDistanceToPath(list, x, y) <= half))
+                        {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+        }
+        final PathPartList path = shape.getPathPartList();
+
+        if ((null != path) && (path.size() > 0))
+        {
+            final boolean filled = (fill) && ((PathGeometry.isClosedPath(path)) || (isFillingOpenPath(shape)));
+
+            if ((filled) && (PathGeometry.isPointInPath(path, x, y)))
+            {
+                return true;
+            }
+            final double half = getStrokeHalfWidth(shape, attr, alpha, filled);
+
+            return (half >= 0) && (PathGeometry.getDistanceToPath(path, x, y) <= half);
+        }
+        final double half = getStrokeHalfWidth(shape, attr, alpha, fill);
+
+        if (shape instanceof Circle)
+        {
+            final double r = ((Circle) shape).getRadius();
+
+            final double d = Math.sqrt((x * x) + (y * y));
+
+            return ((fill) && (d <= r)) || ((half >= 0) && (Math.abs(d - r) <= half));
+        }
+        if (shape instanceof Ellipse)
+        {
+            final double a = ((Ellipse) shape).getWidth() / 2;
+
+            final double b = ((Ellipse) shape).getHeight() / 2;
+
+            if ((a <= 0) || (b <= 0))
+            {
+                return false;
+            }
+            final double f = ((x * x) / (a * a)) + ((y * y) / (b * b)) - 1;
+
+            if ((fill) && (f <= 0))
+            {
+                return true;
+            }
+            // first order distance to the outline, f / |grad(f)|
+
+            final double gx = (2 * x) / (a * a);
+
+            final double gy = (2 * y) / (b * b);
+
+            final double gl = Math.sqrt((gx * gx) + (gy * gy));
+
+            return (half >= 0) && (gl > 0) && ((Math.abs(f) / gl) <= half);
+        }
+        if ((null == bbox) || (false == bbox.isValid()))
+        {
+            return false;
+        }
+        final boolean inside = (x >= bbox.getMinX()) && (x <= bbox.getMaxX()) && (y >= bbox.getMinY()) && (y <= bbox.getMaxY());
+
+        if ((fill) && (inside))
+        {
+            return true;
+        }
+        if (half < 0)
+        {
+            return false;
+        }
+        return (false == inside) || (x <= (bbox.getMinX() + half)) || (x >= (bbox.getMaxX() - half)) || (y <= (bbox.getMinY() + half)) || (y >= (bbox.getMaxY() - half));
+    }
+
+    /**
+     * Returns half the width of the stroke the shape would paint into the selection layer, or -1 if it would not stroke,
+     * following {@link Shape#setStrokeParams(com.ait.lienzo.client.core.Context2D, Attributes, double, boolean)}.
+     */
+    protected double getStrokeHalfWidth(final Shape<?> shape, final Attributes attr, final double alpha, final boolean filled)
+    {
+        double width = attr.getStrokeWidth();
+
+        final String color = attr.getStrokeColor();
+
+        if (null == color)
+        {
+            if ((width <= 0) && (filled))
+            {
+                return -1;
+            }
+            if (width <= 0)
+            {
+                width = LienzoCore.get().getDefaultStrokeWidth();
+            }
+        }
+        else if (width <= 0)
+        {
+            width = LienzoCore.get().getDefaultStrokeWidth();
+        }
+        if ((alpha * attr.getStrokeAlpha()) <= 0)
+        {
+            return -1;
+        }
+        return (width + shape.getSelectionStrokeOffset()) / 2;
+    }
+
+    /**
+     * Returns true if the shape fills its path even when it is not closed, which the canvas does by implicitly closing it.
+     */
+    protected boolean isFillingOpenPath(final Shape<?> shape)
+    {
+        return (false == (shape instanceof IDirectionalMultiPointShape)) && (false == (shape instanceof Spline));
+    }
+}
@@ -24,6 +24,9 @@ import java.util.List;
 import java.util.Map;
 
 import com.ait.lienzo.client.core.Attribute;
+import com.ait.lienzo.client.core.Context2D;
+import com.ait.lienzo.client.core.DisplayList;
+import com.ait.lienzo.client.core.RecordingContext2D;
 import com.ait.lienzo.client.core.config.LienzoCore;
 import com.ait.lienzo.client.core.shape.json.IFactory;
 import com.ait.lienzo.client.core.shape.json.validators.ValidationContext;
@@ -32,6 +35,7 @@ import com.ait.lienzo.client.core.shape.storage.IStorageEngine;
 import com.ait.lienzo.client.core.shape.wires.IControlHandle.ControlHandleType;
 import com.ait.lienzo.client.core.shape.wires.IControlHandleFactory;
 import com.ait.lienzo.client.core.shape.wires.IControlHandleList;
+import com.ait.lienzo.client.core.types.BoundingBox;
 import com.ait.lienzo.client.core.types.DragBounds;
 import com.ait.lienzo.client.core.types.Point2D;
 import com.ait.lienzo.client.widget.DefaultDragConstraintEnforcer;
@@ -54,9 +58,15 @@ import com.google.gwt.json.client.JSONString;
  */
 public abstract class GroupOf <T extends IPrimitive<?>, C extends GroupOf<T, C>> extends ContainerNode<T, C>implements IPrimitive<C>, IDestroyable
 {
-    private GroupType                   m_type = null;
+    private GroupType                   m_type          = null;
 
-    private final OptionalGroupOfFields m_opts = OptionalGroupOfFields.make();
+    private final OptionalGroupOfFields m_opts          = OptionalGroupOfFields.make();
+
+    private boolean                     m_display_cache = false;
+
+    private DisplayList                 m_display       = null;
+
+    private double                      m_display_alpha = 1;
 
     /**
      * Constructor. Creates an instance of a group.
@@ -102,6 +112,79 @@ public abstract class GroupOf <T extends IPrimitive<?>, C extends GroupOf<T, C>>
         return cast();
     }
 
+    /**
+     * Sets whether children outside of the visible area of the viewport are skipped
+     * when this group is drawn as part of {@link Layer#draw()}.
+     * 
+     * @param cull
+     * @return this GroupOf
+     */
+    public C setViewportCulling(final boolean cull)
+    {
+        doViewportCulling(cull);
+
+        return cast();
+    }
+
+    /**
+     * Sets whether this group records what it draws into a {@link DisplayList}, and replays it on the next draws
+     * instead of walking its children again, until an attribute of the group, or anything below it, changes,
+     * or children are added, removed or moved.
+     * <p>
+     * Use it for large parts of a diagram that do not change often. The group's own transform can change without
+     * recording again. Children whose drawing depends on anything else than their attributes must be refreshed
+     * with {@link #refresh()} when it changes. Viewport culling does not apply to the children of a recording group.
+     *
+     * @param cache
+     * @return this GroupOf
+     */
+    public C setDisplayListCaching(final boolean cache)
+    {
+        m_display_cache = cache;
+
+        m_display = null;
+
+        invalidateAncestorCaches();
+
+        return cast();
+    }
+
+    @Override
+    public boolean isDisplayListCaching()
+    {
+        return m_display_cache;
+    }
+
+    @Override
+    void dropDisplayList()
+    {
+        m_display = null;
+    }
+
+    @Override
+    protected void drawWithoutTransforms(final Context2D context, final double alpha, final BoundingBox bounds)
+    {
+        if ((false == m_display_cache) || (context.isSelection()) || (context.isDrag()) || (getStorageEngine().isSpatiallyIndexed()))
+        {
+            super.drawWithoutTransforms(context, alpha, bounds);
+
+            return;
+        }
+        if ((null != m_display) && (m_display_alpha == alpha))
+        {
+            m_display.replay(context.getNativeContext());
+
+            return;
+        }
+        final RecordingContext2D recorder = new RecordingContext2D(context.getNativeContext());
+
+        super.drawWithoutTransforms(new Context2D(recorder), alpha, bounds);
+
+        m_display = recorder.isReplayable() ? recorder.getDisplayList() : null;
+
+        m_display_alpha = alpha;
+    }
+
     /**
      * Only sub-classes that wish to extend a Shape should use this.
      * 
@@ -1052,10 +1135,13 @@ public abstract class GroupOf <T extends IPrimitive<?>, C extends GroupOf<T, C>>
         return cast();
     }
 
+    /**
+     * Returns an empty, unmodifiable list: a container's bounds come from its children, not its attributes.
+     */
     @Override
     public List<Attribute> getBoundingBoxAttributes()
     {
-        return new ArrayList<Attribute>();
+        return NO_BOUNDING_BOX_ATTRIBUTES;
     }
 
     @Override
@@ -1075,6 +1161,8 @@ public abstract class GroupOf <T extends IPrimitive<?>, C extends GroupOf<T, C>>
         {
             list.get(i).refresh();
         }
+        invalidateBoundingBox();
+
         return cast();
     }
 
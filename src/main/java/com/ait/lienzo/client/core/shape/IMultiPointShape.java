@@ -17,6 +17,8 @@
 package com.ait.lienzo.client.core.shape;
 
 import com.ait.lienzo.client.core.types.Point2DArray;
+import com.ait.tooling.common.api.java.util.function.Consumer;
+import com.google.gwt.event.shared.HandlerRegistration;
 
 public interface IMultiPointShape<T extends Shape<T> & IMultiPointShape<T>> extends IPrimitive<T>
 {
@@ -29,4 +31,9 @@ public interface IMultiPointShape<T extends Shape<T> & IMultiPointShape<T>> exte
     public IOffsetMultiPointShape<?> asOffsetMultiPointShape();
 
     public IDirectionalMultiPointShape<?> asDirectionalMultiPointShape();
+
+    /**
+     * Adds a handler invoked every time this shape is refreshed, which is when its points may have changed and its path will be rebuilt on the next draw.
+     */
+    public HandlerRegistration addRefreshHandler(Consumer<IMultiPointShape<?>> handler);
 }
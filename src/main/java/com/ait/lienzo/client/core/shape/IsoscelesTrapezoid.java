@@ -155,6 +155,8 @@ public class IsoscelesTrapezoid extends Shape<IsoscelesTrapezoid>
     {
         m_list.clear();
 
+        invalidateBoundingBox();
+
         return this;
     }
 
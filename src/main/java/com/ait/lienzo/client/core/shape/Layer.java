@@ -16,6 +16,8 @@
 
 package com.ait.lienzo.client.core.shape;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 
@@ -28,18 +30,20 @@ import com.ait.lienzo.client.core.shape.json.validators.ValidationException;
 import com.ait.lienzo.client.core.shape.storage.IStorageEngine;
 import com.ait.lienzo.client.core.shape.storage.PrimitiveFastArrayStorageEngine;
 import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.BoundingPoints;
 import com.ait.lienzo.client.core.types.ColorKeyRotor;
-import com.ait.lienzo.client.core.types.ImageDataPixelColor;
 import com.ait.lienzo.client.core.types.OnLayerAfterDraw;
 import com.ait.lienzo.client.core.types.OnLayerBeforeDraw;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.types.Shadow;
 import com.ait.lienzo.client.core.types.Transform;
+import com.ait.lienzo.client.core.util.IntObjectMap;
 import com.ait.lienzo.shared.core.types.DataURLType;
 import com.ait.lienzo.shared.core.types.LayerClearMode;
 import com.ait.lienzo.shared.core.types.NodeType;
 import com.ait.tooling.common.api.java.util.function.Predicate;
 import com.ait.tooling.nativetools.client.collection.MetaData;
 import com.ait.tooling.nativetools.client.collection.NFastArrayList;
-import com.ait.tooling.nativetools.client.collection.NFastStringMap;
 import com.google.gwt.dom.client.CanvasElement;
 import com.google.gwt.dom.client.DivElement;
 import com.google.gwt.dom.client.Document;
@@ -61,6 +65,26 @@ import com.google.gwt.json.client.JSONString;
  */
 public class Layer extends ContainerNode<IPrimitive<?>, Layer>
 {
+    /**
+     * Size, in canvas pixels, of the square areas of a lazy {@link SelectionLayer} redrawn on demand when viewport culling is on.
+     */
+    public static final int                SELECTION_LAYER_TILE_SIZE = 128;
+
+    /**
+     * Extra canvas pixels added around each damaged area when repainting dirty regions only, to cover anti-aliasing and the strokes of grouped shapes.
+     */
+    public static final double             DIRTY_REGION_MARGIN       = 4;
+
+    /**
+     * Fraction of the canvas above which damaged areas are not worth repainting separately, and the whole layer is redrawn.
+     */
+    public static final double             DIRTY_REGION_FULL_RATIO   = 0.5;
+
+    /**
+     * Number of damaged areas above which the whole layer is redrawn.
+     */
+    public static final int                DIRTY_REGION_MAX_COUNT    = 64;
+
     private int                            m_wide            = 0;
 
     private int                            m_high            = 0;
@@ -81,9 +105,47 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
 
     private long                           m_batched         = 0L;
 
+    private int                            m_priority        = LayerRedrawManager.PRIORITY_NORMAL;
+
+    private boolean                        m_cull_pass       = false;
+
+    private Transform                      m_cull_xfrm       = null;
+
+    private int                            m_cull_drawn      = 0;
+
+    private int                            m_cull_culled     = 0;
+
+    private BoundingBox                    m_cull_area       = null;
+
+    private boolean                        m_select_lazy     = false;
+
+    private boolean                        m_select_dirty    = false;
+
+    private final HashSet<Integer>         m_select_tiles    = new HashSet<Integer>();
+
+    private static final int               TILE_ROW_STRIDE   = 1 << 16;
+
+    private IHitTestEngine                 m_hit_test        = null;
+
+    private boolean                        m_dmg_on          = false;
+
+    private boolean                        m_dmg_full        = true;
+
+    private boolean                        m_dmg_draw        = false;
+
+    private int                            m_dmg_wide        = 0;
+
+    private int                            m_dmg_high        = 0;
+
+    private Transform                      m_dmg_xfrm        = null;
+
+    private final ArrayList<BoundingBox>   m_dmg_rects       = new ArrayList<BoundingBox>();
+
+    private final HashSet<Node<?>>         m_dmg_nodes       = new HashSet<Node<?>>();
+
     private final ColorKeyRotor            m_c_rotor         = new ColorKeyRotor();
 
-    private final NFastStringMap<Shape<?>> m_shape_color_map = new NFastStringMap<Shape<?>>();
+    private final IntObjectMap<Shape<?>>   m_shape_color_map = new IntObjectMap<Shape<?>>();
 
     /**
      * Constructor. Creates an instance of a Layer.
@@ -150,6 +212,24 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
         return this;
     }
 
+    /**
+     * Sets the priority of this layer when the {@link LayerRedrawManager} draws batched layers, higher priorities are drawn first.
+     * 
+     * @param priority
+     * @return Layer
+     */
+    public Layer setRedrawPriority(final int priority)
+    {
+        m_priority = priority;
+
+        return this;
+    }
+
+    public int getRedrawPriority()
+    {
+        return m_priority;
+    }
+
     @Override
     public final IStorageEngine<IPrimitive<?>> getDefaultStorageEngine()
     {
@@ -178,7 +258,7 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
 
     /**
      * Looks at the {@link SelectionLayer} and attempts to find a {@link Shape} whose alpha
-     * channel is 255.
+     * channel is 255, or asks the {@link IHitTestEngine} if one is set.
      * 
      * @param x
      * @param y
@@ -188,24 +268,31 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
     {
         if (isVisible())
         {
+            if (null != m_hit_test)
+            {
+                if (isListening())
+                {
+                    return m_hit_test.findShapeAtPoint(this, x, y);
+                }
+                return null;
+            }
             final SelectionLayer selection = getSelectionLayer();
 
             if (null != selection)
             {
-                final ImageDataPixelColor rgba = selection.getContext().getImageDataPixelColor(x, y);// x,y is adjusted to canvas coordinates in event dispatch
+                validateSelectionLayer(selection, x, y);
+
+                final int rgb = selection.getContext().getImageDataPixelOpaqueRGB(x, y);// x,y is adjusted to canvas coordinates in event dispatch
 
-                if (null != rgba)
+                if (rgb < 0)
                 {
-                    if (rgba.getA() != 255)
-                    {
-                        return null;
-                    }
-                    final Shape<?> shape = m_shape_color_map.get(rgba.toBrowserRGB());
+                    return null;
+                }
+                final Shape<?> shape = m_shape_color_map.get(rgb);
 
-                    if ((null != shape) && (shape.isVisible()))
-                    {
-                        return shape;
-                    }
+                if ((null != shape) && (shape.isVisible()))
+                {
+                    return shape;
                 }
             }
         }
@@ -316,31 +403,29 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
     {
         if (null != shape)
         {
-            String color = shape.getColorKey();
-
-            if (null != color)
-            {
-                m_shape_color_map.remove(color);
+            detachShapeFromColorMap(shape);
 
-                shape.setColorKey(null);
-            }
             int count = 0;
 
+            int ckey;
+
             do
             {
                 count++;
 
-                color = m_c_rotor.next();
+                ckey = m_c_rotor.nextKey();
             }
-            while ((m_shape_color_map.get(color) != null) && (count <= ColorKeyRotor.COLOR_SPACE_MAXIMUM));
+            while ((m_shape_color_map.isDefined(ckey)) && (count <= ColorKeyRotor.COLOR_SPACE_MAXIMUM));
 
             if (count > ColorKeyRotor.COLOR_SPACE_MAXIMUM)
             {
                 throw new IllegalArgumentException("Exhausted color space " + count);
             }
-            m_shape_color_map.put(color, shape);
+            m_shape_color_map.put(ckey, shape);
+
+            shape.setColorKey(ColorKeyRotor.toColorKey(ckey));
 
-            shape.setColorKey(color);
+            onChildrenChanged();
         }
     }
 
@@ -357,13 +442,17 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
 
             if (null != color)
             {
-                final Shape<?> look = m_shape_color_map.get(color);
+                final int ckey = ColorKeyRotor.toColorKey(color);
 
-                if (shape == look)
+                if (shape == m_shape_color_map.get(ckey))
                 {
                     shape.setColorKey(null);
 
-                    m_shape_color_map.remove(color);
+                    m_shape_color_map.remove(ckey);
+
+                    m_c_rotor.release(ckey);
+
+                    onChildrenChanged();
                 }
             }
         }
@@ -449,6 +538,8 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
 
             element.setHeight(high);
 
+            getContext().onCanvasResized();
+
             if (false == isSelection())
             {
                 getContext().getNativeContext().initDeviceRatio();
@@ -694,18 +785,45 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
     {
         if (LienzoCore.IS_CANVAS_SUPPORTED)
         {
-            if (isClearLayerBeforeDraw())
+            if (context == getContext())
             {
-                clear();
+                final Viewport viewport = getViewport();
+
+                if (null != viewport)
+                {
+                    viewport.onLayerRedraw();
+                }
             }
-            if (isVisible())
+            final boolean own = ((m_dmg_on) && (context == getContext()));
+
+            final boolean visible = isVisible();
+
+            boolean draw = visible;
+
+            // the handler runs before the dirty region is taken, so the damage of the nodes it changes is cleared and redrawn too
+
+            if ((visible) && (null != m_olbd))
             {
-                boolean draw = true;
+                draw = m_olbd.onLayerBeforeDraw(this);
+            }
+            final BoundingBox area = own ? getDirtyRegion() : null;
 
-                if (null != m_olbd)
+            if (isClearLayerBeforeDraw())
+            {
+                if (null == area)
                 {
-                    draw = m_olbd.onLayerBeforeDraw(this);
+                    clear();
                 }
+                else
+                {
+                    for (BoundingBox rect : m_dmg_rects)
+                    {
+                        context.clearRect(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
+                    }
+                }
+            }
+            if (visible)
+            {
                 if (draw)
                 {
                     Transform transform = null;
@@ -716,8 +834,30 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
                     {
                         transform = viewport.getTransform();
                     }
+                    m_cull_pass = true;
+
+                    m_cull_xfrm = transform;
+
+                    m_cull_drawn = 0;
+
+                    m_cull_culled = 0;
+
+                    m_cull_area = area;
+
+                    m_dmg_draw = true;
+
                     context.save();
 
+                    if (null != area)
+                    {
+                        context.beginPath();
+
+                        for (BoundingBox rect : m_dmg_rects)
+                        {
+                            context.rect(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
+                        }
+                        context.clip();
+                    }
                     if (null != transform)
                     {
                         context.transform(transform);
@@ -745,42 +885,514 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
 
                     context.restore();
 
+                    m_cull_area = null;
+
+                    // the region is painted, changes made from here on, such as by the after draw handler, are damage for the next draw
+
+                    m_dmg_draw = false;
+
+                    if (own)
+                    {
+                        resetDamage();
+                    }
+                    // keys given back until now belong to removed shapes, whose areas are repainted below, later ones wait for the next draw
+
+                    final int held = m_c_rotor.getHeldCount();
+
                     if (null != m_olad)
                     {
                         m_olad.onLayerAfterDraw(this);
                     }
-                    final SelectionLayer selection = getSelectionLayer();
+                    final SelectionLayer selection = ((null == m_hit_test) || (isShowSelectionLayer())) ? getSelectionLayer() : null;
 
                     if (null != selection)
                     {
-                        selection.clear();
-
-                        context = selection.getContext();
-
-                        context.save();
-
-                        if (null != transform)
+                        if ((isLazySelectionLayer()) && (false == isShowSelectionLayer()))
                         {
-                            context.transform(transform);
+                            m_select_dirty = true;
+
+                            m_select_tiles.clear();
                         }
-                        if ((null != vclp) && (vclp.isActive()))
+                        else if (null == area)
                         {
-                            vclp.clip(context);
+                            selection.clear();
+
+                            drawSelectionLayer(selection, null);
                         }
-                        if ((null != lclp) && (lclp.isActive()))
+                        else
                         {
-                            lclp.clip(context);
+                            selection.getContext().clearRect(area.getX(), area.getY(), area.getWidth(), area.getHeight());
+
+                            drawSelectionLayer(selection, area);
                         }
-                        drawWithTransforms(context, 1, bbox);
+                    }
+                    else
+                    {
+                        // nothing is drawn to the selection canvas, if there is one it is stale and is redrawn before it is read again
+
+                        m_select_dirty = true;
 
-                        context.restore();
+                        m_select_tiles.clear();
                     }
+                    // removed shapes damage the layer, so the keys they gave back are no longer on the selection canvas,
+                    // a lazy or skipped selection layer clears each area before it is read again
+                    m_c_rotor.recycle(held);
+
+                    m_cull_pass = false;
+
+                    m_cull_xfrm = null;
                 }
             }
+            else if (own)
+            {
+                m_dmg_full = true;
+            }
         }
         return this;
     }
 
+    /**
+     * Sets whether this layer only repaints the areas damaged since its last draw, instead of its whole canvas.
+     * <p>
+     * The damage is the union of the areas changed nodes covered before and after their changes, recorded as attributes change
+     * and as nodes are added, removed or reordered. Only the children intersecting it are redrawn, clipped to it, on the canvas
+     * and on the {@link SelectionLayer}. The whole layer is redrawn when the damage covers more than {@link #DIRTY_REGION_FULL_RATIO}
+     * of the canvas, when the viewport transform or canvas size changed, or when nothing was recorded, as the change is then unknown.
+     * <p>
+     * Shapes whose bounds change through state other than attributes must call {@link Node#invalidateBoundingBox()}.
+     * 
+     * @param repaint
+     * @return Layer
+     */
+    public Layer setDirtyRegionRepaint(final boolean repaint)
+    {
+        m_dmg_on = repaint;
+
+        m_dmg_full = true;
+
+        invalidateAncestorCaches();
+
+        m_dmg_rects.clear();
+
+        m_dmg_nodes.clear();
+
+        return this;
+    }
+
+    public boolean isDirtyRegionRepaint()
+    {
+        return m_dmg_on;
+    }
+
+    /**
+     * Used internally. Records the area the node currently covers as damaged, the first time it changes since the last draw.
+     * Its area after the changes is added when the layer is drawn.
+     */
+    final void damage(final Node<?> node)
+    {
+        if ((m_dmg_on) && (false == m_dmg_full) && (false == m_dmg_draw) && (false == m_dmg_nodes.contains(node)))
+        {
+            damage(node, node.getCachedBoundingPoints());
+        }
+    }
+
+    /**
+     * Used internally. Same as {@link #damage(Node)}, with the bounding points the node had before its change, if known.
+     */
+    final void damage(final Node<?> node, final BoundingPoints bpts)
+    {
+        if ((false == m_dmg_on) || (m_dmg_full) || (m_dmg_draw) || (m_dmg_nodes.contains(node)))
+        {
+            return;
+        }
+        if ((this == node) || (false == addDamage(node, bpts)))
+        {
+            m_dmg_full = true;
+
+            m_dmg_rects.clear();
+
+            m_dmg_nodes.clear();
+
+            return;
+        }
+        m_dmg_nodes.add(node);
+    }
+
+    private final boolean addDamage(final Node<?> node, final BoundingPoints bpts)
+    {
+        if (null == bpts)
+        {
+            return false;
+        }
+        final BoundingBox bbox = bpts.getBoundingBox();
+
+        if ((null == bbox) || (false == bbox.isValid()))
+        {
+            return true;
+        }
+        double pads = 0;
+
+        double padc = DIRTY_REGION_MARGIN;
+
+        final Shape<?> shape = node.asShape();
+
+        if (null != shape)
+        {
+            final Attributes attr = shape.getAttributes();
+
+            double width = attr.getStrokeWidth();
+
+            if (width <= 0)
+            {
+                width = LienzoCore.get().getDefaultStrokeWidth();
+            }
+            pads = width / 2;
+
+            if (attr.hasShadow())
+            {
+                final Shadow shadow = attr.getShadow();
+
+                final Point2D offset = shadow.getOffset();
+
+                padc += shadow.getBlur();
+
+                if (null != offset)
+                {
+                    padc += Math.max(Math.abs(offset.getX()), Math.abs(offset.getY()));
+                }
+            }
+        }
+        final Transform xfrm = getDamageTransform();
+
+        ContainerNode.concatenateTransformsFromLayer(node.getParent(), xfrm);
+
+        final Point2D[] points = { new Point2D(bbox.getMinX() - pads, bbox.getMinY() - pads), new Point2D(bbox.getMaxX() + pads, bbox.getMinY() - pads), new Point2D(bbox.getMaxX() + pads, bbox.getMaxY() + pads), new Point2D(bbox.getMinX() - pads, bbox.getMaxY() + pads) };
+
+        for (Point2D p : points)
+        {
+            xfrm.transform(p, p);
+        }
+        final BoundingBox rect = new BoundingBox(points[0], points[1], points[2], points[3]);
+
+        m_dmg_rects.add(new BoundingBox(Math.floor(rect.getMinX() - padc), Math.floor(rect.getMinY() - padc), Math.ceil(rect.getMaxX() + padc), Math.ceil(rect.getMaxY() + padc)));
+
+        return true;
+    }
+
+    private final Transform getDamageTransform()
+    {
+        final Viewport viewport = getViewport();
+
+        if ((isTransformable()) && (null != viewport) && (null != viewport.getTransform()))
+        {
+            return viewport.getTransform().copy();
+        }
+        return new Transform();
+    }
+
+    /**
+     * Returns the canvas area to repaint, with {@link #m_dmg_rects} completed, or null to redraw the whole layer.
+     */
+    private final BoundingBox getDirtyRegion()
+    {
+        final int wide = getWidth();
+
+        final int high = getHeight();
+
+        if ((m_dmg_full) || (m_dmg_wide != wide) || (m_dmg_high != high) || (false == getDamageTransform().equals(m_dmg_xfrm)))
+        {
+            return null;
+        }
+        for (Node<?> node : m_dmg_nodes)
+        {
+            if (this == node.getLayer())
+            {
+                if (false == addDamage(node, node.getCachedBoundingPoints()))
+                {
+                    return null;
+                }
+            }
+        }
+        final int size = m_dmg_rects.size();
+
+        if ((size < 1) || (size > DIRTY_REGION_MAX_COUNT))
+        {
+            return null;
+        }
+        final BoundingBox canvas = new BoundingBox(0, 0, wide, high);
+
+        final BoundingBox union = new BoundingBox();
+
+        for (BoundingBox rect : m_dmg_rects)
+        {
+            if (rect.intersects(canvas))
+            {
+                union.add(rect);
+            }
+        }
+        if (false == union.isValid())
+        {
+            return new BoundingBox(0, 0, 0, 0);
+        }
+        final double minx = Math.max(0, union.getMinX());
+
+        final double miny = Math.max(0, union.getMinY());
+
+        final double maxx = Math.min(wide, union.getMaxX());
+
+        final double maxy = Math.min(high, union.getMaxY());
+
+        if (((maxx - minx) * (maxy - miny)) > (DIRTY_REGION_FULL_RATIO * wide * high))
+        {
+            return null;
+        }
+        return new BoundingBox(minx, miny, maxx, maxy);
+    }
+
+    private final void resetDamage()
+    {
+        m_dmg_full = false;
+
+        m_dmg_rects.clear();
+
+        m_dmg_nodes.clear();
+
+        m_dmg_wide = getWidth();
+
+        m_dmg_high = getHeight();
+
+        m_dmg_xfrm = getDamageTransform();
+    }
+
+    /**
+     * Draws this layer's primitives into the selection layer, optionally restricted to a canvas area.
+     * The caller is responsible for clearing the area beforehand.
+     */
+    private final void drawSelectionLayer(final SelectionLayer selection, final BoundingBox area)
+    {
+        Transform transform = null;
+
+        final Viewport viewport = getViewport();
+
+        if ((isTransformable()) && (null != viewport))
+        {
+            transform = viewport.getTransform();
+        }
+        final boolean pass = m_cull_pass;
+
+        m_cull_pass = true;
+
+        m_cull_xfrm = transform;
+
+        m_cull_area = area;
+
+        final Context2D context = selection.getContext();
+
+        context.save();
+
+        if (null != area)
+        {
+            context.beginPath();
+
+            context.rect(area.getX(), area.getY(), area.getWidth(), area.getHeight());
+
+            context.clip();
+        }
+        if (null != transform)
+        {
+            context.transform(transform);
+        }
+        if (null != viewport)
+        {
+            final IPathClipper vclp = viewport.getPathClipper();
+
+            if ((null != vclp) && (vclp.isActive()))
+            {
+                vclp.clip(context);
+            }
+        }
+        final IPathClipper lclp = getPathClipper();
+
+        if ((null != lclp) && (lclp.isActive()))
+        {
+            lclp.clip(context);
+        }
+        drawWithTransforms(context, 1, getStorageBounds());
+
+        context.restore();
+
+        m_cull_area = null;
+
+        m_cull_pass = pass;
+
+        if (false == pass)
+        {
+            m_cull_xfrm = null;
+        }
+    }
+
+    /**
+     * Brings the selection layer up to date around the given canvas point, if it was invalidated by a lazy draw.
+     * When viewport culling is on, only the tile containing the point is redrawn, otherwise the whole selection layer is.
+     */
+    private final void validateSelectionLayer(final SelectionLayer selection, final int x, final int y)
+    {
+        if (false == m_select_dirty)
+        {
+            return;
+        }
+        if (false == isViewportCulling())
+        {
+            selection.clear();
+
+            drawSelectionLayer(selection, null);
+
+            m_select_dirty = false;
+
+            return;
+        }
+        final int size = SELECTION_LAYER_TILE_SIZE;
+
+        final int tx = x / size;
+
+        final int ty = y / size;
+
+        final Integer tile = (ty * TILE_ROW_STRIDE) + tx;
+
+        if (m_select_tiles.add(tile))
+        {
+            final BoundingBox area = new BoundingBox(tx * size, ty * size, (tx + 1) * size, (ty + 1) * size);
+
+            selection.getContext().clearRect(area.getX(), area.getY(), size, size);
+
+            drawSelectionLayer(selection, area);
+        }
+    }
+
+    /**
+     * Sets whether the {@link SelectionLayer} is redrawn on demand, the first time a hit test needs it after
+     * this layer is drawn, instead of on every draw. Layers that redraw far more often than they are picked,
+     * such as during animations and drags, save the whole hidden canvas pass this way.
+     * <p>
+     * If viewport culling is also on, only the area around the picked point is redrawn.
+     * The selection layer is always drawn eagerly while it is shown.
+     * 
+     * @param lazy
+     * @return Layer
+     */
+    public Layer setLazySelectionLayer(final boolean lazy)
+    {
+        m_select_lazy = lazy;
+
+        if (false == lazy)
+        {
+            m_select_dirty = false;
+
+            m_select_tiles.clear();
+        }
+        return this;
+    }
+
+    public boolean isLazySelectionLayer()
+    {
+        return m_select_lazy;
+    }
+
+    /**
+     * Sets the {@link IHitTestEngine} used by {@link #findShapeAtPoint(int, int)}, such as a {@link GeometricHitTestEngine}.
+     * While one is set the {@link SelectionLayer} is not drawn, unless it is shown. Set null to go back to the selection layer.
+     * 
+     * @param engine
+     * @return Layer
+     */
+    public Layer setHitTestEngine(final IHitTestEngine engine)
+    {
+        m_hit_test = engine;
+
+        m_select_dirty = true;
+
+        m_select_tiles.clear();
+
+        final Viewport viewport = getViewport();
+
+        if (null != viewport)
+        {
+            viewport.onLayerRedraw();
+        }
+        return this;
+    }
+
+    public IHitTestEngine getHitTestEngine()
+    {
+        return m_hit_test;
+    }
+
+    /**
+     * Sets whether primitives outside of the visible area of the viewport are skipped
+     * when drawing this layer and its {@link SelectionLayer}. Groups can opt in with
+     * {@link GroupOf#setViewportCulling(boolean)}.
+     * 
+     * @param cull
+     * @return Layer
+     */
+    public Layer setViewportCulling(final boolean cull)
+    {
+        doViewportCulling(cull);
+
+        return this;
+    }
+
+    /**
+     * Returns how many primitives were drawn by culling containers during the last draw.
+     * 
+     * @return int
+     */
+    public int getViewportCullingDrawnCount()
+    {
+        return m_cull_drawn;
+    }
+
+    /**
+     * Returns how many primitives were skipped by culling containers during the last draw.
+     * 
+     * @return int
+     */
+    public int getViewportCullingCulledCount()
+    {
+        return m_cull_culled;
+    }
+
+    final void addViewportCullingCounts(final int drawn, final int culled)
+    {
+        m_cull_drawn += drawn;
+
+        m_cull_culled += culled;
+    }
+
+    /**
+     * Returns the transform from this layer's parent to the canvas while the layer is being drawn, null otherwise.
+     */
+    final Transform getViewportCullingTransform()
+    {
+        if (false == m_cull_pass)
+        {
+            return null;
+        }
+        if (null == m_cull_xfrm)
+        {
+            return new Transform();
+        }
+        return m_cull_xfrm.copy();
+    }
+
+    /**
+     * Returns the canvas area being drawn while the layer is being drawn, or null for the whole canvas.
+     */
+    final BoundingBox getViewportCullingArea()
+    {
+        return m_cull_area;
+    }
+
     /**
      * Performs batch updates to the Layer, that is, drawing is deferred till the next AnimationFrame,
      * to cut down on redraws on rapid event dispatch.
@@ -836,6 +1448,8 @@ public class Layer extends ContainerNode<IPrimitive<?>, Layer>
      */
     public void clear()
     {
+        m_dmg_full = true;
+
         if (LienzoCore.get().getLayerClearMode() == LayerClearMode.CLEAR)
         {
             final Context2D context = getContext();
@@ -76,6 +76,8 @@ public class Line extends AbstractOffsetMultiPointShape<Line>
     @Override
     public Line refresh()
     {
+        invalidateBoundingBox();
+
         return cast();
     }
 
@@ -210,6 +210,8 @@ public class MultiPath extends AbstractMultiPathPartShape<MultiPath>
     @Override
     public MultiPath refresh()
     {
+        invalidateBoundingBox();
+
         return this;
     }
 
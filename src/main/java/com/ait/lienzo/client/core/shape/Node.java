@@ -93,6 +93,7 @@ import com.ait.tooling.common.api.java.util.function.Supplier;
 import com.ait.tooling.nativetools.client.NObject;
 import com.ait.tooling.nativetools.client.NObjectJSO;
 import com.ait.tooling.nativetools.client.collection.MetaData;
+import com.ait.tooling.nativetools.client.collection.NFastArrayList;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.event.shared.EventHandler;
 import com.google.gwt.event.shared.GwtEvent;
@@ -112,14 +113,36 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
 {
     private static final HashSet<Type<?>> ALL_EVENTS = new HashSet<Type<?>>();
 
+    private static int                    s_tree_epoch;
+
     private final Attributes              m_attr;
 
     private NodeType                      m_type;
 
     private Node<?>                       m_parent;
 
+    private int                           m_tree_epoch = -1;
+
+    private boolean                       m_spatial;
+
+    private boolean                       m_damaging;
+
     private final OptionalNodeFields      m_opts     = OptionalNodeFields.make();
 
+    private Transform                     m_xfrm_local;
+
+    private boolean                       m_xfrm_valid;
+
+    private Transform                     m_xfrm_chain;
+
+    private Point2D                       m_locn;
+
+    private BoundingPoints                m_bpts;
+
+    private BoundingPoints                m_cbpts;
+
+    private boolean                       m_bpts_valid;
+
     @SafeVarargs
     public static final <T> List<T> asList(final T... list)
     {
@@ -311,6 +334,8 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
     @Override
     public T refresh()
     {
+        invalidateBoundingBox();
+
         return cast();
     }
 
@@ -351,6 +376,10 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
     protected void setParent(final Node<?> parent)
     {
         m_parent = parent;
+
+        invalidateAncestorCaches();
+
+        invalidateComputedTransforms();
     }
 
     public final boolean isAnimating()
@@ -539,11 +568,29 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
     @Override
     public Point2D getComputedLocation()
     {
-        final Point2D locn = new Point2D();
+        final Point2D locn = getCachedComputedLocation();
 
-        addParentsLocations(locn.getJSO());
+        return new Point2D(locn.getX(), locn.getY());
+    }
+
+    private final Point2D getCachedComputedLocation()
+    {
+        if (null == m_locn)
+        {
+            final Node<?> node = getParent();
 
-        return locn;
+            if (null != node)
+            {
+                final Point2D locn = node.getCachedComputedLocation();
+
+                m_locn = new Point2D(locn.getX() + m_attr.getX(), locn.getY() + m_attr.getY());
+            }
+            else
+            {
+                m_locn = new Point2D(m_attr.getX(), m_attr.getY());
+            }
+        }
+        return m_locn;
     }
 
     protected void addParentsLocations(final Point2DJSO locn)
@@ -577,13 +624,27 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
     private final void getAbsoluteTransformFromParents(final Node<?> root, final Transform xfrm)
     {
         /*
-         * recursive walk up till parent is null
+         * recursive walk up till parent is null, using the cached transforms below the Viewport
          */
 
         if (null == root)
         {
             return;
         }
+        if (null == root.asViewport())
+        {
+            Node<?> top = root.getParent();
+
+            while ((null != top) && (null == top.asViewport()))
+            {
+                top = top.getParent();
+            }
+            getAbsoluteTransformFromParents(top, xfrm);
+
+            xfrm.multiply(root.getComputedTransform());
+
+            return;
+        }
         getAbsoluteTransformFromParents(root.getParent(), xfrm);
 
         final Transform temp = root.getPossibleNodeTransform();
@@ -594,7 +655,83 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
         }
     }
 
+    /**
+     * Returns the cached concatenation of the node transforms from below the Viewport down to this node.
+     * The Viewport transform is excluded, as it is commonly changed in place by the mediators.
+     */
+    private final Transform getComputedTransform()
+    {
+        if (null == m_xfrm_chain)
+        {
+            final Node<?> parent = getParent();
+
+            final Transform xfrm = ((null != parent) && (null == parent.asViewport())) ? parent.getComputedTransform().copy() : new Transform();
+
+            final Transform temp = getPossibleNodeTransform();
+
+            if (null != temp)
+            {
+                xfrm.multiply(temp);
+            }
+            m_xfrm_chain = xfrm;
+        }
+        return m_xfrm_chain;
+    }
+
+    /**
+     * Used internally. Drops the cached computed location and transform of this node and of its descendants.
+     * Descendants can only have cached values if this node has, so the walk stops at nodes with nothing cached.
+     */
+    protected final void invalidateComputedTransforms()
+    {
+        if ((null == m_xfrm_chain) && (null == m_locn) && (null == m_cbpts))
+        {
+            return;
+        }
+        m_xfrm_chain = null;
+
+        m_locn = null;
+
+        m_cbpts = null;
+
+        final ContainerNode<?, ?> cont = asContainerNode();
+
+        if (null != cont)
+        {
+            final NFastArrayList<?> list = cont.getChildNodes();
+
+            final int size = list.size();
+
+            for (int i = 0; i < size; i++)
+            {
+                final Node<?> node = ((IDrawable<?>) list.get(i)).asNode();
+
+                if (null != node)
+                {
+                    node.invalidateComputedTransforms();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the transform defined by this node's transforming attributes, or null if it has none.
+     * The result is cached until one of {@link LienzoCore#STANDARD_TRANSFORMING_ATTRIBUTES} changes, so it must not be modified.
+     *
+     * @return Transform
+     */
     protected Transform getPossibleNodeTransform()
+    {
+        if (false == m_xfrm_valid)
+        {
+            m_xfrm_local = makePossibleNodeTransform();
+
+            m_xfrm_valid = true;
+        }
+        return m_xfrm_local;
+    }
+
+    private final Transform makePossibleNodeTransform()
     {
         if (false == m_attr.hasAnyTransformAttributes())
         {
@@ -608,18 +745,10 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
         }
         // Otherwise use ROTATION, SCALE, OFFSET and SHEAR
 
-        double ox = 0;
-
-        double oy = 0;
+        final double ox = m_attr.getOffsetX();
 
-        final Point2D offset = m_attr.getOffset();
+        final double oy = m_attr.getOffsetY();
 
-        if (null != offset)
-        {
-            ox = offset.getX();
-
-            oy = offset.getY();
-        }
         final double r = m_attr.getRotation();
 
         if (r != 0)
@@ -637,67 +766,172 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
                 xfrm.rotate(r);
             }
         }
-        final Point2D scale = m_attr.getScale();
-
-        if (null != scale)
-        {
-            final double sx = scale.getX();
+        final double sx = m_attr.getScaleX();
 
-            final double sy = scale.getY();
+        final double sy = m_attr.getScaleY();
 
-            if ((sx != 1) || (sy != 1))
+        if ((sx != 1) || (sy != 1))
+        {
+            if ((ox != 0) || (oy != 0))
             {
-                if ((ox != 0) || (oy != 0))
-                {
-                    xfrm.translate(ox, oy);
+                xfrm.translate(ox, oy);
 
-                    xfrm.scale(sx, sy);
+                xfrm.scale(sx, sy);
 
-                    xfrm.translate(-ox, -oy);
-                }
-                else
-                {
-                    xfrm.scale(sx, sy);
-                }
+                xfrm.translate(-ox, -oy);
+            }
+            else
+            {
+                xfrm.scale(sx, sy);
             }
         }
-        final Point2D shear = m_attr.getShear();
+        final double hx = m_attr.getShearX();
 
-        if (null != shear)
-        {
-            final double sx = shear.getX();
+        final double hy = m_attr.getShearY();
 
-            final double sy = shear.getY();
-
-            if ((sx != 0) || (sy != 0))
-            {
-                xfrm.shear(sx, sy);
-            }
+        if ((hx != 0) || (hy != 0))
+        {
+            xfrm.shear(hx, hy);
         }
         return xfrm;
     }
 
+    /**
+     * Returns the bounding points in the coordinate space of the Viewport, offset by the computed location of the parent.
+     * The points are cached until this node's bounds or location change, each call returns a copy the caller may modify.
+     */
     @Override
     public BoundingPoints getComputedBoundingPoints()
     {
+        return copyOf(getCachedComputedBoundingPoints());
+    }
+
+    /**
+     * Used internally. Same as {@link #getComputedBoundingPoints()} without the copy, so the result must not be modified.
+     */
+    final BoundingPoints getCachedComputedBoundingPoints()
+    {
+        if (null != m_cbpts)
+        {
+            return m_cbpts;
+        }
         double computedXOffset = 0;
         double computedYOffset = 0;
         Node parent = getParent();
         if (parent != null)
         {
-            Point2D computedLocation = parent.getComputedLocation();
+            Point2D computedLocation = parent.getCachedComputedLocation();
             computedXOffset = computedLocation.getX();
             computedYOffset = computedLocation.getY();
 
         }
+        m_cbpts = getBoundingPoints(computedXOffset, computedYOffset);
 
-        return getBoundingPoints(computedXOffset, computedYOffset);
+        return m_cbpts;
     }
 
+    /**
+     * Returns the bounding points in the coordinate space of the parent.
+     * The points are cached until this node's bounds change, each call returns a copy the caller may modify.
+     */
     @Override
     public BoundingPoints getBoundingPoints()
     {
-        return getBoundingPoints(0, 0);
+        return copyOf(getCachedBoundingPoints());
+    }
+
+    /**
+     * Used internally. Same as {@link #getBoundingPoints()} without the copy, so the result must not be modified.
+     */
+    final BoundingPoints getCachedBoundingPoints()
+    {
+        if (false == m_bpts_valid)
+        {
+            m_bpts = getBoundingPoints(0, 0);
+
+            m_bpts_valid = true;
+        }
+        return m_bpts;
+    }
+
+    private static final BoundingPoints copyOf(final BoundingPoints bpts)
+    {
+        return (null == bpts) ? null : new BoundingPoints(bpts);
+    }
+
+    /**
+     * Drops the cached bounds and recorded display lists of this node and of all its ancestors, and re-indexes it in any spatially indexed storage above it.
+     * Called automatically when a transforming or bounding box attribute changes, the child list of a container changes,
+     * or on {@link #refresh()}. Shapes whose bounds or drawing depend on other state must call it when that state changes.
+     */
+    public final void invalidateBoundingBox()
+    {
+        final Layer layer = getLayer();
+
+        if (null != layer)
+        {
+            layer.damage(this, m_bpts_valid ? m_bpts : null);
+        }
+        invalidateDisplayLists(this);
+
+        invalidateBoundingBoxes();
+
+        if (hasSpatiallyIndexedAncestor())
+        {
+            refreshStorageBounds();
+        }
+    }
+
+    /**
+     * Used internally. Same as {@link #invalidateBoundingBox()}, for changes whose damage has already been recorded.
+     */
+    final void invalidateBoundingBoxes()
+    {
+        Node<?> node = this;
+
+        while (null != node)
+        {
+            node.dropBoundingBox();
+
+            node = node.getParent();
+        }
+    }
+
+    private static final void invalidateDisplayLists(Node<?> node)
+    {
+        while (null != node)
+        {
+            node.dropDisplayList();
+
+            node = node.getParent();
+        }
+    }
+
+    /**
+     * Used internally. Drops the display list recorded by this node only, if any.
+     */
+    void dropDisplayList()
+    {
+    }
+
+    /**
+     * Returns true if this node records what it draws into a display list.
+     */
+    public boolean isDisplayListCaching()
+    {
+        return false;
+    }
+
+    /**
+     * Used internally. Drops the bounds cached by this node only.
+     */
+    void dropBoundingBox()
+    {
+        m_bpts = null;
+
+        m_cbpts = null;
+
+        m_bpts_valid = false;
     }
 
     public BoundingPoints getBoundingPoints(final double computedOffsetX, final double computedOffsetY)
@@ -717,6 +951,204 @@ public abstract class Node<T extends Node<T>> implements IDrawable<T>
         return null;
     }
 
+    /**
+     * Used internally. Called by {@link Attributes} before one of this node's attributes is put or removed.
+     *
+     * @param name the attribute property name
+     * @param transforming true for the {@link LienzoCore#STANDARD_TRANSFORMING_ATTRIBUTES}
+     */
+    void onAttributeChanging(final String name, final boolean transforming)
+    {
+        damageLayer(false == transforming);
+    }
+
+    /**
+     * Used internally. Records the area this node currently covers as needing a repaint, if its layer repaints dirty regions only,
+     * and drops the display lists recorded by this node and its ancestors.
+     */
+    final void damageLayer()
+    {
+        damageLayer(true);
+    }
+
+    /**
+     * Drops the recorded display lists, this node's own only if self is true: its transform is applied outside of its display list.
+     */
+    private final void damageLayer(final boolean self)
+    {
+        if (false == isDamaging())
+        {
+            return;
+        }
+        invalidateDisplayLists(self ? this : getParent());
+
+        final Layer layer = getLayer();
+
+        if (null != layer)
+        {
+            layer.damage(this);
+        }
+    }
+
+    /**
+     * Used internally. Called by {@link Attributes} whenever one of this node's attributes is put or removed.
+     *
+     * @param name the attribute property name
+     * @param transforming true for the {@link LienzoCore#STANDARD_TRANSFORMING_ATTRIBUTES}
+     */
+    void onAttributeChanged(final String name, final boolean transforming)
+    {
+        if (transforming)
+        {
+            m_xfrm_valid = false;
+
+            m_xfrm_local = null;
+
+            invalidateComputedTransforms();
+        }
+        if ((transforming) || (isBoundingAttribute(name)))
+        {
+            invalidateBoundingBoxes();
+
+            if (hasSpatiallyIndexedAncestor())
+            {
+                refreshStorageBounds();
+            }
+        }
+    }
+
+    /**
+     * Used internally. Re-indexes this node, and every ancestor whose bounds depend on it, in any spatially indexed storage engine above it.
+     */
+    protected void refreshStorageBounds()
+    {
+        Node<?> node = this;
+
+        Node<?> parent = getParent();
+
+        while (null != parent)
+        {
+            final ContainerNode<?, ?> cont = parent.asContainerNode();
+
+            if (null == cont)
+            {
+                return;
+            }
+            cont.refreshStorage(node);
+
+            node = parent;
+
+            parent = parent.getParent();
+        }
+    }
+
+    /**
+     * Used internally. Drops every node's cached answers to {@link #hasSpatiallyIndexedAncestor()} and {@link #isDamaging()},
+     * when a node is re-parented, a storage engine is replaced, or damage tracking or display list caching is switched.
+     */
+    static final void invalidateAncestorCaches()
+    {
+        s_tree_epoch++;
+    }
+
+    /**
+     * Returns true if a container above this node keeps its children in a spatially indexed storage engine.
+     * The answer is cached until the tree changes, so attribute changes don't walk the ancestors.
+     */
+    protected final boolean hasSpatiallyIndexedAncestor()
+    {
+        refreshAncestorCaches();
+
+        return m_spatial;
+    }
+
+    /**
+     * Returns true if a change to this node has to be recorded: its layer repaints dirty regions only,
+     * or this node or a group above it records a display list. Cached until the tree changes, like {@link #hasSpatiallyIndexedAncestor()}.
+     */
+    private final boolean isDamaging()
+    {
+        refreshAncestorCaches();
+
+        return m_damaging;
+    }
+
+    private final void refreshAncestorCaches()
+    {
+        if (m_tree_epoch != s_tree_epoch)
+        {
+            m_spatial = findSpatiallyIndexedAncestor();
+
+            m_damaging = findDamaging();
+
+            m_tree_epoch = s_tree_epoch;
+        }
+    }
+
+    private final boolean findDamaging()
+    {
+        final Layer layer = getLayer();
+
+        if ((null != layer) && (layer.isDirtyRegionRepaint()))
+        {
+            return true;
+        }
+        Node<?> node = this;
+
+        while (null != node)
+        {
+            if (node.isDisplayListCaching())
+            {
+                return true;
+            }
+            node = node.getParent();
+        }
+        return false;
+    }
+
+    private final boolean findSpatiallyIndexedAncestor()
+    {
+        Node<?> parent = getParent();
+
+        while (null != parent)
+        {
+            final ContainerNode<?, ?> cont = parent.asContainerNode();
+
+            if (null == cont)
+            {
+                return false;
+            }
+            if (cont.getStorageEngine().isSpatiallyIndexed())
+            {
+                return true;
+            }
+            parent = parent.getParent();
+        }
+        return false;
+    }
+
+    private final boolean isBoundingAttribute(final String name)
+    {
+        return (hasAttribute(getTransformingAttributes(), name)) || (hasAttribute(getBoundingBoxAttributes(), name));
+    }
+
+    private static final boolean hasAttribute(final List<Attribute> list, final String name)
+    {
+        if (null != list)
+        {
+            final int size = list.size();
+
+            for (int i = 0; i < size; i++)
+            {
+                if (list.get(i).getProperty().equals(name))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public T setUserData(final Object data)
     {
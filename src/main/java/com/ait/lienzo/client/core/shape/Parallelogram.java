@@ -156,6 +156,8 @@ public class Parallelogram extends Shape<Parallelogram>
     {
         m_list.clear();
 
+        invalidateBoundingBox();
+
         return this;
     }
 
@@ -169,6 +169,8 @@ public class RegularPolygon extends Shape<RegularPolygon>
     {
         m_list.clear();
 
+        invalidateBoundingBox();
+
         return this;
     }
 
@@ -527,6 +527,7 @@ public class Scene extends ContainerNode<Layer, Scene>
             {
                 layers.moveDown(layer);
             }
+            onChildrenChanged();
         }
         return this;
     }
@@ -572,6 +573,7 @@ public class Scene extends ContainerNode<Layer, Scene>
             {
                 layers.moveUp(layer);
             }
+            onChildrenChanged();
         }
         return this;
     }
@@ -604,6 +606,7 @@ public class Scene extends ContainerNode<Layer, Scene>
             {
                 layers.moveToTop(layer);
             }
+            onChildrenChanged();
         }
         return this;
     }
@@ -636,6 +639,7 @@ public class Scene extends ContainerNode<Layer, Scene>
             {
                 layers.moveToBottom(layer);
             }
+            onChildrenChanged();
         }
         return this;
     }
@@ -241,6 +241,8 @@ public class Sprite extends Shape<Sprite>
             m_index = 0;
 
             m_frames = bmap.getFramesForBehavior(behavior);
+
+            invalidateBoundingBox();
         }
         return this;
     }
@@ -265,6 +267,8 @@ public class Sprite extends Shape<Sprite>
             m_index = 0;
 
             m_frames = bmap.getFramesForBehavior(behavior);
+
+            invalidateBoundingBox();
         }
         return this;
     }
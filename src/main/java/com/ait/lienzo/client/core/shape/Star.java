@@ -152,6 +152,8 @@ public class Star extends Shape<Star>
     {
         m_list.clear();
 
+        invalidateBoundingBox();
+
         return this;
     }
 
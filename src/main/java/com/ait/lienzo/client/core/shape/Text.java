@@ -631,6 +631,7 @@ public class Text extends Shape<Text>
 
     public Text setWrapper(final ITextWrapper wrapper) {
         this.wrapper = wrapper;
+        invalidateBoundingBox();
         return this;
     }
 
@@ -21,6 +21,7 @@ import java.util.List;
 
 import com.ait.lienzo.client.core.Attribute;
 import com.ait.lienzo.client.core.Context2D;
+import com.ait.lienzo.client.core.animation.LayerRedrawManager;
 import com.ait.lienzo.client.core.config.LienzoCore;
 import com.ait.lienzo.client.core.event.OnEventHandlers;
 import com.ait.lienzo.client.core.event.OrientationChangeEvent;
@@ -91,6 +92,8 @@ public class Viewport extends ContainerNode<Scene, Viewport>
 
     private final OnEventHandlers m_onEventHandlers = new OnEventHandlers();
 
+    private long                   m_redraws = 0L;
+
 
     public Viewport()
     {
@@ -618,6 +621,23 @@ public class Viewport extends ContainerNode<Scene, Viewport>
         return null;
     }
 
+    /**
+     * Returns a count that changes every time one of the layers of this viewport is drawn, or changes how it is hit tested,
+     * and every time nodes are added, removed or reordered.
+     * The result of {@link #findShapeAtPoint(int, int)} for a given point stays the same until it changes.
+     *
+     * @return long
+     */
+    public final long getRedrawCount()
+    {
+        return m_redraws;
+    }
+
+    final void onLayerRedraw()
+    {
+        m_redraws++;
+    }
+
     public final Shape<?> findShapeAtPoint(final int x, final int y)
     {
         if (isVisible())
@@ -777,6 +797,8 @@ public class Viewport extends ContainerNode<Scene, Viewport>
             setVisible(true);
 
             setListening(false);
+
+            setRedrawPriority(LayerRedrawManager.PRIORITY_INTERACTIVE);
         }
 
         @Override
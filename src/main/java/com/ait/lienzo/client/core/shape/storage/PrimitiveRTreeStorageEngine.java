@@ -0,0 +1,273 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import com.ait.lienzo.client.core.config.LienzoCore;
+import com.ait.lienzo.client.core.shape.IPrimitive;
+import com.ait.lienzo.client.core.shape.json.IFactory;
+import com.ait.lienzo.client.core.shape.json.IJSONSerializable;
+import com.ait.lienzo.client.core.shape.json.validators.ValidationContext;
+import com.ait.lienzo.client.core.shape.json.validators.ValidationException;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.BoundingPoints;
+import com.ait.lienzo.client.core.util.RTree;
+import com.ait.tooling.nativetools.client.collection.NFastArrayList;
+import com.google.gwt.json.client.JSONObject;
+
+/**
+ * A storage engine that keeps its children in an {@link RTree} keyed by their bounding box in the container's coordinate space,
+ * so {@link #getChildren(BoundingBox)} only returns the children that intersect the requested bounds, still in z-order.
+ * <p>
+ * Child bounds are captured on {@link #add(IPrimitive)} and must be kept current through {@link #refresh(IPrimitive)},
+ * which {@link com.ait.lienzo.client.core.shape.Node} does automatically when a transforming or bounding box attribute changes.
+ * Children without a valid bounding box are never culled.
+ */
+public class PrimitiveRTreeStorageEngine extends AbstractFastArrayStorageEngine<IPrimitive<?>> implements IJSONSerializable<PrimitiveRTreeStorageEngine>
+{
+    private final RTree<IPrimitive<?>>            m_tree   = new RTree<IPrimitive<?>>();
+
+    private final HashSet<IPrimitive<?>>          m_free   = new HashSet<IPrimitive<?>>();
+
+    private final HashMap<IPrimitive<?>, Integer> m_order  = new HashMap<IPrimitive<?>, Integer>();
+
+    private final ArrayList<IPrimitive<?>>        m_find   = new ArrayList<IPrimitive<?>>();
+
+    private final Comparator<IPrimitive<?>>       m_zorder = new Comparator<IPrimitive<?>>()
+                                                           {
+                                                               @Override
+                                                               public int compare(final IPrimitive<?> a, final IPrimitive<?> b)
+                                                               {
+                                                                   return m_order.get(a).compareTo(m_order.get(b));
+                                                               }
+                                                           };
+
+    private boolean                               m_reorder;
+
+    public PrimitiveRTreeStorageEngine()
+    {
+        super(StorageEngineType.PRIMITIVE_RTREE_STORAGE_ENGINE);
+    }
+
+    protected PrimitiveRTreeStorageEngine(final JSONObject node, final ValidationContext ctx) throws ValidationException
+    {
+        super(StorageEngineType.PRIMITIVE_RTREE_STORAGE_ENGINE, node, ctx);
+    }
+
+    @Override
+    public void clear()
+    {
+        super.clear();
+
+        m_tree.clear();
+
+        m_free.clear();
+
+        m_order.clear();
+
+        m_reorder = false;
+    }
+
+    @Override
+    public void add(final IPrimitive<?> item)
+    {
+        super.add(item);
+
+        m_order.put(item, getChildren().size() - 1);
+
+        index(item);
+    }
+
+    @Override
+    public void remove(final IPrimitive<?> item)
+    {
+        super.remove(item);
+
+        m_tree.remove(item);
+
+        m_free.remove(item);
+
+        m_order.remove(item);
+
+        m_reorder = true;
+    }
+
+    @Override
+    public void refresh(final IPrimitive<?> item)
+    {
+        if (m_order.containsKey(item))
+        {
+            index(item);
+        }
+    }
+
+    @Override
+    public void refresh()
+    {
+        m_tree.clear();
+
+        m_free.clear();
+
+        final NFastArrayList<IPrimitive<?>> list = getChildren();
+
+        final int size = list.size();
+
+        for (int i = 0; i < size; i++)
+        {
+            index(list.get(i));
+        }
+    }
+
+    @Override
+    public NFastArrayList<IPrimitive<?>> getChildren(final BoundingBox bounds)
+    {
+        if ((null == bounds) || (false == bounds.isValid()))
+        {
+            return getChildren();
+        }
+        // the scratch list is only used within this call, the returned list is the caller's to keep
+
+        final ArrayList<IPrimitive<?>> find = m_find;
+
+        find.clear();
+
+        find.addAll(m_free);
+
+        m_tree.search(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), find);
+
+        final NFastArrayList<IPrimitive<?>> list = new NFastArrayList<IPrimitive<?>>();
+
+        final int size = find.size();
+
+        if (size > 0)
+        {
+            if (size > 1)
+            {
+                Collections.sort(find, getZOrder());
+            }
+            for (int i = 0; i < size; i++)
+            {
+                list.add(find.get(i));
+            }
+            find.clear();
+        }
+        return list;
+    }
+
+    @Override
+    public boolean isSpatiallyIndexed()
+    {
+        return true;
+    }
+
+    @Override
+    public void moveUp(final IPrimitive<?> item)
+    {
+        super.moveUp(item);
+
+        m_reorder = true;
+    }
+
+    @Override
+    public void moveDown(final IPrimitive<?> item)
+    {
+        super.moveDown(item);
+
+        m_reorder = true;
+    }
+
+    @Override
+    public void moveToTop(final IPrimitive<?> item)
+    {
+        super.moveToTop(item);
+
+        m_reorder = true;
+    }
+
+    @Override
+    public void moveToBottom(final IPrimitive<?> item)
+    {
+        super.moveToBottom(item);
+
+        m_reorder = true;
+    }
+
+    private final void index(final IPrimitive<?> item)
+    {
+        final BoundingPoints bpts = item.getBoundingPoints();
+
+        if (null != bpts)
+        {
+            final BoundingBox bbox = bpts.getBoundingBox();
+
+            if ((null != bbox) && (bbox.isValid()))
+            {
+                m_free.remove(item);
+
+                m_tree.insert(item, bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY());
+
+                return;
+            }
+        }
+        m_tree.remove(item);
+
+        m_free.add(item);
+    }
+
+    private final Comparator<IPrimitive<?>> getZOrder()
+    {
+        if (m_reorder)
+        {
+            m_reorder = false;
+
+            final NFastArrayList<IPrimitive<?>> list = getChildren();
+
+            final int size = list.size();
+
+            for (int i = 0; i < size; i++)
+            {
+                m_order.put(list.get(i), i);
+            }
+        }
+        return m_zorder;
+    }
+
+    @Override
+    public IFactory<?> getFactory()
+    {
+        return LienzoCore.get().getFactory(getStorageEngineType());
+    }
+
+    public static class PrimitiveRTreeStorageEngineFactory extends FastArrayStorageEngineFactory<PrimitiveRTreeStorageEngine>
+    {
+        public PrimitiveRTreeStorageEngineFactory()
+        {
+            super(StorageEngineType.PRIMITIVE_RTREE_STORAGE_ENGINE);
+        }
+
+        @Override
+        public PrimitiveRTreeStorageEngine create(final JSONObject node, final ValidationContext ctx) throws ValidationException
+        {
+            return new PrimitiveRTreeStorageEngine(node, ctx);
+        }
+    }
+}
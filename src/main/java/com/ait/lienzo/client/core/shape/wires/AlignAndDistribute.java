@@ -39,7 +39,8 @@ import com.ait.lienzo.client.core.types.Point2DArray;
 /**
  * This class indexes related classes for alignment and distribution.
  *
- * an index is maintained for each edge and center for alignment and distribution.
+ * a sorted index is maintained for each edge and center for alignment. Distribution matches are not indexed, they are computed
+ * from the edge indexes, only for the pairs of shapes that would put the current position within range.
  *
  * All indexing is done by rounding the double value to int - using Math.round.
  *
@@ -48,7 +49,7 @@ import com.ait.lienzo.client.core.types.Point2DArray;
  * It's possible to control the style of the guideline when drawn. By using the style setter methods of this class.
  *
  * The circa property controls the number of pixes to search from the current position. For instance a circle of 4, will search 4 pixels
- * above and 4 pixels below the current y position, as well as 4 pixels to the left and 4 pixels to the right. As soon as the first index has a match, the search stops and snapping is done to that offset.
+ * above and 4 pixels below the current y position, as well as 4 pixels to the left and 4 pixels to the right. The nearest offset with a match in any index wins, and snapping is done to that offset.
  *
  * The implementation is fairly generic and uses shape.getBoundingPoints().getBoundingBox() to do it's work.
  * The reason for getBoundPoints, is that the x/y of a Circle is at the center, where as other shapes are top left - getBoundingPoints normalises this to top left.
@@ -60,59 +61,33 @@ import com.ait.lienzo.client.core.types.Point2DArray;
  */
 public class AlignAndDistribute
 {
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_leftIndex;
+    private static final int                         NO_MATCH         = Integer.MAX_VALUE;
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_hCenterIndex;
+    private final AlignAndDistributeIndex            m_leftIndex      = new AlignAndDistributeIndex();
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_rightIndex;
+    private final AlignAndDistributeIndex            m_hCenterIndex   = new AlignAndDistributeIndex();
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_topIndex;
+    private final AlignAndDistributeIndex            m_rightIndex     = new AlignAndDistributeIndex();
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_vCenterIndex;
+    private final AlignAndDistributeIndex            m_topIndex       = new AlignAndDistributeIndex();
 
-    private Map<Double, LinkedList<AlignAndDistributeControl>> m_bottomIndex;
+    private final AlignAndDistributeIndex            m_vCenterIndex   = new AlignAndDistributeIndex();
 
-    private Map<Double, LinkedList<DistributionEntry>>         m_leftDistIndex;
+    private final AlignAndDistributeIndex            m_bottomIndex    = new AlignAndDistributeIndex();
 
-    private Map<Double, LinkedList<DistributionEntry>>         m_hCenterDistIndex;
+    private DefaultAlignAndDistributeMatchesCallback m_alignmentCallback;
 
-    private Map<Double, LinkedList<DistributionEntry>>         m_rightDistIndex;
+    private Map<String, AlignAndDistributeControl>   m_shapes         = new HashMap<String, AlignAndDistributeControl>();
 
-    private Map<Double, LinkedList<DistributionEntry>>         m_topDistIndex;
+    private int                                      m_circa          = 4;
 
-    private Map<Double, LinkedList<DistributionEntry>>         m_vCenterDistIndex;
+    protected boolean                                m_snap           = true;
 
-    private Map<Double, LinkedList<DistributionEntry>>         m_bottomDistIndex;
-
-    private DefaultAlignAndDistributeMatchesCallback           m_alignmentCallback;
-
-    private Map<String, AlignAndDistributeControl>             m_shapes         = new HashMap<String, AlignAndDistributeControl>();
-
-    private int                                                m_circa          = 4;
-
-    protected boolean                                          m_snap           = true;
-
-    protected boolean                                          m_drawGuideLines = true;
+    protected boolean                                m_drawGuideLines = true;
 
     public AlignAndDistribute(Layer layer)
     {
-        m_leftIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-        m_hCenterIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-        m_rightIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-
-        m_topIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-        m_vCenterIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-        m_bottomIndex = new HashMap<Double, LinkedList<AlignAndDistributeControl>>();
-
         m_alignmentCallback = new DefaultAlignAndDistributeMatchesCallback(layer);
-
-        m_leftDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-        m_hCenterDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-        m_rightDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-
-        m_topDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-        m_vCenterDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
-        m_bottomDistIndex = new HashMap<Double, LinkedList<DistributionEntry>>();
     }
 
     public static BoundingBox getBoundingBox(IDrawable<?> prim)
@@ -230,6 +205,10 @@ public class AlignAndDistribute
         return m_shapes.get(uuid);
     }
 
+    /**
+     * @deprecated the align indexes are no longer maps, this only maintains the given map.
+     */
+    @Deprecated
     public void addAlignIndexEntry(Map<Double, LinkedList<AlignAndDistributeControl>> index, AlignAndDistributeControl handler, double pos)
     {
         double rounded = round(pos);
@@ -245,6 +224,10 @@ public class AlignAndDistribute
         bucket.add(handler);
     }
 
+    /**
+     * @deprecated the align indexes are no longer maps, this only maintains the given map.
+     */
+    @Deprecated
     public void removeAlignIndexEntry(Map<Double, LinkedList<AlignAndDistributeControl>> index, AlignAndDistributeControl handler, double pos)
     {
         double rounded = round(pos);
@@ -259,215 +242,14 @@ public class AlignAndDistribute
         }
     }
 
-    public void addDistIndexEntry(Map<Double, LinkedList<DistributionEntry>> index, DistributionEntry dist)
+    private void addAlignIndexEntry(AlignAndDistributeIndex index, AlignAndDistributeControl handler, double pos)
     {
-        LinkedList<DistributionEntry> bucket = index.get(dist.getPoint());
-
-        if (bucket == null)
-        {
-            bucket = new LinkedList<DistributionEntry>();
-
-            index.put(dist.getPoint(), bucket);
-        }
-        bucket.add(dist);
-    }
-
-    public void removeDistIndexEntry(Map<Double, LinkedList<DistributionEntry>> index, DistributionEntry dist)
-    {
-        LinkedList<DistributionEntry> bucket = index.get(dist.getPoint());
-
-        bucket.remove(dist);
-
-        if (bucket.isEmpty())
-        {
-            index.remove(dist.getPoint());
-        }
+        index.add(handler, round(pos));
     }
 
-    public void removeDistIndex(AlignAndDistributeControl handler)
+    private void removeAlignIndexEntry(AlignAndDistributeIndex index, AlignAndDistributeControl handler, double pos)
     {
-        removeHorizontalDistIndex(handler);
-
-        removeVerticalDistIndex(handler);
-    }
-
-    public void removeHorizontalDistIndex(AlignAndDistributeControl handler)
-    {
-        for (DistributionEntry dist : handler.getHorizontalDistributionEntries())
-        {
-            AlignAndDistributeControl h1 = dist.getShape1();
-            AlignAndDistributeControl h2 = dist.getShape2();
-
-            // make sure we don't remove from handler, or it will remove from the collection currently being iterated.
-            if (handler == h1)
-            {
-                h2.getHorizontalDistributionEntries().remove(dist);
-            }
-            else
-            {
-                h1.getHorizontalDistributionEntries().remove(dist);
-            }
-            switch (dist.getDistributionType())
-            {
-                case DistributionEntry.LEFT_DIST:
-                    removeDistIndexEntry(m_leftDistIndex, dist);
-                    break;
-                case DistributionEntry.H_CENTER_DIST:
-                    removeDistIndexEntry(m_hCenterDistIndex, dist);
-                    break;
-                case DistributionEntry.RIGHT_DIST:
-                    removeDistIndexEntry(m_rightDistIndex, dist);
-                    break;
-            }
-        }
-        handler.getHorizontalDistributionEntries().clear();
-    }
-
-    public void removeVerticalDistIndex(AlignAndDistributeControl handler)
-    {
-        for (DistributionEntry dist : handler.getVerticalDistributionEntries())
-        {
-            AlignAndDistributeControl h1 = dist.getShape1();
-            AlignAndDistributeControl h2 = dist.getShape2();
-
-            // make sure we don't remove from handler, or it will remove from the collection currently being iterated.
-            if (handler == h1)
-            {
-                h2.getVerticalDistributionEntries().remove(dist);
-            }
-            else
-            {
-                h1.getVerticalDistributionEntries().remove(dist);
-            }
-
-            switch (dist.getDistributionType())
-            {
-                case DistributionEntry.TOP_DIST:
-                    removeDistIndexEntry(m_topDistIndex, dist);
-                    break;
-                case DistributionEntry.V_CENTER_DIST:
-                    removeDistIndexEntry(m_vCenterDistIndex, dist);
-                    break;
-                case DistributionEntry.BOTTOM_DIST:
-                    removeDistIndexEntry(m_bottomDistIndex, dist);
-                    break;
-            }
-        }
-        handler.getVerticalDistributionEntries().clear();
-    }
-
-    public void buildDistIndex(AlignAndDistributeControl handler)
-    {
-        buildHorizontalDistIndex(handler);
-
-        buildVerticalDistIndex(handler);
-    }
-
-    public void buildHorizontalDistIndex(AlignAndDistributeControl handler)
-    {
-        double left = round(handler.getLeft());
-
-        double right = round(handler.getRight());
-
-        for (AlignAndDistributeControl otherH : m_shapes.values())
-        {
-            if (skipShape(handler, otherH))
-            {
-                continue;
-            }
-
-            double otherLeft = round(otherH.getLeft());
-            double otherRight = round(otherH.getRight());
-
-            DistributionEntry leftDist = null;
-            DistributionEntry hCenterDist = null;
-            DistributionEntry rightDist = null;
-            if (otherRight < left)
-            {
-                double dx = left - otherRight;
-                double leftPoint = otherLeft - dx;
-                double rightPoint = right + dx;
-                double centerPoint = round(otherRight + ((left - otherRight) / 2));
-                leftDist = new DistributionEntry(otherH, handler, leftPoint, DistributionEntry.LEFT_DIST);
-                hCenterDist = new DistributionEntry(otherH, handler, centerPoint, DistributionEntry.H_CENTER_DIST);
-                rightDist = new DistributionEntry(otherH, handler, rightPoint, DistributionEntry.RIGHT_DIST);
-            }
-            else if (otherLeft > right)
-            {
-                double dx = otherLeft - right;
-                double leftPoint = left - dx;
-                double rightPoint = otherRight + dx;
-                double centerPoint = round(otherLeft + ((right - otherLeft) / 2));
-                leftDist = new DistributionEntry(handler, otherH, leftPoint, DistributionEntry.LEFT_DIST);
-                hCenterDist = new DistributionEntry(handler, otherH, centerPoint, DistributionEntry.H_CENTER_DIST);
-                rightDist = new DistributionEntry(handler, otherH, rightPoint, DistributionEntry.RIGHT_DIST);
-            }
-
-            if (leftDist != null)
-            {
-                addDistIndexEntry(m_leftDistIndex, leftDist);
-                addDistIndexEntry(m_hCenterDistIndex, hCenterDist);
-                addDistIndexEntry(m_rightDistIndex, rightDist);
-            }
-        }
-    }
-
-    private boolean skipShape(AlignAndDistributeControl handler, AlignAndDistributeControl otherH)
-    {
-        if (otherH == handler || !otherH.isIndexed())
-        {
-            // don't index against yourself or shapes not indexed
-            return true;
-        }
-        return false;
-    }
-
-    public void buildVerticalDistIndex(AlignAndDistributeControl handler)
-    {
-        double top = round(handler.getTop());
-        double bottom = round(handler.getBottom());
-
-        for (AlignAndDistributeControl otherH : m_shapes.values())
-        {
-            if (skipShape(handler, otherH))
-            {
-                continue;
-            }
-
-            double otherTop = round(otherH.getTop());
-            double otherBottom = round(otherH.getBottom());
-
-            DistributionEntry topDist = null;
-            DistributionEntry vCenterDist = null;
-            DistributionEntry bottomDist = null;
-            if (otherBottom < top)
-            {
-                double dx = top - otherBottom;
-                double topPoint = otherTop - dx;
-                double bottomPoint = bottom + dx;
-                double centerPoint = round(otherBottom + ((top - otherBottom) / 2));
-                topDist = new DistributionEntry(otherH, handler, topPoint, DistributionEntry.TOP_DIST);
-                vCenterDist = new DistributionEntry(otherH, handler, centerPoint, DistributionEntry.V_CENTER_DIST);
-                bottomDist = new DistributionEntry(otherH, handler, bottomPoint, DistributionEntry.BOTTOM_DIST);
-            }
-            else if (otherTop > bottom)
-            {
-                double dx = otherTop - bottom;
-                double topPoint = top - dx;
-                double bottomPoint = otherBottom + dx;
-                double centerPoint = round(bottom + ((otherTop - bottom) / 2));
-                topDist = new DistributionEntry(handler, otherH, topPoint, DistributionEntry.TOP_DIST);
-                vCenterDist = new DistributionEntry(handler, otherH, centerPoint, DistributionEntry.V_CENTER_DIST);
-                bottomDist = new DistributionEntry(handler, otherH, bottomPoint, DistributionEntry.BOTTOM_DIST);
-            }
-
-            if (topDist != null)
-            {
-                addDistIndexEntry(m_topDistIndex, topDist);
-                addDistIndexEntry(m_vCenterDistIndex, vCenterDist);
-                addDistIndexEntry(m_bottomDistIndex, bottomDist);
-            }
-        }
+        index.remove(handler, round(pos));
     }
 
     public static class DistributionEntry
@@ -498,16 +280,6 @@ public class AlignAndDistribute
             m_shape2 = shape2;
             m_point = point;
             m_distType = distType;
-            if (distType <= 2)
-            {
-                shape1.getHorizontalDistributionEntries().add(this);
-                shape2.getHorizontalDistributionEntries().add(this);
-            }
-            else
-            {
-                shape1.getVerticalDistributionEntries().add(this);
-                shape2.getVerticalDistributionEntries().add(this);
-            }
         }
 
         public AlignAndDistributeControl getShape1()
@@ -533,6 +305,35 @@ public class AlignAndDistribute
 
     public AlignAndDistributeMatches findNearestMatches(AlignAndDistributeControl handler, double left, double hCenter, double right, double top, double vCenter, double bottom)
     {
+        final double l = round(left);
+        final double hc = round(hCenter);
+        final double r = round(right);
+
+        final double t = round(top);
+        final double vc = round(vCenter);
+        final double b = round(bottom);
+
+        // the distribution lookups are crossed over, the left distribution point is where the right edge of the shape would go.
+        int hRank = NO_MATCH;
+        hRank = findAlignRank(m_leftIndex, l, hRank);
+        hRank = findAlignRank(m_hCenterIndex, hc, hRank);
+        hRank = findAlignRank(m_rightIndex, r, hRank);
+        hRank = findDistribution(true, DistributionEntry.LEFT_DIST, r, hRank, null);
+        hRank = findDistribution(true, DistributionEntry.H_CENTER_DIST, hc, hRank, null);
+        hRank = findDistribution(true, DistributionEntry.RIGHT_DIST, l, hRank, null);
+
+        int vRank = NO_MATCH;
+        vRank = findAlignRank(m_topIndex, t, vRank);
+        vRank = findAlignRank(m_vCenterIndex, vc, vRank);
+        vRank = findAlignRank(m_bottomIndex, b, vRank);
+        vRank = findDistribution(false, DistributionEntry.TOP_DIST, b, vRank, null);
+        vRank = findDistribution(false, DistributionEntry.V_CENTER_DIST, vc, vRank, null);
+        vRank = findDistribution(false, DistributionEntry.BOTTOM_DIST, t, vRank, null);
+
+        if (hRank == NO_MATCH && vRank == NO_MATCH)
+        {
+            return emptyAlignedMatches;
+        }
         LinkedList<AlignAndDistributeControl> leftList = null;
         LinkedList<AlignAndDistributeControl> hCenterList = null;
         LinkedList<AlignAndDistributeControl> rightList = null;
@@ -550,101 +351,218 @@ public class AlignAndDistribute
         LinkedList<DistributionEntry> bottomDistList = null;
 
         int hOffset = 0;
-        while (hOffset <= m_circa)
+        if (hRank != NO_MATCH)
         {
-            leftList = findNearestAlignIndexEntry(m_leftIndex, left + hOffset);
-            hCenterList = findNearestAlignIndexEntry(m_hCenterIndex, hCenter + hOffset);
-            rightList = findNearestAlignIndexEntry(m_rightIndex, right + hOffset);
+            hOffset = toOffset(hRank);
 
-            leftDistList = findNearestDistIndexEntry(m_leftDistIndex, right + hOffset);
-            hCenterDistList = findNearestDistIndexEntry(m_hCenterDistIndex, hCenter + hOffset);
-            rightDistList = findNearestDistIndexEntry(m_rightDistIndex, left + hOffset);
+            leftList = m_leftIndex.get(l + hOffset);
+            hCenterList = m_hCenterIndex.get(hc + hOffset);
+            rightList = m_rightIndex.get(r + hOffset);
 
-            if (matchFound(leftList, hCenterList, rightList, leftDistList, hCenterDistList, rightDistList))
-            {
-                break;
-            }
+            leftDistList = findDistributionEntries(true, DistributionEntry.LEFT_DIST, r, hRank);
+            hCenterDistList = findDistributionEntries(true, DistributionEntry.H_CENTER_DIST, hc, hRank);
+            rightDistList = findDistributionEntries(true, DistributionEntry.RIGHT_DIST, l, hRank);
+        }
 
-            leftList = findNearestAlignIndexEntry(m_leftIndex, left - hOffset);
-            hCenterList = findNearestAlignIndexEntry(m_hCenterIndex, hCenter - hOffset);
-            rightList = findNearestAlignIndexEntry(m_rightIndex, right - hOffset);
+        int vOffset = 0;
+        if (vRank != NO_MATCH)
+        {
+            vOffset = toOffset(vRank);
 
-            leftDistList = findNearestDistIndexEntry(m_leftDistIndex, right - hOffset);
-            hCenterDistList = findNearestDistIndexEntry(m_hCenterDistIndex, hCenter - hOffset);
-            rightDistList = findNearestDistIndexEntry(m_rightDistIndex, left - hOffset);
-            if (matchFound(leftList, hCenterList, rightList, leftDistList, hCenterDistList, rightDistList))
-            {
-                hOffset = -hOffset;
-                break;
-            }
-            hOffset++;
+            topList = m_topIndex.get(t + vOffset);
+            vCenterList = m_vCenterIndex.get(vc + vOffset);
+            bottomList = m_bottomIndex.get(b + vOffset);
+
+            topDistList = findDistributionEntries(false, DistributionEntry.TOP_DIST, b, vRank);
+            vCenterDistList = findDistributionEntries(false, DistributionEntry.V_CENTER_DIST, vc, vRank);
+            bottomDistList = findDistributionEntries(false, DistributionEntry.BOTTOM_DIST, t, vRank);
         }
+        return new AlignAndDistributeMatches(handler, left + hOffset, leftList, hCenter + hOffset, hCenterList, right + hOffset, rightList, top + vOffset, topList, vCenter + vOffset, vCenterList, bottom + vOffset, bottomList, leftDistList, hCenterDistList, rightDistList, topDistList, vCenterDistList, bottomDistList);
+    }
 
-        int vOffset = 0;
-        while (vOffset <= m_circa)
+    /**
+     * Offsets are searched 0, +1, -1, +2, -2 ... so the rank of an offset is its position in that order.
+     */
+    private static int toRank(int offset)
+    {
+        return (offset >= 0) ? (offset * 2) : ((-offset * 2) + 1);
+    }
+
+    private static int toOffset(int rank)
+    {
+        return ((rank & 1) == 0) ? (rank / 2) : -(rank / 2);
+    }
+
+    private int findAlignRank(AlignAndDistributeIndex index, double pos, int rank)
+    {
+        final int i = index.ceiling(pos);
+
+        if (i < index.size())
         {
-            topList = findNearestAlignIndexEntry(m_topIndex, top + vOffset);
-            vCenterList = findNearestAlignIndexEntry(m_vCenterIndex, vCenter + vOffset);
-            bottomList = findNearestAlignIndexEntry(m_bottomIndex, bottom + vOffset);
+            final int offset = (int) (index.getKey(i) - pos);
 
-            topDistList = findNearestDistIndexEntry(m_topDistIndex, bottom + vOffset);
-            vCenterDistList = findNearestDistIndexEntry(m_vCenterDistIndex, vCenter + vOffset);
-            bottomDistList = findNearestDistIndexEntry(m_bottomDistIndex, top + vOffset);
+            if (offset <= m_circa)
+            {
+                rank = Math.min(rank, toRank(offset));
+            }
+        }
+        if (i > 0)
+        {
+            final int offset = (int) (index.getKey(i - 1) - pos);
 
-            if (matchFound(topList, vCenterList, bottomList, topDistList, vCenterDistList, bottomDistList))
+            if (-offset <= m_circa)
             {
-                break;
+                rank = Math.min(rank, toRank(offset));
             }
+        }
+        return rank;
+    }
+
+    private LinkedList<DistributionEntry> findDistributionEntries(boolean horizontal, int distType, double pos, int rank)
+    {
+        LinkedList<DistributionEntry> found = new LinkedList<DistributionEntry>();
+
+        findDistribution(horizontal, distType, pos, rank, found);
+
+        return (found.isEmpty()) ? null : found;
+    }
 
-            topList = findNearestAlignIndexEntry(m_topIndex, top - vOffset);
-            vCenterList = findNearestAlignIndexEntry(m_vCenterIndex, vCenter - vOffset);
-            bottomList = findNearestAlignIndexEntry(m_bottomIndex, bottom - vOffset);
+    /**
+     * Finds the pairs of indexed shapes that are distributed such that the position would continue them, using range queries over the edge indexes.
+     * The outer shape of each pair is taken from the side of the index the point lies on, and its partner from the range that puts the point within reach.
+     * If found is null, returns the better of rank and the rank of the nearest distribution point within circa of pos.
+     * Otherwise adds the entries whose point is at the offset of rank to found, and returns rank.
+     */
+    private int findDistribution(boolean horizontal, int distType, double pos, int rank, LinkedList<DistributionEntry> found)
+    {
+        final AlignAndDistributeIndex lows = horizontal ? m_leftIndex : m_topIndex;
+        final AlignAndDistributeIndex highs = horizontal ? m_rightIndex : m_bottomIndex;
 
-            topDistList = findNearestDistIndexEntry(m_topDistIndex, bottom - vOffset);
-            vCenterDistList = findNearestDistIndexEntry(m_vCenterDistIndex, vCenter - vOffset);
-            bottomDistList = findNearestDistIndexEntry(m_bottomDistIndex, top - vOffset);
+        double min;
+        double max;
 
-            if (matchFound(topList, vCenterList, bottomList, topDistList, vCenterDistList, bottomDistList))
+        if (found == null)
+        {
+            if (rank == 0)
             {
-                vOffset = -vOffset;
-                break;
+                // nothing can beat an exact match
+                return rank;
             }
-            vOffset++;
-        }
+            // only points at least as near as the current best can improve on it
+            final int reach = (rank == NO_MATCH) ? m_circa : Math.min(m_circa, rank / 2);
 
-        AlignAndDistributeMatches matches;
-        if (matchFound(leftList, hCenterList, rightList, leftDistList, hCenterDistList, rightDistList) || matchFound(topList, vCenterList, bottomList, topDistList, vCenterDistList, bottomDistList))
-        {
-            matches = new AlignAndDistributeMatches(handler, left + hOffset, leftList, hCenter + hOffset, hCenterList, right + hOffset, rightList, top + vOffset, topList, vCenter + vOffset, vCenterList, bottom + vOffset, bottomList, leftDistList, hCenterDistList, rightDistList, topDistList, vCenterDistList, bottomDistList);
+            min = pos - reach;
+            max = pos + reach;
         }
         else
         {
-            matches = emptyAlignedMatches;
+            min = pos + toOffset(rank);
+            max = min;
         }
-        return matches;
-    }
-
-    private boolean matchFound(LinkedList<AlignAndDistributeControl> l1, LinkedList<AlignAndDistributeControl> l2, LinkedList<AlignAndDistributeControl> l3, LinkedList<DistributionEntry> l4, LinkedList<DistributionEntry> l5, LinkedList<DistributionEntry> l6)
-    {
-        if (l1 != null || l2 != null || l3 != null || l4 != null || l5 != null || l6 != null)
+        switch (distType % 3)
         {
-            return true;
-        }
-        return false;
-    }
+            case DistributionEntry.LEFT_DIST:
+            {
+                // the shape is the first of the pair, the point is before its low by the gap to the second, so its low is above min
+                for (int i = lows.ceiling(min); i < lows.size(); i++)
+                {
+                    final double low = lows.getKey(i);
 
-    private static LinkedList<AlignAndDistributeControl> findNearestAlignIndexEntry(Map<Double, LinkedList<AlignAndDistributeControl>> map, double pos)
-    {
-        double rounded = Math.round(pos);
-        LinkedList<AlignAndDistributeControl> indexEntries = map.get(rounded);
-        return indexEntries;
+                    for (AlignAndDistributeControl shape : lows.getBucket(i))
+                    {
+                        final double high = round(horizontal ? shape.getRight() : shape.getBottom());
+
+                        final double sum = low + high;
+
+                        for (int j = lows.ceiling(sum - max); j < lows.size() && lows.getKey(j) <= sum - min; j++)
+                        {
+                            final double otherLow = lows.getKey(j);
+
+                            if (otherLow > high)
+                            {
+                                rank = matchDistribution(shape, lows.getBucket(j), true, sum - otherLow, distType, pos, rank, found);
+                            }
+                        }
+                    }
+                }
+                break;
+            }
+            case DistributionEntry.H_CENTER_DIST:
+            {
+                // the shape is the first of the pair, the point is half way across the gap to the second, so its high is below max
+                final int end = highs.ceiling(max);
+
+                for (int i = 0; i < end; i++)
+                {
+                    final double high = highs.getKey(i);
+
+                    for (int j = lows.ceiling((2 * min) - high - 1); j < lows.size() && lows.getKey(j) <= (2 * max) - high + 1; j++)
+                    {
+                        final double otherLow = lows.getKey(j);
+
+                        final double point = round(high + ((otherLow - high) / 2));
+
+                        if (otherLow > high && point >= min && point <= max)
+                        {
+                            for (AlignAndDistributeControl shape : highs.getBucket(i))
+                            {
+                                rank = matchDistribution(shape, lows.getBucket(j), true, point, distType, pos, rank, found);
+                            }
+                        }
+                    }
+                }
+                break;
+            }
+            case DistributionEntry.RIGHT_DIST:
+            {
+                // the shape is the second of the pair, the point is after its high by the gap to the first, so its high is below max
+                final int end = highs.ceiling(max);
+
+                for (int i = 0; i < end; i++)
+                {
+                    final double high = highs.getKey(i);
+
+                    for (AlignAndDistributeControl shape : highs.getBucket(i))
+                    {
+                        final double low = round(horizontal ? shape.getLeft() : shape.getTop());
+
+                        final double sum = low + high;
+
+                        for (int j = highs.ceiling(sum - max); j < highs.size() && highs.getKey(j) <= sum - min; j++)
+                        {
+                            final double otherHigh = highs.getKey(j);
+
+                            if (otherHigh < low)
+                            {
+                                rank = matchDistribution(shape, highs.getBucket(j), false, sum - otherHigh, distType, pos, rank, found);
+                            }
+                        }
+                    }
+                }
+                break;
+            }
+        }
+        return rank;
     }
 
-    private static LinkedList<DistributionEntry> findNearestDistIndexEntry(Map<Double, LinkedList<DistributionEntry>> map, double pos)
+    private static int matchDistribution(AlignAndDistributeControl shape, LinkedList<AlignAndDistributeControl> others, boolean shapeFirst, double point, int distType, double pos, int rank, LinkedList<DistributionEntry> found)
     {
-        double rounded = Math.round(pos);
-        LinkedList<DistributionEntry> indexEntries = map.get(rounded);
-        return indexEntries;
+        if (found == null)
+        {
+            return Math.min(rank, toRank((int) (point - pos)));
+        }
+        for (AlignAndDistributeControl other : others)
+        {
+            if (shapeFirst)
+            {
+                found.add(new DistributionEntry(shape, other, point, distType));
+            }
+            else
+            {
+                found.add(new DistributionEntry(other, shape, point, distType));
+            }
+        }
+        return rank;
     }
 
     private static final EmptyAlignAndDistributeMatches emptyAlignedMatches = new EmptyAlignAndDistributeMatches();
@@ -666,7 +584,6 @@ public class AlignAndDistribute
     public void indexOffWithoutChangingStatus(AlignAndDistributeControl handler)
     {
         removeAlignIndex(handler, handler.getLeft(), handler.getHorizontalCenter(), handler.getRight(), handler.getTop(), handler.getVerticalCenter(), handler.getBottom());
-        removeDistIndex(handler);
     }
 
     public void indexOn(AlignAndDistributeControl handler)
@@ -678,7 +595,6 @@ public class AlignAndDistribute
     public void indexOnWithoutChangingStatus(AlignAndDistributeControl handler)
     {
         buildAlignIndex(handler, handler.getLeft(), handler.getHorizontalCenter(), handler.getRight(), handler.getTop(), handler.getVerticalCenter(), handler.getBottom());
-        buildDistIndex(handler);
     }
 
     private void buildAlignIndex(AlignAndDistributeControl handler, double left, double hCenter, double right, double top, double vCenter, double bottom)
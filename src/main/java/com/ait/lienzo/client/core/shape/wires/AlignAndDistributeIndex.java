@@ -0,0 +1,144 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape.wires;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+import com.ait.lienzo.client.core.shape.wires.handlers.AlignAndDistributeControl;
+
+/**
+ * One edge or center index of {@link AlignAndDistribute}: the rounded positions of the indexed shapes, kept sorted in a primitive array,
+ * each with the bucket of shapes at that position.
+ * <p>
+ * Moving one shape is a binary search plus an array shift, and all the positions within a range are found with one binary search.
+ * Used internally by {@link AlignAndDistribute}.
+ */
+public final class AlignAndDistributeIndex
+{
+    private double[]                                               m_keys    = new double[16];
+
+    private final ArrayList<LinkedList<AlignAndDistributeControl>> m_buckets = new ArrayList<LinkedList<AlignAndDistributeControl>>();
+
+    private int                                                    m_size;
+
+    public final int size()
+    {
+        return m_size;
+    }
+
+    public final double getKey(final int i)
+    {
+        return m_keys[i];
+    }
+
+    public final LinkedList<AlignAndDistributeControl> getBucket(final int i)
+    {
+        return m_buckets.get(i);
+    }
+
+    /**
+     * Returns the shapes at the given rounded position, or null.
+     */
+    public final LinkedList<AlignAndDistributeControl> get(final double key)
+    {
+        final int i = ceiling(key);
+
+        if ((i < m_size) && (m_keys[i] == key))
+        {
+            return m_buckets.get(i);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index of the first position greater than or equal to the key, or {@link #size()}.
+     */
+    public final int ceiling(final double key)
+    {
+        int lo = 0;
+
+        int hi = m_size;
+
+        while (lo < hi)
+        {
+            final int mid = (lo + hi) >>> 1;
+
+            if (m_keys[mid] < key)
+            {
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public final void add(final AlignAndDistributeControl handler, final double key)
+    {
+        final int i = ceiling(key);
+
+        if ((i < m_size) && (m_keys[i] == key))
+        {
+            m_buckets.get(i).add(handler);
+
+            return;
+        }
+        if (m_size == m_keys.length)
+        {
+            final double[] keys = new double[m_size * 2];
+
+            System.arraycopy(m_keys, 0, keys, 0, m_size);
+
+            m_keys = keys;
+        }
+        System.arraycopy(m_keys, i, m_keys, i + 1, m_size - i);
+
+        m_keys[i] = key;
+
+        final LinkedList<AlignAndDistributeControl> bucket = new LinkedList<AlignAndDistributeControl>();
+
+        bucket.add(handler);
+
+        m_buckets.add(i, bucket);
+
+        m_size++;
+    }
+
+    public final void remove(final AlignAndDistributeControl handler, final double key)
+    {
+        final int i = ceiling(key);
+
+        if ((i < m_size) && (m_keys[i] == key))
+        {
+            final LinkedList<AlignAndDistributeControl> bucket = m_buckets.get(i);
+
+            bucket.remove(handler);
+
+            if (bucket.isEmpty())
+            {
+                System.arraycopy(m_keys, i + 1, m_keys, i, m_size - i - 1);
+
+                m_buckets.remove(i);
+
+                m_size--;
+            }
+        }
+    }
+}
@@ -19,7 +19,6 @@ package com.ait.lienzo.client.core.shape.wires;
 
 import java.util.Objects;
 
-import com.ait.lienzo.client.core.Context2D;
 import com.ait.lienzo.client.core.shape.Group;
 import com.ait.lienzo.client.core.shape.IDirectionalMultiPointShape;
 import com.ait.lienzo.client.core.shape.IPrimitive;
@@ -31,18 +30,15 @@ import com.ait.lienzo.client.core.shape.wires.event.WiresConnectorPointsChangedE
 import com.ait.lienzo.client.core.shape.wires.event.WiresConnectorPointsChangedHandler;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresConnectorControl;
 import com.ait.lienzo.client.core.types.BoundingBox;
-import com.ait.lienzo.client.core.types.ImageData;
 import com.ait.lienzo.client.core.types.PathPartEntryJSO;
 import com.ait.lienzo.client.core.types.PathPartList;
 import com.ait.lienzo.client.core.types.Point2D;
 import com.ait.lienzo.client.core.types.Point2DArray;
 import com.ait.lienzo.client.core.util.Geometry;
-import com.ait.lienzo.client.core.util.ScratchPad;
 import com.ait.lienzo.shared.core.types.ArrowEnd;
 import com.ait.lienzo.shared.core.types.Direction;
 import com.ait.lienzo.shared.core.types.EventPropagationMode;
 import com.ait.tooling.nativetools.client.collection.NFastDoubleArrayJSO;
-import com.ait.tooling.nativetools.client.collection.NFastStringMap;
 import com.google.gwt.event.shared.HandlerManager;
 import com.google.gwt.event.shared.HandlerRegistration;
 
@@ -52,6 +48,11 @@ public class WiresConnector
 {
     public static final int                       MINIMUM_STROKE_WITH = 15;
 
+    /**
+     * Number of line segments curves are flattened into when picking segments.
+     */
+    public static final int                       CURVE_PICKING_STEPS = 16;
+
     private       WiresConnection                m_headConnection;
 
     private       WiresConnection                m_tailConnection;
@@ -263,6 +264,14 @@ public class WiresConnector
         m_pointHandles = null;
     }
 
+    /**
+     * Returns true if the point handles are created and showing, without creating them.
+     */
+    public boolean hasVisiblePointHandles()
+    {
+        return (m_pointHandles != null) && m_pointHandles.isVisible();
+    }
+
     public IControlHandleList getPointHandles()
     {
         if (m_pointHandles == null || m_pointHandles.isEmpty())
@@ -765,6 +774,12 @@ public class WiresConnector
         return getIndexForSelectedSegment(this, x, y, getControlPoints());
     }
 
+    public int getIndexForSegmentAt(final double x,
+                                    final double y,
+                                    final double tolerance) {
+        return getIndexForSegmentAt(this, x, y, getControlPoints(), tolerance);
+    }
+
     private static boolean contains(final int[] indexes,
                                     final int index) {
         for (int i : indexes) {
@@ -779,141 +794,131 @@ public class WiresConnector
                                                  final int mouseX,
                                                  final int mouseY,
                                                  final Point2DArray oldPoints) {
-        NFastStringMap<Integer> colorMap = new NFastStringMap<Integer>();
+        final double strokeWidth = connector.getLine().asShape().getStrokeWidth();
 
-        IDirectionalMultiPointShape<?> line = connector.getLine();
-        ScratchPad scratch = line.getScratchPad();
-        scratch.clear();
-        PathPartList path = line.asShape().getPathPartList();
-        int pointsIndex = 1;
-        String color = MagnetManager.m_c_rotor.next();
-        colorMap.put(color,
-                     pointsIndex);
-        Context2D ctx = scratch.getContext();
-        double strokeWidth = line.asShape().getStrokeWidth();
         //setting a minimum stroke width to make finding a close point to the connector easier
-        ctx.setStrokeWidth((strokeWidth < MINIMUM_STROKE_WITH ? MINIMUM_STROKE_WITH : strokeWidth));
+        final double width = (strokeWidth < MINIMUM_STROKE_WITH ? MINIMUM_STROKE_WITH : strokeWidth);
+
+        // a pixel is on a stroke when it is fully covered by it, which is when its center is within half the width less half a pixel
+        return getIndexForSegmentAt(connector,
+                                    mouseX + 0.5,
+                                    mouseY + 0.5,
+                                    oldPoints,
+                                    (width / 2) - 0.5);
+    }
+
+    /**
+     * Returns the index in points of the control point that ends the segment of the connector's line within tolerance of (x,y),
+     * or -1 if there is none. Where segments overlap, the later one wins.
+     * <p>
+     * Distances are computed against the line's path part list, offset by the line's computed location, so (x,y) is in the
+     * same space as that location. Nothing is drawn and nothing is allocated per segment, so it is cheap enough for hover.
+     */
+    public static int getIndexForSegmentAt(final WiresConnector connector,
+                                           final double x,
+                                           final double y,
+                                           final Point2DArray points,
+                                           final double tolerance) {
+        final IDirectionalMultiPointShape<?> line = connector.getLine();
+        final PathPartList path = line.asShape().getPathPartList();
+        final Point2D absolutePos = line.getComputedLocation();
+        final double offsetX = absolutePos.getX();
+        final double offsetY = absolutePos.getY();
 
-        Point2D absolutePos = connector.getLine().getComputedLocation();
-        double offsetX = absolutePos.getX();
-        double offsetY = absolutePos.getY();
+        int pointsIndex = 1;
+        int found = -1;
 
-        Point2D pathStart = new Point2D(offsetX,
-                                        offsetY);
-        Point2D segmentStart = pathStart;
+        double startX = offsetX;
+        double startY = offsetY;
+        double segmentX = startX;
+        double segmentY = startY;
 
         for (int i = 0; i < path.size(); i++) {
-            PathPartEntryJSO entry = path.get(i);
-            NFastDoubleArrayJSO points = entry.getPoints();
+            final PathPartEntryJSO entry = path.get(i);
+            final NFastDoubleArrayJSO p = entry.getPoints();
+            final double distance;
 
             switch (entry.getCommand()) {
                 case PathPartEntryJSO.MOVETO_ABSOLUTE: {
-                    double x0 = points.get(0) + offsetX;
-                    double y0 = points.get(1) + offsetY;
-                    Point2D m = new Point2D(x0,
-                                            y0);
+                    segmentX = p.get(0) + offsetX;
+                    segmentY = p.get(1) + offsetY;
                     if (i == 0) {
                         // this is position is needed, if we close the path.
-                        pathStart = m;
+                        startX = segmentX;
+                        startY = segmentY;
                     }
-                    segmentStart = m;
-                    break;
+                    continue;
                 }
                 case PathPartEntryJSO.LINETO_ABSOLUTE: {
-                    points = entry.getPoints();
-                    double x0 = points.get(0) + offsetX;
-                    double y0 = points.get(1) + offsetY;
-                    Point2D end = new Point2D(x0,
-                                              y0);
-
-                    if (oldPoints.get(pointsIndex).equals(segmentStart)) {
-                        pointsIndex++;
-                        color = MagnetManager.m_c_rotor.next();
-                        colorMap.put(color,
-                                     pointsIndex);
-                    }
-                    ctx.setStrokeColor(color);
-
-                    ctx.beginPath();
-                    ctx.moveTo(segmentStart.getX(),
-                               segmentStart.getY());
-                    ctx.lineTo(x0,
-                               y0);
-                    ctx.stroke();
-                    segmentStart = end;
+                    final double x0 = p.get(0) + offsetX;
+                    final double y0 = p.get(1) + offsetY;
+                    pointsIndex = nextSegmentIndex(points, pointsIndex, segmentX, segmentY);
+                    distance = Geometry.distanceToLineSegment(x, y, segmentX, segmentY, x0, y0);
+                    segmentX = x0;
+                    segmentY = y0;
                     break;
                 }
                 case PathPartEntryJSO.CLOSE_PATH_PART: {
-                    double x0 = pathStart.getX() + offsetX;
-                    double y0 = pathStart.getY() + offsetY;
-                    Point2D end = new Point2D(x0,
-                                              y0);
-                    if (oldPoints.get(pointsIndex).equals(segmentStart)) {
-                        pointsIndex++;
-                        color = MagnetManager.m_c_rotor.next();
-                        colorMap.put(color,
-                                     pointsIndex);
-                    }
-                    ctx.setStrokeColor(color);
-                    ctx.beginPath();
-                    ctx.moveTo(segmentStart.getX(),
-                               segmentStart.getY());
-                    ctx.lineTo(x0,
-                               y0);
-                    ctx.stroke();
-                    segmentStart = end;
+                    pointsIndex = nextSegmentIndex(points, pointsIndex, segmentX, segmentY);
+                    distance = Geometry.distanceToLineSegment(x, y, segmentX, segmentY, startX, startY);
+                    segmentX = startX;
+                    segmentY = startY;
                     break;
                 }
                 case PathPartEntryJSO.CANVAS_ARCTO_ABSOLUTE: {
-                    points = entry.getPoints();
-
-                    double x0 = points.get(0) + offsetX;
-                    double y0 = points.get(1) + offsetY;
-                    Point2D p0 = new Point2D(x0,
-                                             y0);
-
-                    double x1 = points.get(2) + offsetX;
-                    double y1 = points.get(3) + offsetY;
-                    double r = points.get(4);
-
-                    if (p0.equals(oldPoints.get(pointsIndex))) {
-                        pointsIndex++;
-                        color = MagnetManager.m_c_rotor.next();
-                        colorMap.put(color,
-                                     pointsIndex);
-                    }
-                    ctx.setStrokeColor(color);
-                    ctx.beginPath();
-                    ctx.moveTo(segmentStart.getX(),
-                               segmentStart.getY());
-                    ctx.arcTo(x0,
-                              y0,
-                              x1,
-                              y1,
-                              r);
-                    ctx.stroke();
-
-                    segmentStart = new Point2D(x1,
-                                               y1);
+                    final double x0 = p.get(0) + offsetX;
+                    final double y0 = p.get(1) + offsetY;
+                    final double x1 = p.get(2) + offsetX;
+                    final double y1 = p.get(3) + offsetY;
+                    // an arc belongs to the segment of the control point at its corner
+                    pointsIndex = nextSegmentIndex(points, pointsIndex, x0, y0);
+                    distance = Geometry.distanceToArcTo(x, y, segmentX, segmentY, x0, y0, x1, y1, p.get(4));
+                    segmentX = x1;
+                    segmentY = y1;
+                    break;
+                }
+                case PathPartEntryJSO.BEZIER_CURVETO_ABSOLUTE: {
+                    final double x1 = p.get(4) + offsetX;
+                    final double y1 = p.get(5) + offsetY;
+                    pointsIndex = nextSegmentIndex(points, pointsIndex, segmentX, segmentY);
+                    distance = Geometry.distanceToBezierCurve(x, y, segmentX, segmentY, p.get(0) + offsetX, p.get(1) + offsetY, p.get(2) + offsetX, p.get(3) + offsetY, x1, y1, CURVE_PICKING_STEPS);
+                    segmentX = x1;
+                    segmentY = y1;
+                    break;
+                }
+                case PathPartEntryJSO.QUADRATIC_CURVETO_ABSOLUTE: {
+                    final double x1 = p.get(2) + offsetX;
+                    final double y1 = p.get(3) + offsetY;
+                    pointsIndex = nextSegmentIndex(points, pointsIndex, segmentX, segmentY);
+                    distance = Geometry.distanceToQuadraticCurve(x, y, segmentX, segmentY, p.get(0) + offsetX, p.get(1) + offsetY, x1, y1, CURVE_PICKING_STEPS);
+                    segmentX = x1;
+                    segmentY = y1;
                     break;
                 }
+                default:
+                    continue;
+            }
+            if (distance <= tolerance) {
+                found = pointsIndex;
             }
         }
+        return found;
+    }
 
-        BoundingBox box = connector.getLine().getBoundingBox();
-
-        // Keep the ImageData small by clipping just the visible line area
-        // But remember the mouse must be offset for this clipped area.
-        int sx = (int) (box.getX() - strokeWidth - offsetX);
-        int sy = (int) (box.getY() - strokeWidth - offsetY);
-        ImageData backing = ctx.getImageData(sx,
-                                             sy,
-                                             (int) (box.getWidth() + strokeWidth + strokeWidth),
-                                             (int) (box.getHeight() + strokeWidth + strokeWidth));
-        color = BackingColorMapUtils.findColorAtPoint(backing,
-                                                      mouseX - sx,
-                                                      mouseY - sy);
-        return null != color ? colorMap.get(color) : -1;
+    /**
+     * A new segment starts whenever the path reaches the next control point.
+     */
+    private static int nextSegmentIndex(final Point2DArray points,
+                                        final int pointsIndex,
+                                        final double x,
+                                        final double y) {
+        if (pointsIndex < points.size()) {
+            final Point2D point = points.get(pointsIndex);
+            if ((point.getX() == x) && (point.getY() == y)) {
+                return pointsIndex + 1;
+            }
+        }
+        return pointsIndex;
     }
 
     @Override public boolean equals(Object o)
@@ -0,0 +1,277 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.shape.wires;
+
+import com.ait.lienzo.client.core.shape.IDirectionalMultiPointShape;
+import com.ait.lienzo.client.core.shape.OrthogonalPolyLine;
+import com.ait.lienzo.client.core.types.BoundingBox;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.types.Point2DArray;
+import com.ait.lienzo.client.core.util.IntObjectMap;
+import com.ait.lienzo.client.core.util.OrthogonalRouter;
+import com.ait.tooling.nativetools.client.collection.NFastArrayList;
+import com.ait.tooling.nativetools.client.collection.NFastStringMap;
+
+/**
+ * Routes the {@link OrthogonalPolyLine} connectors of a {@link WiresManager} around its shapes, using an {@link OrthogonalRouter}.
+ * <p>
+ * Routing is opt-in per connector with {@link #setRouted(WiresConnector, boolean)}, the control points of the other connectors are
+ * never touched. For a routed connector the computed points replace the control points between its head and tail.
+ * <p>
+ * Shapes are synchronized as obstacles when they move, are resized, refreshed, or their location or transform attributes change,
+ * routed connectors when their line is refreshed. Before each draw of the layer the dirty routes are recomputed within the router's
+ * frame budget. Connectors whose point handles are showing are not re-routed, so they can be edited.
+ */
+public class WiresConnectorRouter
+{
+    private final OrthogonalRouter                m_router     = new OrthogonalRouter();
+
+    private final WiresManager                    m_manager;
+
+    private final NFastStringMap<WiresConnector>  m_routed     = new NFastStringMap<WiresConnector>();
+
+    private final NFastStringMap<Integer>         m_ids        = new NFastStringMap<Integer>();
+
+    private final IntObjectMap<WiresConnector>    m_connectors = new IntObjectMap<WiresConnector>();
+
+    private final NFastStringMap<WiresShape>      m_changed    = new NFastStringMap<WiresShape>();
+
+    private int                                   m_next;
+
+    public WiresConnectorRouter(final WiresManager manager)
+    {
+        m_manager = manager;
+
+        for (WiresShape shape : manager.getShapesMap().values())
+        {
+            shapeChanged(shape);
+        }
+    }
+
+    /**
+     * Returns the router, to tune its margin, bend penalty and frame budget.
+     */
+    public OrthogonalRouter getRouter()
+    {
+        return m_router;
+    }
+
+    /**
+     * Routes the connector around the shapes, or stops routing it and leaves its current control points as they are.
+     */
+    public WiresConnectorRouter setRouted(final WiresConnector connector, final boolean routed)
+    {
+        if (routed)
+        {
+            m_routed.put(connector.uuid(), connector);
+
+            m_manager.markConnectorDirty(connector);
+        }
+        else
+        {
+            connectorRemoved(connector);
+        }
+        return this;
+    }
+
+    public boolean isRouted(final WiresConnector connector)
+    {
+        return m_routed.isDefined(connector.uuid());
+    }
+
+    /**
+     * Marks the shape, and the shapes it contains, to be synchronized as obstacles before the next routing.
+     */
+    public void shapeChanged(final WiresShape shape)
+    {
+        m_changed.put(shape.uuid(), shape);
+
+        final NFastArrayList<WiresShape> children = shape.getChildShapes();
+
+        if (null != children)
+        {
+            for (int i = 0; i < children.size(); i++)
+            {
+                shapeChanged(children.get(i));
+            }
+        }
+    }
+
+    public void shapeRemoved(final WiresShape shape)
+    {
+        final String uuid = shape.uuid();
+
+        m_changed.remove(uuid);
+
+        final Integer id = m_ids.get(uuid);
+
+        if (null != id)
+        {
+            m_router.removeObstacle(id);
+
+            m_ids.remove(uuid);
+        }
+    }
+
+    public void connectorRemoved(final WiresConnector connector)
+    {
+        final String uuid = connector.uuid();
+
+        m_routed.remove(uuid);
+
+        final Integer id = m_ids.get(uuid);
+
+        if (null != id)
+        {
+            m_router.removeRoute(id);
+
+            m_connectors.remove(id);
+
+            m_ids.remove(uuid);
+        }
+    }
+
+    /**
+     * Synchronizes the changed shapes and the given dirty connectors, and re-routes within the frame budget.
+     *
+     * @return true if dirty routes are left for a following frame
+     */
+    public boolean route(final NFastStringMap<WiresConnector> connectors)
+    {
+        if (false == m_changed.isEmpty())
+        {
+            for (WiresShape shape : m_changed.values())
+            {
+                final BoundingBox box = shape.getPath().getComputedBoundingPoints().getBoundingBox();
+
+                m_router.setObstacle(id(shape.uuid()), box.getX(), box.getY(), box.getWidth(), box.getHeight());
+            }
+            m_changed.clear();
+        }
+        for (WiresConnector connector : connectors.values())
+        {
+            update(connector);
+        }
+        for (int id : m_router.route())
+        {
+            final WiresConnector connector = m_connectors.get(id);
+
+            if (null != connector)
+            {
+                apply(connector, m_router.getRoute(id));
+            }
+        }
+        return m_router.getDirtyCount() > 0;
+    }
+
+    private void update(final WiresConnector connector)
+    {
+        final IDirectionalMultiPointShape<?> line = connector.getLine();
+
+        if (false == m_routed.isDefined(connector.uuid()) || false == (line instanceof OrthogonalPolyLine) || connector.hasVisiblePointHandles())
+        {
+            return;
+        }
+        final Point2DArray points = line.getPoint2DArray();
+
+        if (points.size() < 2)
+        {
+            return;
+        }
+        final int id = id(connector.uuid());
+
+        m_connectors.put(id, connector);
+
+        final Point2D head = points.get(0);
+
+        final Point2D tail = points.get(points.size() - 1);
+
+        m_router.setRoute(id, head.getX(), head.getY(), line.getHeadDirection(), obstacle(connector.getHeadConnection()), tail.getX(), tail.getY(), line.getTailDirection(), obstacle(connector.getTailConnection()));
+    }
+
+    private void apply(final WiresConnector connector, final double[] route)
+    {
+        if (false == m_routed.isDefined(connector.uuid()) || connector.hasVisiblePointHandles())
+        {
+            return;
+        }
+        final Point2DArray points = connector.getLine().getPoint2DArray();
+
+        final int size = points.size();
+
+        if (route.length == (size * 2))
+        {
+            boolean same = true;
+
+            for (int i = 1; same && (i < (size - 1)); i++)
+            {
+                final Point2D p = points.get(i);
+
+                same = (p.getX() == route[i * 2]) && (p.getY() == route[(i * 2) + 1]);
+            }
+            if (same)
+            {
+                return;
+            }
+        }
+        // keep the head and tail points, the connections hold on to them
+
+        final Point2DArray next = new Point2DArray();
+
+        next.push(points.get(0));
+
+        for (int i = 2; i < (route.length - 2); i += 2)
+        {
+            next.push(new Point2D(route[i], route[i + 1]));
+        }
+        next.push(points.get(size - 1));
+
+        connector.getLine().setPoint2DArray(next);
+
+        connector.firePointsUpdated();
+    }
+
+    private int obstacle(final WiresConnection connection)
+    {
+        if ((null == connection) || (null == connection.getMagnet()))
+        {
+            return OrthogonalRouter.NO_OBSTACLE;
+        }
+        final WiresShape shape = connection.getMagnet().getMagnets().getWiresShape();
+
+        if (null == shape)
+        {
+            return OrthogonalRouter.NO_OBSTACLE;
+        }
+        final Integer id = m_ids.get(shape.uuid());
+
+        return (null == id) ? OrthogonalRouter.NO_OBSTACLE : id;
+    }
+
+    private int id(final String uuid)
+    {
+        Integer id = m_ids.get(uuid);
+
+        if (null == id)
+        {
+            id = m_next++;
+
+            m_ids.put(uuid, id);
+        }
+        return id;
+    }
+}
@@ -18,10 +18,10 @@
 package com.ait.lienzo.client.core.shape.wires;
 
 import com.ait.lienzo.client.core.Attribute;
-import com.ait.lienzo.client.core.event.AnimationFrameAttributesChangedBatcher;
 import com.ait.lienzo.client.core.event.AttributesChangedEvent;
 import com.ait.lienzo.client.core.event.AttributesChangedHandler;
 import com.ait.lienzo.client.core.event.IAttributesChangedBatcher;
+import com.ait.lienzo.client.core.event.JournalAttributesChangedBatcher;
 import com.ait.lienzo.client.core.event.NodeDragEndEvent;
 import com.ait.lienzo.client.core.event.NodeDragEndHandler;
 import com.ait.lienzo.client.core.event.NodeDragMoveEvent;
@@ -78,7 +78,7 @@ public class WiresContainer
 
     public WiresContainer(final IContainer<?, IPrimitive<?>> container)
     {
-        this(container, null, new HandlerRegistrationManager(), new AnimationFrameAttributesChangedBatcher());
+        this(container, null, new HandlerRegistrationManager(), new JournalAttributesChangedBatcher());
     }
 
     WiresContainer( final IContainer<?, IPrimitive<?>> container, final HandlerManager m_events, final HandlerRegistrationManager m_registrationManager, final IAttributesChangedBatcher attributesChangedBatcher)
@@ -17,8 +17,13 @@
 
 package com.ait.lienzo.client.core.shape.wires;
 
+import com.ait.lienzo.client.core.Attribute;
+import com.ait.lienzo.client.core.config.LienzoCore;
+import com.ait.lienzo.client.core.event.AttributesChangedEvent;
+import com.ait.lienzo.client.core.event.AttributesChangedHandler;
 import com.ait.lienzo.client.core.event.NodeDragEndEvent;
 import com.ait.lienzo.client.core.event.NodeDragEndHandler;
+import com.ait.lienzo.client.core.shape.IMultiPointShape;
 import com.ait.lienzo.client.core.shape.Layer;
 import com.ait.lienzo.client.core.shape.wires.event.WiresResizeEndEvent;
 import com.ait.lienzo.client.core.shape.wires.event.WiresResizeEndHandler;
@@ -38,6 +43,7 @@ import com.ait.lienzo.client.core.types.OnLayerBeforeDraw;
 import com.ait.lienzo.client.core.types.Point2D;
 import com.ait.lienzo.client.widget.DragConstraintEnforcer;
 import com.ait.lienzo.client.widget.DragContext;
+import com.ait.tooling.common.api.java.util.function.Consumer;
 import com.ait.tooling.common.api.java.util.function.Supplier;
 import com.ait.tooling.nativetools.client.collection.NFastArrayList;
 import com.ait.tooling.nativetools.client.collection.NFastStringMap;
@@ -59,8 +65,14 @@ public final class WiresManager
 
     private final NFastStringMap<HandlerRegistrationManager> m_shapeHandlersMap    = new NFastStringMap<HandlerRegistrationManager>();
 
+    private final NFastStringMap<HandlerRegistrationManager> m_routerHandlersMap   = new NFastStringMap<HandlerRegistrationManager>();
+
     private final NFastArrayList<WiresConnector>             m_connectorList       = new NFastArrayList<WiresConnector>();
 
+    private final NFastStringMap<WiresConnector>             m_dirtyConnectors     = new NFastStringMap<WiresConnector>();
+
+    private final LinePreparer                               m_linePreparer;
+
     private final WiresLayer                                 m_layer;
 
     private WiresControlFactory                              m_controlFactory;
@@ -79,6 +91,8 @@ public final class WiresManager
 
     private SelectionManager                                 m_selectionManager;
 
+    private WiresConnectorRouter                             m_connectorRouter;
+
     private WiresDragHandler                                 m_handler;
 
     private boolean                                          m_spliceEnabled;
@@ -116,7 +130,8 @@ public final class WiresManager
     {
         m_layer = new WiresLayer(layer);
         m_layer.setWiresManager(this);
-        layer.setOnLayerBeforeDraw(new LinePreparer(this));
+        m_linePreparer = new LinePreparer(this);
+        layer.setOnLayerBeforeDraw(m_linePreparer);
 
         m_index = new AlignAndDistribute(layer);
         m_handler = null;
@@ -133,6 +148,54 @@ public final class WiresManager
         return m_selectionManager;
     }
 
+    /**
+     * Keeps the shapes as obstacles for the orthogonal connectors opted in with {@link WiresConnectorRouter#setRouted(WiresConnector, boolean)},
+     * see {@link WiresConnectorRouter}. The shapes are watched for attribute changes only while routing is enabled.
+     */
+    public WiresConnectorRouter enableConnectorRouting()
+    {
+        if (m_connectorRouter == null)
+        {
+            m_connectorRouter = new WiresConnectorRouter(this);
+
+            for (WiresShape shape : m_shapesMap.values())
+            {
+                addConnectorRouterHandlers(shape);
+            }
+        }
+        return m_connectorRouter;
+    }
+
+    public void disableConnectorRouting()
+    {
+        if (m_connectorRouter != null)
+        {
+            for (HandlerRegistrationManager registrationManager : m_routerHandlersMap.values())
+            {
+                registrationManager.removeHandler();
+            }
+            m_routerHandlersMap.clear();
+        }
+        m_connectorRouter = null;
+    }
+
+    public WiresConnectorRouter getConnectorRouter()
+    {
+        return m_connectorRouter;
+    }
+
+    /**
+     * Tells the connector router, when routing is enabled, that the shape was moved, resized or refreshed.
+     * Changes to the location or transform attributes of the shape's group and path are reported automatically.
+     */
+    public void shapeChanged(final WiresShape shape)
+    {
+        if (null != m_connectorRouter)
+        {
+            m_connectorRouter.shapeChanged(shape);
+        }
+    }
+
     public boolean isSpliceEnabled()
     {
         return m_spliceEnabled;
@@ -147,6 +210,8 @@ public final class WiresManager
     {
         private WiresManager m_wiresManager;
 
+        private int          m_processed;
+
         public LinePreparer(WiresManager wiresManager)
         {
             m_wiresManager = wiresManager;
@@ -158,17 +223,64 @@ public final class WiresManager
             // this is necessary as the line decorator cannot be determined until line parse has been attempted
             // as this is expensive it's delayed until the last minute before draw. As drawing order is not guaranteed
             // this method is used to force a parse on any line that has been refreshed. Refreshed means it's points where
-            // changed and thus will be reparsed.
-            for (WiresConnector c : m_wiresManager.getConnectorList())
+            // changed and thus will be reparsed. Only the connectors whose line was refreshed since the last draw are visited,
+            // a connector whose line cannot be parsed yet stays dirty, along with the ones after it, for the next draw.
+            m_processed = 0;
+
+            final NFastStringMap<WiresConnector> dirty = m_wiresManager.m_dirtyConnectors;
+
+            final WiresConnectorRouter router = m_wiresManager.m_connectorRouter;
+
+            // routing first, as applying a route refreshes the line and so marks the connector dirty again,
+            // routes left over once the frame budget is used are done on the next draw
+
+            if ((null != router) && router.route(dirty))
+            {
+                layer.batch();
+            }
+            if (dirty.isEmpty())
+            {
+                return true;
+            }
+            for (WiresConnector c : dirty.values())
             {
+                m_processed++;
+
                 if (WiresConnector.updateHeadTailForRefreshedConnector(c))
                 {
                     return false;
                 }
+                dirty.remove(c.uuid());
             }
-
             return true;
         }
+
+        /**
+         * Returns the number of connectors visited by the last call to {@link #onLayerBeforeDraw(Layer)}.
+         */
+        public int getProcessedCount()
+        {
+            return m_processed;
+        }
+    }
+
+    public LinePreparer getLinePreparer()
+    {
+        return m_linePreparer;
+    }
+
+    /**
+     * Marks the connector so its head and tail decorators are updated before the next draw of the layer.
+     * This is done automatically whenever the connector's line is refreshed, which is when its points change or its magnets move.
+     */
+    public void markConnectorDirty(final WiresConnector connector)
+    {
+        m_dirtyConnectors.put(connector.uuid(), connector);
+    }
+
+    public int getDirtyConnectorCount()
+    {
+        return m_dirtyConnectors.size();
     }
 
     public MagnetManager getMagnetManager()
@@ -225,9 +337,47 @@ public final class WiresManager
         m_shapesMap.put(uuid, shape);
         m_shapeHandlersMap.put(uuid, registrationManager);
 
+        if (null != m_connectorRouter)
+        {
+            addConnectorRouterHandlers(shape);
+        }
+        shapeChanged(shape);
+
         return control;
     }
 
+    private void addConnectorRouterHandlers(final WiresShape shape)
+    {
+        final HandlerRegistrationManager registrationManager = createHandlerRegistrationManager();
+
+        // setX(), setLocation() and transforms applied directly to the group or path move the obstacle without a shapeMoved()
+        final AttributesChangedHandler handler = new AttributesChangedHandler()
+        {
+            @Override
+            public void onAttributesChanged(final AttributesChangedEvent event)
+            {
+                shapeChanged(shape);
+            }
+        };
+        for (Attribute attribute : LienzoCore.STANDARD_TRANSFORMING_ATTRIBUTES)
+        {
+            registrationManager.register(shape.getGroup().addAttributesChangedHandler(attribute, handler));
+
+            registrationManager.register(shape.getPath().addAttributesChangedHandler(attribute, handler));
+        }
+        m_routerHandlersMap.put(shape.uuid(), registrationManager);
+    }
+
+    private void removeConnectorRouterHandlers(final String uuid)
+    {
+        final HandlerRegistrationManager registrationManager = m_routerHandlersMap.get(uuid);
+        if (null != registrationManager)
+        {
+            registrationManager.removeHandler();
+            m_routerHandlersMap.remove(uuid);
+        }
+    }
+
     private void addAlignAndDistributeHandlers(final WiresShape shape,
                                                final HandlerRegistrationManager registrationManager)
     {
@@ -275,6 +425,11 @@ public final class WiresManager
         removeFromIndex(shape);
         getLayer().remove(shape);
         m_shapesMap.remove(uuid);
+        removeConnectorRouterHandlers(uuid);
+        if (null != m_connectorRouter)
+        {
+            m_connectorRouter.shapeRemoved(shape);
+        }
     }
 
     public WiresConnectorControl register(final WiresConnector connector)
@@ -318,6 +473,16 @@ public final class WiresManager
         getConnectorList().add(connector);
         m_shapeHandlersMap.put(uuid, m_registrationManager);
 
+        m_registrationManager.register(connector.getLine().addRefreshHandler(new Consumer<IMultiPointShape<?>>()
+        {
+            @Override
+            public void accept(final IMultiPointShape<?> line)
+            {
+                markConnectorDirty(connector);
+            }
+        }));
+        markConnectorDirty(connector);
+
         connector.addToLayer(getLayer().getLayer());
 
         return control;
@@ -330,6 +495,11 @@ public final class WiresManager
         removeHandlers(uuid);
         connector.destroy();
         getConnectorList().remove(connector);
+        m_dirtyConnectors.remove(uuid);
+        if (null != m_connectorRouter)
+        {
+            m_connectorRouter.connectorRemoved(connector);
+        }
     }
 
     public void resetContext() {
@@ -354,6 +524,8 @@ public final class WiresManager
             }
             m_connectorList.clear();
         }
+        m_dirtyConnectors.clear();
+        disableConnectorRouting();
         if (null != m_selectionManager) {
             m_selectionManager.destroy();
             m_selectionManager = null;
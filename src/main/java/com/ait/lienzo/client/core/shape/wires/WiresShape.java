@@ -168,6 +168,10 @@ public class WiresShape extends WiresContainer
         {
             getControls().refresh();
         }
+        if (null != getWiresManager())
+        {
+            getWiresManager().shapeChanged(this);
+        }
     }
 
     public void setControl( final WiresShapeControl control ) {
@@ -275,6 +279,10 @@ public class WiresShape extends WiresContainer
     @Override
     public void shapeMoved() {
         super.shapeMoved();
+        if (null != getWiresManager())
+        {
+            getWiresManager().shapeChanged(this);
+        }
         if (getMagnets() != null)
         {
             getControl().getMagnetsControl().shapeMoved();
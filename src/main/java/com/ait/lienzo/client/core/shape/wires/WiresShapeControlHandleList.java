@@ -335,6 +335,10 @@ public class WiresShapeControlHandleList implements IControlHandleList
             m_wires_shape.getControl().getMagnetsControl().shapeChanged();
         }
 
+        if (null != m_wires_shape.getWiresManager()) {
+            m_wires_shape.getWiresManager().shapeChanged(m_wires_shape);
+        }
+
         // Layout content whilst resizing
         m_wires_shape.getLayoutHandler().requestLayout( m_wires_shape );
     }
@@ -1,8 +1,5 @@
 package com.ait.lienzo.client.core.shape.wires.handlers;
 
-import java.util.Set;
-
-import com.ait.lienzo.client.core.shape.wires.AlignAndDistribute;
 import com.ait.lienzo.client.core.types.Point2D;
 
 /**
@@ -27,10 +24,6 @@ public interface AlignAndDistributeControl {
 
     void remove();
 
-    Set<AlignAndDistribute.DistributionEntry> getHorizontalDistributionEntries();
-
-    Set<AlignAndDistribute.DistributionEntry> getVerticalDistributionEntries();
-
     double getLeft();
 
     double getRight();
@@ -17,9 +17,7 @@
 package com.ait.lienzo.client.core.shape.wires.handlers.impl;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import com.ait.lienzo.client.core.Attribute;
 import com.ait.lienzo.client.core.event.AttributesChangedEvent;
@@ -71,10 +69,6 @@ public class AlignAndDistributeControlImpl implements AlignAndDistributeControl
 
     protected double                                               m_bottom;
 
-    protected Set<AlignAndDistribute.DistributionEntry>            m_horizontalDistEntries;
-
-    protected Set<AlignAndDistribute.DistributionEntry>            m_verticalDistEntries;
-
     private boolean                                                m_indexed;
 
     private boolean                                                m_indexedButRemoved;
@@ -170,24 +164,6 @@ public class AlignAndDistributeControlImpl implements AlignAndDistributeControl
         this.m_indexed = indexed;
     }
 
-    public Set<AlignAndDistribute.DistributionEntry> getHorizontalDistributionEntries()
-    {
-        if (m_horizontalDistEntries == null)
-        {
-            m_horizontalDistEntries = new HashSet<>();
-        }
-        return m_horizontalDistEntries;
-    }
-
-    public Set<AlignAndDistribute.DistributionEntry> getVerticalDistributionEntries()
-    {
-        if (m_verticalDistEntries == null)
-        {
-            m_verticalDistEntries = new HashSet<>();
-        }
-        return m_verticalDistEntries;
-    }
-
     public IPrimitive<?> getShape()
     {
         return m_group;
@@ -294,8 +270,6 @@ public class AlignAndDistributeControlImpl implements AlignAndDistributeControl
     {
         if (leftChanged || rightChanged)
         {
-            m_alignAndDistribute.removeHorizontalDistIndex(this);
-
             boolean hCenterChanged = (left + (m_box.getWidth() / 2) != m_hCenter);
 
             if (leftChanged)
@@ -328,14 +302,10 @@ public class AlignAndDistributeControlImpl implements AlignAndDistributeControl
             {
                 m_alignAndDistribute.addRightAlignIndexEntry(this, m_right);
             }
-
-            m_alignAndDistribute.buildHorizontalDistIndex(this);
         }
 
         if (topChanged || bottomChanged)
         {
-            m_alignAndDistribute.removeVerticalDistIndex(this);
-
             boolean vCenterChanged = (top + (m_box.getHeight() / 2) != m_vCenter);
 
             if (topChanged)
@@ -368,8 +338,6 @@ public class AlignAndDistributeControlImpl implements AlignAndDistributeControl
             {
                 m_alignAndDistribute.addBottomAlignIndexEntry(this, m_bottom);
             }
-
-            m_alignAndDistribute.buildVerticalDistIndex(this);
         }
     }
 
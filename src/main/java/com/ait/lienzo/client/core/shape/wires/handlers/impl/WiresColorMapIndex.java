@@ -21,36 +21,67 @@ import com.ait.lienzo.client.core.shape.wires.WiresContainer;
 import com.ait.lienzo.client.core.shape.wires.WiresLayer;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresLayerIndex;
 import com.ait.lienzo.client.core.shape.wires.picker.ColorMapBackedPicker;
+import com.ait.tooling.nativetools.client.collection.NFastArrayList;
 
+/**
+ * A {@link WiresLayerIndex} backed by a {@link ColorMapBackedPicker}.
+ * <p>
+ * The picker may be shared by the indexes of a layer so its backing canvas is kept across interactions. Each index keeps its own
+ * exclusions, and brings the picker back up to date with them if another index built it in between.
+ */
 public class WiresColorMapIndex implements WiresLayerIndex {
 
     private final ColorMapBackedPicker picker;
 
+    private final NFastArrayList<WiresContainer> excluded = new NFastArrayList<WiresContainer>();
+
+    private WiresLayer layer;
+
+    private long build = -1;
+
     public WiresColorMapIndex(final ColorMapBackedPicker picker) {
         this.picker = picker;
     }
 
     @Override
     public WiresLayerIndex exclude(final WiresContainer shape) {
-        picker.getPickerOptions().getShapesToSkip().add(shape);
+        excluded.add(shape);
         return this;
     }
 
     @Override
     public WiresLayerIndex build(final WiresLayer layer) {
+        this.layer = layer;
+        final NFastArrayList<WiresContainer> skip = picker.getPickerOptions().getShapesToSkip();
+        skip.clear();
+        for (int i = 0; i < excluded.size(); i++) {
+            skip.add(excluded.get(i));
+        }
         picker.build(layer.getChildShapes());
+        build = picker.getBuildCount();
         return this;
     }
 
     @Override
     public PickerPart findShapeAt(final int x,
                                   final int y) {
+        if ((null != layer) && (build != picker.getBuildCount())) {
+            build(layer);
+        }
         return picker.findShapeAt(x, y);
     }
 
+    /**
+     * Drops the exclusions, the picker keeps its backing canvas for the next build.
+     */
     @Override
     public void clear() {
-        picker.clear();
-        picker.getPickerOptions().getShapesToSkip().clear();
+        excluded.clear();
+        layer = null;
+        build = -1;
+    }
+
+    public ColorMapBackedPicker getPicker() {
+        return picker;
     }
 }
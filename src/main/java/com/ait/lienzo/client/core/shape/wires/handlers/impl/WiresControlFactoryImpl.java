@@ -29,9 +29,14 @@ import com.ait.lienzo.client.core.shape.wires.handlers.WiresShapeControl;
 import com.ait.lienzo.client.core.shape.wires.handlers.WiresShapeHighlight;
 import com.ait.lienzo.client.core.shape.wires.picker.ColorMapBackedPicker;
 import com.ait.lienzo.client.core.util.ScratchPad;
+import com.ait.tooling.nativetools.client.collection.NFastStringMap;
 
 public class WiresControlFactoryImpl implements WiresControlFactory {
 
+    // a factory may be shared by the managers of several layers, each layer keeps its own picker
+
+    private final NFastStringMap<LayerPicker> pickers = new NFastStringMap<LayerPicker>();
+
     @Override
     public WiresShapeControl newShapeControl(WiresShape shape,
                                              WiresManager wiresManager) {
@@ -51,12 +56,41 @@ public class WiresControlFactoryImpl implements WiresControlFactory {
 
     @Override
     public WiresLayerIndex newIndex(WiresManager manager) {
+        return new WiresColorMapIndex(getPicker(manager));
+    }
+
+    /**
+     * Returns the picker of the manager's layer. It is kept across interactions, with its own backing canvas sized like the layer's scratch pad,
+     * so that building an index only redraws what changed since the previous one.
+     */
+    protected ColorMapBackedPicker getPicker(WiresManager manager) {
+        final String uuid = manager.getLayer().getLayer().uuid();
         final ScratchPad scratchPad = manager.getLayer().getLayer().getScratchPad();
-        final ColorMapBackedPicker.PickerOptions pickerOptions =
-                new ColorMapBackedPicker.PickerOptions(true,
-                                                       manager.getDockingAcceptor().getHotspotSize());
-        return new WiresColorMapIndex(new ColorMapBackedPicker(scratchPad,
-                                                               pickerOptions));
+        final double hotspotSize = manager.getDockingAcceptor().getHotspotSize();
+        final LayerPicker cached = pickers.get(uuid);
+        if (null == cached || cached.manager != manager || cached.picker.getPickerOptions().getHotspotWidth() != hotspotSize) {
+            final ColorMapBackedPicker.PickerOptions pickerOptions =
+                    new ColorMapBackedPicker.PickerOptions(true,
+                                                           hotspotSize);
+            final ColorMapBackedPicker picker = new ColorMapBackedPicker(new ScratchPad(scratchPad.getWidth(),
+                                                                                        scratchPad.getHeight()),
+                                                                         pickerOptions);
+            if (null != cached) {
+                cached.picker.clear();
+            }
+            pickers.put(uuid,
+                        new LayerPicker(manager,
+                                        picker));
+            return picker;
+        }
+        final ColorMapBackedPicker picker = cached.picker;
+        final ScratchPad backing = picker.getScratchPad();
+        if (backing.getWidth() != scratchPad.getWidth() || backing.getHeight() != scratchPad.getHeight()) {
+            backing.setPixelSize(scratchPad.getWidth(),
+                                 scratchPad.getHeight());
+            picker.clear();
+        }
+        return picker;
     }
 
     @Override
@@ -74,4 +108,17 @@ public class WiresControlFactoryImpl implements WiresControlFactory {
                                               headNotTail,
                                               wiresManager);
     }
+
+    private static final class LayerPicker {
+
+        private final WiresManager manager;
+
+        private final ColorMapBackedPicker picker;
+
+        private LayerPicker(final WiresManager manager,
+                            final ColorMapBackedPicker picker) {
+            this.manager = manager;
+            this.picker = picker;
+        }
+    }
 }
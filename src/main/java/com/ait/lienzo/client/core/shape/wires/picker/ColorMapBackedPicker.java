@@ -16,28 +16,62 @@
 
 package com.ait.lienzo.client.core.shape.wires.picker;
 
+import java.util.ArrayList;
+
 import com.ait.lienzo.client.core.Context2D;
 import com.ait.lienzo.client.core.shape.MultiPath;
 import com.ait.lienzo.client.core.shape.wires.*;
 import com.ait.lienzo.client.core.types.*;
+import com.ait.lienzo.client.core.util.IntObjectMap;
 import com.ait.lienzo.client.core.util.ScratchPad;
 import com.ait.tooling.nativetools.client.collection.NFastArrayList;
+import com.ait.tooling.nativetools.client.collection.NFastDoubleArrayJSO;
 import com.ait.tooling.nativetools.client.collection.NFastStringMap;
 
+/**
+ * Draws the shapes of a wires layer into a backing canvas, each part with its own color key, so the part at a point can be read back.
+ * <p>
+ * The backing canvas and the color map are kept across builds. A build only redraws the shapes that were added, removed, excluded or
+ * whose geometry changed, compared value by value with the previous build, plus the shapes that overlap them, clipped to the area those shapes cover. Shapes keep their color keys
+ * while they are in the picker. A full repaint is done when the order of the shapes changes, or when too much of the picker changed.
+ */
 public class ColorMapBackedPicker
 {
     public static final ColorKeyRotor          m_colorKeyRotor = new ColorKeyRotor();
 
-    private final Context2D                  m_ctx;
+    /**
+     * Beyond this many dirty areas, a build repaints the whole backing canvas.
+     */
+    public static final int                    DIRTY_MAX_COUNT = 64;
+
+    private static final double                DIRTY_MARGIN    = 2;
 
-    private final ScratchPad                 m_scratchPad;
+    private final Context2D                    m_ctx;
 
-    private final NFastStringMap<PickerPart> m_colorMap = new NFastStringMap<>();
+    private final ScratchPad                   m_scratchPad;
 
-    private final NFastArrayList<WiresShape> m_shapesMap = new NFastArrayList<>();
+    private final IntObjectMap<PickerPart>     m_colorMap = new IntObjectMap<>();
+
+    private final NFastArrayList<WiresShape>   m_shapesMap = new NFastArrayList<>();
+
+    private final NFastStringMap<PickerEntry>  m_entries = new NFastStringMap<>();
 
     private final PickerOptions                m_options;
 
+    private final PickerGeometry               m_geometry  = new PickerGeometry();
+
+    private PickerEntry                        m_drawing;
+
+    private int                                m_reused;
+
+    private boolean                            m_full      = true;
+
+    private long                               m_builds;
+
+    private double                             m_duration;
+
+    private int                                m_redrawn;
+
     public ColorMapBackedPicker(final ScratchPad scratchPad,
                                 final PickerOptions options)
     {
@@ -46,15 +80,29 @@ public class ColorMapBackedPicker
         m_options = options;
     }
 
+    /**
+     * Brings the backing canvas up to date with the given shapes and their children, less the shapes to skip.
+     */
     public void build(final NFastArrayList<WiresShape> shapes) {
-        clear();
-        processShapes(shapes);
-    }
+        final long beg = System.currentTimeMillis();
 
-    void processShapes(final NFastArrayList<WiresShape> shapes)
-    {
+        final NFastArrayList<WiresShape> previous = m_shapesMap.copy();
+
+        m_shapesMap.clear();
         computeShapes(shapes);
-        drawShapes();
+
+        if (m_full || false == update(previous))
+        {
+            clearColorKeys();
+            m_entries.clear();
+            m_scratchPad.clear();
+            drawShapes();
+        }
+        // the keys given back while updating are no longer on the canvas
+        m_colorKeyRotor.recycle();
+        m_full = false;
+        m_builds++;
+        m_duration = System.currentTimeMillis() - beg;
     }
 
     private void computeShapes(final NFastArrayList<WiresShape> shapes)
@@ -83,63 +131,416 @@ public class ColorMapBackedPicker
         for (int j = 0; j < m_shapesMap.size(); j++)
         {
             WiresShape prim = m_shapesMap.get(j);
-            MultiPath multiPath = prim.getPath();
-            drawShape(m_colorKeyRotor.next(), multiPath.getStrokeWidth(), new PickerPart(prim, PickerPart.ShapePart.BODY), true);
-            addSupplementaryPaths(prim);
+            PickerEntry entry = new PickerEntry(prim);
+            addGeometry(prim, entry.m_geometry);
+            entry.m_bounds = getPickerBounds(prim);
+            m_entries.put(prim.uuid(), entry);
+            drawEntry(entry);
+        }
+        m_redrawn = m_shapesMap.size();
+    }
+
+    /**
+     * Repaints the areas of the shapes that were removed, excluded, added or changed since the previous build.
+     * Returns false if the whole backing canvas has to be repainted instead.
+     */
+    private boolean update(final NFastArrayList<WiresShape> previous)
+    {
+        final ArrayList<BoundingBox> dirty = new ArrayList<BoundingBox>();
+
+        final NFastStringMap<WiresShape> current = new NFastStringMap<>();
+
+        for (int j = 0; j < m_shapesMap.size(); j++)
+        {
+            WiresShape prim = m_shapesMap.get(j);
+            current.put(prim.uuid(), prim);
+        }
+        final NFastArrayList<WiresShape> kept = new NFastArrayList<>();
+
+        for (int j = 0; j < previous.size(); j++)
+        {
+            WiresShape prim = previous.get(j);
+
+            if (current.isDefined(prim.uuid()))
+            {
+                kept.add(prim);
+            }
+            else
+            {
+                PickerEntry entry = m_entries.get(prim.uuid());
+                if (null != entry)
+                {
+                    dirty.add(entry.m_bounds);
+                    removeColorKeys(entry.m_keys);
+                    m_entries.remove(prim.uuid());
+                }
+            }
+        }
+        int k = 0;
+        int changed = 0;
+
+        for (int j = 0; j < m_shapesMap.size(); j++)
+        {
+            WiresShape prim = m_shapesMap.get(j);
+            PickerEntry entry = m_entries.get(prim.uuid());
+            m_geometry.clear();
+            addGeometry(prim, m_geometry);
 
-            if (m_options.hotspotsEnabled)
+            if (null == entry)
             {
-                drawShape(m_colorKeyRotor.next(), m_options.hotspotWidth, new PickerPart(prim, PickerPart.ShapePart.BORDER_HOTSPOT), false);
+                entry = new PickerEntry(prim);
+                m_entries.put(prim.uuid(), entry);
+            }
+            else
+            {
+                // the shapes that stay must stay in the same order, or everything above the first one out of place would need a redraw
+                if (kept.get(k++) != prim)
+                {
+                    return false;
+                }
+                if (entry.m_geometry.isSameAs(m_geometry))
+                {
+                    continue;
+                }
+                dirty.add(entry.m_bounds);
+            }
+            entry.m_geometry.set(m_geometry);
+            entry.m_bounds = getPickerBounds(prim);
+            entry.m_changed = true;
+            dirty.add(entry.m_bounds);
+            changed++;
+        }
+        if (dirty.isEmpty())
+        {
+            m_redrawn = 0;
+            return true;
+        }
+        if ((dirty.size() > DIRTY_MAX_COUNT) || ((changed * 2) > m_shapesMap.size()))
+        {
+            return false;
+        }
+        m_ctx.save();
+        m_ctx.beginPath();
+
+        for (BoundingBox box : dirty)
+        {
+            m_ctx.rect(box.getX(), box.getY(), box.getWidth(), box.getHeight());
+        }
+        m_ctx.clip();
 
-                // need to be able to detect the difference between the actual border selection and the border hotspot
-                drawShape(m_colorKeyRotor.next(), multiPath.getStrokeWidth(), new PickerPart(prim, PickerPart.ShapePart.BORDER), false);
+        for (BoundingBox box : dirty)
+        {
+            m_ctx.clearRect(box.getX(), box.getY(), box.getWidth(), box.getHeight());
+        }
+        m_redrawn = 0;
+
+        for (int j = 0; j < m_shapesMap.size(); j++)
+        {
+            PickerEntry entry = m_entries.get(m_shapesMap.get(j).uuid());
+
+            if (entry.m_changed || intersects(entry.m_bounds, dirty))
+            {
+                entry.m_changed = false;
+                drawEntry(entry);
+                m_redrawn++;
             }
+        }
+        m_ctx.restore();
+        return true;
+    }
 
+    private static boolean intersects(final BoundingBox bounds, final ArrayList<BoundingBox> dirty)
+    {
+        for (BoundingBox box : dirty)
+        {
+            if (box.intersects(bounds))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drawEntry(final PickerEntry entry)
+    {
+        final WiresShape prim = entry.m_shape;
+        final ArrayList<String> keys = entry.m_keys;
+
+        // redraws reuse the shape's color keys, pixels outside of the dirty areas still carry them
+        entry.m_keys = new ArrayList<String>();
+        m_drawing = entry;
+        m_reused = 0;
+        m_drawing.m_reuse = keys;
+
+        MultiPath multiPath = prim.getPath();
+        drawShape(nextColorKey(), multiPath.getStrokeWidth(), new PickerPart(prim, PickerPart.ShapePart.BODY), true);
+        addSupplementaryPaths(prim);
+
+        if (m_options.hotspotsEnabled)
+        {
+            drawShape(nextColorKey(), m_options.hotspotWidth, new PickerPart(prim, PickerPart.ShapePart.BORDER_HOTSPOT), false);
+
+            // need to be able to detect the difference between the actual border selection and the border hotspot
+            drawShape(nextColorKey(), multiPath.getStrokeWidth(), new PickerPart(prim, PickerPart.ShapePart.BORDER), false);
         }
+        for (int i = m_reused; i < keys.size(); i++)
+        {
+            removeColorKey(keys.get(i));
+        }
+        m_drawing.m_reuse = null;
+        m_drawing = null;
     }
 
+    /**
+     * Supplementary paths must be drawn with {@link #drawShape(String, double, MultiPath, PickerPart, boolean)} and lie within
+     * {@link #getPickerBounds(WiresShape)}, override it otherwise.
+     */
     @SuppressWarnings("unused")
     protected void addSupplementaryPaths(WiresShape prim) {
         //No supplementary paths for a WiresShape by default
     }
 
+    /**
+     * Returns a color key that is not in use by any other shape part.
+     */
+    protected String nextColorKey()
+    {
+        for (int i = 0; i < ColorKeyRotor.COLOR_SPACE_MAXIMUM; i++)
+        {
+            int ckey = m_colorKeyRotor.nextKey();
+
+            if (false == m_colorMap.isDefined(ckey))
+            {
+                return ColorKeyRotor.toColorKey(ckey);
+            }
+        }
+        return m_colorKeyRotor.next();
+    }
+
     protected void drawShape(String color, double strokeWidth, PickerPart pickerPart, boolean fill) {
-        m_colorMap.put(color, pickerPart);
+        color = claimColorKey(color, pickerPart);
 
         BackingColorMapUtils.drawShapeToBacking(m_ctx, pickerPart.getShape(), color, strokeWidth, fill);
     }
 
     protected void drawShape(String color, double strokeWidth, MultiPath multiPath, PickerPart pickerPart, boolean fill) {
-        m_colorMap.put(color, pickerPart);
+        color = claimColorKey(color, pickerPart);
 
         BackingColorMapUtils.drawShapeToBacking(m_ctx, multiPath, color, strokeWidth, fill);
     }
 
-    public PickerPart findShapeAt(int x, int y)
+    private String claimColorKey(String color, final PickerPart pickerPart)
     {
+        if (null != m_drawing)
+        {
+            if ((null != m_drawing.m_reuse) && (m_reused < m_drawing.m_reuse.size()))
+            {
+                color = m_drawing.m_reuse.get(m_reused++);
+            }
+            m_drawing.m_keys.add(color);
+        }
+        m_colorMap.put(ColorKeyRotor.toColorKey(color), pickerPart);
+
+        return color;
+    }
 
-        ImageDataPixelColor color = m_ctx.getImageDataPixelColor(x, y);
-        if (color != null)
+    private void removeColorKeys(final ArrayList<String> keys)
+    {
+        for (String key : keys)
         {
-            PickerPart pickerPart = m_colorMap.get(color.toBrowserRGB());
-            if (pickerPart != null)
+            removeColorKey(key);
+        }
+    }
+
+    private void removeColorKey(final String key)
+    {
+        final int ckey = ColorKeyRotor.toColorKey(key);
+
+        if (null != m_colorMap.remove(ckey))
+        {
+            m_colorKeyRotor.release(ckey);
+        }
+    }
+
+    private void clearColorKeys()
+    {
+        final int[] keys = m_colorMap.keys();
+
+        for (int i = 0; i < keys.length; i++)
+        {
+            m_colorKeyRotor.release(keys[i]);
+        }
+        m_colorMap.clear();
+    }
+
+    /**
+     * Adds every value the picker's drawing of the shape depends on to the geometry, it is compared with the one of the previous build.
+     * Subclasses drawing supplementary paths that move independently of the shape's path must add them.
+     */
+    protected void addGeometry(final WiresShape prim, final PickerGeometry geometry)
+    {
+        final MultiPath multiPath = prim.getPath();
+
+        final Point2D absLoc = multiPath.getComputedLocation();
+
+        geometry.add(absLoc.getX()).add(absLoc.getY()).add(multiPath.getStrokeWidth());
+
+        final NFastArrayList<PathPartList> listOfPaths = multiPath.getActualPathPartListArray();
+
+        for (int k = 0; k < listOfPaths.size(); k++)
+        {
+            final PathPartList path = listOfPaths.get(k);
+
+            geometry.add(path.size());
+
+            for (int i = 0; i < path.size(); i++)
             {
-                return pickerPart;
+                final PathPartEntryJSO entry = path.get(i);
+
+                final NFastDoubleArrayJSO points = entry.getPoints();
+
+                geometry.add(entry.getCommand()).add(points.size());
+
+                for (int p = 0; p < points.size(); p++)
+                {
+                    geometry.add(points.get(p));
+                }
             }
         }
-        return null;
     }
 
+    /**
+     * Returns the area of the backing canvas covered by the shape's parts, including strokes and hotspots.
+     */
+    protected BoundingBox getPickerBounds(final WiresShape prim)
+    {
+        final MultiPath multiPath = prim.getPath();
+
+        final Point2D absLoc = multiPath.getComputedLocation();
+
+        final BoundingBox bbox = multiPath.getBoundingBox();
+
+        double pad = multiPath.getStrokeWidth();
+
+        if (m_options.hotspotsEnabled)
+        {
+            pad = Math.max(pad, m_options.hotspotWidth);
+        }
+        pad = (pad / 2) + DIRTY_MARGIN;
+
+        return new BoundingBox(Math.floor(bbox.getMinX() + absLoc.getX() - pad), Math.floor(bbox.getMinY() + absLoc.getY() - pad), Math.ceil(bbox.getMaxX() + absLoc.getX() + pad), Math.ceil(bbox.getMaxY() + absLoc.getY() + pad));
+    }
+
+    public PickerPart findShapeAt(int x, int y)
+    {
+        final int rgb = m_ctx.getImageDataPixelOpaqueRGB(x, y);
+
+        if (rgb < 0)
+        {
+            return null;
+        }
+        return m_colorMap.get(rgb);
+    }
+
+    /**
+     * Clears the backing canvas and the color map, the next build repaints every shape.
+     */
     public void clear() {
         m_scratchPad.clear();
-        m_colorMap.clear();
+        clearColorKeys();
+        m_colorKeyRotor.recycle();
         m_shapesMap.clear();
+        m_entries.clear();
+        m_full = true;
+    }
+
+    public ScratchPad getScratchPad() {
+        return m_scratchPad;
     }
 
     public PickerOptions getPickerOptions() {
         return m_options;
     }
 
+    /**
+     * Returns the number of builds since this picker was created.
+     */
+    public long getBuildCount() {
+        return m_builds;
+    }
+
+    /**
+     * Returns the time, in milliseconds, taken by the last build.
+     */
+    public double getLastBuildDuration() {
+        return m_duration;
+    }
+
+    /**
+     * Returns the number of shapes drawn by the last build, all of them when it was a full repaint.
+     */
+    public int getLastBuildRedrawCount() {
+        return m_redrawn;
+    }
+
+    private static final class PickerEntry {
+        private final WiresShape     m_shape;
+        private final PickerGeometry m_geometry = new PickerGeometry();
+        private ArrayList<String>    m_keys = new ArrayList<String>();
+        private ArrayList<String>    m_reuse;
+        private BoundingBox          m_bounds;
+        private boolean              m_changed;
+
+        private PickerEntry(final WiresShape shape) {
+            m_shape = shape;
+        }
+    }
+
+    /**
+     * The values a shape's drawing in the picker depends on, in the order they were added.
+     */
+    public static final class PickerGeometry {
+        private double[] m_values = new double[32];
+        private int      m_size;
+
+        public PickerGeometry add(final double value) {
+            if (m_size == m_values.length) {
+                final double[] values = new double[m_size * 2];
+                System.arraycopy(m_values, 0, values, 0, m_size);
+                m_values = values;
+            }
+            m_values[m_size++] = value;
+            return this;
+        }
+
+        public int size() {
+            return m_size;
+        }
+
+        private void clear() {
+            m_size = 0;
+        }
+
+        private boolean isSameAs(final PickerGeometry other) {
+            if (m_size != other.m_size) {
+                return false;
+            }
+            for (int i = 0; i < m_size; i++) {
+                if (m_values[i] != other.m_values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void set(final PickerGeometry other) {
+            m_size = 0;
+            for (int i = 0; i < other.m_size; i++) {
+                add(other.m_values[i]);
+            }
+        }
+    }
+
     public static final class PickerOptions {
         private final NFastArrayList<WiresContainer> shapesToSkip;
         private final boolean                        hotspotsEnabled;
@@ -44,6 +44,18 @@ public final class BoundingPoints implements Iterable<Point2D>
         m_array.push(new Point2D(x + 0, y + h));
     }
 
+    public BoundingPoints(final BoundingPoints bpts)
+    {
+        final Point2DArray array = bpts.getArray();
+
+        final int leng = array.size();
+
+        for (int i = 0; i < leng; i++)
+        {
+            m_array.push(array.get(i).copy());
+        }
+    }
+
     public final Point2DArray getArray()
     {
         return m_array;
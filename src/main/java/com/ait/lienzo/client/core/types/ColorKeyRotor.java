@@ -18,44 +18,164 @@ package com.ait.lienzo.client.core.types;
 
 import com.ait.lienzo.shared.core.types.Color;
 
+/**
+ * Allocates color keys, the RGB colors used to draw shapes into a selection or picker canvas, as ints 0xRRGGBB.
+ * <p>
+ * Keys given back with {@link #release(int)} are held until {@link #recycle()} is called, once the canvas that was drawn with them
+ * has been repainted, so a stale pixel can never be read as the key's new owner. Recycled keys are handed out first, the others walk
+ * the whole 24 bit color space, black excluded, and wrap around once it is exhausted, so callers must still check that a key is not in use.
+ */
 public final class ColorKeyRotor
 {
     public static final int COLOR_SPACE_MAXIMUM = 256 * 256 * 256;
 
-    private int             m_r_color           = 0;
+    public static final int NO_KEY              = -1;
+
+    private int             m_next              = 0;
+
+    private int[]           m_free              = new int[16];
+
+    private int             m_size              = 0;
 
-    private int             m_g_color           = 0;
+    private int[]           m_held              = new int[16];
 
-    private int             m_b_color           = 0;
+    private int             m_hold              = 0;
 
     public ColorKeyRotor()
     {
     }
 
+    /**
+     * Returns the next color key, as an int 0xRRGGBB.
+     */
+    public int nextKey()
+    {
+        if (m_size > 0)
+        {
+            return m_free[--m_size];
+        }
+        m_next++;
+
+        if (m_next >= COLOR_SPACE_MAXIMUM)
+        {
+            m_next = 1;
+        }
+        return m_next;
+    }
+
+    /**
+     * Returns the next color key, as a browser hex color.
+     */
     public String next()
     {
-        m_r_color += 16;
+        return toColorKey(nextKey());
+    }
 
-        if (m_r_color >= 256)
+    /**
+     * Gives a key that is no longer used back to the rotor. It is not handed out again before the next {@link #recycle()}.
+     */
+    public void release(final int key)
+    {
+        if ((key <= 0) || (key >= COLOR_SPACE_MAXIMUM))
         {
-            m_r_color = m_r_color - 255;
+            return;
+        }
+        if (m_hold == m_held.length)
+        {
+            m_held = grow(m_held, m_hold);
+        }
+        m_held[m_hold++] = key;
+    }
 
-            m_g_color += 16;
+    /**
+     * Makes the released keys available again. Call it once the canvas drawn with them has been cleared or repainted.
+     */
+    public void recycle()
+    {
+        recycle(m_hold);
+    }
 
-            if (m_g_color >= 256)
-            {
-                m_g_color = m_g_color - 255;
+    /**
+     * Makes the first count released keys available again, the ones released before {@link #getHeldCount()} returned count.
+     * Keys released since are held until a following recycle.
+     */
+    public void recycle(final int count)
+    {
+        final int done = Math.min(count, m_hold);
+
+        if (done <= 0)
+        {
+            return;
+        }
+        while ((m_size + done) > m_free.length)
+        {
+            m_free = grow(m_free, m_size);
+        }
+        System.arraycopy(m_held, 0, m_free, m_size, done);
 
-                m_b_color += 16;
+        m_size += done;
 
-                if (m_b_color >= 256)
-                {
-                    m_b_color = m_b_color - 255;
+        m_hold -= done;
 
-                    return next();
-                }
+        System.arraycopy(m_held, done, m_held, 0, m_hold);
+    }
+
+    /**
+     * Returns the number of recycled keys waiting to be reused.
+     */
+    public int getReleasedCount()
+    {
+        return m_size;
+    }
+
+    /**
+     * Returns the number of released keys held until the next {@link #recycle()}.
+     */
+    public int getHeldCount()
+    {
+        return m_hold;
+    }
+
+    private static final int[] grow(final int[] keys, final int size)
+    {
+        final int[] grow = new int[keys.length * 2];
+
+        System.arraycopy(keys, 0, grow, 0, size);
+
+        return grow;
+    }
+
+    public static final int toColorKey(final int r, final int g, final int b)
+    {
+        return ((r & 0xff) << 16) | ((g & 0xff) << 8) | (b & 0xff);
+    }
+
+    public static final String toColorKey(final int key)
+    {
+        return Color.rgbToBrowserHexColor((key >> 16) & 0xff, (key >> 8) & 0xff, key & 0xff);
+    }
+
+    /**
+     * Returns the key of a browser hex color "#RRGGBB", or {@link #NO_KEY} if the color is not in that form.
+     */
+    public static final int toColorKey(final String color)
+    {
+        if ((null == color) || (color.length() != 7) || (color.charAt(0) != '#'))
+        {
+            return NO_KEY;
+        }
+        int key = 0;
+
+        for (int i = 1; i < 7; i++)
+        {
+            final int digit = Character.digit(color.charAt(i), 16);
+
+            if (digit < 0)
+            {
+                return NO_KEY;
             }
+            key = (key << 4) | digit;
         }
-        return Color.rgbToBrowserHexColor(m_r_color, m_g_color, m_b_color);
+        return key;
     }
 }
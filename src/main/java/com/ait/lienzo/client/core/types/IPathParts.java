@@ -0,0 +1,30 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.types;
+
+/**
+ * The parts of a path read by index, each a {@link PathPartEntryJSO} command and its points,
+ * as {@link com.ait.lienzo.client.core.util.PathGeometry} walks them.
+ */
+public interface IPathParts
+{
+    public int size();
+
+    public int getCommand(int index);
+
+    public double getPoint(int index, int point);
+}
@@ -204,6 +204,23 @@ public final class ImageData extends JavaScriptObject
         setColorAt(red, x, y, OFFSET_RED);
     }
 
+    /**
+     * Returns the red, green and blue values at position (x,y) packed as an int 0xRRGGBB, if the pixel is fully opaque.
+     * 
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the packed color at position (x,y), or -1 if the pixel is not fully opaque or not in the image
+     */
+    public final native int getOpaqueRGBAt(int x, int y)
+    /*-{
+		var i = 4 * (x + y * this.width);
+		var d = this.data;
+		if (d[i + 3] !== 255) {
+			return -1;
+		}
+		return ((d[i] << 16) | (d[i + 1] << 8) | d[i + 2]);
+    }-*/;
+
     /**
      * Returns the color value at position (x,y) with the specified offset.
      * 
@@ -26,7 +26,7 @@ import com.google.gwt.json.client.JSONValue;
 
 import java.util.HashMap;
 
-public final class PathPartList
+public final class PathPartList implements IPathParts
 {
     private double                                      m_cpx;
 
@@ -80,6 +80,18 @@ public final class PathPartList
         return m_jso.length();
     }
 
+    @Override
+    public final int getCommand(final int i)
+    {
+        return m_jso.get(i).getCommand();
+    }
+
+    @Override
+    public final double getPoint(final int i, final int point)
+    {
+        return m_jso.get(i).getPoints().get(point);
+    }
+
     public final void clear()
     {
         m_p2d = null;
@@ -20,6 +20,10 @@ import com.ait.lienzo.client.core.Context2D;
 import com.ait.lienzo.client.core.types.ImageData;
 import com.ait.lienzo.shared.core.types.Color;
 
+/**
+ * Resolves color strings to RGBA. Strings {@link Color#parseColorString(String)} can parse never touch a canvas,
+ * the others, such as "currentcolor" or the CSS4 color spaces, are painted into a scratch canvas and read back.
+ */
 public final class ColorExtractor
 {
     private static final ScratchPad SCRATCH = new ScratchPad(2, 2);
@@ -30,6 +34,12 @@ public final class ColorExtractor
 
     public static final Color extract(final String color)
     {
+        final Color parsed = Color.parseColorString(color);
+
+        if (null != parsed)
+        {
+            return parsed;
+        }
         SCRATCH.clear();
 
         final Context2D context = SCRATCH.getContext();
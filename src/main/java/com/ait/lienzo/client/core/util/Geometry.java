@@ -602,6 +602,159 @@ public final class Geometry
         return Math.sqrt((dx * dx) + (dy * dy));
     }
 
+    /**
+     * Returns the distance from the point (x,y) to the line segment (x0,y0) - (x1,y1).
+     */
+    public static final double distanceToLineSegment(final double x, final double y, final double x0, final double y0, final double x1, final double y1)
+    {
+        final double dx = x1 - x0;
+
+        final double dy = y1 - y0;
+
+        final double dd = (dx * dx) + (dy * dy);
+
+        if (dd == 0)
+        {
+            return distance(x - x0, y - y0);
+        }
+        double t = (((x - x0) * dx) + ((y - y0) * dy)) / dd;
+
+        if (t < 0)
+        {
+            t = 0;
+        }
+        else if (t > 1)
+        {
+            t = 1;
+        }
+        return distance(x - (x0 + (t * dx)), y - (y0 + (t * dy)));
+    }
+
+    /**
+     * Returns the distance from the point (x,y) to what the canvas draws for arcTo(x1, y1, x2, y2, r) from the current point (x0,y0):
+     * a line to the first tangent point, then the arc of radius r tangent to both lines, ending on the line (x1,y1) - (x2,y2).
+     */
+    public static final double distanceToArcTo(final double x, final double y, final double x0, final double y0, final double x1, final double y1, final double x2, final double y2, final double r)
+    {
+        final double ux = x0 - x1;
+
+        final double uy = y0 - y1;
+
+        final double vx = x2 - x1;
+
+        final double vy = y2 - y1;
+
+        final double lu = distance(ux, uy);
+
+        final double lv = distance(vx, vy);
+
+        final double cross = (ux * vy) - (uy * vx);
+
+        if ((r <= 0) || (lu == 0) || (lv == 0) || (cross == 0))
+        {
+            // the canvas draws a straight line to the corner
+            return distanceToLineSegment(x, y, x0, y0, x1, y1);
+        }
+        final double half = Math.acos(Math.max(-1, Math.min(1, ((ux * vx) + (uy * vy)) / (lu * lv)))) / 2;
+
+        final double tang = r / Math.tan(half);
+
+        final double cent = r / Math.sin(half);
+
+        final double t1x = x1 + ((ux / lu) * tang);
+
+        final double t1y = y1 + ((uy / lu) * tang);
+
+        final double t2x = x1 + ((vx / lv) * tang);
+
+        final double t2y = y1 + ((vy / lv) * tang);
+
+        final double bx = (ux / lu) + (vx / lv);
+
+        final double by = (uy / lu) + (vy / lv);
+
+        final double lb = distance(bx, by);
+
+        final double cx = x1 + ((bx / lb) * cent);
+
+        final double cy = y1 + ((by / lb) * cent);
+
+        final double line = distanceToLineSegment(x, y, x0, y0, t1x, t1y);
+
+        final double ax = t1x - cx;
+
+        final double ay = t1y - cy;
+
+        final double ex = t2x - cx;
+
+        final double ey = t2y - cy;
+
+        final double px = x - cx;
+
+        final double py = y - cy;
+
+        final double span = (ax * ey) - (ay * ex);
+
+        final double arc;
+
+        // the arc is the short one, the point projects onto it if it lies in the wedge from the first tangent point to the second
+        if ((((ax * py) - (ay * px)) * span >= 0) && (((px * ey) - (py * ex)) * span >= 0))
+        {
+            arc = Math.abs(distance(px, py) - r);
+        }
+        else
+        {
+            arc = Math.min(distance(x - t1x, y - t1y), distance(x - t2x, y - t2y));
+        }
+        return Math.min(line, arc);
+    }
+
+    /**
+     * Returns the distance from the point (x,y) to the cubic bezier curve (x0,y0) (cx0,cy0) (cx1,cy1) (x1,y1), measured against the curve flattened into steps segments.
+     */
+    public static final double distanceToBezierCurve(final double x, final double y, final double x0, final double y0, final double cx0, final double cy0, final double cx1, final double cy1, final double x1, final double y1, final int steps)
+    {
+        double best = Double.MAX_VALUE;
+
+        double px = x0;
+
+        double py = y0;
+
+        for (int i = 1; i <= steps; i++)
+        {
+            final double t = ((double) i) / steps;
+
+            final double m = 1 - t;
+
+            final double a = m * m * m;
+
+            final double b = 3 * m * m * t;
+
+            final double c = 3 * m * t * t;
+
+            final double d = t * t * t;
+
+            final double nx = (a * x0) + (b * cx0) + (c * cx1) + (d * x1);
+
+            final double ny = (a * y0) + (b * cy0) + (c * cy1) + (d * y1);
+
+            best = Math.min(best, distanceToLineSegment(x, y, px, py, nx, ny));
+
+            px = nx;
+
+            py = ny;
+        }
+        return best;
+    }
+
+    /**
+     * Returns the distance from the point (x,y) to the quadratic curve (x0,y0) (cx,cy) (x1,y1), measured against the curve flattened into steps segments.
+     */
+    public static final double distanceToQuadraticCurve(final double x, final double y, final double x0, final double y0, final double cx, final double cy, final double x1, final double y1, final int steps)
+    {
+        return distanceToBezierCurve(x, y, x0, y0, x0 + ((2.0 / 3) * (cx - x0)), y0 + ((2.0 / 3) * (cy - y0)), x1 + ((2.0 / 3) * (cx - x1)), y1 + ((2.0 / 3) * (cy - y1)), x1, y1, steps);
+    }
+
     public static final double getVectorRatio(final double[] u, final double[] v)
     {
         return ((u[0] * v[0]) + (u[1] * v[1])) / (distance(u[0], u[1]) * distance(v[0], v[1]));
@@ -0,0 +1,270 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * A map from primitive int keys to values, open addressing with linear probing, so lookups don't box or build keys.
+ * <p>
+ * Plain Java, no JSO's, so it can be used from both client code and JVM tests. Null values are not allowed.
+ *
+ * @param <V>
+ */
+public final class IntObjectMap<V>
+{
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int[]            m_keys;
+
+    private Object[]         m_vals;
+
+    private int              m_mask;
+
+    private int              m_size;
+
+    public IntObjectMap()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntObjectMap(final int capacity)
+    {
+        int size = 8;
+
+        while (size < (capacity * 2))
+        {
+            size *= 2;
+        }
+        allocate(size);
+    }
+
+    public final int size()
+    {
+        return m_size;
+    }
+
+    public final boolean isEmpty()
+    {
+        return (0 == m_size);
+    }
+
+    public final boolean isDefined(final int key)
+    {
+        return (null != get(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    public final V get(final int key)
+    {
+        int i = slot(key);
+
+        Object val;
+
+        while (null != (val = m_vals[i]))
+        {
+            if (m_keys[i] == key)
+            {
+                return (V) val;
+            }
+            i = (i + 1) & m_mask;
+        }
+        return null;
+    }
+
+    /**
+     * Maps the key to the value, returns the value previously mapped to the key, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public final V put(final int key, final V value)
+    {
+        if (null == value)
+        {
+            throw new NullPointerException("value");
+        }
+        int i = slot(key);
+
+        Object val;
+
+        while (null != (val = m_vals[i]))
+        {
+            if (m_keys[i] == key)
+            {
+                m_vals[i] = value;
+
+                return (V) val;
+            }
+            i = (i + 1) & m_mask;
+        }
+        m_keys[i] = key;
+
+        m_vals[i] = value;
+
+        if ((++m_size * 2) > m_vals.length)
+        {
+            rehash(m_vals.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the key, returns the value it was mapped to, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public final V remove(final int key)
+    {
+        int i = slot(key);
+
+        Object val;
+
+        while (null != (val = m_vals[i]))
+        {
+            if (m_keys[i] == key)
+            {
+                m_vals[i] = null;
+
+                m_size--;
+
+                shift(i);
+
+                return (V) val;
+            }
+            i = (i + 1) & m_mask;
+        }
+        return null;
+    }
+
+    public final void clear()
+    {
+        if (m_size > 0)
+        {
+            for (int i = 0; i < m_vals.length; i++)
+            {
+                m_vals[i] = null;
+            }
+            m_size = 0;
+        }
+    }
+
+    public final int[] keys()
+    {
+        final int[] keys = new int[m_size];
+
+        int k = 0;
+
+        for (int i = 0; i < m_vals.length; i++)
+        {
+            if (null != m_vals[i])
+            {
+                keys[k++] = m_keys[i];
+            }
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    public final Collection<V> values()
+    {
+        final ArrayList<V> vals = new ArrayList<V>(m_size);
+
+        for (int i = 0; i < m_vals.length; i++)
+        {
+            if (null != m_vals[i])
+            {
+                vals.add((V) m_vals[i]);
+            }
+        }
+        return vals;
+    }
+
+    /**
+     * Moves the entries following a removed slot back, so that no probe sequence crosses an empty slot.
+     */
+    private final void shift(int hole)
+    {
+        int i = hole;
+
+        while (true)
+        {
+            i = (i + 1) & m_mask;
+
+            final Object val = m_vals[i];
+
+            if (null == val)
+            {
+                return;
+            }
+            final int home = slot(m_keys[i]);
+
+            // the entry can move to the hole only if its home slot is not cyclically in (hole, i]
+            if (((i - home) & m_mask) >= ((i - hole) & m_mask))
+            {
+                m_keys[hole] = m_keys[i];
+
+                m_vals[hole] = val;
+
+                m_vals[i] = null;
+
+                hole = i;
+            }
+        }
+    }
+
+    private final int slot(final int key)
+    {
+        int h = key * 0x9E3779B9;
+
+        h ^= (h >>> 16);
+
+        return h & m_mask;
+    }
+
+    private final void allocate(final int size)
+    {
+        m_keys = new int[size];
+
+        m_vals = new Object[size];
+
+        m_mask = size - 1;
+    }
+
+    private final void rehash(final int size)
+    {
+        final int[] keys = m_keys;
+
+        final Object[] vals = m_vals;
+
+        allocate(size);
+
+        for (int i = 0; i < vals.length; i++)
+        {
+            if (null != vals[i])
+            {
+                int j = slot(keys[i]);
+
+                while (null != m_vals[j])
+                {
+                    j = (j + 1) & m_mask;
+                }
+                m_keys[j] = keys[i];
+
+                m_vals[j] = vals[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,1087 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.ait.lienzo.shared.core.types.Direction;
+
+/**
+ * Computes orthogonal routes around rectangular obstacles, and keeps a set of routes up to date as obstacles and end points change.
+ * <p>
+ * Obstacles are indexed in an {@link RTree}, padded by the margin. Each search builds a sparse grid from the padded edges of the
+ * obstacles near its end points only, and runs A* over it, where every bend costs the bend penalty on top of the route length.
+ * A route leaves its head obstacle, and enters its tail obstacle, straight along the given direction; any other obstacle that
+ * contains an end point, such as a parent container, is ignored for that route.
+ * <p>
+ * Routes are recomputed lazily: changing a route's end points, or moving an obstacle that overlaps a route, marks the route dirty,
+ * and {@link #route()} recomputes dirty routes until the frame budget is used, so that dragging stays responsive.
+ * <p>
+ * Plain Java, no JSO's, so it can be used from both client code and JVM tests. Points are returned as flat x,y arrays.
+ */
+public final class OrthogonalRouter
+{
+    public static final double           DEFAULT_MARGIN       = 20;
+
+    public static final double           DEFAULT_BEND_PENALTY = 50;
+
+    public static final double           DEFAULT_FRAME_BUDGET = 8;
+
+    /**
+     * Largest sparse grid, in nodes, a single search will build before giving up.
+     */
+    public static final int              MAXIMUM_GRID_SIZE    = 1 << 20;
+
+    public static final int              NO_OBSTACLE          = -1;
+
+    private static final int             SEARCH_ATTEMPTS      = 3;
+
+    private static final int             EAST                 = 0;
+
+    private static final int             WEST                 = 1;
+
+    private static final int             SOUTH                = 2;
+
+    private static final int             NORTH                = 3;
+
+    private static final int             ANY                  = -1;
+
+    private final IntObjectMap<double[]> m_obstacles          = new IntObjectMap<double[]>();
+
+    private final RTree<Integer>         m_obstacleIndex      = new RTree<Integer>();
+
+    private final IntObjectMap<Route>    m_routes             = new IntObjectMap<Route>();
+
+    private final RTree<Integer>         m_routeIndex         = new RTree<Integer>();
+
+    private final IntObjectMap<Route>    m_dirty              = new IntObjectMap<Route>();
+
+    private final ArrayList<Integer>     m_found              = new ArrayList<Integer>();
+
+    private double                       m_margin             = DEFAULT_MARGIN;
+
+    private double                       m_bendPenalty        = DEFAULT_BEND_PENALTY;
+
+    private double                       m_budget             = DEFAULT_FRAME_BUDGET;
+
+    private double[]                     m_xs                 = new double[64];
+
+    private double[]                     m_ys                 = new double[64];
+
+    private boolean[]                    m_hblocked           = new boolean[256];
+
+    private boolean[]                    m_vblocked           = new boolean[256];
+
+    private double[]                     m_cost               = new double[1024];
+
+    private int[]                        m_from               = new int[1024];
+
+    private int[]                        m_stamp              = new int[1024];
+
+    private int                          m_search;
+
+    private int[]                        m_heap               = new int[256];
+
+    private double[]                     m_rank               = new double[256];
+
+    private int                          m_heapSize;
+
+    private int                          m_expanded;
+
+    public final double getMargin()
+    {
+        return m_margin;
+    }
+
+    /**
+     * Sets the clearance kept between routes and obstacles. All routes are marked dirty.
+     *
+     * @param margin
+     * @return this OrthogonalRouter
+     */
+    public final OrthogonalRouter setMargin(final double margin)
+    {
+        m_margin = Math.max(0, margin);
+
+        m_obstacleIndex.clear();
+
+        for (final int id : m_obstacles.keys())
+        {
+            final double[] rect = m_obstacles.get(id);
+
+            m_obstacleIndex.insert(id, rect[0] - m_margin, rect[1] - m_margin, rect[2] + m_margin, rect[3] + m_margin);
+        }
+        for (final Route route : m_routes.values())
+        {
+            m_dirty.put(route.m_id, route);
+        }
+        return this;
+    }
+
+    public final double getBendPenalty()
+    {
+        return m_bendPenalty;
+    }
+
+    /**
+     * Sets the cost of a bend, in the same units as the route length. Higher values give fewer, longer detours.
+     *
+     * @param penalty
+     * @return this OrthogonalRouter
+     */
+    public final OrthogonalRouter setBendPenalty(final double penalty)
+    {
+        m_bendPenalty = Math.max(0, penalty);
+
+        for (final Route route : m_routes.values())
+        {
+            m_dirty.put(route.m_id, route);
+        }
+        return this;
+    }
+
+    public final double getFrameBudget()
+    {
+        return m_budget;
+    }
+
+    /**
+     * Sets the routing time budget per call to {@link #route()}, in milliseconds. At least one dirty route is recomputed every call.
+     * 0 or less recomputes every dirty route.
+     *
+     * @param budget
+     * @return this OrthogonalRouter
+     */
+    public final OrthogonalRouter setFrameBudget(final double budget)
+    {
+        m_budget = budget;
+
+        return this;
+    }
+
+    /**
+     * Adds or moves an obstacle, and marks dirty the routes it overlapped or now overlaps.
+     *
+     * @return true if the obstacle was added or changed
+     */
+    public final boolean setObstacle(final int id, final double x, final double y, final double w, final double h)
+    {
+        final double[] rect = m_obstacles.get(id);
+
+        if (null != rect)
+        {
+            if ((rect[0] == x) && (rect[1] == y) && (rect[2] == (x + w)) && (rect[3] == (y + h)))
+            {
+                return false;
+            }
+            invalidate(rect);
+        }
+        final double[] next = new double[] { x, y, x + w, y + h };
+
+        m_obstacles.put(id, next);
+
+        m_obstacleIndex.insert(id, x - m_margin, y - m_margin, next[2] + m_margin, next[3] + m_margin);
+
+        invalidate(next);
+
+        return true;
+    }
+
+    public final boolean removeObstacle(final int id)
+    {
+        final double[] rect = m_obstacles.remove(id);
+
+        if (null == rect)
+        {
+            return false;
+        }
+        m_obstacleIndex.remove(id);
+
+        invalidate(rect);
+
+        return true;
+    }
+
+    public final boolean hasObstacle(final int id)
+    {
+        return m_obstacles.isDefined(id);
+    }
+
+    public final int getObstacleCount()
+    {
+        return m_obstacles.size();
+    }
+
+    /**
+     * Adds or updates a route. A route whose end points did not change keeps its computed points and is not marked dirty.
+     *
+     * @param id
+     * @param x0 head x
+     * @param y0 head y
+     * @param head the direction the route leaves the head in, or NONE
+     * @param headObstacle the obstacle the head is attached to, or {@link #NO_OBSTACLE}
+     * @param x1 tail x
+     * @param y1 tail y
+     * @param tail the direction the route enters the tail from, as for {@link com.ait.lienzo.client.core.shape.OrthogonalPolyLine}, or NONE
+     * @param tailObstacle the obstacle the tail is attached to, or {@link #NO_OBSTACLE}
+     * @return true if the route was marked dirty
+     */
+    public final boolean setRoute(final int id, final double x0, final double y0, final Direction head, final int headObstacle, final double x1, final double y1, final Direction tail, final int tailObstacle)
+    {
+        Route route = m_routes.get(id);
+
+        if (null == route)
+        {
+            route = new Route(id);
+
+            m_routes.put(id, route);
+        }
+        else if (route.matches(x0, y0, head, headObstacle, x1, y1, tail, tailObstacle))
+        {
+            return false;
+        }
+        route.set(x0, y0, head, headObstacle, x1, y1, tail, tailObstacle);
+
+        m_dirty.put(id, route);
+
+        return true;
+    }
+
+    public final boolean removeRoute(final int id)
+    {
+        if (null == m_routes.remove(id))
+        {
+            return false;
+        }
+        m_dirty.remove(id);
+
+        m_routeIndex.remove(id);
+
+        return true;
+    }
+
+    public final boolean hasRoute(final int id)
+    {
+        return m_routes.isDefined(id);
+    }
+
+    /**
+     * Returns the last computed points of the route as a flat x,y array, head to tail, or null if it has not been routed yet.
+     */
+    public final double[] getRoute(final int id)
+    {
+        final Route route = m_routes.get(id);
+
+        if (null == route)
+        {
+            return null;
+        }
+        return route.m_points;
+    }
+
+    public final boolean isDirty(final int id)
+    {
+        return m_dirty.isDefined(id);
+    }
+
+    public final int getDirtyCount()
+    {
+        return m_dirty.size();
+    }
+
+    public final int getRouteCount()
+    {
+        return m_routes.size();
+    }
+
+    /**
+     * Returns the number of grid states expanded by the last search, for diagnostics.
+     */
+    public final int getLastExpandedCount()
+    {
+        return m_expanded;
+    }
+
+    public final void clear()
+    {
+        m_obstacles.clear();
+
+        m_obstacleIndex.clear();
+
+        m_routes.clear();
+
+        m_routeIndex.clear();
+
+        m_dirty.clear();
+    }
+
+    /**
+     * Recomputes dirty routes within the frame budget.
+     *
+     * @return the ids of the routes that were recomputed
+     */
+    public final int[] route()
+    {
+        return route(m_budget);
+    }
+
+    /**
+     * Recomputes dirty routes until the budget, in milliseconds, is used. At least one route is recomputed, 0 or less recomputes them all.
+     *
+     * @return the ids of the routes that were recomputed
+     */
+    public final int[] route(final double budget)
+    {
+        if (m_dirty.isEmpty())
+        {
+            return new int[0];
+        }
+        final long beg = System.currentTimeMillis();
+
+        final int[] keys = m_dirty.keys();
+
+        int done = 0;
+
+        while (done < keys.length)
+        {
+            final Route route = m_dirty.remove(keys[done++]);
+
+            route.m_points = search(route.m_x0, route.m_y0, route.m_head, route.m_headObstacle, route.m_x1, route.m_y1, route.m_tail, route.m_tailObstacle);
+
+            index(route);
+
+            if ((budget > 0) && ((System.currentTimeMillis() - beg) >= budget))
+            {
+                break;
+            }
+        }
+        return (done == keys.length) ? keys : Arrays.copyOf(keys, done);
+    }
+
+    /**
+     * Computes a single route against the current obstacles, without tracking it.
+     *
+     * @return the route points as a flat x,y array, head to tail. Falls back to the two end points when no route is found.
+     */
+    public final double[] route(final double x0, final double y0, final Direction head, final int headObstacle, final double x1, final double y1, final Direction tail, final int tailObstacle)
+    {
+        return search(x0, y0, head, headObstacle, x1, y1, tail, tailObstacle);
+    }
+
+    private final void index(final Route route)
+    {
+        final double[] points = route.m_points;
+
+        double minx = points[0];
+
+        double miny = points[1];
+
+        double maxx = minx;
+
+        double maxy = miny;
+
+        for (int i = 2; i < points.length; i += 2)
+        {
+            minx = Math.min(minx, points[i]);
+
+            maxx = Math.max(maxx, points[i]);
+
+            miny = Math.min(miny, points[i + 1]);
+
+            maxy = Math.max(maxy, points[i + 1]);
+        }
+        m_routeIndex.insert(route.m_id, minx, miny, maxx, maxy);
+    }
+
+    /**
+     * Marks dirty every routed route whose bounds intersect the given obstacle, padded by the margin.
+     */
+    private final void invalidate(final double[] rect)
+    {
+        m_found.clear();
+
+        m_routeIndex.search(rect[0] - m_margin, rect[1] - m_margin, rect[2] + m_margin, rect[3] + m_margin, m_found);
+
+        for (int i = 0; i < m_found.size(); i++)
+        {
+            final int id = m_found.get(i);
+
+            m_dirty.put(id, m_routes.get(id));
+        }
+    }
+
+    private final double[] search(final double x0, final double y0, final Direction head, final int headObstacle, final double x1, final double y1, final Direction tail, final int tailObstacle)
+    {
+        final double[] a = escape(x0, y0, head, m_obstacles.get(headObstacle));
+
+        final double[] b = escape(x1, y1, tail, m_obstacles.get(tailObstacle));
+
+        m_expanded = 0;
+
+        double pad = Math.max(m_margin * 4, Math.max(Math.abs(a[0] - b[0]), Math.abs(a[1] - b[1])) * 0.25);
+
+        for (int attempt = 0; attempt < SEARCH_ATTEMPTS; attempt++)
+        {
+            final double[] path = search(a, b, Math.min(a[0], b[0]) - pad, Math.min(a[1], b[1]) - pad, Math.max(a[0], b[0]) + pad, Math.max(a[1], b[1]) + pad);
+
+            if (null != path)
+            {
+                return simplify(x0, y0, path, x1, y1);
+            }
+            pad *= 2;
+        }
+        return new double[] { x0, y0, x1, y1 };
+    }
+
+    /**
+     * Returns the point where a route leaves the padded obstacle from x,y, and the direction index it leaves in, or ANY.
+     */
+    private final double[] escape(final double x, final double y, final Direction direction, final double[] rect)
+    {
+        int dir = toIndex(direction);
+
+        if (null == rect)
+        {
+            return new double[] { x, y, dir };
+        }
+        if (ANY == dir)
+        {
+            // leave through the nearest side
+            double best = x - rect[0];
+
+            dir = WEST;
+
+            if ((rect[2] - x) < best)
+            {
+                best = rect[2] - x;
+
+                dir = EAST;
+            }
+            if ((y - rect[1]) < best)
+            {
+                best = y - rect[1];
+
+                dir = NORTH;
+            }
+            if ((rect[3] - y) < best)
+            {
+                dir = SOUTH;
+            }
+        }
+        switch (dir)
+        {
+            case EAST:
+                return new double[] { Math.max(x, rect[2] + m_margin), y, dir };
+            case WEST:
+                return new double[] { Math.min(x, rect[0] - m_margin), y, dir };
+            case SOUTH:
+                return new double[] { x, Math.max(y, rect[3] + m_margin), dir };
+            default:
+                return new double[] { x, Math.min(y, rect[1] - m_margin), dir };
+        }
+    }
+
+    /**
+     * Runs A* from a to b over the sparse grid of the window, returns the grid points of the path as a flat x,y array, or null.
+     */
+    private final double[] search(final double[] a, final double[] b, final double minx, final double miny, final double maxx, final double maxy)
+    {
+        m_found.clear();
+
+        m_obstacleIndex.search(minx, miny, maxx, maxy, m_found);
+
+        final ArrayList<double[]> blocks = new ArrayList<double[]>(m_found.size());
+
+        final double m = m_margin;
+
+        for (int i = 0; i < m_found.size(); i++)
+        {
+            final double[] r = m_obstacles.get(m_found.get(i));
+
+            final double[] p = new double[] { r[0] - m, r[1] - m, r[2] + m, r[3] + m };
+
+            // obstacles that contain an end point, like the containers of the connected shapes, do not block the route
+
+            if (contains(p, a[0], a[1]) || contains(p, b[0], b[1]))
+            {
+                continue;
+            }
+            blocks.add(p);
+        }
+        int nx = 0;
+
+        int ny = 0;
+
+        ensureLines(4 + (blocks.size() * 2));
+
+        m_xs[nx++] = minx;
+
+        m_xs[nx++] = maxx;
+
+        m_xs[nx++] = a[0];
+
+        m_xs[nx++] = b[0];
+
+        m_ys[ny++] = miny;
+
+        m_ys[ny++] = maxy;
+
+        m_ys[ny++] = a[1];
+
+        m_ys[ny++] = b[1];
+
+        for (int i = 0; i < blocks.size(); i++)
+        {
+            final double[] p = blocks.get(i);
+
+            if ((p[0] > minx) && (p[0] < maxx))
+            {
+                m_xs[nx++] = p[0];
+            }
+            if ((p[2] > minx) && (p[2] < maxx))
+            {
+                m_xs[nx++] = p[2];
+            }
+            if ((p[1] > miny) && (p[1] < maxy))
+            {
+                m_ys[ny++] = p[1];
+            }
+            if ((p[3] > miny) && (p[3] < maxy))
+            {
+                m_ys[ny++] = p[3];
+            }
+        }
+        nx = unique(m_xs, nx);
+
+        ny = unique(m_ys, ny);
+
+        final int size = nx * ny;
+
+        if (size > MAXIMUM_GRID_SIZE)
+        {
+            return null;
+        }
+        ensureGrid(size);
+
+        Arrays.fill(m_hblocked, 0, size, false);
+
+        Arrays.fill(m_vblocked, 0, size, false);
+
+        for (int i = 0; i < blocks.size(); i++)
+        {
+            block(blocks.get(i), nx, ny);
+        }
+        final int ai = lowest(m_xs, nx, a[0], false);
+
+        final int aj = lowest(m_ys, ny, a[1], false);
+
+        final int bi = lowest(m_xs, nx, b[0], false);
+
+        final int bj = lowest(m_ys, ny, b[1], false);
+
+        final int goal = (bj * nx) + bi;
+
+        final int arrive = (ANY == (int) b[2]) ? ANY : opposite((int) b[2]);
+
+        if (++m_search == Integer.MAX_VALUE)
+        {
+            Arrays.fill(m_stamp, 0);
+
+            m_search = 1;
+        }
+        m_heapSize = 0;
+
+        final int start = (aj * nx) + ai;
+
+        if (start == goal)
+        {
+            return new double[] { a[0], a[1] };
+        }
+        for (int d = 0; d < 4; d++)
+        {
+            if ((ANY == (int) a[2]) || (d == (int) a[2]))
+            {
+                final int s = (start * 4) + d;
+
+                m_stamp[s] = m_search;
+
+                m_cost[s] = 0;
+
+                m_from[s] = -1;
+
+                push(s, heuristic(ai, aj, bi, bj));
+            }
+        }
+        while (m_heapSize > 0)
+        {
+            // the bend term makes the heuristic admissible but not consistent, so states may be reopened,
+            // and an entry ranked above its state's current cost is stale
+
+            final double rank = m_rank[0];
+
+            final int s = pop();
+
+            final int node = s >> 2;
+
+            final int i = node % nx;
+
+            final int j = node / nx;
+
+            final double g = m_cost[s];
+
+            if (rank > (g + heuristic(i, j, bi, bj)))
+            {
+                continue;
+            }
+            if (node == goal)
+            {
+                return path(s, nx);
+            }
+            m_expanded++;
+
+            final int dir = s & 3;
+
+            for (int d = 0; d < 4; d++)
+            {
+                if (d == opposite(dir))
+                {
+                    continue;
+                }
+                int ni = i;
+
+                int nj = j;
+
+                switch (d)
+                {
+                    case EAST:
+                        if ((++ni >= nx) || m_hblocked[node])
+                        {
+                            continue;
+                        }
+                        break;
+                    case WEST:
+                        if ((--ni < 0) || m_hblocked[node - 1])
+                        {
+                            continue;
+                        }
+                        break;
+                    case SOUTH:
+                        if ((++nj >= ny) || m_vblocked[node])
+                        {
+                            continue;
+                        }
+                        break;
+                    default:
+                        if ((--nj < 0) || m_vblocked[node - nx])
+                        {
+                            continue;
+                        }
+                        break;
+                }
+                final int next = (nj * nx) + ni;
+
+                double cost = g + Math.abs(m_xs[ni] - m_xs[i]) + Math.abs(m_ys[nj] - m_ys[j]);
+
+                if (d != dir)
+                {
+                    cost += m_bendPenalty;
+                }
+                if ((next == goal) && (ANY != arrive) && (d != arrive))
+                {
+                    cost += (d == opposite(arrive)) ? (m_bendPenalty * 2) : m_bendPenalty;
+                }
+                final int ns = (next * 4) + d;
+
+                if ((m_stamp[ns] == m_search) && (m_cost[ns] <= cost))
+                {
+                    continue;
+                }
+                m_stamp[ns] = m_search;
+
+                m_cost[ns] = cost;
+
+                m_from[ns] = s;
+
+                push(ns, cost + heuristic(ni, nj, bi, bj));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Blocks the grid edges that run through the inside of the padded obstacle, edges along its sides stay open.
+     */
+    private final void block(final double[] p, final int nx, final int ny)
+    {
+        final int x0 = lowest(m_xs, nx, p[0], false);
+
+        final int x1 = highest(m_xs, nx, p[2], false);
+
+        final int y0 = lowest(m_ys, ny, p[1], false);
+
+        final int y1 = highest(m_ys, ny, p[3], false);
+
+        // horizontal edges i..i+1 on rows strictly inside
+
+        final int ry0 = lowest(m_ys, ny, p[1], true);
+
+        final int ry1 = highest(m_ys, ny, p[3], true);
+
+        for (int j = ry0; j <= ry1; j++)
+        {
+            final int row = j * nx;
+
+            for (int i = x0; i < x1; i++)
+            {
+                m_hblocked[row + i] = true;
+            }
+        }
+        // vertical edges j..j+1 on columns strictly inside
+
+        final int cx0 = lowest(m_xs, nx, p[0], true);
+
+        final int cx1 = highest(m_xs, nx, p[2], true);
+
+        for (int j = y0; j < y1; j++)
+        {
+            final int row = j * nx;
+
+            for (int i = cx0; i <= cx1; i++)
+            {
+                m_vblocked[row + i] = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the first index whose line is at or after, or strictly after, the value.
+     */
+    private static final int lowest(final double[] lines, final int size, final double value, final boolean strict)
+    {
+        int lo = 0;
+
+        int hi = size;
+
+        while (lo < hi)
+        {
+            final int mid = (lo + hi) >>> 1;
+
+            if (strict ? (lines[mid] <= value) : (lines[mid] < value))
+            {
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the last index whose line is at or before, or strictly before, the value.
+     */
+    private static final int highest(final double[] lines, final int size, final double value, final boolean strict)
+    {
+        return lowest(lines, size, value, false == strict) - 1;
+    }
+
+    private final double heuristic(final int i, final int j, final int bi, final int bj)
+    {
+        final double h = Math.abs(m_xs[i] - m_xs[bi]) + Math.abs(m_ys[j] - m_ys[bj]);
+
+        return ((i != bi) && (j != bj)) ? (h + m_bendPenalty) : h;
+    }
+
+    private final double[] path(int s, final int nx)
+    {
+        int size = 0;
+
+        for (int t = s; t >= 0; t = m_from[t])
+        {
+            size++;
+        }
+        final double[] path = new double[size * 2];
+
+        for (int k = (size - 1) * 2; s >= 0; s = m_from[s], k -= 2)
+        {
+            final int node = s >> 2;
+
+            path[k] = m_xs[node % nx];
+
+            path[k + 1] = m_ys[node / nx];
+        }
+        return path;
+    }
+
+    /**
+     * Joins the end points to the grid path, dropping repeated and collinear points.
+     */
+    private static final double[] simplify(final double x0, final double y0, final double[] path, final double x1, final double y1)
+    {
+        final double[] all = new double[path.length + 4];
+
+        all[0] = x0;
+
+        all[1] = y0;
+
+        System.arraycopy(path, 0, all, 2, path.length);
+
+        all[all.length - 2] = x1;
+
+        all[all.length - 1] = y1;
+
+        final double[] out = new double[all.length];
+
+        int n = 0;
+
+        for (int i = 0; i < all.length; i += 2)
+        {
+            final double x = all[i];
+
+            final double y = all[i + 1];
+
+            if ((n >= 2) && (out[n - 2] == x) && (out[n - 1] == y))
+            {
+                continue;
+            }
+            if ((n >= 4) && (i < (all.length - 2)) && collinear(out[n - 4], out[n - 3], out[n - 2], out[n - 1], x, y))
+            {
+                n -= 2;
+            }
+            out[n++] = x;
+
+            out[n++] = y;
+        }
+        if ((n >= 6) && collinear(out[n - 6], out[n - 5], out[n - 4], out[n - 3], out[n - 2], out[n - 1]))
+        {
+            out[n - 4] = out[n - 2];
+
+            out[n - 3] = out[n - 1];
+
+            n -= 2;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static final boolean collinear(final double ax, final double ay, final double bx, final double by, final double cx, final double cy)
+    {
+        return ((ax == bx) && (bx == cx)) || ((ay == by) && (by == cy));
+    }
+
+    private static final boolean contains(final double[] p, final double x, final double y)
+    {
+        return (x > p[0]) && (x < p[2]) && (y > p[1]) && (y < p[3]);
+    }
+
+    private static final int unique(final double[] lines, final int size)
+    {
+        Arrays.sort(lines, 0, size);
+
+        int n = 0;
+
+        for (int i = 0; i < size; i++)
+        {
+            if ((0 == n) || (lines[n - 1] != lines[i]))
+            {
+                lines[n++] = lines[i];
+            }
+        }
+        return n;
+    }
+
+    private static final int toIndex(final Direction direction)
+    {
+        if (null == direction)
+        {
+            return ANY;
+        }
+        switch (direction)
+        {
+            case EAST:
+                return EAST;
+            case WEST:
+                return WEST;
+            case SOUTH:
+                return SOUTH;
+            case NORTH:
+                return NORTH;
+            default:
+                return ANY;
+        }
+    }
+
+    private static final int opposite(final int dir)
+    {
+        return dir ^ 1;
+    }
+
+    private final void ensureLines(final int size)
+    {
+        if (m_xs.length < size)
+        {
+            m_xs = new double[size * 2];
+
+            m_ys = new double[size * 2];
+        }
+    }
+
+    private final void ensureGrid(final int size)
+    {
+        if (m_hblocked.length < size)
+        {
+            final int grow = Math.max(size, m_hblocked.length * 2);
+
+            m_hblocked = new boolean[grow];
+
+            m_vblocked = new boolean[grow];
+        }
+        if (m_cost.length < (size * 4))
+        {
+            final int grow = Math.max(size * 4, m_cost.length * 2);
+
+            m_cost = new double[grow];
+
+            m_from = new int[grow];
+
+            m_stamp = new int[grow];
+        }
+    }
+
+    private final void push(final int s, final double rank)
+    {
+        if (m_heapSize == m_heap.length)
+        {
+            m_heap = Arrays.copyOf(m_heap, m_heapSize * 2);
+
+            m_rank = Arrays.copyOf(m_rank, m_heapSize * 2);
+        }
+        int k = m_heapSize++;
+
+        while (k > 0)
+        {
+            final int parent = (k - 1) >> 1;
+
+            if (m_rank[parent] <= rank)
+            {
+                break;
+            }
+            m_heap[k] = m_heap[parent];
+
+            m_rank[k] = m_rank[parent];
+
+            k = parent;
+        }
+        m_heap[k] = s;
+
+        m_rank[k] = rank;
+    }
+
+    private final int pop()
+    {
+        final int s = m_heap[0];
+
+        final int last = m_heap[--m_heapSize];
+
+        final double rank = m_rank[m_heapSize];
+
+        int k = 0;
+
+        while (true)
+        {
+            int c = (k * 2) + 1;
+
+            if (c >= m_heapSize)
+            {
+                break;
+            }
+            if (((c + 1) < m_heapSize) && (m_rank[c + 1] < m_rank[c]))
+            {
+                c++;
+            }
+            if (m_rank[c] >= rank)
+            {
+                break;
+            }
+            m_heap[k] = m_heap[c];
+
+            m_rank[k] = m_rank[c];
+
+            k = c;
+        }
+        if (m_heapSize > 0)
+        {
+            m_heap[k] = last;
+
+            m_rank[k] = rank;
+        }
+        return s;
+    }
+
+    private static final class Route
+    {
+        private final int m_id;
+
+        private double    m_x0;
+
+        private double    m_y0;
+
+        private Direction m_head;
+
+        private int       m_headObstacle;
+
+        private double    m_x1;
+
+        private double    m_y1;
+
+        private Direction m_tail;
+
+        private int       m_tailObstacle;
+
+        private double[]  m_points;
+
+        private Route(final int id)
+        {
+            m_id = id;
+        }
+
+        private final boolean matches(final double x0, final double y0, final Direction head, final int headObstacle, final double x1, final double y1, final Direction tail, final int tailObstacle)
+        {
+            return (m_x0 == x0) && (m_y0 == y0) && (m_head == head) && (m_headObstacle == headObstacle) && (m_x1 == x1) && (m_y1 == y1) && (m_tail == tail) && (m_tailObstacle == tailObstacle);
+        }
+
+        private final void set(final double x0, final double y0, final Direction head, final int headObstacle, final double x1, final double y1, final Direction tail, final int tailObstacle)
+        {
+            m_x0 = x0;
+
+            m_y0 = y0;
+
+            m_head = head;
+
+            m_headObstacle = headObstacle;
+
+            m_x1 = x1;
+
+            m_y1 = y1;
+
+            m_tail = tail;
+
+            m_tailObstacle = tailObstacle;
+        }
+    }
+}
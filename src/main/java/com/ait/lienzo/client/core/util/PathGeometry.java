@@ -0,0 +1,544 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.util;
+
+import com.ait.lienzo.client.core.types.IPathParts;
+import com.ait.lienzo.client.core.types.PathPartEntryJSO;
+import com.ait.lienzo.client.core.types.Point2D;
+import com.ait.lienzo.client.core.types.Point2DArray;
+
+/**
+ * Geometric queries over the {@link IPathParts} of a path, such as a {@link com.ait.lienzo.client.core.types.PathPartList}, answered by walking
+ * the path the same way the canvas traces it (curves and arcs are flattened into short line segments) instead of painting it and reading back pixels.
+ */
+public final class PathGeometry
+{
+    /**
+     * Approximate length, in path units, of the line segments curves and arcs are flattened into.
+     */
+    public static final double FLATTEN_STEP     = 4;
+
+    private static final int   FLATTEN_MIN_STEP = 4;
+
+    private static final int   FLATTEN_MAX_STEP = 64;
+
+    private PathGeometry()
+    {
+    }
+
+    /**
+     * Returns true if the path contains a close path part, which is when the canvas fills it for multi path shapes.
+     */
+    public static final boolean isClosedPath(final IPathParts list)
+    {
+        if (null == list)
+        {
+            return false;
+        }
+        final int size = list.size();
+
+        for (int i = 0; i < size; i++)
+        {
+            if (PathPartEntryJSO.CLOSE_PATH_PART == list.getCommand(i))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the point is inside the area the canvas would fill for this path, using the non-zero winding rule.
+     * Every sub-path is implicitly closed, as canvas fill() does.
+     */
+    public static final boolean isPointInPath(final IPathParts list, final double x, final double y)
+    {
+        if ((null == list) || (list.size() < 1))
+        {
+            return false;
+        }
+        final WindingWalker walker = new WindingWalker(x, y);
+
+        walk(list, walker, true);
+
+        return (walker.m_wind != 0);
+    }
+
+    /**
+     * Returns the shortest distance from the point to the line work the canvas would stroke for this path,
+     * or {@link Double#MAX_VALUE} if the path is empty.
+     */
+    public static final double getDistanceToPath(final IPathParts list, final double x, final double y)
+    {
+        if ((null == list) || (list.size() < 1))
+        {
+            return Double.MAX_VALUE;
+        }
+        final DistanceWalker walker = new DistanceWalker(x, y);
+
+        walk(list, walker, false);
+
+        return Math.sqrt(walker.m_best);
+    }
+
+    /**
+     * Returns the index of the path part closest to the point, if it is within the given distance, -1 otherwise.
+     * The line the canvas implicitly draws from the current point to the start of an arc belongs to that arc.
+     */
+    public static final int getClosestPathPartIndex(final IPathParts list, final double x, final double y, final double distance)
+    {
+        if ((null == list) || (list.size() < 1))
+        {
+            return -1;
+        }
+        final DistanceWalker walker = new DistanceWalker(x, y);
+
+        walk(list, walker, false);
+
+        if (walker.m_best <= (distance * distance))
+        {
+            return walker.m_part;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the square of the distance from the point (px, py) to the segment (x0, y0)-(x1, y1).
+     */
+    public static final double getSquaredDistanceToSegment(final double px, final double py, final double x0, final double y0, final double x1, final double y1)
+    {
+        final double dx = x1 - x0;
+
+        final double dy = y1 - y0;
+
+        final double ll = (dx * dx) + (dy * dy);
+
+        double t = 0;
+
+        if (ll > 0)
+        {
+            t = (((px - x0) * dx) + ((py - y0) * dy)) / ll;
+
+            if (t < 0)
+            {
+                t = 0;
+            }
+            else if (t > 1)
+            {
+                t = 1;
+            }
+        }
+        final double ex = x0 + (t * dx) - px;
+
+        final double ey = y0 + (t * dy) - py;
+
+        return (ex * ex) + (ey * ey);
+    }
+
+    private static final int steps(final double length)
+    {
+        final int n = (int) Math.ceil(length / FLATTEN_STEP);
+
+        if (n < FLATTEN_MIN_STEP)
+        {
+            return FLATTEN_MIN_STEP;
+        }
+        if (n > FLATTEN_MAX_STEP)
+        {
+            return FLATTEN_MAX_STEP;
+        }
+        return n;
+    }
+
+    private static final double length(final double x0, final double y0, final double x1, final double y1)
+    {
+        return Math.sqrt(((x1 - x0) * (x1 - x0)) + ((y1 - y0) * (y1 - y0)));
+    }
+
+    private static final void walk(final IPathParts list, final Walker walker, final boolean fill)
+    {
+        final int size = list.size();
+
+        double sx = 0;
+
+        double sy = 0;
+
+        double cx = 0;
+
+        double cy = 0;
+
+        boolean open = false;
+
+        for (int i = 0; i < size; i++)
+        {
+            walker.m_index = i;
+
+            switch (list.getCommand(i))
+            {
+                case PathPartEntryJSO.MOVETO_ABSOLUTE:
+                {
+                    if ((fill) && (open))
+                    {
+                        walker.line(cx, cy, sx, sy);
+                    }
+                    sx = cx = list.getPoint(i, 0);
+
+                    sy = cy = list.getPoint(i, 1);
+
+                    open = true;
+
+                    break;
+                }
+                case PathPartEntryJSO.LINETO_ABSOLUTE:
+                {
+                    final double x = list.getPoint(i, 0);
+
+                    final double y = list.getPoint(i, 1);
+
+                    if (false == open)
+                    {
+                        sx = cx = x;
+
+                        sy = cy = y;
+
+                        open = true;
+                    }
+                    walker.line(cx, cy, x, y);
+
+                    cx = x;
+
+                    cy = y;
+
+                    break;
+                }
+                case PathPartEntryJSO.BEZIER_CURVETO_ABSOLUTE:
+                {
+                    final double x1 = list.getPoint(i, 0);
+
+                    final double y1 = list.getPoint(i, 1);
+
+                    final double x2 = list.getPoint(i, 2);
+
+                    final double y2 = list.getPoint(i, 3);
+
+                    final double x3 = list.getPoint(i, 4);
+
+                    final double y3 = list.getPoint(i, 5);
+
+                    if (false == open)
+                    {
+                        sx = cx = x1;
+
+                        sy = cy = y1;
+
+                        open = true;
+                    }
+                    final int n = steps(length(cx, cy, x1, y1) + length(x1, y1, x2, y2) + length(x2, y2, x3, y3));
+
+                    double ox = cx;
+
+                    double oy = cy;
+
+                    for (int k = 1; k <= n; k++)
+                    {
+                        final double t = ((double) k) / n;
+
+                        final double u = 1 - t;
+
+                        final double a = u * u * u;
+
+                        final double b = 3 * u * u * t;
+
+                        final double c = 3 * u * t * t;
+
+                        final double d = t * t * t;
+
+                        final double nx = (a * cx) + (b * x1) + (c * x2) + (d * x3);
+
+                        final double ny = (a * cy) + (b * y1) + (c * y2) + (d * y3);
+
+                        walker.line(ox, oy, nx, ny);
+
+                        ox = nx;
+
+                        oy = ny;
+                    }
+                    cx = x3;
+
+                    cy = y3;
+
+                    break;
+                }
+                case PathPartEntryJSO.QUADRATIC_CURVETO_ABSOLUTE:
+                {
+                    final double x1 = list.getPoint(i, 0);
+
+                    final double y1 = list.getPoint(i, 1);
+
+                    final double x2 = list.getPoint(i, 2);
+
+                    final double y2 = list.getPoint(i, 3);
+
+                    if (false == open)
+                    {
+                        sx = cx = x1;
+
+                        sy = cy = y1;
+
+                        open = true;
+                    }
+                    final int n = steps(length(cx, cy, x1, y1) + length(x1, y1, x2, y2));
+
+                    double ox = cx;
+
+                    double oy = cy;
+
+                    for (int k = 1; k <= n; k++)
+                    {
+                        final double t = ((double) k) / n;
+
+                        final double u = 1 - t;
+
+                        final double nx = (u * u * cx) + (2 * u * t * x1) + (t * t * x2);
+
+                        final double ny = (u * u * cy) + (2 * u * t * y1) + (t * t * y2);
+
+                        walker.line(ox, oy, nx, ny);
+
+                        ox = nx;
+
+                        oy = ny;
+                    }
+                    cx = x2;
+
+                    cy = y2;
+
+                    break;
+                }
+                case PathPartEntryJSO.ARCTO_ABSOLUTE:
+                {
+                    // center x, center y, radius x, radius y, start angle, sweep, rotation, sweep flag, as NativeContext2D.path() draws them with ellipse()
+
+                    final double ex = list.getPoint(i, 0);
+
+                    final double ey = list.getPoint(i, 1);
+
+                    final double rx = list.getPoint(i, 2);
+
+                    final double ry = list.getPoint(i, 3);
+
+                    final double th = list.getPoint(i, 4);
+
+                    final double dt = list.getPoint(i, 5);
+
+                    final double cos = Math.cos(list.getPoint(i, 6));
+
+                    final double sin = Math.sin(list.getPoint(i, 6));
+
+                    final int n = steps(Math.abs(dt) * Math.max(rx, ry));
+
+                    for (int k = 0; k <= n; k++)
+                    {
+                        final double a = th + ((dt * k) / n);
+
+                        final double ax = rx * Math.cos(a);
+
+                        final double ay = ry * Math.sin(a);
+
+                        final double nx = ex + (ax * cos) - (ay * sin);
+
+                        final double ny = ey + (ax * sin) + (ay * cos);
+
+                        if (false == open)
+                        {
+                            sx = cx = nx;
+
+                            sy = cy = ny;
+
+                            open = true;
+                        }
+                        walker.line(cx, cy, nx, ny);
+
+                        cx = nx;
+
+                        cy = ny;
+                    }
+                    break;
+                }
+                case PathPartEntryJSO.CANVAS_ARCTO_ABSOLUTE:
+                {
+                    final double x1 = list.getPoint(i, 0);
+
+                    final double y1 = list.getPoint(i, 1);
+
+                    final double x2 = list.getPoint(i, 2);
+
+                    final double y2 = list.getPoint(i, 3);
+
+                    final double r = list.getPoint(i, 4);
+
+                    if (false == open)
+                    {
+                        sx = cx = x1;
+
+                        sy = cy = y1;
+
+                        open = true;
+                    }
+                    final Point2DArray pa = Geometry.getCanvasArcToPoints(new Point2D(cx, cy), new Point2D(x1, y1), new Point2D(x2, y2), r);
+
+                    final Point2D ps = pa.get(0);
+
+                    final Point2D pc = pa.get(1);
+
+                    final Point2D pe = pa.get(2);
+
+                    walker.line(cx, cy, ps.getX(), ps.getY());
+
+                    final double a0 = Math.atan2(ps.getY() - pc.getY(), ps.getX() - pc.getX());
+
+                    double da = Math.atan2(pe.getY() - pc.getY(), pe.getX() - pc.getX()) - a0;
+
+                    if (da > Math.PI)
+                    {
+                        da -= Geometry.TWO_PI;
+                    }
+                    else if (da < -Math.PI)
+                    {
+                        da += Geometry.TWO_PI;
+                    }
+                    final int n = steps(Math.abs(da) * r);
+
+                    double ox = ps.getX();
+
+                    double oy = ps.getY();
+
+                    for (int k = 1; k <= n; k++)
+                    {
+                        final double a = a0 + ((da * k) / n);
+
+                        final double nx = pc.getX() + (r * Math.cos(a));
+
+                        final double ny = pc.getY() + (r * Math.sin(a));
+
+                        walker.line(ox, oy, nx, ny);
+
+                        ox = nx;
+
+                        oy = ny;
+                    }
+                    cx = pe.getX();
+
+                    cy = pe.getY();
+
+                    break;
+                }
+                case PathPartEntryJSO.CLOSE_PATH_PART:
+                {
+                    if (open)
+                    {
+                        walker.line(cx, cy, sx, sy);
+
+                        cx = sx;
+
+                        cy = sy;
+                    }
+                    break;
+                }
+            }
+        }
+        if ((fill) && (open))
+        {
+            walker.line(cx, cy, sx, sy);
+        }
+    }
+
+    private static abstract class Walker
+    {
+        protected int m_index;
+
+        protected abstract void line(double x0, double y0, double x1, double y1);
+    }
+
+    private static final class WindingWalker extends Walker
+    {
+        private final double m_x;
+
+        private final double m_y;
+
+        private int          m_wind;
+
+        private WindingWalker(final double x, final double y)
+        {
+            m_x = x;
+
+            m_y = y;
+        }
+
+        @Override
+        protected final void line(final double x0, final double y0, final double x1, final double y1)
+        {
+            if (y0 <= m_y)
+            {
+                if ((y1 > m_y) && (side(x0, y0, x1, y1) > 0))
+                {
+                    m_wind++;
+                }
+            }
+            else if ((y1 <= m_y) && (side(x0, y0, x1, y1) < 0))
+            {
+                m_wind--;
+            }
+        }
+
+        private final double side(final double x0, final double y0, final double x1, final double y1)
+        {
+            return ((x1 - x0) * (m_y - y0)) - ((m_x - x0) * (y1 - y0));
+        }
+    }
+
+    private static final class DistanceWalker extends Walker
+    {
+        private final double m_x;
+
+        private final double m_y;
+
+        private double       m_best = Double.MAX_VALUE;
+
+        private int          m_part = -1;
+
+        private DistanceWalker(final double x, final double y)
+        {
+            m_x = x;
+
+            m_y = y;
+        }
+
+        @Override
+        protected final void line(final double x0, final double y0, final double x1, final double y1)
+        {
+            final double d = getSquaredDistanceToSegment(m_x, m_y, x0, y0, x1, y1);
+
+            if (d < m_best)
+            {
+                m_best = d;
+
+                m_part = m_index;
+            }
+        }
+    }
+}
@@ -0,0 +1,583 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.client.core.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A simple in-memory R-tree (Guttman, quadratic split) mapping items to axis aligned rectangles.
+ * <p>
+ * Plain Java, no JSO's, so it can be used from both client code and JVM tests.
+ * Each item may only be indexed once; inserting an already indexed item replaces its rectangle.
+ *
+ * @param <M>
+ */
+public final class RTree<M>
+{
+    public static final int           DEFAULT_MAX_ENTRIES = 16;
+
+    private final int                 m_max;
+
+    private final int                 m_min;
+
+    private final HashMap<M, Leaf<M>> m_leaves            = new HashMap<M, Leaf<M>>();
+
+    private Branch<M>                 m_root;
+
+    public RTree()
+    {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public RTree(final int max)
+    {
+        m_max = Math.max(4, max);
+
+        m_min = Math.max(2, (int) Math.floor(m_max * 0.4));
+
+        m_root = new Branch<M>(true);
+    }
+
+    public final int size()
+    {
+        return m_leaves.size();
+    }
+
+    public final boolean isEmpty()
+    {
+        return m_leaves.isEmpty();
+    }
+
+    /**
+     * Returns the number of branch levels above the leaf nodes, 0 while every item fits in the root.
+     */
+    public final int getHeight()
+    {
+        return m_root.m_height;
+    }
+
+    public final boolean contains(final M item)
+    {
+        return m_leaves.containsKey(item);
+    }
+
+    public final void clear()
+    {
+        m_leaves.clear();
+
+        m_root = new Branch<M>(true);
+    }
+
+    public final void insert(final M item, final double minx, final double miny, final double maxx, final double maxy)
+    {
+        if (null == item)
+        {
+            return;
+        }
+        remove(item);
+
+        final Leaf<M> leaf = new Leaf<M>(item, minx, miny, maxx, maxy);
+
+        m_leaves.put(item, leaf);
+
+        insert(leaf, 0);
+    }
+
+    public final boolean remove(final M item)
+    {
+        final Leaf<M> leaf = m_leaves.remove(item);
+
+        if (null == leaf)
+        {
+            return false;
+        }
+        final Branch<M> node = leaf.m_parent;
+
+        node.m_kids.remove(leaf);
+
+        leaf.m_parent = null;
+
+        condense(node);
+
+        return true;
+    }
+
+    /**
+     * Adds to <code>into</code> every item whose rectangle intersects the given rectangle (edges inclusive).
+     * Items are added in no particular order.
+     */
+    public final <C extends Collection<? super M>> C search(final double minx, final double miny, final double maxx, final double maxy, final C into)
+    {
+        if (false == m_root.m_kids.isEmpty())
+        {
+            search(m_root, minx, miny, maxx, maxy, into);
+        }
+        return into;
+    }
+
+    /**
+     * Adds to <code>into</code> every item whose rectangle contains the given point (edges inclusive).
+     */
+    public final <C extends Collection<? super M>> C search(final double x, final double y, final C into)
+    {
+        return search(x, y, x, y, into);
+    }
+
+    private final void search(final Branch<M> node, final double minx, final double miny, final double maxx, final double maxy, final Collection<? super M> into)
+    {
+        final List<Rect<M>> kids = node.m_kids;
+
+        final int size = kids.size();
+
+        for (int i = 0; i < size; i++)
+        {
+            final Rect<M> rect = kids.get(i);
+
+            if (rect.intersects(minx, miny, maxx, maxy))
+            {
+                if (node.m_isleaf)
+                {
+                    into.add(rect.asLeaf().m_item);
+                }
+                else
+                {
+                    search(rect.asBranch(), minx, miny, maxx, maxy, into);
+                }
+            }
+        }
+    }
+
+    private final void insert(final Rect<M> rect, final int level)
+    {
+        final Branch<M> node = chooseSubtree(rect, level);
+
+        node.add(rect);
+
+        Branch<M> walk = node;
+
+        while (null != walk)
+        {
+            final Branch<M> parent = walk.m_parent;
+
+            if (walk.m_kids.size() > m_max)
+            {
+                split(walk);
+            }
+            else
+            {
+                walk.extend(rect);
+            }
+            walk = parent;
+        }
+    }
+
+    private final Branch<M> chooseSubtree(final Rect<M> rect, final int level)
+    {
+        Branch<M> node = m_root;
+
+        while (node.m_height > level)
+        {
+            Branch<M> best = null;
+
+            double least = Double.MAX_VALUE;
+
+            double area = Double.MAX_VALUE;
+
+            final List<Rect<M>> kids = node.m_kids;
+
+            final int size = kids.size();
+
+            for (int i = 0; i < size; i++)
+            {
+                final Branch<M> kid = kids.get(i).asBranch();
+
+                final double have = kid.area();
+
+                final double grow = kid.enlarged(rect) - have;
+
+                if ((grow < least) || ((grow == least) && (have < area)))
+                {
+                    best = kid;
+
+                    least = grow;
+
+                    area = have;
+                }
+            }
+            node = best;
+        }
+        return node;
+    }
+
+    private final void split(final Branch<M> node)
+    {
+        final ArrayList<Rect<M>> kids = node.m_kids;
+
+        // Quadratic pick seeds, the pair wasting the most area if grouped together.
+
+        int seed1 = 0;
+
+        int seed2 = 1;
+
+        double worst = -Double.MAX_VALUE;
+
+        final int size = kids.size();
+
+        for (int i = 0; i < size - 1; i++)
+        {
+            final Rect<M> a = kids.get(i);
+
+            for (int j = i + 1; j < size; j++)
+            {
+                final Rect<M> b = kids.get(j);
+
+                final double waste = Rect.area(Math.min(a.m_minx, b.m_minx), Math.min(a.m_miny, b.m_miny), Math.max(a.m_maxx, b.m_maxx), Math.max(a.m_maxy, b.m_maxy)) - a.area() - b.area();
+
+                if (waste > worst)
+                {
+                    worst = waste;
+
+                    seed1 = i;
+
+                    seed2 = j;
+                }
+            }
+        }
+        final ArrayList<Rect<M>> rest = new ArrayList<Rect<M>>(kids);
+
+        final Rect<M> r1 = rest.get(seed1);
+
+        final Rect<M> r2 = rest.get(seed2);
+
+        rest.remove(seed2);
+
+        rest.remove(seed1);
+
+        final Branch<M> one = new Branch<M>(node.m_isleaf);
+
+        final Branch<M> two = new Branch<M>(node.m_isleaf);
+
+        one.m_height = two.m_height = node.m_height;
+
+        one.add(r1);
+
+        two.add(r2);
+
+        one.refit();
+
+        two.refit();
+
+        while (false == rest.isEmpty())
+        {
+            if ((one.m_kids.size() + rest.size()) <= m_min)
+            {
+                for (Rect<M> r : rest)
+                {
+                    one.add(r);
+                }
+                rest.clear();
+
+                break;
+            }
+            if ((two.m_kids.size() + rest.size()) <= m_min)
+            {
+                for (Rect<M> r : rest)
+                {
+                    two.add(r);
+                }
+                rest.clear();
+
+                break;
+            }
+            // Quadratic pick next, the entry with the greatest preference for one group.
+
+            int pick = 0;
+
+            double most = -1;
+
+            double grow1 = 0;
+
+            double grow2 = 0;
+
+            final int left = rest.size();
+
+            for (int i = 0; i < left; i++)
+            {
+                final Rect<M> r = rest.get(i);
+
+                final double d1 = one.enlarged(r) - one.area();
+
+                final double d2 = two.enlarged(r) - two.area();
+
+                final double diff = Math.abs(d1 - d2);
+
+                if (diff > most)
+                {
+                    most = diff;
+
+                    pick = i;
+
+                    grow1 = d1;
+
+                    grow2 = d2;
+                }
+            }
+            final Rect<M> r = rest.remove(pick);
+
+            if ((grow1 < grow2) || ((grow1 == grow2) && (one.m_kids.size() <= two.m_kids.size())))
+            {
+                one.add(r);
+
+                one.extend(r);
+            }
+            else
+            {
+                two.add(r);
+
+                two.extend(r);
+            }
+        }
+        one.refit();
+
+        two.refit();
+
+        final Branch<M> parent = node.m_parent;
+
+        if (null == parent)
+        {
+            final Branch<M> root = new Branch<M>(false);
+
+            root.m_height = node.m_height + 1;
+
+            root.add(one);
+
+            root.add(two);
+
+            root.refit();
+
+            m_root = root;
+        }
+        else
+        {
+            parent.m_kids.remove(node);
+
+            parent.add(one);
+
+            parent.add(two);
+        }
+        node.m_parent = null;
+    }
+
+    private final void condense(Branch<M> node)
+    {
+        final ArrayList<Rect<M>> orphans = new ArrayList<Rect<M>>();
+
+        final ArrayList<Integer> levels = new ArrayList<Integer>();
+
+        while (node != m_root)
+        {
+            final Branch<M> parent = node.m_parent;
+
+            if (node.m_kids.size() < m_min)
+            {
+                parent.m_kids.remove(node);
+
+                for (Rect<M> r : node.m_kids)
+                {
+                    orphans.add(r);
+
+                    levels.add(node.m_height);
+                }
+                node.m_parent = null;
+            }
+            else
+            {
+                node.refit();
+            }
+            node = parent;
+        }
+        m_root.refit();
+
+        final int size = orphans.size();
+
+        for (int i = 0; i < size; i++)
+        {
+            insert(orphans.get(i), levels.get(i));
+        }
+        while ((false == m_root.m_isleaf) && (m_root.m_kids.size() == 1))
+        {
+            final Branch<M> root = m_root.m_kids.get(0).asBranch();
+
+            root.m_parent = null;
+
+            m_root = root;
+        }
+        if (m_root.m_kids.isEmpty())
+        {
+            m_root = new Branch<M>(true);
+        }
+    }
+
+    private static abstract class Rect<M>
+    {
+        double m_minx;
+
+        double m_miny;
+
+        double m_maxx;
+
+        double m_maxy;
+
+        static final double area(final double minx, final double miny, final double maxx, final double maxy)
+        {
+            return (maxx - minx) * (maxy - miny);
+        }
+
+        final double area()
+        {
+            return area(m_minx, m_miny, m_maxx, m_maxy);
+        }
+
+        final double enlarged(final Rect<M> r)
+        {
+            return area(Math.min(m_minx, r.m_minx), Math.min(m_miny, r.m_miny), Math.max(m_maxx, r.m_maxx), Math.max(m_maxy, r.m_maxy));
+        }
+
+        final boolean intersects(final double minx, final double miny, final double maxx, final double maxy)
+        {
+            return (m_minx <= maxx) && (m_maxx >= minx) && (m_miny <= maxy) && (m_maxy >= miny);
+        }
+
+        abstract void setParent(Branch<M> parent);
+
+        Leaf<M> asLeaf()
+        {
+            return null;
+        }
+
+        Branch<M> asBranch()
+        {
+            return null;
+        }
+    }
+
+    private static final class Leaf<M> extends Rect<M>
+    {
+        private final M   m_item;
+
+        private Branch<M> m_parent;
+
+        Leaf(final M item, final double minx, final double miny, final double maxx, final double maxy)
+        {
+            m_item = item;
+
+            m_minx = Math.min(minx, maxx);
+
+            m_miny = Math.min(miny, maxy);
+
+            m_maxx = Math.max(minx, maxx);
+
+            m_maxy = Math.max(miny, maxy);
+        }
+
+        @Override
+        final void setParent(final Branch<M> parent)
+        {
+            m_parent = parent;
+        }
+
+        @Override
+        final Leaf<M> asLeaf()
+        {
+            return this;
+        }
+    }
+
+    private static final class Branch<M> extends Rect<M>
+    {
+        private final boolean         m_isleaf;
+
+        private final ArrayList<Rect<M>> m_kids = new ArrayList<Rect<M>>();
+
+        private int                   m_height;
+
+        private Branch<M>             m_parent;
+
+        Branch(final boolean isleaf)
+        {
+            m_isleaf = isleaf;
+
+            empty();
+        }
+
+        @Override
+        final void setParent(final Branch<M> parent)
+        {
+            m_parent = parent;
+        }
+
+        @Override
+        final Branch<M> asBranch()
+        {
+            return this;
+        }
+
+        final void add(final Rect<M> rect)
+        {
+            m_kids.add(rect);
+
+            rect.setParent(this);
+        }
+
+        final void extend(final Rect<M> r)
+        {
+            m_minx = Math.min(m_minx, r.m_minx);
+
+            m_miny = Math.min(m_miny, r.m_miny);
+
+            m_maxx = Math.max(m_maxx, r.m_maxx);
+
+            m_maxy = Math.max(m_maxy, r.m_maxy);
+        }
+
+        final void refit()
+        {
+            empty();
+
+            final int size = m_kids.size();
+
+            for (int i = 0; i < size; i++)
+            {
+                extend(m_kids.get(i));
+            }
+        }
+
+        private final void empty()
+        {
+            m_minx = Double.MAX_VALUE;
+
+            m_miny = Double.MAX_VALUE;
+
+            m_maxx = -Double.MAX_VALUE;
+
+            m_maxy = -Double.MAX_VALUE;
+        }
+    }
+}
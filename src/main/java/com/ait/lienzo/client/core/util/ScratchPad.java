@@ -72,6 +72,8 @@ public final class ScratchPad
         m_element.setWidth(m_wide = wide);
 
         m_element.setHeight(m_high = high);
+
+        m_context.onCanvasResized();
     }
 
     public final CanvasElement getElement()
@@ -49,11 +49,14 @@ import com.ait.lienzo.client.core.shape.IPrimitive;
 import com.ait.lienzo.client.core.shape.Node;
 import com.ait.lienzo.client.core.shape.Shape;
 import com.ait.lienzo.client.core.shape.Viewport;
+import com.ait.lienzo.client.core.types.Point2DArray;
 import com.ait.lienzo.shared.core.types.DragMode;
 import com.ait.lienzo.shared.core.types.EventPropagationMode;
 import com.ait.tooling.common.api.java.util.function.Predicate;
 import com.ait.tooling.nativetools.client.collection.NFastArrayList;
 import com.ait.tooling.nativetools.client.event.HandlerRegistrationManager;
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.NativeEvent;
@@ -61,6 +64,7 @@ import com.google.gwt.dom.client.Style.Cursor;
 import com.google.gwt.dom.client.Touch;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.event.dom.client.DomEvent;
 import com.google.gwt.event.dom.client.DoubleClickEvent;
 import com.google.gwt.event.dom.client.DoubleClickHandler;
 import com.google.gwt.event.dom.client.GestureChangeEvent;
@@ -91,8 +95,10 @@ import com.google.gwt.event.dom.client.TouchMoveEvent;
 import com.google.gwt.event.dom.client.TouchMoveHandler;
 import com.google.gwt.event.dom.client.TouchStartEvent;
 import com.google.gwt.event.dom.client.TouchStartHandler;
+import com.google.gwt.event.shared.EventHandler;
 import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.GwtEvent.Type;
+import com.google.gwt.event.shared.HandlerManager;
 
 /**
  * This class is the center for all canvas events.
@@ -103,39 +109,63 @@ import com.google.gwt.event.shared.GwtEvent.Type;
 @Deprecated
 final class LienzoHandlerManager
 {
-    private final LienzoPanel m_lienzo;
+    private final LienzoPanel             m_lienzo;
 
-    private final Viewport    m_viewport;
+    private final Viewport                m_viewport;
 
-    private final Mediators   m_mediators;
+    private final Mediators               m_mediators;
 
     private final HandlerRegistrationManager handlerRegistrationManager;
 
-    private boolean           m_dragging               = false;
+    private boolean                       m_dragging               = false;
 
-    private boolean           m_dragging_using_touches = false;
+    private boolean                       m_dragging_using_touches = false;
 
-    private boolean           m_dragging_dispatch_move = false;
+    private boolean                       m_dragging_dispatch_move = false;
 
-    private boolean           m_dragging_ignore_clicks = false;
+    private boolean                       m_dragging_ignore_clicks = false;
 
-    private boolean           m_dragging_mouse_pressed = false;
+    private boolean                       m_dragging_mouse_pressed = false;
 
-    private boolean           m_mouse_button_left      = false;
+    private boolean                       m_mouse_button_left      = false;
 
-    private boolean           m_mouse_button_middle      = false;
+    private boolean                       m_mouse_button_middle    = false;
 
-    private boolean           m_mouse_button_right      = false;
+    private boolean                       m_mouse_button_right     = false;
 
-    private DragMode          m_drag_mode              = null;
+    private DragMode                      m_drag_mode              = null;
 
-    private IPrimitive<?>     m_drag_node              = null;
+    private IPrimitive<?>                 m_drag_node              = null;
 
-    private IPrimitive<?>     m_over_prim              = null;
+    private IPrimitive<?>                 m_over_prim              = null;
 
-    private DragContext       m_dragContext;
+    private DragContext                   m_dragContext;
 
-    private List<TouchPoint>  m_touches                = null;
+    private List<TouchPoint>              m_touches                = null;
+
+    private int                           m_pick_x                 = 0;
+
+    private int                           m_pick_y                 = 0;
+
+    private long                          m_pick_draw              = -1L;
+
+    private Shape<?>                      m_pick_shape             = null;
+
+    private NFastArrayList<IPrimitive<?>> m_pick_path              = null;
+
+    private final HandlerManager          m_coalesced;
+
+    private final AnimationCallback       m_move_flush;
+
+    private NativeEvent                   m_move_event             = null;
+
+    private Element                       m_move_element           = null;
+
+    private Point2DArray                  m_move_points            = null;
+
+    private boolean                       m_move_queued            = false;
+
+    private boolean                       m_flushing               = false;
 
     public LienzoHandlerManager(final LienzoPanel lienzo)
     {
@@ -146,6 +176,19 @@ final class LienzoHandlerManager
         m_mediators = m_viewport.getMediators();
 
         handlerRegistrationManager = new HandlerRegistrationManager();
+
+        m_coalesced = new HandlerManager(m_lienzo);
+
+        m_move_flush = new AnimationCallback()
+        {
+            @Override
+            public void execute(final double time)
+            {
+                m_move_queued = false;
+
+                doFlushMoves();
+            }
+        };
         addHandlers();
     }
 
@@ -164,6 +207,12 @@ final class LienzoHandlerManager
         m_drag_node = null;
         m_over_prim = null;
         m_dragContext = null;
+        m_pick_shape = null;
+        m_pick_path = null;
+        m_pick_draw = -1L;
+        m_move_event = null;
+        m_move_element = null;
+        m_move_points = null;
     }
 
     private final List<TouchPoint> getTouches(final TouchEvent<?> event)
@@ -202,6 +251,8 @@ final class LienzoHandlerManager
             m_lienzo.addClickHandler(new ClickHandler() {
                 @Override
                 public void onClick(final ClickEvent event) {
+                    doFlushMoves();
+
                     if (!m_viewport.getOnEventHandlers().getOnMouseClickEventHandle().onMouseEventBefore(event)) {
                         m_dragging_mouse_pressed = false; // could have been set previously by a mousedown, it will need cleaning up
                         m_dragging_ignore_clicks = false;
@@ -222,6 +273,8 @@ final class LienzoHandlerManager
             @Override
             public void onDoubleClick(final DoubleClickEvent event)
             {
+                    doFlushMoves();
+
                     if (!m_viewport.getOnEventHandlers().getOnMouseDoubleClickEventHandle().onMouseEventBefore(event))
                     {
                         return;
@@ -237,11 +290,15 @@ final class LienzoHandlerManager
             })
         );
         handlerRegistrationManager.register (
-                m_lienzo.addMouseMoveHandler(new MouseMoveHandler()
+                m_lienzo.addMouseMoveHandler(addCoalescedHandler(MouseMoveEvent.getType(), new MouseMoveHandler()
         {
             @Override
             public void onMouseMove(final MouseMoveEvent event)
             {
+                    if (doCoalesceMove(event, event.getX(), event.getY()))
+                    {
+                        return;
+                    }
                     if (!m_viewport.getOnEventHandlers().getOnMouseMoveEventHandle().onMouseEventBefore(event))
                     {
                         return;
@@ -255,6 +312,10 @@ final class LienzoHandlerManager
                     }
                     final NodeMouseMoveEvent nevent = new NodeMouseMoveEvent(event);
 
+                    if (m_flushing)
+                    {
+                        nevent.setCoalescedPoints(m_move_points);
+                    }
                     if (m_mediators.handleEvent(nevent))
                     {
                         event.preventDefault();
@@ -269,7 +330,7 @@ final class LienzoHandlerManager
 
                     m_viewport.getOnEventHandlers().getOnMouseMoveEventHandle().onMouseEventBefore(event);
                 }
-            })
+            }))
         );
         handlerRegistrationManager.register (
                 m_lienzo.addMouseUpHandler(new MouseUpHandler()
@@ -277,6 +338,8 @@ final class LienzoHandlerManager
                 @Override
                 public void onMouseUp(final MouseUpEvent event)
                 {
+                    doFlushMoves();
+
                     if (!m_viewport.getOnEventHandlers().getOnMouseUpEventHandle().onMouseEventBefore(event))
                     {
                         m_dragging_mouse_pressed = false; // could have been set previously by a mousedown, it will need cleaning up
@@ -306,6 +369,8 @@ final class LienzoHandlerManager
                 @Override
                 public void onMouseDown(final MouseDownEvent event)
                 {
+                    doFlushMoves();
+
                     if (!m_viewport.getOnEventHandlers().getOnMouseDownEventHandle().onMouseEventBefore(event))
                     {
                         return;
@@ -334,6 +399,8 @@ final class LienzoHandlerManager
                 @Override
                 public void onMouseOut(final MouseOutEvent event)
                 {
+                    doFlushMoves();
+
                     final NodeMouseOutEvent nevent = new NodeMouseOutEvent(event);
 
                     if (m_mediators.handleEvent(nevent))
@@ -350,6 +417,8 @@ final class LienzoHandlerManager
             @Override
             public void onMouseOver(final MouseOverEvent event)
             {
+                    doFlushMoves();
+
                     final NodeMouseOverEvent nevent = new NodeMouseOverEvent(event);
 
                     if (m_mediators.handleEvent(nevent))
@@ -366,6 +435,8 @@ final class LienzoHandlerManager
             @Override
             public void onMouseWheel(final MouseWheelEvent event)
             {
+                    doFlushMoves();
+
                     final NodeMouseWheelEvent nevent = new NodeMouseWheelEvent(event);
 
                     if (m_mediators.handleEvent(nevent))
@@ -387,6 +458,8 @@ final class LienzoHandlerManager
             @Override
             public void onTouchCancel(final TouchCancelEvent event)
             {
+                    doFlushMoves();
+
                     final NodeTouchCancelEvent nevent = new NodeTouchCancelEvent(event, getTouches(event));
 
                     if (m_mediators.handleEvent(event))
@@ -407,6 +480,8 @@ final class LienzoHandlerManager
             @Override
             public void onTouchEnd(final TouchEndEvent event)
             {
+                    doFlushMoves();
+
                     final NodeTouchEndEvent nevent = new NodeTouchEndEvent(event, m_touches);
 
                     if (m_mediators.handleEvent(nevent))
@@ -422,15 +497,27 @@ final class LienzoHandlerManager
             })
         );
         handlerRegistrationManager.register (
-            m_lienzo.addTouchMoveHandler(new TouchMoveHandler()
+            m_lienzo.addTouchMoveHandler(addCoalescedHandler(TouchMoveEvent.getType(), new TouchMoveHandler()
         {
             @Override
             public void onTouchMove(final TouchMoveEvent event)
             {
-                    m_touches = getTouches(event);
+                    final List<TouchPoint> touches = getTouches(event);
+
+                    final TouchPoint touch = touches.get(0);
+
+                    if (doCoalesceMove(event, touch.getX(), touch.getY()))
+                    {
+                        return;
+                    }
+                    m_touches = touches;
 
                     final NodeTouchMoveEvent nevent = new NodeTouchMoveEvent(event, m_touches);
 
+                    if (m_flushing)
+                    {
+                        nevent.setCoalescedPoints(m_move_points);
+                    }
                     if (m_mediators.handleEvent(nevent))
                     {
                         event.preventDefault();
@@ -441,7 +528,7 @@ final class LienzoHandlerManager
 
                     event.preventDefault();
                 }
-            })
+            }))
         );
         handlerRegistrationManager.register (
             m_lienzo.addTouchStartHandler(new TouchStartHandler()
@@ -449,6 +536,8 @@ final class LienzoHandlerManager
             @Override
             public void onTouchStart(final TouchStartEvent event)
             {
+                    doFlushMoves();
+
                     m_touches = getTouches(event);
 
                     final NodeTouchStartEvent nevent = new NodeTouchStartEvent(event, m_touches);
@@ -471,6 +560,8 @@ final class LienzoHandlerManager
             @Override
             public void onGestureStart(final GestureStartEvent event)
             {
+                    doFlushMoves();
+
                     final NodeGestureStartEvent nevent = new NodeGestureStartEvent(event.getScale(), event.getRotation());
 
                     if (m_mediators.handleEvent(nevent))
@@ -491,6 +582,8 @@ final class LienzoHandlerManager
             @Override
             public void onGestureEnd(final GestureEndEvent event)
             {
+                    doFlushMoves();
+
                     final NodeGestureEndEvent nevent = new NodeGestureEndEvent(event.getScale(), event.getRotation());
 
                     if (m_mediators.handleEvent(nevent))
@@ -510,6 +603,8 @@ final class LienzoHandlerManager
                 @Override
                 public void onGestureChange(final GestureChangeEvent event)
                 {
+                    doFlushMoves();
+
                     final NodeGestureChangeEvent nevent = new NodeGestureChangeEvent(event.getScale(), event.getRotation());
 
                     if (m_mediators.handleEvent(nevent))
@@ -526,9 +621,128 @@ final class LienzoHandlerManager
         );
     }
 
+    private final <H extends EventHandler> H addCoalescedHandler(final Type<H> type, final H handler)
+    {
+        m_coalesced.addHandler(type, handler);
+
+        return handler;
+    }
+
+    /**
+     * In coalescing mode, keeps the latest move and its position until the next animation frame, and returns true.
+     * The default action is prevented right away, the browser will not wait for the frame to decide on scrolling.
+     */
+    private final boolean doCoalesceMove(final DomEvent<?> event, final int x, final int y)
+    {
+        if ((m_flushing) || (false == m_lienzo.isPointerMoveCoalescing()))
+        {
+            doFlushMoves();
+
+            return false;
+        }
+        final NativeEvent nevent = event.getNativeEvent();
+
+        nevent.preventDefault();
+
+        if ((null != m_move_event) && (false == m_move_event.getType().equals(nevent.getType())))
+        {
+            doFlushMoves();
+        }
+        if (null == m_move_points)
+        {
+            m_move_points = new Point2DArray();
+        }
+        m_move_points.push(x, y);
+
+        m_move_event = nevent;
+
+        m_move_element = event.getRelativeElement();
+
+        if (false == m_move_queued)
+        {
+            m_move_queued = true;
+
+            AnimationScheduler.get().requestAnimationFrame(m_move_flush, m_lienzo.getElement());
+        }
+        return true;
+    }
+
+    /**
+     * Dispatches the pending coalesced move, if any, through the regular move handlers.
+     */
+    private final void doFlushMoves()
+    {
+        if ((m_flushing) || (null == m_move_event))
+        {
+            return;
+        }
+        final NativeEvent nevent = m_move_event;
+
+        final Element element = m_move_element;
+
+        m_move_event = null;
+
+        m_move_element = null;
+
+        m_flushing = true;
+
+        try
+        {
+            DomEvent.fireNativeEvent(nevent, m_coalesced, element);
+        }
+        finally
+        {
+            m_flushing = false;
+
+            m_move_points = null;
+        }
+    }
+
+    /**
+     * Hit tests the viewport once per canvas pixel, the result is reused by every lookup at the same pixel until a layer is redrawn,
+     * or shapes are added, removed or reordered.
+     */
     private final Shape<?> findShapeAtPoint(final int x, final int y)
     {
-        return m_viewport.findShapeAtPoint(x, y);
+        final long draw = m_viewport.getRedrawCount();
+
+        if ((draw != m_pick_draw) || (x != m_pick_x) || (y != m_pick_y))
+        {
+            m_pick_shape = m_viewport.findShapeAtPoint(x, y);
+
+            m_pick_path = null;
+
+            m_pick_draw = draw;
+
+            m_pick_x = x;
+
+            m_pick_y = y;
+        }
+        return m_pick_shape;
+    }
+
+    /**
+     * Returns the shape at the point followed by its ancestors, up to the layer.
+     */
+    private final NFastArrayList<IPrimitive<?>> findPrimitivePathAtPoint(final int x, final int y)
+    {
+        final Shape<?> shape = findShapeAtPoint(x, y);
+
+        if (null == m_pick_path)
+        {
+            final NFastArrayList<IPrimitive<?>> path = new NFastArrayList<IPrimitive<?>>();
+
+            Node<?> node = shape;
+
+            while ((null != node) && (null != node.asPrimitive()))
+            {
+                path.add(node.asPrimitive());
+
+                node = node.getParent();
+            }
+            m_pick_path = path;
+        }
+        return m_pick_path;
     }
 
     private final void doDragCancel(final INodeXYEvent event)
@@ -680,11 +894,13 @@ final class LienzoHandlerManager
 
         EventPropagationMode stop = EventPropagationMode.LAST_ANCESTOR;
 
-        Node<?> node = findShapeAtPoint(event.getX(), event.getY());
+        final NFastArrayList<IPrimitive<?>> path = findPrimitivePathAtPoint(event.getX(), event.getY());
+
+        final int leng = path.size();
 
-        while ((null != node) && (null != node.asPrimitive()))
+        for (int i = 0; i < leng; i++)
         {
-            final IPrimitive<?> prim = node.asPrimitive();
+            final IPrimitive<?> prim = path.get(i);
 
             if (pred.test(prim))
             {
@@ -707,7 +923,6 @@ final class LienzoHandlerManager
                     break;
                 }
             }
-            node = node.getParent();
         }
         if ((list != null) && (list.isEmpty() == false))
         {
@@ -77,6 +77,8 @@ public class LienzoPanel extends FocusPanel implements RequiresResize, ProvidesR
 
     private DragMouseControl     m_drag_mouse_control;
 
+    private boolean              m_coalesce;
+
     public LienzoPanel()
     {
         this(new Viewport());
@@ -216,6 +218,26 @@ public class LienzoPanel extends FocusPanel implements RequiresResize, ProvidesR
         return m_drag_mouse_control;
     }
 
+    /**
+     * When enabled, the mouse and touch moves received between two animation frames are dispatched once, on the next frame,
+     * with the latest position. The positions of all the moves are available from
+     * {@link com.ait.lienzo.client.core.event.NodeMouseMoveEvent#getCoalescedPoints()}. Disabled by default.
+     *
+     * @param coalesce
+     * @return LienzoPanel
+     */
+    public LienzoPanel setPointerMoveCoalescing(final boolean coalesce)
+    {
+        m_coalesce = coalesce;
+
+        return this;
+    }
+
+    public boolean isPointerMoveCoalescing()
+    {
+        return m_coalesce;
+    }
+
     public LienzoPanel setTransform(final Transform transform)
     {
         getViewport().setTransform(transform);
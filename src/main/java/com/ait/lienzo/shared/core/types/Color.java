@@ -16,6 +16,9 @@
 
 package com.ait.lienzo.shared.core.types;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.ait.lienzo.client.core.types.ColorKeyRotor;
 import com.ait.lienzo.client.core.util.StringFormatter;
 
@@ -29,7 +32,7 @@ import com.ait.lienzo.client.core.util.StringFormatter;
  * This class provides additional utility methods, e.g.:
  * <ul>
  *  <li>{@link #fromHSL(double, double, double) fromHSL} - convert colors from the HSL model to the RGB model
- *  <li>{@link #fromColorString(String) fromColorString} - converts any CSS3 compliant color string to an RGB Color
+ *  <li>{@link #fromColorString(String) fromColorString} - converts any CSS3 or CSS4 sRGB color string to an RGB Color, without using a canvas
  * </ul>
  *
  * @see IColor
@@ -52,6 +55,13 @@ public class Color implements IColor
 
     private double     m_a = 1.0;
 
+    /**
+     * Maximum number of parsed color strings kept by {@link #fromColorString(String)}.
+     */
+    public static final int                 COLOR_STRING_CACHE_SIZE = 512;
+
+    private static final Map<String, Color> COLOR_STRING_CACHE      = new ColorStringCache(COLOR_STRING_CACHE_SIZE);
+
     /**
      * Constructs a Color from RGB values.
      * The RGB values are normalized to [0,255].
@@ -272,121 +282,219 @@ public class Color implements IColor
         return new Color(fixRGB((int) Math.round(255 * hueToRGB(m1, m2, h + 1.0 / 3))), fixRGB((int) Math.round(255 * hueToRGB(m1, m2, h))), fixRGB((int) Math.round(255 * hueToRGB(m1, m2, h - 1.0 / 3))));
     }
 
+    /**
+     * Converts HSL (hue, saturation, lightness) to RGB packed as 0xRRGGBB, without allocating a Color.
+     * Gives the same RGB values as {@link #fromNormalizedHSL(double, double, double)}.
+     *
+     * @param h in [0,1]
+     * @param s in [0,1]
+     * @param l in [0,1]
+     *
+     * @return int 0xRRGGBB
+     */
+    public static final int toPackedRGB(final double h, final double s, final double l)
+    {
+        final double m2 = (l <= 0.5) ? (l * (s + 1)) : (l + s - l * s);
+
+        final double m1 = l * 2 - m2;
+
+        return (fixRGB((int) Math.round(255 * hueToRGB(m1, m2, h + 1.0 / 3))) << 16) | (fixRGB((int) Math.round(255 * hueToRGB(m1, m2, h))) << 8) | fixRGB((int) Math.round(255 * hueToRGB(m1, m2, h - 1.0 / 3)));
+    }
+
     /**
      * Parses a CSS color string and returns a Color object.
+     * <p>
+     * Understands the named colors of {@link ColorName}, #rgb, #rgba, #rrggbb and #rrggbbaa, and rgb(), rgba(), hsl() and hsla()
+     * with comma or whitespace separated arguments, percentages, hue angle units and an optional "/ alpha".
+     * Parsed colors are kept in a bounded cache keyed by the string, each call returns a new Color.
      *
      * @param cssColorString  Any valid color string for use in HTML 5 canvas
-     *          (as defined by "CSS Color Module Level 3")
-     *          except for "inherit" and "currentcolor".
+     *          (as defined by "CSS Color Module Level 4")
+     *          except for "inherit", "currentcolor" and the color spaces other than sRGB.
      *
      * @return null if cssColorString could not be parsed
      *
-     * @see <a href="http://www.w3.org/TR/css3-color/">CSS Color Module Level 3</a>
+     * @throws IllegalArgumentException if a comma separated hsl() or hsla() has a saturation or lightness without a percent sign
+     *
+     * @see <a href="http://www.w3.org/TR/css-color-4/">CSS Color Module Level 4</a>
+     * @see #parseColorString(String)
      */
     public static Color fromColorString(final String cssColorString)
     {
-        String str = cssColorString.toLowerCase().replaceAll(" ", "");
+        if (null == cssColorString)
+        {
+            return null;
+        }
+        Color color = COLOR_STRING_CACHE.get(cssColorString);
 
-        try
+        if (null == color)
         {
-            if (str.startsWith("#"))
+            color = parseColor(cssColorString);
+
+            if (null == color)
             {
-                return hex2RGB(str);
+                return null;
             }
-            else
-            {
-                if (str.endsWith(")"))
-                {
-                    if (str.startsWith("rgb("))
-                    {
-                        final String[] rgb = str.substring(4, str.length() - 1).split(",");
+            COLOR_STRING_CACHE.put(cssColorString, color);
+        }
+        return new Color(color.getR(), color.getG(), color.getB(), color.getA());
+    }
 
-                        if (rgb.length != 3)
-                        {
-                            return null;
-                        }
-                        final int r = intOrPct(rgb[0], 255);
+    /**
+     * Same as {@link #fromColorString(String)}, but returns null instead of throwing for any string it cannot parse,
+     * so callers can fall back to letting the browser resolve the color.
+     *
+     * @return null if cssColorString could not be parsed
+     */
+    public static Color parseColorString(final String cssColorString)
+    {
+        try
+        {
+            return fromColorString(cssColorString);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
 
-                        final int g = intOrPct(rgb[1], 255);
+    private static final Color parseColor(final String cssColorString)
+    {
+        final String str = cssColorString.trim().toLowerCase();
 
-                        final int b = intOrPct(rgb[2], 255);
+        if (str.isEmpty())
+        {
+            return null;
+        }
+        if (str.charAt(0) == '#')
+        {
+            return parseHexColor(str);
+        }
+        final int open = str.indexOf('(');
 
-                        return new Color(r, g, b);
-                    }
-                    if (str.startsWith("rgba("))
-                    {
-                        final String[] rgba = str.substring(5, str.length() - 1).split(",");
+        if (open < 0)
+        {
+            final ColorName name = ColorName.lookup(str);
 
-                        if (rgba.length != 4)
-                        {
-                            return null;
-                        }
-                        final int r = intOrPct(rgba[0], 255);
+            if (name != null)
+            {
+                return name.getColor();
+            }
+            return null;// unknown format
+        }
+        if (false == str.endsWith(")"))
+        {
+            return null;
+        }
+        final String func = str.substring(0, open).trim();
 
-                        final int g = intOrPct(rgba[1], 255);
+        String body = str.substring(open + 1, str.length() - 1).trim();
 
-                        final int b = intOrPct(rgba[2], 255);
+        String alpha = null;
 
-                        final double a = doubleOrPct(rgba[3], 1);
+        String[] args;
 
-                        return new Color(r, g, b, a);
-                    }
-                    if (str.startsWith("hsl("))
-                    {
-                        final String[] hsl = str.substring(4, str.length() - 1).split(",");
+        final boolean legacy = (body.indexOf(',') >= 0);
 
-                        if (hsl.length != 3)
-                        {
-                            return null;
-                        }
-                        final double h = hueOrPct(hsl[0]);
+        if (legacy)
+        {
+            args = body.split(",", -1);
 
-                        final double s = percentage(hsl[1], 1);
+            if (args.length == 4)
+            {
+                alpha = args[3];
+            }
+            else if (args.length != 3)
+            {
+                return null;
+            }
+        }
+        else
+        {
+            final int slash = body.indexOf('/');
 
-                        final double l = percentage(hsl[2], 1);
+            if (slash >= 0)
+            {
+                alpha = body.substring(slash + 1);
 
-                        return fromNormalizedHSL(h, s, l);
-                    }
-                    if (str.startsWith("hsla("))
-                    {
-                        final String[] hsla = str.substring(5, str.length() - 1).split(",");
+                body = body.substring(0, slash).trim();
+            }
+            args = body.split("\\s+");
 
-                        if (hsla.length != 4)
-                        {
-                            return null;
-                        }
-                        final double h = hueOrPct(hsla[0]);
+            if (args.length != 3)
+            {
+                return null;
+            }
+        }
+        try
+        {
+            final Color color;
 
-                        final double s = percentage(hsla[1], 1);
+            if (("rgb".equals(func)) || ("rgba".equals(func)))
+            {
+                color = new Color(intOrPct(args[0].trim(), 255), intOrPct(args[1].trim(), 255), intOrPct(args[2].trim(), 255));
+            }
+            else if (("hsl".equals(func)) || ("hsla".equals(func)))
+            {
+                color = fromNormalizedHSL(hueOrPct(args[0].trim()), saturationOrLightness(args[1].trim(), legacy), saturationOrLightness(args[2].trim(), legacy));
+            }
+            else
+            {
+                return null;
+            }
+            if (null != alpha)
+            {
+                color.setA(doubleOrPct(alpha.trim(), 1));
+            }
+            return color;
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+    }
 
-                        final double l = percentage(hsla[2], 1);
+    private static final Color parseHexColor(final String hex)
+    {
+        final int len = hex.length();
 
-                        final double a = doubleOrPct(hsla[3], 1);
+        if ((len != 4) && (len != 5) && (len != 7) && (len != 9))
+        {
+            return null;// error - invalid length
+        }
+        final int size = (len < 7) ? 1 : 2;
 
-                        final Color col = fromNormalizedHSL(h, s, l);
+        final int[] vals = new int[] { 0, 0, 0, 255 };
 
-                        col.setA(a);
+        for (int i = 0, p = 1; p < len; i++, p += size)
+        {
+            int val = 0;
 
-                        return col;
-                    }
-                }
-                final ColorName name = ColorName.lookup(str);
+            for (int j = 0; j < size; j++)
+            {
+                final int digit = Character.digit(hex.charAt(p + j), 16);
 
-                if (name != null)
+                if (digit < 0)
                 {
-                    return name.getColor();
+                    return null;
                 }
+                val = (val << 4) | digit;
             }
-            return null;// unknown format
+            vals[i] = (size == 1) ? ((val << 4) | val) : val;
         }
-        catch (NumberFormatException e)
+        if (vals[3] == 255)
         {
-            return null;
+            return new Color(vals[0], vals[1], vals[2]);
         }
+        return new Color(vals[0], vals[1], vals[2], vals[3] / 255.0);
     }
 
     private static final int intOrPct(String s, int max)
     {
+        if ("none".equals(s))
+        {
+            return 0;
+        }
         if (s.endsWith("%"))
         {
             s = s.substring(0, s.length() - 1);
@@ -401,13 +509,13 @@ public class Color implements IColor
         }
         else
         {
-            int val = Integer.parseInt(s);
+            double val = Math.round(Double.parseDouble(s));
 
             if (val < 0) return 0;
 
             if (val > max) return max;
 
-            return val;
+            return (int) val;
         }
     }
 
@@ -428,8 +536,28 @@ public class Color implements IColor
         throw new IllegalArgumentException("invalid percentage [" + s + "]");
     }
 
+    /**
+     * The comma separated syntax requires percentages for saturation and lightness, the whitespace syntax also takes plain numbers.
+     */
+    private static final double saturationOrLightness(String s, boolean legacy)
+    {
+        if ((legacy) || (s.endsWith("%")))
+        {
+            return percentage(s, 1);
+        }
+        if ("none".equals(s))
+        {
+            return 0;
+        }
+        return percentage(s + "%", 1);
+    }
+
     private static final double doubleOrPct(String s, double max)
     {
+        if ("none".equals(s))
+        {
+            return 0;
+        }
         if (s.endsWith("%"))
         {
             return percentage(s, max);
@@ -448,20 +576,67 @@ public class Color implements IColor
 
     private static final double hueOrPct(String s)
     {
+        if ("none".equals(s))
+        {
+            return 0;
+        }
         if (s.endsWith("%"))
         {
             return percentage(s, 1);
         }
         else
         {
-            double h = Double.parseDouble(s);
+            double h;
 
+            if (s.endsWith("deg"))
+            {
+                h = Double.parseDouble(s.substring(0, s.length() - 3));
+            }
+            else if (s.endsWith("grad"))
+            {
+                h = Double.parseDouble(s.substring(0, s.length() - 4)) * 0.9;
+            }
+            else if (s.endsWith("rad"))
+            {
+                h = Double.parseDouble(s.substring(0, s.length() - 3)) * 180 / Math.PI;
+            }
+            else if (s.endsWith("turn"))
+            {
+                h = Double.parseDouble(s.substring(0, s.length() - 4)) * 360;
+            }
+            else
+            {
+                h = Double.parseDouble(s);
+            }
             h = (((h % 360) + 360) % 360);
 
             return h / 360;
         }
     }
 
+    /**
+     * A bounded cache of parsed colors, the least recently used entry is dropped once full.
+     */
+    private static final class ColorStringCache extends LinkedHashMap<String, Color>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int         m_size;
+
+        private ColorStringCache(final int size)
+        {
+            super(16, 0.75f, true);
+
+            m_size = size;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Color> eldest)
+        {
+            return size() > m_size;
+        }
+    }
+
     /**
      * Generates a random hex color, e.g. "#1234EF"
      *
@@ -0,0 +1,364 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.shape.wires.AlignAndDistributeIndex;
+import com.ait.lienzo.client.core.shape.wires.handlers.AlignAndDistributeControl;
+import com.ait.lienzo.client.core.types.Point2D;
+
+public class AlignAndDistributeIndexTest
+{
+    @Test
+    public void testAddAndGet()
+    {
+        final AlignAndDistributeIndex index = new AlignAndDistributeIndex();
+
+        final Control a = new Control();
+
+        final Control b = new Control();
+
+        final Control c = new Control();
+
+        index.add(a, 10);
+
+        index.add(b, 10);
+
+        index.add(c, 5);
+
+        assertEquals(2, index.size());
+
+        assertEquals(5, index.getKey(0), 0);
+
+        assertEquals(10, index.getKey(1), 0);
+
+        assertEquals(set(a, b), new HashSet<AlignAndDistributeControl>(index.get(10)));
+
+        assertEquals(set(c), new HashSet<AlignAndDistributeControl>(index.get(5)));
+
+        assertSame(index.getBucket(1), index.get(10));
+
+        assertNull(index.get(7));
+
+        assertNull(index.get(100));
+    }
+
+    @Test
+    public void testMoveAndRemove()
+    {
+        final AlignAndDistributeIndex index = new AlignAndDistributeIndex();
+
+        final Control a = new Control();
+
+        final Control b = new Control();
+
+        index.add(a, 10);
+
+        index.add(b, 10);
+
+        // a move is a remove at the old position and an add at the new one
+
+        index.remove(a, 10);
+
+        index.add(a, 30);
+
+        assertEquals(2, index.size());
+
+        assertEquals(set(b), new HashSet<AlignAndDistributeControl>(index.get(10)));
+
+        assertEquals(set(a), new HashSet<AlignAndDistributeControl>(index.get(30)));
+
+        index.remove(b, 10);
+
+        assertEquals(1, index.size());
+
+        assertNull(index.get(10));
+
+        assertEquals(30, index.getKey(0), 0);
+
+        // removing a shape that is not at the position leaves the index as it is
+
+        index.remove(b, 30);
+
+        index.remove(a, 20);
+
+        assertEquals(set(a), new HashSet<AlignAndDistributeControl>(index.get(30)));
+
+        index.remove(a, 30);
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testCeiling()
+    {
+        final AlignAndDistributeIndex index = new AlignAndDistributeIndex();
+
+        assertEquals(0, index.ceiling(10));
+
+        index.add(new Control(), 10);
+
+        index.add(new Control(), 20);
+
+        index.add(new Control(), -5);
+
+        assertEquals(0, index.ceiling(-10));
+
+        assertEquals(0, index.ceiling(-5));
+
+        assertEquals(1, index.ceiling(-4));
+
+        assertEquals(1, index.ceiling(10));
+
+        assertEquals(2, index.ceiling(10.5));
+
+        assertEquals(2, index.ceiling(20));
+
+        assertEquals(3, index.ceiling(21));
+    }
+
+    @Test
+    public void testGrowsPastInitialCapacity()
+    {
+        final AlignAndDistributeIndex index = new AlignAndDistributeIndex();
+
+        for (int i = 99; i >= 0; i--)
+        {
+            index.add(new Control(), i);
+        }
+        assertEquals(100, index.size());
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals(i, index.getKey(i), 0);
+        }
+    }
+
+    @Test
+    public void testMatchesSortedMap()
+    {
+        final Random random = new Random(7);
+
+        final AlignAndDistributeIndex index = new AlignAndDistributeIndex();
+
+        final TreeMap<Double, HashSet<AlignAndDistributeControl>> check = new TreeMap<Double, HashSet<AlignAndDistributeControl>>();
+
+        final ArrayList<Control> controls = new ArrayList<Control>();
+
+        for (int i = 0; i < 200; i++)
+        {
+            controls.add(new Control());
+        }
+        for (int step = 0; step < 5000; step++)
+        {
+            final Control control = controls.get(random.nextInt(controls.size()));
+
+            final double pos = random.nextInt(300);
+
+            if (control.m_pos == null)
+            {
+                add(index, check, control, pos);
+            }
+            else if (random.nextBoolean())
+            {
+                remove(index, check, control);
+
+                add(index, check, control, pos);
+            }
+            else
+            {
+                remove(index, check, control);
+            }
+            assertEquals(check.size(), index.size());
+
+            final double min = random.nextInt(320) - 10;
+
+            final double max = min + random.nextInt(40);
+
+            // every position within [min, max], found with one binary search
+
+            final TreeMap<Double, HashSet<AlignAndDistributeControl>> found = new TreeMap<Double, HashSet<AlignAndDistributeControl>>();
+
+            for (int i = index.ceiling(min); (i < index.size()) && (index.getKey(i) <= max); i++)
+            {
+                found.put(index.getKey(i), new HashSet<AlignAndDistributeControl>(index.getBucket(i)));
+            }
+            assertEquals(check.subMap(min, true, max, true), found);
+        }
+        int i = 0;
+
+        for (Map.Entry<Double, HashSet<AlignAndDistributeControl>> entry : check.entrySet())
+        {
+            assertEquals(entry.getKey(), index.getKey(i), 0);
+
+            assertEquals(entry.getValue(), new HashSet<AlignAndDistributeControl>(index.getBucket(i)));
+
+            i++;
+        }
+    }
+
+    private static void add(final AlignAndDistributeIndex index, final TreeMap<Double, HashSet<AlignAndDistributeControl>> check, final Control control, final double pos)
+    {
+        index.add(control, pos);
+
+        HashSet<AlignAndDistributeControl> bucket = check.get(pos);
+
+        if (bucket == null)
+        {
+            bucket = new HashSet<AlignAndDistributeControl>();
+
+            check.put(pos, bucket);
+        }
+        bucket.add(control);
+
+        control.m_pos = pos;
+    }
+
+    private static void remove(final AlignAndDistributeIndex index, final TreeMap<Double, HashSet<AlignAndDistributeControl>> check, final Control control)
+    {
+        final double pos = control.m_pos;
+
+        index.remove(control, pos);
+
+        final HashSet<AlignAndDistributeControl> bucket = check.get(pos);
+
+        assertTrue(bucket.remove(control));
+
+        if (bucket.isEmpty())
+        {
+            check.remove(pos);
+        }
+        control.m_pos = null;
+    }
+
+    private static HashSet<AlignAndDistributeControl> set(final AlignAndDistributeControl... controls)
+    {
+        final HashSet<AlignAndDistributeControl> set = new HashSet<AlignAndDistributeControl>();
+
+        for (AlignAndDistributeControl control : controls)
+        {
+            set.add(control);
+        }
+        return set;
+    }
+
+    private static final class Control implements AlignAndDistributeControl
+    {
+        private Double m_pos;
+
+        @Override
+        public void refresh()
+        {
+        }
+
+        @Override
+        public void refresh(final boolean transforms, final boolean attributes)
+        {
+        }
+
+        @Override
+        public void reset()
+        {
+        }
+
+        @Override
+        public void dragStart()
+        {
+        }
+
+        @Override
+        public void dragEnd()
+        {
+        }
+
+        @Override
+        public boolean dragAdjust(final Point2D dxy)
+        {
+            return false;
+        }
+
+        @Override
+        public void remove()
+        {
+        }
+
+        @Override
+        public double getLeft()
+        {
+            return 0;
+        }
+
+        @Override
+        public double getRight()
+        {
+            return 0;
+        }
+
+        @Override
+        public double getTop()
+        {
+            return 0;
+        }
+
+        @Override
+        public double getBottom()
+        {
+            return 0;
+        }
+
+        @Override
+        public double getHorizontalCenter()
+        {
+            return 0;
+        }
+
+        @Override
+        public double getVerticalCenter()
+        {
+            return 0;
+        }
+
+        @Override
+        public boolean isIndexed()
+        {
+            return true;
+        }
+
+        @Override
+        public void setIndexed(final boolean indexed)
+        {
+        }
+
+        @Override
+        public void updateIndex()
+        {
+        }
+    }
+}
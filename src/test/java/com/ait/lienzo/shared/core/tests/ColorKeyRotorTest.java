@@ -0,0 +1,216 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.types.ColorKeyRotor;
+import com.ait.lienzo.client.core.util.IntObjectMap;
+
+public class ColorKeyRotorTest
+{
+    @Test
+    public void testKeysAreDistinct()
+    {
+        final ColorKeyRotor rotor = new ColorKeyRotor();
+
+        final HashSet<Integer> seen = new HashSet<Integer>();
+
+        for (int i = 0; i < 100000; i++)
+        {
+            final int key = rotor.nextKey();
+
+            assertTrue(key > 0);
+
+            assertTrue(key < ColorKeyRotor.COLOR_SPACE_MAXIMUM);
+
+            assertTrue(seen.add(key));
+        }
+    }
+
+    @Test
+    public void testReleasedKeysAreReused()
+    {
+        final ColorKeyRotor rotor = new ColorKeyRotor();
+
+        final int a = rotor.nextKey();
+
+        final int b = rotor.nextKey();
+
+        rotor.release(a);
+
+        assertEquals(1, rotor.getHeldCount());
+
+        assertEquals(0, rotor.getReleasedCount());
+
+        rotor.recycle();
+
+        assertEquals(1, rotor.getReleasedCount());
+
+        assertEquals(a, rotor.nextKey());
+
+        assertEquals(0, rotor.getReleasedCount());
+
+        assertTrue(rotor.nextKey() > b);
+    }
+
+    @Test
+    public void testReleasedKeysAreHeldUntilRecycled()
+    {
+        final ColorKeyRotor rotor = new ColorKeyRotor();
+
+        final HashSet<Integer> released = new HashSet<Integer>();
+
+        for (int i = 0; i < 100; i++)
+        {
+            final int key = rotor.nextKey();
+
+            rotor.release(key);
+
+            released.add(key);
+        }
+        assertEquals(100, rotor.getHeldCount());
+
+        assertEquals(0, rotor.getReleasedCount());
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertFalse(released.contains(rotor.nextKey()));
+        }
+        rotor.recycle();
+
+        assertEquals(0, rotor.getHeldCount());
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertTrue(released.remove(rotor.nextKey()));
+        }
+        assertTrue(released.isEmpty());
+    }
+
+    @Test
+    public void testRecycleCountKeepsLaterKeysHeld()
+    {
+        final ColorKeyRotor rotor = new ColorKeyRotor();
+
+        final int a = rotor.nextKey();
+
+        final int b = rotor.nextKey();
+
+        final int c = rotor.nextKey();
+
+        rotor.release(a);
+
+        rotor.release(b);
+
+        final int held = rotor.getHeldCount();
+
+        rotor.release(c);
+
+        rotor.recycle(held);
+
+        assertEquals(1, rotor.getHeldCount());
+
+        assertEquals(2, rotor.getReleasedCount());
+
+        final HashSet<Integer> reused = new HashSet<Integer>();
+
+        reused.add(rotor.nextKey());
+
+        reused.add(rotor.nextKey());
+
+        assertTrue(reused.contains(a));
+
+        assertTrue(reused.contains(b));
+
+        assertFalse(c == rotor.nextKey());
+
+        rotor.recycle(5);
+
+        assertEquals(0, rotor.getHeldCount());
+
+        assertEquals(c, rotor.nextKey());
+    }
+
+    @Test
+    public void testColorKeyStrings()
+    {
+        assertEquals(0x12AB3F, ColorKeyRotor.toColorKey(0x12, 0xAB, 0x3F));
+
+        assertEquals(0x12AB3F, ColorKeyRotor.toColorKey(ColorKeyRotor.toColorKey(0x12AB3F)));
+
+        assertEquals(0x12AB3F, ColorKeyRotor.toColorKey("#12ab3f"));
+
+        assertEquals(ColorKeyRotor.NO_KEY, ColorKeyRotor.toColorKey("red"));
+
+        assertEquals(ColorKeyRotor.NO_KEY, ColorKeyRotor.toColorKey("#12ab3g"));
+
+        assertEquals(ColorKeyRotor.NO_KEY, ColorKeyRotor.toColorKey((String) null));
+    }
+
+    @Test
+    public void testIntObjectMapMatchesHashMap()
+    {
+        final IntObjectMap<String> map = new IntObjectMap<String>(4);
+
+        final HashMap<Integer, String> check = new HashMap<Integer, String>();
+
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++)
+        {
+            final int key = random.nextInt(2000) - 1000;
+
+            if (random.nextInt(3) == 0)
+            {
+                assertEquals(check.remove(key), map.remove(key));
+            }
+            else
+            {
+                final String value = "v" + i;
+
+                assertEquals(check.put(key, value), map.put(key, value));
+            }
+            assertEquals(check.size(), map.size());
+        }
+        for (int key = -1000; key < 1000; key++)
+        {
+            assertEquals(check.get(key), map.get(key));
+        }
+        assertEquals(check.size(), map.keys().length);
+
+        assertEquals(check.size(), map.values().size());
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+
+        assertFalse(map.isDefined(check.keySet().iterator().next()));
+
+        assertNull(map.get(0));
+    }
+}
@@ -145,12 +145,57 @@ public class ColorTest
         assertNull(fromColorString("asdf7ya_!+_)_"));
     }
 
+    @Test
+    public void testFromColorStringLevel4()
+    {
+        assertEquals(LIME.getColor().setA(0.2), fromColorString("#00ff0033"));
+        assertEquals(LIME.getColor().setA(0.2), fromColorString("#0f03"));
+        assertNull(fromColorString("#0f0f0"));
+
+        assertEquals(RED.getColor(), fromColorString("  RED "));
+
+        assertEquals(BEIGE.getColor(), fromColorString("rgb(245 245 220)"));
+        assertEquals(BEIGE.getColor(), fromColorString("rgba(245, 245, 220)"));
+        assertEquals(BEIGE.getColor(), fromColorString("rgb(244.6 245 220)"));
+        assertEquals(BEIGE.getColor().setA(0.5), fromColorString("rgb(245 245 220 / 50%)"));
+        assertEquals(BEIGE.getColor().setA(0.5), fromColorString("rgb(245, 245, 220, 0.5)"));
+
+        assertEquals(LIME.getColor(), fromColorString("hsl(120deg 100% 50%)"));
+        assertEquals(LIME.getColor(), fromColorString("hsl(0.3333333turn 100 50)"));
+        assertEquals(LIME.getColor().setA(0.3), fromColorString("hsla(120 100% 50% / 0.3)"));
+
+        assertNull(fromColorString("rgb(1 2)"));
+        assertNull(fromColorString("rgb(1 2 3 /)"));
+        assertNull(fromColorString("lab(50% 40 59)"));
+        assertNull(fromColorString(null));
+    }
+
+    @Test
+    public void testFromColorStringReturnsNewColors()
+    {
+        final Color color = fromColorString("salmon");
+
+        color.setR(0).setA(0.5);
+
+        assertEquals(SALMON.getColor(), fromColorString("salmon"));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testFromColorStringWithIllegalArgumentException()
     {
         assertEquals(SIENNA.getColor(), fromColorString("hsl(19.3, 56.1, 40.2)"));
     }
 
+    @Test
+    public void testParseColorStringReturnsNullForInvalidPercentage()
+    {
+        assertNull(Color.parseColorString("hsl(120, 50, 50%)"));
+        assertNull(Color.parseColorString("hsla(120, 100%, 50, 0.5)"));
+        assertNull(Color.parseColorString("rgb(1 2)"));
+        assertNull(Color.parseColorString(null));
+        assertEquals(LIME.getColor(), Color.parseColorString("hsl(120, 100%, 50%)"));
+    }
+
     @Test
     public void testFromHSL()
     {
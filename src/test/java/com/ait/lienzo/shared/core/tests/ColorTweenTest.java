@@ -0,0 +1,96 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.animation.ColorTween;
+import com.ait.lienzo.client.core.animation.ColorTweenMode;
+import com.ait.lienzo.shared.core.types.Color;
+import com.ait.lienzo.shared.core.types.Color.HSL;
+import com.ait.lienzo.shared.core.types.ColorName;
+
+public class ColorTweenTest
+{
+    @Test
+    public void testHSLMatchesColor()
+    {
+        final Color beg = ColorName.SIENNA.getColor();
+
+        final Color end = ColorName.CHARTREUSE.getColor();
+
+        final HSL hbeg = beg.getHSL();
+
+        final HSL hend = end.getHSL();
+
+        final ColorTween tween = new ColorTween(beg, end, ColorTweenMode.HSL);
+
+        for (int i = 0; i <= 100; i++)
+        {
+            final double p = i / 100.0;
+
+            final Color c = Color.fromNormalizedHSL(hbeg.getH() + ((hend.getH() - hbeg.getH()) * p), hbeg.getS() + ((hend.getS() - hbeg.getS()) * p), hbeg.getL() + ((hend.getL() - hbeg.getL()) * p));
+
+            assertEquals(c.getRGB(), tween.getColorString(p));
+        }
+    }
+
+    @Test
+    public void testRGB()
+    {
+        final ColorTween tween = new ColorTween(new Color(0, 100, 200, 0.0), new Color(100, 200, 0, 1.0), ColorTweenMode.RGB);
+
+        assertEquals("rgba(0,100,200,0.0)", tween.getColorString(0));
+        assertEquals("rgba(50,150,100,0.502)", tween.getColorString(0.5));
+        assertEquals("rgb(100,200,0)", tween.getColorString(1));
+        assertEquals(ColorTween.pack(100, 200, 0, 1), tween.getPackedColor(1));
+    }
+
+    @Test
+    public void testLookup()
+    {
+        final Color beg = ColorName.NAVY.getColor();
+
+        final Color end = ColorName.GOLD.getColor();
+
+        final ColorTween exact = new ColorTween(beg, end, ColorTweenMode.HSL);
+
+        final ColorTween table = new ColorTween(beg, end, ColorTweenMode.HSL_LOOKUP);
+
+        for (int i = 0; i <= ColorTween.LOOKUP_STEPS; i++)
+        {
+            final double p = ((double) i) / ColorTween.LOOKUP_STEPS;
+
+            assertEquals(exact.getPackedColor(p), table.getPackedColor(p));
+        }
+        assertEquals(exact.getPackedColor(1.5), table.getPackedColor(1.5));
+    }
+
+    @Test
+    public void testStringCache()
+    {
+        final int rgba = ColorTween.pack(1, 2, 3, 0.5);
+
+        final String color = ColorTween.toColorString(rgba);
+
+        assertEquals("rgba(1,2,3,0.502)", color);
+        assertSame(color, ColorTween.toColorString(rgba));
+    }
+}
@@ -0,0 +1,186 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.DisplayList;
+import com.ait.lienzo.client.core.INativeContext2D;
+import com.ait.lienzo.client.core.RecordingContext2D;
+
+public class DisplayListTest
+{
+    private static final INativeContext2D stub(final List<String> calls)
+    {
+        return new LoggingContext2D(calls);
+    }
+
+    private static final void draw(final INativeContext2D context)
+    {
+        context.saveContainer("group");
+        context.transform(1, 0, 0, 1, 10, 20);
+        context.setGlobalAlpha(0.5);
+        context.beginPath();
+        context.moveTo(0, 0);
+        context.lineTo(100, 0);
+        context.bezierCurveTo(1, 2, 3, 4, 5, 6);
+        context.arc(50, 50, 25, 0, Math.PI);
+        context.ellipse(1, 2, 3, 4, 5, 6, 7, true);
+        context.closePath();
+        context.setFillColor("red");
+        context.fill();
+        context.setStrokeWidth(2);
+        context.setImageSmoothingEnabled(true);
+        context.stroke();
+        context.setTextFont("bold 12px Arial");
+        context.fillText("hello", 5, 6);
+        context.fillText("world", 7, 8, 90);
+        context.fillTextWithGradient("text", 1, 2, 3, 4, 5, 6, "blue");
+        context.restoreContainer();
+    }
+
+    @Test
+    public void testReplayMatchesDrawing()
+    {
+        final List<String> direct = new ArrayList<String>();
+
+        draw(stub(direct));
+
+        final RecordingContext2D recorder = new RecordingContext2D();
+
+        draw(recorder);
+
+        final DisplayList list = recorder.getDisplayList();
+
+        assertTrue(recorder.isReplayable());
+        assertEquals(direct.size(), list.size());
+
+        final List<String> replayed = new ArrayList<String>();
+
+        list.replay(stub(replayed));
+
+        // arc(5 args) is recorded as arc(6 args) with antiClockwise false, same as the native context does
+
+        direct.set(7, "arc[50.0, 50.0, 25.0, 0.0, " + Math.PI + ", false]");
+
+        assertEquals(direct, replayed);
+    }
+
+    @Test
+    public void testForwardsWhileRecording()
+    {
+        final List<String> forwarded = new ArrayList<String>();
+
+        final RecordingContext2D recorder = new RecordingContext2D(stub(forwarded));
+
+        draw(recorder);
+
+        final List<String> replayed = new ArrayList<String>();
+
+        recorder.getDisplayList().replay(stub(replayed));
+
+        assertEquals(forwarded, replayed);
+    }
+
+    @Test
+    public void testQueriesAreNotRecorded()
+    {
+        final List<String> calls = new ArrayList<String>();
+
+        final RecordingContext2D recorder = new RecordingContext2D(stub(calls));
+
+        recorder.measureText("abc");
+        recorder.isSupported("feature");
+        recorder.getBackingStorePixelRatio();
+
+        assertEquals(3, calls.size());
+        assertTrue(recorder.getDisplayList().isEmpty());
+        assertTrue(recorder.isReplayable());
+    }
+
+    @Test
+    public void testNotReplayable()
+    {
+        final RecordingContext2D outer = new RecordingContext2D();
+
+        final RecordingContext2D inner = new RecordingContext2D(outer);
+
+        inner.fill();
+
+        assertTrue(inner.isReplayable());
+        assertTrue(outer.isReplayable());
+
+        inner.setToIdentityTransform();
+
+        assertFalse(inner.isReplayable());
+        assertFalse(outer.isReplayable());
+        assertEquals(2, outer.getDisplayList().size());
+
+        final RecordingContext2D reader = new RecordingContext2D();
+
+        reader.isPointInPath(1, 2);
+
+        assertFalse(reader.isReplayable());
+    }
+
+    @Test
+    public void testClear()
+    {
+        final RecordingContext2D recorder = new RecordingContext2D();
+
+        draw(recorder);
+
+        final DisplayList list = recorder.getDisplayList();
+
+        assertTrue(list.getOperandCount() > 0);
+
+        list.clear();
+
+        assertEquals(0, list.size());
+        assertEquals(0, list.getOperandCount());
+
+        final List<String> replayed = new ArrayList<String>();
+
+        list.replay(stub(replayed));
+
+        assertTrue(replayed.isEmpty());
+    }
+
+    @Test
+    public void testGrowth()
+    {
+        final RecordingContext2D recorder = new RecordingContext2D();
+
+        for (int i = 0; i < 1000; i++)
+        {
+            recorder.lineTo(i, -i);
+        }
+        final List<String> replayed = new ArrayList<String>();
+
+        recorder.getDisplayList().replay(stub(replayed));
+
+        assertEquals(1000, replayed.size());
+        assertEquals("lineTo[999.0, -999.0]", replayed.get(999));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.util.Geometry;
+
+public class GeometryTest
+{
+    private static final double DELTA = 0.000001;
+
+    @Test
+    public void testDistanceToLineSegment()
+    {
+        assertEquals(3, Geometry.distanceToLineSegment(5, 3, 0, 0, 10, 0), DELTA);
+
+        assertEquals(0, Geometry.distanceToLineSegment(4, 0, 0, 0, 10, 0), DELTA);
+
+        // past either end the distance is to the nearest end point
+
+        assertEquals(5, Geometry.distanceToLineSegment(13, 4, 0, 0, 10, 0), DELTA);
+
+        assertEquals(5, Geometry.distanceToLineSegment(-3, -4, 0, 0, 10, 0), DELTA);
+
+        assertEquals(5, Geometry.distanceToLineSegment(4, 5, 1, 1, 1, 1), DELTA);
+    }
+
+    @Test
+    public void testDistanceToArcTo()
+    {
+        // from (0,0) to the corner (10,0), turning to (10,10) with radius 2: tangent points (8,0) and (10,2), center (8,2)
+
+        assertEquals(0, Geometry.distanceToArcTo(4, 0, 0, 0, 10, 0, 10, 10, 2), DELTA);
+
+        assertEquals(0, Geometry.distanceToArcTo(8 + Math.sqrt(2), 2 - Math.sqrt(2), 0, 0, 10, 0, 10, 10, 2), DELTA);
+
+        assertEquals(2, Geometry.distanceToArcTo(8, 2, 0, 0, 10, 0, 10, 10, 2), DELTA);
+
+        // the corner itself is cut by the arc
+
+        assertEquals((2 * Math.sqrt(2)) - 2, Geometry.distanceToArcTo(10, 0, 0, 0, 10, 0, 10, 10, 2), DELTA);
+
+        // arcTo doesn't draw past the second tangent point
+
+        assertEquals(3, Geometry.distanceToArcTo(10, 5, 0, 0, 10, 0, 10, 10, 2), DELTA);
+    }
+
+    @Test
+    public void testDistanceToArcToWithoutArcIsLineToCorner()
+    {
+        assertEquals(0, Geometry.distanceToArcTo(10, 0, 0, 0, 10, 0, 10, 10, 0), DELTA);
+
+        assertEquals(5, Geometry.distanceToArcTo(10, 5, 0, 0, 10, 0, 10, 10, 0), DELTA);
+
+        // collinear points
+
+        assertEquals(1, Geometry.distanceToArcTo(5, 1, 0, 0, 10, 0, 20, 0, 2), DELTA);
+    }
+
+    @Test
+    public void testDistanceToBezierCurve()
+    {
+        // a straight curve
+
+        assertEquals(2, Geometry.distanceToBezierCurve(1.5, 2, 0, 0, 1, 0, 2, 0, 3, 0, 16), DELTA);
+
+        // an arch peaking at (5,7.5), the peak is a flattening step
+
+        assertEquals(2.5, Geometry.distanceToBezierCurve(5, 10, 0, 0, 0, 10, 10, 10, 10, 0, 16), DELTA);
+
+        assertEquals(0, Geometry.distanceToBezierCurve(0, 0, 0, 0, 0, 10, 10, 10, 10, 0, 16), DELTA);
+
+        assertEquals(3, Geometry.distanceToBezierCurve(10, -3, 0, 0, 0, 10, 10, 10, 10, 0, 16), DELTA);
+    }
+
+    @Test
+    public void testDistanceToQuadraticCurve()
+    {
+        // peaks at (5,5)
+
+        assertEquals(3, Geometry.distanceToQuadraticCurve(5, 8, 0, 0, 5, 10, 10, 0, 16), DELTA);
+
+        assertEquals(0, Geometry.distanceToQuadraticCurve(10, 0, 0, 0, 5, 10, 10, 0, 16), DELTA);
+
+        // matches the quadratic sampled directly
+
+        final double[] points = { 3, 9, -4, 2, 7, 1, 12, -5, 0, 20 };
+
+        for (int i = 0; i < points.length; i += 2)
+        {
+            assertEquals(sampleQuadratic(points[i], points[i + 1], 0, 0, 5, 10, 10, 0), Geometry.distanceToQuadraticCurve(points[i], points[i + 1], 0, 0, 5, 10, 10, 0, 1000), 0.001);
+        }
+    }
+
+    private static double sampleQuadratic(final double x, final double y, final double x0, final double y0, final double cx, final double cy, final double x1, final double y1)
+    {
+        double best = Double.MAX_VALUE;
+
+        for (int i = 0; i <= 100000; i++)
+        {
+            final double t = i / 100000.0;
+
+            final double m = 1 - t;
+
+            final double px = (m * m * x0) + (2 * m * t * cx) + (t * t * x1);
+
+            final double py = (m * m * y0) + (2 * m * t * cy) + (t * t * y1);
+
+            best = Math.min(best, Geometry.distance(x - px, y - py));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,509 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.shared.core.tests;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.ait.lienzo.client.core.INativeContext2D;
+import com.ait.lienzo.client.core.Path2D;
+import com.ait.lienzo.client.core.types.ImageData;
+import com.ait.lienzo.client.core.types.LinearGradient;
+import com.ait.lienzo.client.core.types.PathPartList;
+import com.ait.lienzo.client.core.types.PatternGradient;
+import com.ait.lienzo.client.core.types.RadialGradient;
+import com.ait.lienzo.client.core.types.Shadow;
+import com.ait.lienzo.client.core.types.TextMetrics;
+import com.ait.lienzo.client.core.types.Transform;
+import com.ait.tooling.nativetools.client.collection.NFastDoubleArrayJSO;
+import com.google.gwt.dom.client.Element;
+
+/**
+ * Stub native context, logs each call with its arguments.
+ */
+final class LoggingContext2D implements INativeContext2D
+{
+    private final List<String> m_calls;
+
+    LoggingContext2D(final List<String> calls)
+    {
+        m_calls = calls;
+    }
+
+    private final void log(final String name, final Object... args)
+    {
+        m_calls.add(name + Arrays.toString(args));
+    }
+
+    @Override
+    public void initDeviceRatio()
+    {
+        log("initDeviceRatio");
+    }
+
+    @Override
+    public void saveContainer(final String id)
+    {
+        log("saveContainer", id);
+    }
+
+    @Override
+    public void restoreContainer()
+    {
+        log("restoreContainer");
+    }
+
+    @Override
+    public void save(final String id)
+    {
+        log("save", id);
+    }
+
+    @Override
+    public void save()
+    {
+        log("save");
+    }
+
+    @Override
+    public void restore()
+    {
+        log("restore");
+    }
+
+    @Override
+    public void beginPath()
+    {
+        log("beginPath");
+    }
+
+    @Override
+    public void closePath()
+    {
+        log("closePath");
+    }
+
+    @Override
+    public void moveTo(final double x, final double y)
+    {
+        log("moveTo", x, y);
+    }
+
+    @Override
+    public void lineTo(final double x, final double y)
+    {
+        log("lineTo", x, y);
+    }
+
+    @Override
+    public void setGlobalCompositeOperation(final String operation)
+    {
+        log("setGlobalCompositeOperation", operation);
+    }
+
+    @Override
+    public void setLineCap(final String lineCap)
+    {
+        log("setLineCap", lineCap);
+    }
+
+    @Override
+    public void setLineJoin(final String lineJoin)
+    {
+        log("setLineJoin", lineJoin);
+    }
+
+    @Override
+    public void quadraticCurveTo(final double cpx, final double cpy, final double x, final double y)
+    {
+        log("quadraticCurveTo", cpx, cpy, x, y);
+    }
+
+    @Override
+    public void arc(final double x, final double y, final double radius, final double startAngle, final double endAngle)
+    {
+        log("arc", x, y, radius, startAngle, endAngle);
+    }
+
+    @Override
+    public void arc(final double x, final double y, final double radius, final double startAngle, final double endAngle, final boolean antiClockwise)
+    {
+        log("arc", x, y, radius, startAngle, endAngle, antiClockwise);
+    }
+
+    @Override
+    public void ellipse(final double x, final double y, final double rx, final double ry, final double ro, final double sa, final double ea, final boolean ac)
+    {
+        log("ellipse", x, y, rx, ry, ro, sa, ea, ac);
+    }
+
+    @Override
+    public void ellipse(final double x, final double y, final double rx, final double ry, final double ro, final double sa, final double ea)
+    {
+        log("ellipse", x, y, rx, ry, ro, sa, ea);
+    }
+
+    @Override
+    public void arcTo(final double x1, final double y1, final double x2, final double y2, final double radius)
+    {
+        log("arcTo", x1, y1, x2, y2, radius);
+    }
+
+    @Override
+    public void bezierCurveTo(final double cp1x, final double cp1y, final double cp2x, final double cp2y, final double x, final double y)
+    {
+        log("bezierCurveTo", cp1x, cp1y, cp2x, cp2y, x, y);
+    }
+
+    @Override
+    public void clearRect(final double x, final double y, final double w, final double h)
+    {
+        log("clearRect", x, y, w, h);
+    }
+
+    @Override
+    public void clip()
+    {
+        log("clip");
+    }
+
+    @Override
+    public void fill()
+    {
+        log("fill");
+    }
+
+    @Override
+    public void stroke()
+    {
+        log("stroke");
+    }
+
+    @Override
+    public void fillRect(final double x, final double y, final double w, final double h)
+    {
+        log("fillRect", x, y, w, h);
+    }
+
+    @Override
+    public void fillText(final String text, final double x, final double y)
+    {
+        log("fillText", text, x, y);
+    }
+
+    @Override
+    public void fillTextWithGradient(final String text, final double x, final double y, final double sx, final double sy, final double ex, final double ey, final String color)
+    {
+        log("fillTextWithGradient", text, x, y, sx, sy, ex, ey, color);
+    }
+
+    @Override
+    public void fillText(final String text, final double x, final double y, final double maxWidth)
+    {
+        log("fillText", text, x, y, maxWidth);
+    }
+
+    @Override
+    public void setFillColor(final String fill)
+    {
+        log("setFillColor", fill);
+    }
+
+    @Override
+    public void rect(final double x, final double y, final double w, final double h)
+    {
+        log("rect", x, y, w, h);
+    }
+
+    @Override
+    public void rotate(final double angle)
+    {
+        log("rotate", angle);
+    }
+
+    @Override
+    public void scale(final double sx, final double sy)
+    {
+        log("scale", sx, sy);
+    }
+
+    @Override
+    public void setStrokeColor(final String color)
+    {
+        log("setStrokeColor", color);
+    }
+
+    @Override
+    public void setStrokeWidth(final double width)
+    {
+        log("setStrokeWidth", width);
+    }
+
+    @Override
+    public void setImageSmoothingEnabled(final boolean enabled)
+    {
+        log("setImageSmoothingEnabled", enabled);
+    }
+
+    @Override
+    public void setFillGradient(final LinearGradient.LinearGradientJSO grad)
+    {
+        log("setFillGradient", grad);
+    }
+
+    @Override
+    public void setFillGradient(final PatternGradient.PatternGradientJSO grad)
+    {
+        log("setFillGradient", grad);
+    }
+
+    @Override
+    public void setFillGradient(final RadialGradient.RadialGradientJSO grad)
+    {
+        log("setFillGradient", grad);
+    }
+
+    @Override
+    public void transform(final Transform.TransformJSO jso)
+    {
+        log("transform", jso);
+    }
+
+    @Override
+    public void transform(final double d0, final double d1, final double d2, final double d3, final double d4, final double d5)
+    {
+        log("transform", d0, d1, d2, d3, d4, d5);
+    }
+
+    @Override
+    public void setTransform(final Transform.TransformJSO jso)
+    {
+        log("setTransform", jso);
+    }
+
+    @Override
+    public void setTransform(final double d0, final double d1, final double d2, final double d3, final double d4, final double d5)
+    {
+        log("setTransform", d0, d1, d2, d3, d4, d5);
+    }
+
+    @Override
+    public void setToIdentityTransform()
+    {
+        log("setToIdentityTransform");
+    }
+
+    @Override
+    public void setTextFont(final String font)
+    {
+        log("setTextFont", font);
+    }
+
+    @Override
+    public void setTextBaseline(final String baseline)
+    {
+        log("setTextBaseline", baseline);
+    }
+
+    @Override
+    public void setTextAlign(final String align)
+    {
+        log("setTextAlign", align);
+    }
+
+    @Override
+    public void strokeText(final String text, final double x, final double y)
+    {
+        log("strokeText", text, x, y);
+    }
+
+    @Override
+    public void setGlobalAlpha(final double alpha)
+    {
+        log("setGlobalAlpha", alpha);
+    }
+
+    @Override
+    public void translate(final double x, final double y)
+    {
+        log("translate", x, y);
+    }
+
+    @Override
+    public void setShadow(final Shadow.ShadowJSO shadow)
+    {
+        log("setShadow", shadow);
+    }
+
+    @Override
+    public boolean isSupported(final String feature)
+    {
+        log("isSupported", feature);
+
+        return false;
+    }
+
+    @Override
+    public boolean isPointInPath(final double x, final double y)
+    {
+        log("isPointInPath", x, y);
+
+        return false;
+    }
+
+    @Override
+    public ImageData getImageData(final double x, final double y, final double width, final double height)
+    {
+        log("getImageData", x, y, width, height);
+
+        return null;
+    }
+
+    @Override
+    public ImageData createImageData(final double width, final double height)
+    {
+        log("createImageData", width, height);
+
+        return null;
+    }
+
+    @Override
+    public ImageData createImageData(final ImageData data)
+    {
+        log("createImageData", data);
+
+        return null;
+    }
+
+    @Override
+    public void putImageData(final ImageData imageData, final double x, final double y)
+    {
+        log("putImageData", imageData, x, y);
+    }
+
+    @Override
+    public void putImageData(final ImageData imageData, final double x, final double y, final double dx, final double dy, final double dw, final double dh)
+    {
+        log("putImageData", imageData, x, y, dx, dy, dw, dh);
+    }
+
+    @Override
+    public TextMetrics measureText(final String text)
+    {
+        log("measureText", text);
+
+        return null;
+    }
+
+    @Override
+    public void drawImage(final Element image, final double x, final double y)
+    {
+        log("drawImage", image, x, y);
+    }
+
+    @Override
+    public void drawImage(final Element image, final double x, final double y, final double w, final double h)
+    {
+        log("drawImage", image, x, y, w, h);
+    }
+
+    @Override
+    public void drawImage(final Element image, final double sx, final double sy, final double sw, final double sh, final double x, final double y, final double w, final double h)
+    {
+        log("drawImage", image, sx, sy, sw, sh, x, y, w, h);
+    }
+
+    @Override
+    public void resetClip()
+    {
+        log("resetClip");
+    }
+
+    @Override
+    public void setMiterLimit(final double limit)
+    {
+        log("setMiterLimit", limit);
+    }
+
+    @Override
+    public void setLineDash(final NFastDoubleArrayJSO dashes)
+    {
+        log("setLineDash", dashes);
+    }
+
+    @Override
+    public void setLineDashOffset(final double offset)
+    {
+        log("setLineDashOffset", offset);
+    }
+
+    @Override
+    public double getBackingStorePixelRatio()
+    {
+        log("getBackingStorePixelRatio");
+
+        return 1;
+    }
+
+    @Override
+    public boolean path(final PathPartList.PathPartListJSO list)
+    {
+        log("path", list);
+
+        return false;
+    }
+
+    @Override
+    public boolean clip(final PathPartList.PathPartListJSO list)
+    {
+        log("clip", list);
+
+        return false;
+    }
+
+    @Override
+    public void fill(final Path2D.NativePath2D path)
+    {
+        log("fill", path);
+    }
+
+    @Override
+    public void stroke(final Path2D.NativePath2D path)
+    {
+        log("stroke", path);
+    }
+
+    @Override
+    public void clip(final Path2D.NativePath2D path)
+    {
+        log("clip", path);
+    }
+
+    @Override
+    public Path2D.NativePath2D getCurrentPath()
+    {
+        log("getCurrentPath");
+
+        return null;
+    }
+
+    @Override
+    public void setCurrentPath(final Path2D.NativePath2D path)
+    {
+        log("setCurrentPath", path);
+    }
+}
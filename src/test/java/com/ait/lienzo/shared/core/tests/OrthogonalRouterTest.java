@@ -0,0 +1,288 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.util.OrthogonalRouter;
+import com.ait.lienzo.shared.core.types.Direction;
+
+public class OrthogonalRouterTest
+{
+    private static final int NONE = OrthogonalRouter.NO_OBSTACLE;
+
+    @Test
+    public void testStraightRouteWithoutObstacles()
+    {
+        final OrthogonalRouter router = new OrthogonalRouter();
+
+        assertArrayEquals(new double[] { 0, 0, 100, 0 }, router.route(0, 0, Direction.EAST, NONE, 100, 0, Direction.WEST, NONE), 0);
+    }
+
+    @Test
+    public void testRouteAvoidsObstacle()
+    {
+        final OrthogonalRouter router = new OrthogonalRouter();
+
+        router.setObstacle(1, 40, -20, 20, 40);
+
+        final double[] route = router.route(0, 0, Direction.EAST, NONE, 100, 0, Direction.WEST, NONE);
+
+        assertOrthogonal(route);
+
+        assertFalse(crosses(route, new double[] { 40, -20, 60, 20 }));
+
+        assertEquals(0, route[0], 0);
+
+        assertEquals(100, route[route.length - 2], 0);
+    }
+
+    @Test
+    public void testRouteLeavesAndEntersAttachedShapes()
+    {
+        final OrthogonalRouter router = new OrthogonalRouter();
+
+        router.setObstacle(1, -50, -25, 50, 50);
+
+        router.setObstacle(2, 100, -25, 50, 50);
+
+        // head on the south side of 1, tail on the south side of 2
+
+        final double[] route = router.route(-25, 25, Direction.SOUTH, 1, 125, 25, Direction.SOUTH, 2);
+
+        assertOrthogonal(route);
+
+        assertEquals(-25, route[2], 0);
+
+        assertTrue(route[3] >= (25 + router.getMargin()));
+
+        assertEquals(125, route[route.length - 4], 0);
+
+        assertTrue(route[route.length - 3] >= (25 + router.getMargin()));
+    }
+
+    @Test
+    public void testContainerOfEndPointsDoesNotBlock()
+    {
+        final OrthogonalRouter router = new OrthogonalRouter();
+
+        router.setObstacle(1, -500, -500, 1000, 1000);
+
+        router.setObstacle(2, 40, -20, 20, 40);
+
+        final double[] route = router.route(0, 0, Direction.EAST, NONE, 100, 0, Direction.WEST, NONE);
+
+        assertOrthogonal(route);
+
+        assertTrue(route.length > 4);
+
+        assertFalse(crosses(route, new double[] { 40, -20, 60, 20 }));
+    }
+
+    @Test
+    public void testUnchangedRouteIsNotDirty()
+    {
+        final OrthogonalRouter router = new OrthogonalRouter();
+
+        assertNull(router.getRoute(1));
+
+        assertTrue(router.setRoute(1, 0, 0, Direction.EAST, NONE, 100, 0, Direction.WEST, NONE));
+
+        assertEquals(1, router.route(0).length);
+
+        assertEquals(0, router.getDirtyCount());
+
+        assertFalse(router.setRoute(1, 0, 0, Direction.EAST, NONE, 100, 0, Direction.WEST, NONE));
+
+        assertTrue(router.setRoute(1, 0, 10, Direction.EAST, NONE, 100, 0, Direction.WEST, NONE));
+
+        assertTrue(router.isDirty(1));
+
+        assertTrue(router.removeRoute(1));
+
+        assertEquals(0, router.getDirtyCount());
+    }
+
+    @Test
+    public void testMovingObstacleDirtiesOnlyOverlappingRoutes()
+    {
+        final OrthogonalRouter router = new OrthogonalRouter();
+
+        router.setObstacle(1, 1000, 1000, 20, 20);
+
+        router.setRoute(1, 0, 0, Direction.EAST, NONE, 100, 0, Direction.WEST, NONE);
+
+        router.setRoute(2, 0, 500, Direction.EAST, NONE, 100, 500, Direction.WEST, NONE);
+
+        router.route(0);
+
+        assertFalse(router.setObstacle(1, 1000, 1000, 20, 20));
+
+        assertTrue(router.setObstacle(1, 2000, 1000, 20, 20));
+
+        assertEquals(0, router.getDirtyCount());
+
+        assertTrue(router.setObstacle(1, 40, -20, 20, 40));
+
+        assertTrue(router.isDirty(1));
+
+        assertFalse(router.isDirty(2));
+
+        router.route(0);
+
+        assertFalse(crosses(router.getRoute(1), new double[] { 40, -20, 60, 20 }));
+
+        assertTrue(router.removeObstacle(1));
+
+        assertTrue(router.isDirty(1));
+
+        router.route(0);
+
+        assertArrayEquals(new double[] { 0, 0, 100, 0 }, router.getRoute(1), 0);
+    }
+
+    @Test
+    public void testFrameBudgetRoutesAtLeastOneEachCall()
+    {
+        final OrthogonalRouter router = new OrthogonalRouter().setFrameBudget(1);
+
+        for (int i = 0; i < 50; i++)
+        {
+            router.setObstacle(i, i * 100, 0, 50, 50);
+
+            router.setRoute(i, (i * 100) + 50, 25, Direction.EAST, i, (i * 100) + 100, 125, Direction.NORTH, NONE);
+        }
+        int calls = 0;
+
+        while (router.getDirtyCount() > 0)
+        {
+            assertTrue(router.route().length > 0);
+
+            assertTrue(++calls <= 50);
+        }
+        assertEquals(0, router.route().length);
+    }
+
+    @Test
+    public void testRoutesThousandConnectorsAmongTwoThousandShapes()
+    {
+        final Random random = new Random(42);
+
+        final OrthogonalRouter router = new OrthogonalRouter();
+
+        final double[][] rects = new double[2000][];
+
+        for (int i = 0; i < 50; i++)
+        {
+            for (int j = 0; j < 40; j++)
+            {
+                final double x = (i * 160) + random.nextInt(40);
+
+                final double y = (j * 120) + random.nextInt(30);
+
+                final int id = (i * 40) + j;
+
+                rects[id] = new double[] { x, y, x + 80, y + 50 };
+
+                router.setObstacle(id, x, y, 80, 50);
+            }
+        }
+        for (int c = 0; c < 1000; c++)
+        {
+            final int i = random.nextInt(50);
+
+            final int j = random.nextInt(40);
+
+            int ti;
+
+            int tj;
+
+            do
+            {
+                ti = Math.max(0, Math.min(49, i + random.nextInt(7) - 3));
+
+                tj = Math.max(0, Math.min(39, j + random.nextInt(7) - 3));
+            }
+            while ((ti == i) && (tj == j));
+
+            final double[] h = rects[(i * 40) + j];
+
+            final double[] t = rects[(ti * 40) + tj];
+
+            router.setRoute(c, h[2], (h[1] + h[3]) / 2, Direction.EAST, (i * 40) + j, t[0], (t[1] + t[3]) / 2, Direction.WEST, (ti * 40) + tj);
+        }
+        assertEquals(1000, router.route(0).length);
+
+        for (int c = 0; c < 1000; c++)
+        {
+            final double[] route = router.getRoute(c);
+
+            assertOrthogonal(route);
+
+            // the first and last segments run out of the attached shapes
+
+            final double[] inner = new double[route.length - 4];
+
+            System.arraycopy(route, 2, inner, 0, inner.length);
+
+            for (double[] rect : rects)
+            {
+                assertFalse(crosses(inner, rect));
+            }
+        }
+        assertTrue(router.setObstacle(0, rects[0][0] + 10, rects[0][1], 80, 50));
+
+        assertTrue(router.getDirtyCount() < 1000);
+    }
+
+    private static void assertOrthogonal(final double[] route)
+    {
+        for (int i = 0; (i + 3) < route.length; i += 2)
+        {
+            assertTrue((route[i] == route[i + 2]) || (route[i + 1] == route[i + 3]));
+        }
+    }
+
+    private static boolean crosses(final double[] route, final double[] rect)
+    {
+        for (int i = 0; (i + 3) < route.length; i += 2)
+        {
+            final double minx = Math.min(route[i], route[i + 2]);
+
+            final double maxx = Math.max(route[i], route[i + 2]);
+
+            final double miny = Math.min(route[i + 1], route[i + 3]);
+
+            final double maxy = Math.max(route[i + 1], route[i + 3]);
+
+            if ((maxx > rect[0]) && (minx < rect[2]) && (maxy > rect[1]) && (miny < rect[3]))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
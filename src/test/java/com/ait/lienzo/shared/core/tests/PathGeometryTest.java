@@ -0,0 +1,296 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.types.IPathParts;
+import com.ait.lienzo.client.core.types.PathPartEntryJSO;
+import com.ait.lienzo.client.core.util.PathGeometry;
+
+public class PathGeometryTest
+{
+    private static final double FLAT = 0.5;
+
+    @Test
+    public void testEmptyPath()
+    {
+        final Parts path = new Parts();
+
+        assertFalse(PathGeometry.isClosedPath(path));
+
+        assertFalse(PathGeometry.isPointInPath(path, 0, 0));
+
+        assertEquals(Double.MAX_VALUE, PathGeometry.getDistanceToPath(path, 0, 0), 0);
+
+        assertEquals(-1, PathGeometry.getClosestPathPartIndex(path, 0, 0, 10));
+    }
+
+    @Test
+    public void testFilledRectangle()
+    {
+        final Parts path = new Parts().M(0, 0).L(100, 0).L(100, 50).L(0, 50).Z();
+
+        assertTrue(PathGeometry.isClosedPath(path));
+
+        assertTrue(PathGeometry.isPointInPath(path, 50, 25));
+
+        assertTrue(PathGeometry.isPointInPath(path, 1, 49));
+
+        assertFalse(PathGeometry.isPointInPath(path, 150, 25));
+
+        assertFalse(PathGeometry.isPointInPath(path, 50, -1));
+
+        assertFalse(PathGeometry.isPointInPath(path, 50, 51));
+    }
+
+    @Test
+    public void testOpenPathIsFilledAsIfClosed()
+    {
+        final Parts path = new Parts().M(0, 0).L(100, 0).L(100, 100);
+
+        assertFalse(PathGeometry.isClosedPath(path));
+
+        assertTrue(PathGeometry.isPointInPath(path, 90, 10));
+
+        assertFalse(PathGeometry.isPointInPath(path, 10, 90));
+
+        // the implicit closing line is filled, it is not stroked
+
+        assertEquals(55, PathGeometry.getDistanceToPath(path, 45, 55), 1e-9);
+    }
+
+    @Test
+    public void testNonZeroWinding()
+    {
+        // the inner square wound the same way stays filled, wound the other way it is a hole
+
+        final Parts same = new Parts().M(0, 0).L(100, 0).L(100, 100).L(0, 100).Z().M(25, 25).L(75, 25).L(75, 75).L(25, 75).Z();
+
+        final Parts hole = new Parts().M(0, 0).L(100, 0).L(100, 100).L(0, 100).Z().M(25, 25).L(25, 75).L(75, 75).L(75, 25).Z();
+
+        assertTrue(PathGeometry.isPointInPath(same, 50, 50));
+
+        assertFalse(PathGeometry.isPointInPath(hole, 50, 50));
+
+        assertTrue(PathGeometry.isPointInPath(same, 10, 10));
+
+        assertTrue(PathGeometry.isPointInPath(hole, 10, 10));
+    }
+
+    @Test
+    public void testStrokeDistance()
+    {
+        final Parts path = new Parts().M(0, 0).L(100, 0).L(100, 100);
+
+        assertEquals(0, PathGeometry.getDistanceToPath(path, 50, 0), 0);
+
+        assertEquals(5, PathGeometry.getDistanceToPath(path, 50, 5), 1e-9);
+
+        assertEquals(5, PathGeometry.getDistanceToPath(path, -3, 4), 1e-9);
+
+        assertEquals(10, PathGeometry.getDistanceToPath(path, 110, 50), 1e-9);
+
+        // a stroke of width 10 reaches 5 away from the line
+
+        assertTrue(PathGeometry.getDistanceToPath(path, 50, 4.9) <= 5);
+
+        assertFalse(PathGeometry.getDistanceToPath(path, 50, 5.1) <= 5);
+    }
+
+    @Test
+    public void testClosestPathPart()
+    {
+        final Parts path = new Parts().M(0, 0).L(100, 0).L(100, 100).Z();
+
+        assertEquals(1, PathGeometry.getClosestPathPartIndex(path, 50, 2, 5));
+
+        assertEquals(2, PathGeometry.getClosestPathPartIndex(path, 102, 50, 5));
+
+        assertEquals(3, PathGeometry.getClosestPathPartIndex(path, 48, 52, 5));
+
+        assertEquals(-1, PathGeometry.getClosestPathPartIndex(path, 50, 20, 5));
+    }
+
+    @Test
+    public void testBezierCurve()
+    {
+        final Parts path = new Parts().M(0, 0).C(0, 100, 100, 100, 100, 0).Z();
+
+        // the curve passes through (50, 75) at t = 0.5
+
+        assertEquals(0, PathGeometry.getDistanceToPath(path, 50, 75), FLAT);
+
+        assertTrue(PathGeometry.isPointInPath(path, 50, 70));
+
+        assertFalse(PathGeometry.isPointInPath(path, 50, 80));
+
+        assertTrue(PathGeometry.isPointInPath(path, 10, 10));
+
+        assertFalse(PathGeometry.isPointInPath(path, -10, 10));
+
+        assertEquals(1, PathGeometry.getClosestPathPartIndex(path, 50, 76, 5));
+    }
+
+    @Test
+    public void testQuadraticCurve()
+    {
+        final Parts path = new Parts().M(0, 0).Q(50, 100, 100, 0).Z();
+
+        // the curve passes through (50, 50) at t = 0.5
+
+        assertEquals(0, PathGeometry.getDistanceToPath(path, 50, 50), FLAT);
+
+        assertTrue(PathGeometry.isPointInPath(path, 50, 45));
+
+        assertFalse(PathGeometry.isPointInPath(path, 50, 55));
+
+        assertEquals(5, PathGeometry.getDistanceToPath(path, 50, 55), FLAT);
+    }
+
+    @Test
+    public void testCircleArc()
+    {
+        final Parts path = new Parts().A(0, 0, 50, 50, 0, Math.PI * 2, 0);
+
+        assertTrue(PathGeometry.isPointInPath(path, 0, 0));
+
+        assertTrue(PathGeometry.isPointInPath(path, 30, 30));
+
+        assertFalse(PathGeometry.isPointInPath(path, 40, 40));
+
+        assertFalse(PathGeometry.isPointInPath(path, 60, 0));
+
+        for (int i = 0; i < 16; i++)
+        {
+            final double a = (Math.PI * i) / 8;
+
+            assertEquals(10, PathGeometry.getDistanceToPath(path, 60 * Math.cos(a), 60 * Math.sin(a)), FLAT);
+
+            assertEquals(10, PathGeometry.getDistanceToPath(path, 40 * Math.cos(a), 40 * Math.sin(a)), FLAT);
+        }
+    }
+
+    @Test
+    public void testRotatedEllipseArc()
+    {
+        // an ellipse 50 wide and 25 high, rotated a quarter turn, so it is 25 wide and 50 high
+
+        final Parts path = new Parts().A(100, 100, 50, 25, 0, Math.PI * 2, Math.PI / 2);
+
+        assertTrue(PathGeometry.isPointInPath(path, 100, 140));
+
+        assertTrue(PathGeometry.isPointInPath(path, 120, 100));
+
+        assertFalse(PathGeometry.isPointInPath(path, 140, 100));
+
+        assertFalse(PathGeometry.isPointInPath(path, 100, 160));
+
+        assertEquals(0, PathGeometry.getDistanceToPath(path, 100, 150), FLAT);
+
+        assertEquals(0, PathGeometry.getDistanceToPath(path, 75, 100), FLAT);
+    }
+
+    @Test
+    public void testHalfArcIsJoinedToThePath()
+    {
+        // the canvas draws a line from the current point to the start of the arc, it belongs to the arc part
+
+        final Parts path = new Parts().M(100, 0).A(0, 0, 50, 50, 0, Math.PI, 0);
+
+        assertEquals(1, PathGeometry.getClosestPathPartIndex(path, 75, 1, 5));
+
+        assertEquals(1, PathGeometry.getClosestPathPartIndex(path, 0, 51, 5));
+
+        // filled, the half disc is closed by the line from the end of the arc back to the start of the path
+
+        assertTrue(PathGeometry.isPointInPath(path, 0, 25));
+
+        assertFalse(PathGeometry.isPointInPath(path, 0, -25));
+    }
+
+    private static final class Parts implements IPathParts
+    {
+        private final ArrayList<Integer>  m_commands = new ArrayList<Integer>();
+
+        private final ArrayList<double[]> m_points   = new ArrayList<double[]>();
+
+        private Parts add(final int command, final double... points)
+        {
+            m_commands.add(command);
+
+            m_points.add(points);
+
+            return this;
+        }
+
+        Parts M(final double x, final double y)
+        {
+            return add(PathPartEntryJSO.MOVETO_ABSOLUTE, x, y);
+        }
+
+        Parts L(final double x, final double y)
+        {
+            return add(PathPartEntryJSO.LINETO_ABSOLUTE, x, y);
+        }
+
+        Parts C(final double x1, final double y1, final double x2, final double y2, final double x, final double y)
+        {
+            return add(PathPartEntryJSO.BEZIER_CURVETO_ABSOLUTE, x1, y1, x2, y2, x, y);
+        }
+
+        Parts Q(final double cx, final double cy, final double x, final double y)
+        {
+            return add(PathPartEntryJSO.QUADRATIC_CURVETO_ABSOLUTE, cx, cy, x, y);
+        }
+
+        Parts A(final double cx, final double cy, final double rx, final double ry, final double start, final double sweep, final double rotation)
+        {
+            return add(PathPartEntryJSO.ARCTO_ABSOLUTE, cx, cy, rx, ry, start, sweep, rotation, 1);
+        }
+
+        Parts Z()
+        {
+            return add(PathPartEntryJSO.CLOSE_PATH_PART);
+        }
+
+        @Override
+        public int size()
+        {
+            return m_commands.size();
+        }
+
+        @Override
+        public int getCommand(final int index)
+        {
+            return m_commands.get(index);
+        }
+
+        @Override
+        public double getPoint(final int index, final int point)
+        {
+            return m_points.get(index)[point];
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.util.RTree;
+
+public class RTreeTest
+{
+    @Test
+    public void testInsertAndSearch()
+    {
+        final RTree<String> tree = new RTree<String>();
+
+        assertTrue(tree.isEmpty());
+
+        tree.insert("a", 0, 0, 10, 10);
+
+        tree.insert("b", 20, 20, 30, 30);
+
+        assertEquals(2, tree.size());
+
+        assertTrue(tree.contains("a"));
+
+        assertFalse(tree.contains("c"));
+
+        assertEquals(set("a"), tree.search(5, 5, new HashSet<String>()));
+
+        assertEquals(set("a", "b"), tree.search(5, 5, 25, 25, new HashSet<String>()));
+
+        assertEquals(set(), tree.search(15, 15, new HashSet<String>()));
+    }
+
+    @Test
+    public void testReinsertReplacesRectangle()
+    {
+        final RTree<String> tree = new RTree<String>();
+
+        tree.insert("a", 0, 0, 10, 10);
+
+        tree.insert("a", 100, 100, 110, 110);
+
+        assertEquals(1, tree.size());
+
+        assertEquals(set(), tree.search(5, 5, new HashSet<String>()));
+
+        assertEquals(set("a"), tree.search(105, 105, new HashSet<String>()));
+    }
+
+    @Test
+    public void testReversedCornersAreNormalized()
+    {
+        final RTree<String> tree = new RTree<String>();
+
+        tree.insert("a", 10, 10, 0, 0);
+
+        assertEquals(set("a"), tree.search(5, 5, new HashSet<String>()));
+    }
+
+    @Test
+    public void testSearchEdgesAreInclusive()
+    {
+        final RTree<String> tree = new RTree<String>();
+
+        tree.insert("a", 0, 0, 10, 10);
+
+        tree.insert("p", 20, 20, 20, 20);
+
+        assertEquals(set("a"), tree.search(0, 0, new HashSet<String>()));
+
+        assertEquals(set("a"), tree.search(10, 10, new HashSet<String>()));
+
+        assertEquals(set("a"), tree.search(10, 5, new HashSet<String>()));
+
+        assertEquals(set("a"), tree.search(10, 10, 15, 15, new HashSet<String>()));
+
+        assertEquals(set("a"), tree.search(-5, -5, 0, 0, new HashSet<String>()));
+
+        assertEquals(set("p"), tree.search(20, 20, new HashSet<String>()));
+
+        assertEquals(set("p"), tree.search(15, 15, 20, 20, new HashSet<String>()));
+
+        assertEquals(set(), tree.search(10.5, 10.5, 19.5, 19.5, new HashSet<String>()));
+    }
+
+    @Test
+    public void testRemove()
+    {
+        final RTree<String> tree = new RTree<String>();
+
+        tree.insert("a", 0, 0, 10, 10);
+
+        assertTrue(tree.remove("a"));
+
+        assertFalse(tree.remove("a"));
+
+        assertFalse(tree.remove("b"));
+
+        assertTrue(tree.isEmpty());
+
+        assertEquals(set(), tree.search(5, 5, new HashSet<String>()));
+    }
+
+    @Test
+    public void testRootSplitsAndCollapses()
+    {
+        final RTree<Integer> tree = new RTree<Integer>(4);
+
+        for (int i = 0; i < 4; i++)
+        {
+            tree.insert(i, i * 10, 0, i * 10 + 5, 5);
+        }
+        assertEquals(0, tree.getHeight());
+
+        tree.insert(4, 40, 0, 45, 5);
+
+        assertEquals(1, tree.getHeight());
+
+        for (int i = 5; i < 100; i++)
+        {
+            tree.insert(i, (i % 10) * 10, (i / 10) * 10, (i % 10) * 10 + 5, (i / 10) * 10 + 5);
+        }
+        assertTrue(tree.getHeight() >= 2);
+
+        assertEquals(100, tree.size());
+
+        for (int i = 99; i >= 3; i--)
+        {
+            assertTrue(tree.remove(i));
+        }
+        // the last entries fit in a single leaf, the branches above it are collapsed
+
+        assertEquals(0, tree.getHeight());
+
+        assertEquals(set(0, 1, 2), tree.search(-1000, -1000, 1000, 1000, new HashSet<Integer>()));
+
+        tree.remove(0);
+
+        tree.remove(1);
+
+        tree.remove(2);
+
+        assertTrue(tree.isEmpty());
+
+        assertEquals(0, tree.getHeight());
+    }
+
+    @Test
+    public void testCondenseKeepsOrphans()
+    {
+        final RTree<Integer> tree = new RTree<Integer>(4);
+
+        // two clusters far apart, so emptying one leaves its siblings as orphans to re-insert
+
+        for (int i = 0; i < 20; i++)
+        {
+            final double x = (i < 10) ? i : (1000 + i);
+
+            tree.insert(i, x, 0, x + 1, 1);
+        }
+        for (int i = 0; i < 8; i++)
+        {
+            assertTrue(tree.remove(i));
+        }
+        assertEquals(12, tree.size());
+
+        assertEquals(set(8, 9), tree.search(0, 0, 100, 100, new HashSet<Integer>()));
+
+        for (int i = 8; i < 20; i++)
+        {
+            final double x = (i < 10) ? i : (1000 + i);
+
+            assertEquals(set(i), tree.search(x + 0.5, 0.5, new HashSet<Integer>()));
+        }
+    }
+
+    @Test
+    public void testClear()
+    {
+        final RTree<Integer> tree = new RTree<Integer>(4);
+
+        for (int i = 0; i < 50; i++)
+        {
+            tree.insert(i, i, i, i + 1, i + 1);
+        }
+        tree.clear();
+
+        assertTrue(tree.isEmpty());
+
+        assertEquals(0, tree.getHeight());
+
+        assertEquals(set(), tree.search(-1000, -1000, 1000, 1000, new HashSet<Integer>()));
+    }
+
+    @Test
+    public void testMatchesBruteForce()
+    {
+        final Random random = new Random(42);
+
+        final RTree<Integer> tree = new RTree<Integer>(6);
+
+        final HashMap<Integer, double[]> rects = new HashMap<Integer, double[]>();
+
+        for (int step = 0; step < 3000; step++)
+        {
+            final int item = random.nextInt(300);
+
+            final int what = random.nextInt(10);
+
+            if (what < 6)
+            {
+                final double x = random.nextInt(1000);
+
+                final double y = random.nextInt(1000);
+
+                final double[] rect = new double[] { x, y, x + random.nextInt(60), y + random.nextInt(60) };
+
+                tree.insert(item, rect[0], rect[1], rect[2], rect[3]);
+
+                rects.put(item, rect);
+            }
+            else if (what < 9)
+            {
+                assertEquals(null != rects.remove(item), tree.remove(item));
+            }
+            else
+            {
+                final double x = random.nextInt(1000);
+
+                final double y = random.nextInt(1000);
+
+                final double w = random.nextInt(200);
+
+                final double h = random.nextInt(200);
+
+                assertEquals(scan(rects, x, y, x + w, y + h), tree.search(x, y, x + w, y + h, new HashSet<Integer>()));
+
+                assertEquals(scan(rects, x, y, x, y), tree.search(x, y, new HashSet<Integer>()));
+            }
+            assertEquals(rects.size(), tree.size());
+        }
+        assertEquals(rects.keySet(), tree.search(-1, -1, 2000, 2000, new HashSet<Integer>()));
+    }
+
+    private static HashSet<Integer> scan(final Map<Integer, double[]> rects, final double minx, final double miny, final double maxx, final double maxy)
+    {
+        final HashSet<Integer> found = new HashSet<Integer>();
+
+        for (Map.Entry<Integer, double[]> entry : rects.entrySet())
+        {
+            final double[] r = entry.getValue();
+
+            if ((r[0] <= maxx) && (r[2] >= minx) && (r[1] <= maxy) && (r[3] >= miny))
+            {
+                found.add(entry.getKey());
+            }
+        }
+        return found;
+    }
+
+    @SafeVarargs
+    private static <T> HashSet<T> set(final T... items)
+    {
+        final HashSet<T> set = new HashSet<T>();
+
+        for (T item : items)
+        {
+            set.add(item);
+        }
+        return set;
+    }
+}
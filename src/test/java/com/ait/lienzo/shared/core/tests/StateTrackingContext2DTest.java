@@ -0,0 +1,128 @@
+/*
+   Copyright (c) 2017 Ahome' Innovation Technologies. All rights reserved.
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+
+package com.ait.lienzo.shared.core.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ait.lienzo.client.core.StateTrackingContext2D;
+
+public class StateTrackingContext2DTest
+{
+    @Test
+    public void testRedundantSettersAreDropped()
+    {
+        final List<String> calls = new ArrayList<String>();
+
+        final StateTrackingContext2D context = new StateTrackingContext2D(new LoggingContext2D(calls));
+
+        context.setFillColor("red");
+        context.setFillColor("red");
+        context.setStrokeWidth(2);
+        context.setStrokeWidth(2);
+        context.setGlobalAlpha(1);
+        context.setLineDash(null);
+        context.setLineDash(null);
+        context.setFillColor("blue");
+
+        assertEquals(Arrays.asList("setFillColor[red]", "setStrokeWidth[2.0]", "setGlobalAlpha[1.0]", "setLineDash[null]", "setFillColor[blue]"), calls);
+        assertEquals(3, context.getEliminatedStateCount());
+    }
+
+    @Test
+    public void testEmptySaveRestoreIsDropped()
+    {
+        final List<String> calls = new ArrayList<String>();
+
+        final StateTrackingContext2D context = new StateTrackingContext2D(new LoggingContext2D(calls));
+
+        context.setFillColor("red");
+        context.save();
+        context.setFillColor("red");
+        context.beginPath();
+        context.rect(0, 0, 10, 10);
+        context.fill();
+        context.restore();
+
+        assertEquals(Arrays.asList("setFillColor[red]", "beginPath[]", "rect[0.0, 0.0, 10.0, 10.0]", "fill[]"), calls);
+        assertEquals(1, context.getEliminatedSaveRestoreCount());
+        assertEquals(3, context.getEliminatedCount());
+    }
+
+    @Test
+    public void testRestoreBringsBackSavedState()
+    {
+        final List<String> calls = new ArrayList<String>();
+
+        final StateTrackingContext2D context = new StateTrackingContext2D(new LoggingContext2D(calls));
+
+        context.setStrokeColor("black");
+        context.saveContainer("outer");
+        context.save();
+        context.setStrokeColor("white");
+        context.restore();
+        context.setStrokeColor("black");
+        context.setStrokeColor("white");
+        context.restoreContainer();
+        context.setStrokeColor("black");
+
+        assertEquals(Arrays.asList("setStrokeColor[black]", "saveContainer[outer]", "save[]", "setStrokeColor[white]", "restore[]", "setStrokeColor[white]", "restoreContainer[]"), calls);
+        assertEquals(2, context.getEliminatedStateCount());
+    }
+
+    @Test
+    public void testTransformForcesSave()
+    {
+        final List<String> calls = new ArrayList<String>();
+
+        final StateTrackingContext2D context = new StateTrackingContext2D(new LoggingContext2D(calls));
+
+        context.save();
+        context.save();
+        context.translate(5, 5);
+        context.restore();
+        context.restore();
+
+        assertEquals(Arrays.asList("save[]", "save[]", "translate[5.0, 5.0]", "restore[]", "restore[]"), calls);
+        assertEquals(0, context.getEliminatedCount());
+    }
+
+    @Test
+    public void testReset()
+    {
+        final List<String> calls = new ArrayList<String>();
+
+        final StateTrackingContext2D context = new StateTrackingContext2D(new LoggingContext2D(calls));
+
+        context.setTextFont("12px Arial");
+        context.reset();
+        context.setTextFont("12px Arial");
+
+        assertEquals(2, calls.size());
+
+        context.resetCounts();
+
+        context.setTextFont("12px Arial");
+
+        assertEquals(1, context.getEliminatedCount());
+    }
+}